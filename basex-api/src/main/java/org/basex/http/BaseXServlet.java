@@ -15,6 +15,7 @@ import org.basex.core.jobs.*;
 import org.basex.query.*;
 import org.basex.server.*;
 import org.basex.util.*;
+import org.basex.util.metrics.*;
 
 /**
  * <p>Base class for all servlets.</p>
@@ -27,10 +28,15 @@ public abstract class BaseXServlet extends HttpServlet {
   String user;
   /** Servlet-specific authentication method. */
   AuthMethod auth;
+  /** Request latencies. */
+  private Histogram requests;
 
   @Override
   public void init(final ServletConfig config) throws ServletException {
     super.init(config);
+    requests = Metrics.histogram("basex_http_request_seconds", "Processing time of HTTP requests",
+        "servlet", config.getServletName());
+    Metrics.register();
     try {
       HTTPContext.init(config.getServletContext());
       final Enumeration<String> en = config.getInitParameterNames();
@@ -53,6 +59,7 @@ public abstract class BaseXServlet extends HttpServlet {
   public final void service(final HttpServletRequest req, final HttpServletResponse res)
       throws IOException {
 
+    final long start = System.nanoTime();
     final HTTPConnection conn = new HTTPConnection(req, res, this);
     try {
       conn.authenticate();
@@ -71,6 +78,7 @@ public abstract class BaseXServlet extends HttpServlet {
       Util.errln(msg);
       conn.error(SC_INTERNAL_SERVER_ERROR, Util.info(UNEXPECTED_X, msg));
     } finally {
+      requests.time(start);
       if(Prop.debug) {
         Util.outln("_ REQUEST _________________________________" + Prop.NL + req);
         final Enumeration<String> en = req.getHeaderNames();
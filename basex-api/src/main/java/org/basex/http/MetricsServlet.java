@@ -0,0 +1,27 @@
+package org.basex.http;
+
+import static org.basex.core.Text.*;
+
+import java.io.*;
+
+import org.basex.core.users.*;
+import org.basex.util.*;
+import org.basex.util.http.*;
+import org.basex.util.metrics.*;
+
+/**
+ * <p>This servlet returns the runtime metrics in the text exposition format of Prometheus.</p>
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class MetricsServlet extends BaseXServlet {
+  @Override
+  protected void run(final HTTPConnection conn) throws IOException {
+    if(!conn.context.user().has(Perm.ADMIN))
+      throw HTTPCode.FORBIDDEN_X.get(Util.info(PERM_REQUIRED_X, Perm.ADMIN));
+    conn.res.setCharacterEncoding(Strings.UTF8);
+    conn.res.setContentType(MediaType.TEXT_PLAIN + "; version=0.0.4");
+    conn.res.getOutputStream().write(Token.token(Metrics.text()));
+  }
+}
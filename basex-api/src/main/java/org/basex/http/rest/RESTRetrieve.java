@@ -1,13 +1,20 @@
 package org.basex.http.rest;
 
 import static org.basex.query.func.Function.*;
+import static javax.servlet.http.HttpServletResponse.*;
 import static org.basex.util.Token.*;
+import static org.basex.util.http.HttpText.*;
 
 import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+import javax.servlet.http.*;
 
 import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.http.*;
+import org.basex.io.*;
 import org.basex.io.serial.*;
 import org.basex.query.func.*;
 import org.basex.query.value.node.*;
@@ -28,6 +35,14 @@ final class RESTRetrieve extends RESTCmd {
     super(session);
   }
 
+  @Override
+  public void addLocks() {
+    super.addLocks();
+    // binary resources are sent without a nested job: the read lock of the database
+    // must be held by this job until the transfer has been completed
+    jc().locks.reads.add(session.conn.db());
+  }
+
   @Override
   protected void run0() throws IOException {
     // open addressed database
@@ -38,11 +53,15 @@ final class RESTRetrieve extends RESTCmd {
     if(run(query(_DB_EXISTS)).equals(Text.TRUE)) {
       // return database resource
       final boolean raw = run(query(_DB_IS_RAW)).equals(Text.TRUE);
-      if(raw) sopts.set(SerializerOptions.MEDIA_TYPE, run(query(_DB_CONTENT_TYPE)));
-      conn.initResponse();
-
-      context.options.set(MainOptions.SERIALIZER, sopts);
-      run(query(raw ? _DB_RETRIEVE : _DB_OPEN), conn.res.getOutputStream());
+      if(raw) {
+        sopts.set(SerializerOptions.MEDIA_TYPE, run(query(_DB_CONTENT_TYPE)));
+        conn.initResponse();
+        binary(context.data().meta.binary(conn.dbpath()));
+      } else {
+        conn.initResponse();
+        context.options.set(MainOptions.SERIALIZER, sopts);
+        run(query(_DB_OPEN), conn.res.getOutputStream());
+      }
 
     } else {
       // list database resources
@@ -58,6 +77,83 @@ final class RESTRetrieve extends RESTCmd {
     }
   }
 
+  /**
+   * Sends a binary resource. The file contents are transferred without intermediate copies.
+   * If a single byte range is requested, only the specified bytes will be sent.
+   * The file is accessed while this job holds the read lock of the database (see
+   * {@link #addLocks()}), so it cannot be replaced or deleted during the transfer.
+   * @param file file reference
+   * @throws IOException I/O exception
+   */
+  private void binary(final IOFile file) throws IOException {
+    final HttpServletResponse res = session.conn.res;
+    final long length = file.length();
+    long start = 0, end = length - 1;
+    res.setHeader(ACCEPT_RANGES, BYTES);
+
+    final long[] range = range(session.conn.req.getHeader(RANGE), length);
+    if(range != null) {
+      if(range.length == 0) {
+        res.setHeader(CONTENT_RANGE, BYTES + " */" + length);
+        res.setStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+      start = range[0];
+      end = range[1];
+      res.setStatus(SC_PARTIAL_CONTENT);
+      res.setHeader(CONTENT_RANGE, BYTES + ' ' + start + '-' + end + '/' + length);
+    }
+    res.setHeader(CONTENT_LENGTH, Long.toString(end - start + 1));
+
+    final OutputStream os = res.getOutputStream();
+    try(FileChannel fc = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)) {
+      final WritableByteChannel wbc = Channels.newChannel(os);
+      for(long pos = start; pos <= end;) {
+        final long n = fc.transferTo(pos, end - pos + 1, wbc);
+        if(n <= 0) break;
+        pos += n;
+      }
+    }
+    os.flush();
+  }
+
+  /**
+   * Parses the value of a range header. Only single byte ranges are supported.
+   * @param header header value (can be {@code null})
+   * @param length length of the resource
+   * @return first and last byte position, empty array if the range cannot be satisfied,
+   *   or {@code null} if the complete resource is to be returned
+   */
+  static long[] range(final String header, final long length) {
+    if(header == null || !header.startsWith(BYTES + '=')) return null;
+    final String spec = header.substring(BYTES.length() + 1).trim();
+    final int dash = spec.indexOf('-');
+    if(dash == -1 || spec.indexOf(',') != -1) return null;
+
+    final String first = spec.substring(0, dash).trim(), last = spec.substring(dash + 1).trim();
+    final long start, end;
+    try {
+      if(first.isEmpty()) {
+        // suffix range: last n bytes
+        final long n = Long.parseLong(last);
+        if(n <= 0 || length == 0) return new long[0];
+        start = Math.max(0, length - n);
+        end = length - 1;
+      } else {
+        start = Long.parseLong(first);
+        final long l = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+        // invalid ranges will be ignored
+        if(start < 0 || l < start) return null;
+        if(start >= length) return new long[0];
+        end = Math.min(l, length - 1);
+      }
+    } catch(final NumberFormatException ex) {
+      Util.debug(ex);
+      return null;
+    }
+    return new long[] { start, end };
+  }
+
   /**
    * Creates a query instance.
    * @param f function
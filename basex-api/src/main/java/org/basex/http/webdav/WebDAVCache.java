@@ -0,0 +1,213 @@
+package org.basex.http.webdav;
+
+import static org.basex.http.webdav.WebDAVUtils.*;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.locks.*;
+import org.basex.core.users.*;
+import org.basex.util.*;
+
+/**
+ * Cache for the meta data of database resources, indexed by database and path.
+ * Cached entries of a database are discarded as soon as a job that may have updated the
+ * database releases its locks (see {@link Locking#updates(String)}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class WebDAVCache {
+  /** Maximum number of cached paths per database. */
+  private static final int MAX = 256;
+  /** Maximum number of cached resources. */
+  static final int MAX_ENTRIES = 1 << 16;
+  /** Cached databases (least recently used databases first). */
+  private static final LinkedHashMap<String, Database> DATABASES =
+      new LinkedHashMap<>(16, 0.75f, true);
+  /** Number of cached resources. */
+  private static int entries;
+
+  /** Private constructor. */
+  private WebDAVCache() { }
+
+  /**
+   * Returns the meta data of all resources starting with the specified path.
+   * @param ctx database context
+   * @param db database
+   * @param path path
+   * @return meta data, or {@code null} if no valid entry is cached
+   */
+  static synchronized Collection<WebDAVMetaData> get(final Context ctx, final String db,
+      final String path) {
+
+    final Database database = database(ctx, db);
+    if(database == null) return null;
+
+    // search the path and its ancestors
+    final String key = key(path);
+    for(String k = key;; k = k.substring(0, Math.max(0, k.lastIndexOf(SEP)))) {
+      final TreeMap<String, WebDAVMetaData> map = database.paths.get(k);
+      if(map != null) {
+        if(k.equals(key)) return map.values();
+        // choose resource with the specified path and resources in the addressed folder
+        final ArrayList<WebDAVMetaData> list = new ArrayList<>();
+        final WebDAVMetaData md = map.get(key);
+        if(md != null) list.add(md);
+        list.addAll(map.subMap(key + SEP, key + (char) (SEP + 1)).values());
+        return list;
+      }
+      if(k.isEmpty()) return null;
+    }
+  }
+
+  /**
+   * Returns the cached timestamp of a database.
+   * @param ctx database context
+   * @param db database
+   * @return timestamp, or {@code null} if no valid entry is cached
+   */
+  static synchronized Long time(final Context ctx, final String db) {
+    final Database database = database(ctx, db);
+    return database != null ? database.time : null;
+  }
+
+  /**
+   * Caches the results of the specified command.
+   * @param ctx database context
+   * @param db database
+   * @param path path (if {@code null}, only the timestamp will be cached)
+   * @param cmd executed command
+   */
+  static synchronized void put(final Context ctx, final String db, final String path,
+      final WebDAVResources cmd) {
+
+    // skip results that are already outdated
+    final Locking locking = ctx.locking;
+    if(cmd.updates != locking.updates(db)) return;
+
+    final String name = key(db);
+    Database database = DATABASES.get(name);
+    if(database == null || database.locking != locking || database.updates != cmd.updates) {
+      if(database != null) remove(name);
+      database = new Database(locking, cmd.updates, cmd.time);
+      DATABASES.put(name, database);
+    }
+    if(path != null) {
+      final TreeMap<String, WebDAVMetaData> map = new TreeMap<>();
+      for(final WebDAVMetaData md : cmd.list) map.put(key(md.path), md);
+      if(map.size() > MAX_ENTRIES) return;
+
+      final TreeMap<String, WebDAVMetaData> old = database.paths.put(key(path), map);
+      if(old != null) entries -= old.size();
+      entries += map.size();
+      // discard least recently used databases and paths
+      final Iterator<Database> iter = DATABASES.values().iterator();
+      while(entries > MAX_ENTRIES) {
+        final Database dbase = iter.next();
+        if(dbase == database) {
+          while(entries > MAX_ENTRIES) database.evict();
+        } else {
+          dbase.clear();
+          iter.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of cached resources.
+   * @return number of resources
+   */
+  static synchronized int entries() {
+    return entries;
+  }
+
+  /**
+   * Returns a valid database entry.
+   * @param ctx database context
+   * @param db database
+   * @return database entry or {@code null}
+   */
+  private static Database database(final Context ctx, final String db) {
+    // cached data is shared by all users
+    if(!ctx.perm(Perm.READ, db)) return null;
+
+    final String name = key(db);
+    final Database database = DATABASES.get(name);
+    if(database == null) return null;
+    if(database.locking == ctx.locking && database.updates == ctx.locking.updates(db)) {
+      return database;
+    }
+    remove(name);
+    return null;
+  }
+
+  /**
+   * Removes a database entry.
+   * @param name name of the database
+   */
+  private static void remove(final String name) {
+    final Database database = DATABASES.remove(name);
+    if(database != null) database.clear();
+  }
+
+  /**
+   * Returns the key for the specified name or path.
+   * @param string name or path
+   * @return key
+   */
+  private static String key(final String string) {
+    return Prop.CASE ? string : string.toLowerCase(Locale.ENGLISH);
+  }
+
+  /** Cached database. */
+  private static final class Database {
+    /** Paths and resources. */
+    private final LinkedHashMap<String, TreeMap<String, WebDAVMetaData>> paths =
+      new LinkedHashMap<String, TreeMap<String, WebDAVMetaData>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+            final Map.Entry<String, TreeMap<String, WebDAVMetaData>> eldest) {
+          final boolean remove = size() > MAX;
+          if(remove) entries -= eldest.getValue().size();
+          return remove;
+        }
+      };
+    /** Locking instance. */
+    private final Locking locking;
+    /** Update stamp. */
+    private final long updates;
+    /** Timestamp of the database. */
+    private final long time;
+
+    /**
+     * Constructor.
+     * @param locking locking instance
+     * @param updates update stamp
+     * @param time timestamp of the database
+     */
+    private Database(final Locking locking, final long updates, final long time) {
+      this.locking = locking;
+      this.updates = updates;
+      this.time = time;
+    }
+
+    /**
+     * Discards all paths.
+     */
+    private void clear() {
+      for(final TreeMap<String, WebDAVMetaData> map : paths.values()) entries -= map.size();
+      paths.clear();
+    }
+
+    /**
+     * Discards the least recently used path.
+     */
+    private void evict() {
+      final Iterator<TreeMap<String, WebDAVMetaData>> iter = paths.values().iterator();
+      entries -= iter.next().size();
+      iter.remove();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package org.basex.http.webdav;
+
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.locks.*;
+import org.basex.core.users.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.basex.util.http.*;
+import org.basex.util.list.*;
+
+/**
+ * Command for retrieving the meta data of databases and resources. In contrast to queries,
+ * the meta data is directly read from the resource index of a database.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class WebDAVResources extends Command {
+  /** Resources or databases. */
+  final ArrayList<WebDAVMetaData> list = new ArrayList<>();
+  /** Update stamp of the database (see {@link Locking#updates(String)}). */
+  long updates;
+  /** Timestamp of the database. */
+  long time;
+
+  /** List resources. */
+  private final boolean resources;
+
+  /**
+   * Constructor for listing all databases.
+   */
+  WebDAVResources() {
+    this(null, null);
+  }
+
+  /**
+   * Constructor.
+   * @param db database (if {@code null}, all databases will be listed)
+   * @param path path to the resources (if {@code null}, only the timestamp will be retrieved)
+   */
+  WebDAVResources(final String db, final String path) {
+    super(Perm.NONE, db == null ? "" : db, path == null ? "" : path);
+    resources = path != null;
+  }
+
+  @Override
+  protected boolean run() throws IOException {
+    final String db = args[0];
+    if(db.isEmpty()) return databases();
+
+    // assign update stamp before the database is accessed
+    updates = context.locking.updates(db);
+    try {
+      final Data data = Open.open(db, context, options);
+      try {
+        time = data.meta.dbtime();
+        if(resources) resources(data, args[1]);
+      } finally {
+        Close.close(data, context);
+      }
+    } catch(final IOException ex) {
+      return error(Util.message(ex));
+    }
+    return true;
+  }
+
+  @Override
+  public void addLocks() {
+    final LockList reads = jc().locks.reads;
+    if(args[0].isEmpty()) reads.addGlobal();
+    else reads.add(args[0]);
+  }
+
+  /**
+   * Adds the meta data of all resources starting with the specified path.
+   * @param data data reference
+   * @param path path
+   */
+  private void resources(final Data data, final String path) {
+    final String db = data.meta.name;
+    final IntList docs = data.resources.docs(path);
+    final int ds = docs.size();
+    for(int d = 0; d < ds; d++) {
+      final String pth = string(data.text(docs.get(d), true));
+      list.add(new WebDAVMetaData(db, pth, data.meta.time, false, MediaType.APPLICATION_XML,
+          null));
+    }
+    for(final byte[] bin : data.resources.binaries(path)) {
+      final String pth = string(bin);
+      final IOFile file = data.meta.binary(pth);
+      list.add(new WebDAVMetaData(db, pth, file.timeStamp(), true, MediaType.get(pth),
+          file.length()));
+    }
+  }
+
+  /**
+   * Adds the meta data of all databases.
+   * @return success flag
+   */
+  private boolean databases() {
+    for(final String name : context.filter(Perm.READ, context.databases.listDBs())) {
+      list.add(new WebDAVMetaData(name, soptions.dbPath(name).timeStamp()));
+    }
+    return true;
+  }
+}
@@ -15,10 +15,8 @@ import org.basex.core.cmd.Set;
 import org.basex.http.*;
 import org.basex.io.in.*;
 import org.basex.io.serial.*;
-import org.basex.query.func.db.*;
 import org.basex.util.*;
 import org.basex.util.http.*;
-import org.basex.util.list.*;
 
 /**
  * Service handling the various WebDAV operations.
@@ -97,9 +95,8 @@ final class WebDAVService {
    * @return result of check
    * @throws IOException I/O exception
    */
-  boolean dbExists(final String db) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(_DB_EXISTS.args("$db")).bind("db", db);
-    return execute(query).equals(Text.TRUE);
+  boolean dbExists(final String db) {
+    return conn.context.soptions.dbExists(db);
   }
 
   /**
@@ -109,9 +106,13 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   long timestamp(final String db) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(DATA.args(_DB_INFO.args("$db") +
-        "/descendant::" + DbFn.toName(Text.TIMESTAMP) + "[1]")).bind("db",  db);
-    return DateTime.parse(execute(query)).getTime();
+    final Long time = WebDAVCache.time(conn.context, db);
+    if(time != null) return time;
+
+    final WebDAVResources cmd = new WebDAVResources(db, null);
+    session().execute(cmd);
+    WebDAVCache.put(conn.context, db, null, cmd);
+    return cmd.time;
   }
 
   /**
@@ -122,19 +123,9 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private WebDAVMetaData metaData(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(
-      "let $a := " + _DB_LIST_DETAILS.args("$db", "$path") + "[1] " +
-      "return string-join(($a/@raw, $a/@content-type, $a/@modified-date, $a/@size, $a),out:tab())");
-    query.bind("db", db);
-    query.bind("path", path);
-
-    final String[] result = results(query);
-    final boolean raw = Boolean.parseBoolean(result[0]);
-    final MediaType type = new MediaType(result[1]);
-    final long mod = DateTime.parse(result[2]).getTime();
-    final Long size = raw ? Long.valueOf(result[3]) : null;
-    final String pth = stripLeadingSlash(result[4]);
-    return new WebDAVMetaData(db, pth, mod, raw, type, size);
+    final Iterator<WebDAVMetaData> iter = resources(db, path).iterator();
+    if(!iter.hasNext()) throw new BaseXException(Text.RES_NOT_FOUND_X, path);
+    return iter.next();
   }
 
   /**
@@ -290,28 +281,17 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   List<WebDAVResource> list(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(STRING_JOIN.args(
-      _DB_LIST_DETAILS.args("$db", "$path") + " ! (" +
-      "@raw,@content-type,@modified-date,@size," + SUBSTRING_AFTER.args("text()", "$path") + ')',
-      "out:tab()"));
-    query.bind("db", db);
-    query.bind("path", path);
-    final String[] result = results(query);
-
     final HashSet<String> paths = new HashSet<>();
     final List<WebDAVResource> ch = new ArrayList<>();
-    final int rs = result.length;
-    for(int r = 0; r < rs; r += 5) {
-      final boolean raw = Boolean.parseBoolean(result[r]);
-      final MediaType ctype = new MediaType(result[r + 1]);
-      final long mod = DateTime.parse(result[r + 2]).getTime();
-      final Long size = raw ? Long.valueOf(result[r + 3]) : null;
-      final String pth = stripLeadingSlash(result[r + 4]);
+    for(final WebDAVMetaData md : resources(db, path)) {
+      final String pth = stripLeadingSlash(md.path.substring(Math.min(path.length(),
+          md.path.length())));
+      final long mod = md.mdate.getTime();
       final int ix = pth.indexOf(SEP);
       // check if document or folder
       if(ix < 0) {
         if(!pth.equals(DUMMY)) ch.add(WebDAVFactory.file(this,
-          new WebDAVMetaData(db, path + SEP + pth, mod, raw, ctype, size)));
+          new WebDAVMetaData(db, path + SEP + pth, mod, md.raw, md.type, md.size)));
       } else {
         final String dir = path + SEP + pth.substring(0, ix);
         if(paths.add(dir)) ch.add(WebDAVFactory.folder(this, new WebDAVMetaData(db, dir, mod)));
@@ -326,17 +306,12 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   List<WebDAVResource> listDbs() throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(STRING_JOIN.args(
-        _DB_LIST_DETAILS.args() + "[. != $db] ! (text(), @modified-date)", "out:tab()"));
-    query.bind("db", WEBDAV_DB);
+    final WebDAVResources cmd = new WebDAVResources();
+    session().execute(cmd);
 
-    final String[] result = results(query);
     final List<WebDAVResource> dbs = new ArrayList<>();
-    final int rs = result.length;
-    for(int r = 0; r < rs; r += 2) {
-      final String name = result[r];
-      final long mod = DateTime.parse(result[r + 1]).getTime();
-      dbs.add(WebDAVFactory.database(this, new WebDAVMetaData(name, mod)));
+    for(final WebDAVMetaData md : cmd.list) {
+      if(!md.db.equals(WEBDAV_DB)) dbs.add(WebDAVFactory.database(this, md));
     }
     return dbs;
   }
@@ -418,10 +393,7 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private boolean pathExists(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(EXISTS.args(_DB_LIST.args("$db", "$path")));
-    query.bind("db", db);
-    query.bind("path", path);
-    return execute(query).equals(Text.TRUE);
+    return !resources(db, path).isEmpty();
   }
 
   /**
@@ -432,10 +404,31 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private boolean exists(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(_DB_EXISTS.args("$db", "$path"));
-    query.bind("db", db);
-    query.bind("path", path);
-    return execute(query).equals(Text.TRUE);
+    final String pth = stripLeadingSlash(path);
+    for(final WebDAVMetaData md : resources(db, path)) {
+      if(Prop.CASE ? md.path.equals(pth) : md.path.equalsIgnoreCase(pth)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the meta data of all resources starting with the specified path.
+   * The meta data is cached until the database is updated.
+   * @param db name of database
+   * @param path path
+   * @return meta data
+   * @throws IOException I/O exception
+   */
+  private Collection<WebDAVMetaData> resources(final String db, final String path)
+      throws IOException {
+
+    final Collection<WebDAVMetaData> cached = WebDAVCache.get(conn.context, db, path);
+    if(cached != null) return cached;
+
+    final WebDAVResources cmd = new WebDAVResources(db, path);
+    session().execute(cmd);
+    WebDAVCache.put(conn.context, db, path, cmd);
+    return cmd.list;
   }
 
   /**
@@ -556,20 +549,6 @@ final class WebDAVService {
     return session().execute(xquery);
   }
 
-  /**
-   * Executes a query and returns all results as a list.
-   * @param query query to be executed
-   * @return result
-   * @throws IOException error during query execution
-   */
-  private String[] results(final WebDAVQuery query) throws IOException {
-    final StringList sl = new StringList();
-    for(final String result : Strings.split(execute(query), '\t')) {
-      if(!result.isEmpty()) sl.add(result);
-    }
-    return sl.finish();
-  }
-
   /**
    * Constructor.
    * @return local session
@@ -3,6 +3,7 @@ package org.basex.http.rest;
 import static org.junit.Assert.*;
 
 import java.io.*;
+import java.net.*;
 
 import org.basex.core.*;
 import org.basex.io.*;
@@ -34,6 +35,46 @@ public final class RESTGetTest extends RESTTest {
     delete(NAME);
   }
 
+  /**
+   * Byte ranges.
+   * @throws Exception exception
+   */
+  @Test
+  public void range() throws Exception {
+    put(NAME, new ArrayInput("<a/>"));
+    put(NAME + "/raw", new ArrayInput("0123456789"), MediaType.APPLICATION_OCTET_STREAM);
+    assertEquals("234", range("bytes=2-4", 206, "bytes 2-4/10"));
+    assertEquals("789", range("bytes=7-", 206, "bytes 7-9/10"));
+    assertEquals("89", range("bytes=-2", 206, "bytes 8-9/10"));
+    assertEquals("89", range("bytes=8-20", 206, "bytes 8-9/10"));
+    assertEquals("0123456789", range("bytes=1-2,4-5", 200, null));
+    assertEquals("0123456789", range("bytes=5-1", 200, null));
+    assertEquals("", range("bytes=10-", 416, "bytes */10"));
+    delete(NAME);
+  }
+
+  /**
+   * Requests a byte range of the raw test resource.
+   * @param range range header
+   * @param status expected status code
+   * @param content expected content range header
+   * @return result
+   * @throws IOException I/O exception
+   */
+  private static String range(final String range, final int status, final String content)
+      throws IOException {
+    final IOUrl url = new IOUrl(REST_ROOT + NAME + "/raw");
+    final HttpURLConnection conn = (HttpURLConnection) url.connection();
+    try {
+      conn.setRequestProperty(HttpText.RANGE, range);
+      assertEquals(status, conn.getResponseCode());
+      assertEquals(content, conn.getHeaderField(HttpText.CONTENT_RANGE));
+      return status == 416 ? "" : read(conn.getInputStream());
+    } finally {
+      conn.disconnect();
+    }
+  }
+
   /**
    * GET Test.
    * @throws Exception exception
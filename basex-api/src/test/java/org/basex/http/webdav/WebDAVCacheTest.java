@@ -0,0 +1,82 @@
+package org.basex.http.webdav;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.cmd.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * WebDAV meta data cache tests.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class WebDAVCacheTest extends SandboxTest {
+  /** Creates a database with binary resources. */
+  @Before
+  public void init() {
+    execute(new CreateDB(NAME, "<a/>"));
+    execute(new Close());
+    query("db:store('" + NAME + "', 'x/a.bin', 'a'), db:store('" + NAME + "', 'x/b.bin', 'b')");
+  }
+
+  /** Drops the database. */
+  @After
+  public void finish() {
+    execute(new DropDB(NAME));
+  }
+
+  /** Cached entries are discarded when the database is updated. */
+  @Test
+  public void invalidate() {
+    cache("");
+    assertEquals(3, WebDAVCache.get(context, NAME, "").size());
+    assertEquals(2, WebDAVCache.get(context, NAME, "x").size());
+    final int entries = WebDAVCache.entries();
+
+    // read-only operations keep the cache intact
+    query("db:retrieve('" + NAME + "', 'x/a.bin')");
+    assertNotNull(WebDAVCache.get(context, NAME, ""));
+
+    // updates invalidate all entries of the database
+    query("db:store('" + NAME + "', 'x/c.bin', 'c')");
+    assertNull(WebDAVCache.get(context, NAME, ""));
+    assertNull(WebDAVCache.time(context, NAME));
+    assertEquals(entries - 3, WebDAVCache.entries());
+
+    // results computed before an update are not cached
+    final WebDAVResources cmd = new WebDAVResources(NAME, "");
+    execute(cmd);
+    query("db:delete('" + NAME + "', 'x/c.bin')");
+    WebDAVCache.put(context, NAME, "", cmd);
+    assertNull(WebDAVCache.get(context, NAME, ""));
+  }
+
+  /** The total number of cached resources is bounded. */
+  @Test
+  public void bound() {
+    final WebDAVResources cmd = new WebDAVResources(NAME, "");
+    execute(cmd);
+    final int max = WebDAVCache.MAX_ENTRIES;
+    for(int i = cmd.list.size(); i < max / 2 + 1; i++) {
+      cmd.list.add(new WebDAVMetaData(NAME, "y/" + i, 0));
+    }
+    WebDAVCache.put(context, NAME, "", cmd);
+    WebDAVCache.put(context, NAME, "x", cmd);
+    assertTrue(WebDAVCache.entries() <= max);
+    // most recently cached path is retained
+    assertEquals(max / 2 + 1, WebDAVCache.get(context, NAME, "x").size());
+  }
+
+  /**
+   * Retrieves and caches the resources of the specified path.
+   * @param path path
+   */
+  private static void cache(final String path) {
+    final WebDAVResources cmd = new WebDAVResources(NAME, path);
+    execute(cmd);
+    WebDAVCache.put(context, NAME, path, cmd);
+  }
+}
@@ -0,0 +1,88 @@
+package org.basex.bench;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.basex.query.*;
+import org.basex.util.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark state with a database that is generated from an XMark-style document.
+ * The database is stored in a temporary directory, which is deleted after the trial.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@State(Scope.Benchmark)
+public abstract class DatabaseState {
+  /** Database name. */
+  protected static final String NAME = "bench";
+
+  /** Scale factor of the generated document. */
+  @Param({ "1", "10" })
+  public int scale;
+
+  /** Database context. */
+  protected Context context;
+  /** Database directory. */
+  private IOFile dir;
+
+  /**
+   * Creates the database.
+   * @throws Exception exception
+   */
+  @Setup(Level.Trial)
+  public void createDatabase() throws Exception {
+    dir = new IOFile(Prop.TMP, Util.className(this) + '-' + System.nanoTime());
+    Prop.put(StaticOptions.DBPATH, dir.path());
+    context = new Context();
+    options(context.options);
+    new CreateDB(NAME, Token.string(XMarkGenerator.generate(scale))).execute(context);
+    init();
+  }
+
+  /**
+   * Drops the database and closes the context.
+   * @throws Exception exception
+   */
+  @TearDown(Level.Trial)
+  public void dropDatabase() throws Exception {
+    finish();
+    new DropDB(NAME).execute(context);
+    context.close();
+    Prop.clear();
+    dir.delete();
+  }
+
+  /**
+   * Evaluates a query on the database and returns the number of results.
+   * @param query query
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  protected final long count(final String query) throws QueryException {
+    try(QueryProcessor qp = new QueryProcessor(query, context)) {
+      return qp.value().size();
+    }
+  }
+
+  /**
+   * Assigns database options before the database is created.
+   * @param options main options
+   */
+  @SuppressWarnings("unused")
+  protected void options(final MainOptions options) { }
+
+  /**
+   * Initializes the benchmark after the database has been created.
+   * @throws Exception exception
+   */
+  protected void init() throws Exception { }
+
+  /**
+   * Releases resources before the database is dropped.
+   * @throws Exception exception
+   */
+  protected void finish() throws Exception { }
+}
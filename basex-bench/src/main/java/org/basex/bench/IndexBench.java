@@ -0,0 +1,109 @@
+package org.basex.bench;
+
+import static org.basex.util.Token.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.index.*;
+import org.basex.index.query.*;
+import org.basex.query.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for index lookups: value index lookups (text and attribute index) and
+ * full-text index requests with wildcards and fuzzy matching.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IndexBench extends DatabaseState {
+  /** Number of lookups per invocation. */
+  private static final int LOOKUPS = 256;
+
+  /** Data reference. */
+  private Data data;
+  /** Text tokens. */
+  private IndexToken[] texts;
+  /** Attribute tokens. */
+  private IndexToken[] attrs;
+
+  @Override
+  protected void options(final MainOptions options) {
+    options.set(MainOptions.FTINDEX, true);
+  }
+
+  @Override
+  protected void init() {
+    data = context.data();
+    final Random rnd = new Random(1);
+    texts = new IndexToken[LOOKUPS];
+    attrs = new IndexToken[LOOKUPS];
+    for(int l = 0; l < LOOKUPS; l++) {
+      texts[l] = new StringToken(IndexType.TEXT, token(XMarkGenerator.word(rnd.nextInt(64))));
+      attrs[l] = new StringToken(IndexType.ATTRIBUTE, token("person" + rnd.nextInt(250 * scale)));
+    }
+  }
+
+  /**
+   * Performs text index lookups.
+   * @return number of results
+   */
+  @Benchmark
+  public int text() {
+    return lookup(texts);
+  }
+
+  /**
+   * Performs attribute index lookups.
+   * @return number of results
+   */
+  @Benchmark
+  public int attribute() {
+    return lookup(attrs);
+  }
+
+  /**
+   * Performs a full-text search with wildcards.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long wildcards() throws QueryException {
+    return count("//text[. contains text 'mo.*er' using wildcards]");
+  }
+
+  /**
+   * Performs a fuzzy full-text search.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long fuzzy() throws QueryException {
+    return count("//text[. contains text 'castel' using fuzzy]");
+  }
+
+  /**
+   * Performs index lookups.
+   * @param tokens index tokens
+   * @return number of results
+   */
+  private int lookup(final IndexToken[] tokens) {
+    int results = 0;
+    for(final IndexToken token : tokens) {
+      final IndexIterator ii = data.iter(token);
+      while(ii.more()) {
+        ii.pre();
+        results++;
+      }
+    }
+    return results;
+  }
+}
@@ -0,0 +1,103 @@
+package org.basex.bench;
+
+import java.util.concurrent.*;
+
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.map.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+/**
+ * Benchmarks for the persistent map implementation ({@link TrieNode}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MapBench {
+  /** Number of map entries. */
+  @Param({ "100", "10000", "1000000" })
+  public int size;
+
+  /** Integer keys. */
+  private Item[] ints;
+  /** String keys. */
+  private Item[] strings;
+  /** Map with integer keys. */
+  private Map map;
+
+  /**
+   * Creates the keys and the map.
+   * @throws QueryException query exception
+   */
+  @Setup(Level.Trial)
+  public void init() throws QueryException {
+    ints = new Item[size];
+    strings = new Item[size];
+    for(int i = 0; i < size; i++) {
+      ints[i] = Int.get(i);
+      strings[i] = Str.get("key" + i);
+    }
+    map = build(ints);
+  }
+
+  /**
+   * Builds a map with integer keys.
+   * @return map
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public Map putInts() throws QueryException {
+    return build(ints);
+  }
+
+  /**
+   * Builds a map with string keys.
+   * @return map
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public Map putStrings() throws QueryException {
+    return build(strings);
+  }
+
+  /**
+   * Looks up all keys.
+   * @param bh black hole
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public void get(final Blackhole bh) throws QueryException {
+    for(final Item key : ints) bh.consume(map.get(key, null));
+  }
+
+  /**
+   * Removes all entries.
+   * @return map
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public Map delete() throws QueryException {
+    Map m = map;
+    for(final Item key : ints) m = m.delete(key, null);
+    return m;
+  }
+
+  /**
+   * Builds a map.
+   * @param keys keys
+   * @return map
+   * @throws QueryException query exception
+   */
+  private static Map build(final Item[] keys) throws QueryException {
+    Map m = Map.EMPTY;
+    for(final Item key : keys) m = m.put(key, key, null);
+    return m;
+  }
+}
@@ -0,0 +1,107 @@
+package org.basex.bench;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import org.basex.build.*;
+import org.basex.build.xml.*;
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.out.*;
+import org.basex.io.serial.*;
+import org.basex.query.value.node.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for parsing and serializing XMark-style documents. The internal parser
+ * ({@link XMLParser}, which is based on the XML scanner) is compared with the default
+ * SAX parser of the JDK.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParserBench {
+  /** Scale factor of the generated document. */
+  @Param({ "1", "10" })
+  public int scale;
+
+  /** Document. */
+  private IOContent input;
+  /** Parsed document. */
+  private DBNode node;
+  /** Output buffer. */
+  private final ArrayOutput out = new ArrayOutput();
+
+  /**
+   * Generates the document.
+   * @throws IOException I/O exception
+   */
+  @Setup(Level.Trial)
+  public void generate() throws IOException {
+    input = new IOContent(XMarkGenerator.generate(scale));
+    node = new DBNode(MemBuilder.build(Parser.xmlParser(input)));
+  }
+
+  /**
+   * Parses the document with the internal parser.
+   * @return database instance
+   * @throws IOException I/O exception
+   */
+  @Benchmark
+  public Data parseInternal() throws IOException {
+    final MainOptions options = new MainOptions(false);
+    options.set(MainOptions.INTPARSE, true);
+    return MemBuilder.build(new XMLParser(input, options));
+  }
+
+  /**
+   * Parses the document with the SAX parser.
+   * @return database instance
+   * @throws IOException I/O exception
+   */
+  @Benchmark
+  public Data parseSAX() throws IOException {
+    return MemBuilder.build(Parser.xmlParser(input));
+  }
+
+  /**
+   * Serializes the document without indentation.
+   * @return number of bytes
+   * @throws IOException I/O exception
+   */
+  @Benchmark
+  public long serialize() throws IOException {
+    return serialize(SerializerMode.NOINDENT.get());
+  }
+
+  /**
+   * Serializes the document with the default parameters (including indentation).
+   * @return number of bytes
+   * @throws IOException I/O exception
+   */
+  @Benchmark
+  public long serializeIndent() throws IOException {
+    return serialize(SerializerMode.DEFAULT.get());
+  }
+
+  /**
+   * Serializes the document.
+   * @param sopts serialization parameters
+   * @return number of bytes
+   * @throws IOException I/O exception
+   */
+  private long serialize(final SerializerOptions sopts) throws IOException {
+    out.reset();
+    try(Serializer ser = Serializer.get(out, sopts)) {
+      ser.serialize(node);
+    }
+    return out.size();
+  }
+}
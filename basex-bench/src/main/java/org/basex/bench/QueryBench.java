@@ -0,0 +1,123 @@
+package org.basex.bench;
+
+import java.util.concurrent.*;
+
+import org.basex.query.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * End-to-end query benchmarks on XMark-style documents, including sort and grouping
+ * operations ({@code order by}, {@code group by}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QueryBench extends DatabaseState {
+  /**
+   * XMark Q1: exact match.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long q01() throws QueryException {
+    return count("for $b in /site/people/person[@id = 'person0'] return $b/name/text()");
+  }
+
+  /**
+   * XMark Q2: ordered access.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long q02() throws QueryException {
+    return count("for $b in /site/open_auctions/open_auction " +
+        "return <increase>{ $b/bidder[1]/increase/text() }</increase>");
+  }
+
+  /**
+   * XMark Q5: casting.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long q05() throws QueryException {
+    return count("count(for $i in /site/closed_auctions/closed_auction " +
+        "where $i/price/text() >= 40 return $i/price)");
+  }
+
+  /**
+   * XMark Q8: chasing references (join).
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long q08() throws QueryException {
+    return count("for $p in /site/people/person " +
+        "let $a := for $t in /site/closed_auctions/closed_auction " +
+        "where $t/buyer/@person = $p/@id return $t " +
+        "return <item person='{ $p/name/text() }'>{ count($a) }</item>");
+  }
+
+  /**
+   * XMark Q14: full-text search.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long q14() throws QueryException {
+    return count("for $i in /site//item where $i/description contains text 'golden' " +
+        "return $i/name/text()");
+  }
+
+  /**
+   * XMark Q19: sorting.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long q19() throws QueryException {
+    return count("for $b in /site/regions//item let $k := $b/name/text() " +
+        "order by $b/location ascending " +
+        "return <item name='{ $k }'>{ $b/location/text() }</item>");
+  }
+
+  /**
+   * Numeric sort.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long orderBy() throws QueryException {
+    return count("for $c in /site/closed_auctions/closed_auction " +
+        "order by xs:decimal($c/price) descending, $c/date return $c/price");
+  }
+
+  /**
+   * Grouping by string keys.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long groupBy() throws QueryException {
+    return count("for $i in /site/regions//item group by $l := $i/location/text() " +
+        "return <location name='{ $l }' items='{ count($i) }'/>");
+  }
+
+  /**
+   * Grouping with aggregations.
+   * @return number of results
+   * @throws QueryException query exception
+   */
+  @Benchmark
+  public long groupByAggregate() throws QueryException {
+    return count("for $a in /site/open_auctions/open_auction " +
+        "group by $s := $a/seller/@person " +
+        "return <seller id='{ $s }' sum='{ sum($a/bidder/increase) }' " +
+        "max='{ max($a/initial) }'/>");
+  }
+}
@@ -0,0 +1,122 @@
+package org.basex.bench;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.random.*;
+import org.basex.util.list.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+/**
+ * Benchmarks for the storage layer: table reads ({@link TableDiskAccess}) and token reads
+ * ({@link DataAccess#readToken(long)}), using random database positions.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StorageBench extends DatabaseState {
+  /** Number of positions to be accessed per invocation. */
+  private static final int ACCESSES = 4096;
+
+  /** Data reference. */
+  private Data data;
+  /** Random pre values. */
+  private int[] pres;
+  /** Pre values of random text nodes. */
+  private int[] texts;
+  /** Token file. */
+  private IOFile file;
+  /** Token access. */
+  private DataAccess tokens;
+  /** Random token offsets. */
+  private long[] offsets;
+
+  @Override
+  protected void init() throws Exception {
+    data = context.data();
+    final Random rnd = new Random(1);
+    final int size = data.meta.size;
+    pres = new int[ACCESSES];
+    for(int p = 0; p < ACCESSES; p++) pres[p] = rnd.nextInt(size);
+
+    final IntList tl = new IntList();
+    for(int pre = 0; pre < size; pre++) {
+      if(data.kind(pre) == Data.TEXT) tl.add(pre);
+    }
+    texts = new int[ACCESSES];
+    for(int t = 0; t < ACCESSES; t++) texts[t] = tl.get(rnd.nextInt(tl.size()));
+
+    // write all texts to a separate file
+    file = data.meta.dbfile("tokens");
+    final LongList ol = new LongList();
+    try(DataAccess da = new DataAccess(file)) {
+      long off = 0;
+      for(int t = 0; t < tl.size(); t++) {
+        ol.add(off);
+        da.writeToken(off, data.text(tl.get(t), true));
+        off = da.cursor();
+      }
+    }
+    offsets = new long[ACCESSES];
+    for(int o = 0; o < ACCESSES; o++) offsets[o] = ol.get(rnd.nextInt(ol.size()));
+    tokens = new DataAccess(file);
+  }
+
+  @Override
+  protected void finish() {
+    tokens.close();
+    file.delete();
+  }
+
+  /**
+   * Reads kinds, sizes and parent references of random nodes.
+   * @return dummy result
+   */
+  @Benchmark
+  public int table() {
+    int sum = 0;
+    for(final int pre : pres) {
+      final int kind = data.kind(pre);
+      sum += data.size(pre, kind) + data.parent(pre, kind) + data.nameId(pre);
+    }
+    return sum;
+  }
+
+  /**
+   * Reads the texts of random text nodes.
+   * @param bh black hole
+   */
+  @Benchmark
+  public void texts(final Blackhole bh) {
+    for(final int pre : texts) bh.consume(data.text(pre, true));
+  }
+
+  /**
+   * Reads tokens at random file offsets.
+   * @param bh black hole
+   */
+  @Benchmark
+  public void readToken(final Blackhole bh) {
+    for(final long off : offsets) bh.consume(tokens.readToken(off));
+  }
+
+  /**
+   * Traverses all nodes in document order.
+   * @return dummy result
+   */
+  @Benchmark
+  public int scan() {
+    int sum = 0;
+    final int size = data.meta.size;
+    for(int pre = 0; pre < size; pre++) sum += data.kind(pre);
+    return sum;
+  }
+}
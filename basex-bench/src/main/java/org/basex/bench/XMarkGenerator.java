@@ -0,0 +1,184 @@
+package org.basex.bench;
+
+import java.util.*;
+
+import org.basex.util.*;
+
+/**
+ * Generator for XMark-style auction documents. The generated documents follow the structure of
+ * the XMark benchmark, but use a deterministic random generator and a small vocabulary, so that
+ * results can be compared across runs and releases.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class XMarkGenerator {
+  /** Regions. */
+  private static final String[] REGIONS = {
+    "africa", "asia", "australia", "europe", "namerica", "samerica"
+  };
+  /** Vocabulary. */
+  private static final String[] WORDS = {
+    "abandon", "abstract", "accept", "account", "action", "address", "advance", "affair",
+    "answer", "anyone", "appear", "arrive", "attack", "balance", "battle", "beauty",
+    "believe", "border", "bright", "brother", "castle", "center", "change", "charge",
+    "circle", "clever", "comfort", "common", "corner", "country", "course", "danger",
+    "desire", "dinner", "divide", "double", "eleven", "empire", "enough", "escape",
+    "family", "father", "figure", "finish", "flower", "forest", "friend", "garden",
+    "gentle", "golden", "harbor", "heaven", "honest", "island", "kindly", "letter",
+    "little", "master", "measure", "middle", "minute", "modern", "mother", "nature"
+  };
+  /** Number of persons per scale unit. */
+  private static final int PERSONS = 250;
+  /** Number of items per scale unit. */
+  private static final int ITEMS = 200;
+  /** Number of open auctions per scale unit. */
+  private static final int OPEN = 120;
+  /** Number of closed auctions per scale unit. */
+  private static final int CLOSED = 100;
+  /** Number of categories per scale unit. */
+  private static final int CATEGORIES = 10;
+
+  /** Random generator. */
+  private final Random rnd = new Random(1);
+  /** Output. */
+  private final TokenBuilder tb = new TokenBuilder();
+
+  /** Private constructor. */
+  private XMarkGenerator() { }
+
+  /**
+   * Generates a document.
+   * @param scale scale factor
+   * @return document
+   */
+  public static byte[] generate(final int scale) {
+    return new XMarkGenerator().site(Math.max(1, scale));
+  }
+
+  /**
+   * Returns a word from the vocabulary.
+   * @param index index
+   * @return word
+   */
+  public static String word(final int index) {
+    return WORDS[index % WORDS.length];
+  }
+
+  /**
+   * Generates the site element.
+   * @param scale scale factor
+   * @return document
+   */
+  private byte[] site(final int scale) {
+    final int persons = PERSONS * scale, items = ITEMS * scale, cats = CATEGORIES * scale;
+    tb.add("<site><regions>");
+    final int rl = REGIONS.length;
+    for(int r = 0; r < rl; r++) {
+      tb.add('<').add(REGIONS[r]).add('>');
+      for(int i = r; i < items; i += rl) item(i, cats);
+      tb.add("</").add(REGIONS[r]).add('>');
+    }
+    tb.add("</regions><categories>");
+    for(int c = 0; c < cats; c++) {
+      tb.add("<category id=\"category").add(Integer.toString(c)).add("\"><name>");
+      text(2);
+      tb.add("</name><description><text>");
+      text(20);
+      tb.add("</text></description></category>");
+    }
+    tb.add("</categories><people>");
+    for(int p = 0; p < persons; p++) person(p, cats);
+    tb.add("</people><open_auctions>");
+    for(int o = 0; o < OPEN * scale; o++) {
+      tb.add("<open_auction id=\"open_auction").add(Integer.toString(o)).add("\"><initial>");
+      tb.add(price(100)).add("</initial>");
+      final int bidders = rnd.nextInt(6);
+      for(int b = 0; b < bidders; b++) {
+        tb.add("<bidder><date>").add(date()).add("</date><personref person=\"person");
+        tb.add(Integer.toString(rnd.nextInt(persons))).add("\"/><increase>");
+        tb.add(price(30)).add("</increase></bidder>");
+      }
+      tb.add("<itemref item=\"item").add(Integer.toString(rnd.nextInt(items)));
+      tb.add("\"/><seller person=\"person").add(Integer.toString(rnd.nextInt(persons)));
+      tb.add("\"/><quantity>1</quantity><type>Regular</type></open_auction>");
+    }
+    tb.add("</open_auctions><closed_auctions>");
+    for(int c = 0; c < CLOSED * scale; c++) {
+      tb.add("<closed_auction><seller person=\"person");
+      tb.add(Integer.toString(rnd.nextInt(persons))).add("\"/><buyer person=\"person");
+      tb.add(Integer.toString(rnd.nextInt(persons))).add("\"/><itemref item=\"item");
+      tb.add(Integer.toString(rnd.nextInt(items))).add("\"/><price>").add(price(500));
+      tb.add("</price><date>").add(date()).add("</date><quantity>1</quantity>");
+      tb.add("<type>Regular</type><annotation><description><text>");
+      text(15);
+      tb.add("</text></description></annotation></closed_auction>");
+    }
+    tb.add("</closed_auctions></site>");
+    return tb.finish();
+  }
+
+  /**
+   * Generates an item.
+   * @param i item index
+   * @param cats number of categories
+   */
+  private void item(final int i, final int cats) {
+    tb.add("<item id=\"item").add(Integer.toString(i)).add("\"><location>");
+    tb.add(rnd.nextInt(4) == 0 ? "United States" : word(rnd.nextInt(WORDS.length)));
+    tb.add("</location><quantity>").add(Integer.toString(1 + rnd.nextInt(3)));
+    tb.add("</quantity><name>");
+    text(3);
+    tb.add("</name><payment>Creditcard</payment><description><text>");
+    text(30 + rnd.nextInt(40));
+    tb.add("</text></description><incategory category=\"category");
+    tb.add(Integer.toString(rnd.nextInt(cats))).add("\"/></item>");
+  }
+
+  /**
+   * Generates a person.
+   * @param p person index
+   * @param cats number of categories
+   */
+  private void person(final int p, final int cats) {
+    tb.add("<person id=\"person").add(Integer.toString(p)).add("\"><name>");
+    text(2);
+    tb.add("</name><emailaddress>mailto:").add(word(p)).add(Integer.toString(p));
+    tb.add("@example.com</emailaddress>");
+    if(rnd.nextBoolean()) {
+      tb.add("<profile income=\"").add(price(100000)).add("\"><interest category=\"category");
+      tb.add(Integer.toString(rnd.nextInt(cats))).add("\"/><age>");
+      tb.add(Integer.toString(18 + rnd.nextInt(60))).add("</age></profile>");
+    }
+    tb.add("</person>");
+  }
+
+  /**
+   * Adds random text.
+   * @param words number of words
+   */
+  private void text(final int words) {
+    for(int w = 0; w < words; w++) {
+      if(w > 0) tb.add(' ');
+      tb.add(WORDS[rnd.nextInt(WORDS.length)]);
+    }
+  }
+
+  /**
+   * Returns a random price.
+   * @param max maximum value
+   * @return price
+   */
+  private String price(final int max) {
+    return Integer.toString(1 + rnd.nextInt(max)) + '.' + (10 + rnd.nextInt(90));
+  }
+
+  /**
+   * Returns a random date.
+   * @return date
+   */
+  private String date() {
+    return String.format(Locale.ENGLISH, "%02d/%02d/%04d",
+        1 + rnd.nextInt(12), 1 + rnd.nextInt(28), 1998 + rnd.nextInt(4));
+  }
+}
@@ -13,6 +13,7 @@ import org.basex.server.*;
 import org.basex.server.Log.LogType;
 import org.basex.util.*;
 import org.basex.util.list.*;
+import org.basex.util.metrics.*;
 
 /**
  * This is the starter class for running the database server. It handles
@@ -110,6 +111,8 @@ public final class BaseXServer extends CLI implements Runnable {
     }
 
     new Thread(this).start();
+    // expose runtime metrics via JMX
+    Metrics.register();
 
     // show info that server has been started
     final String startX = Util.info(SRV_STARTED_PORT_X, port);
@@ -0,0 +1,206 @@
+package org.basex.api.client;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.util.*;
+
+/**
+ * <p>A pool of authenticated client sessions. Sessions are identified by the host, port,
+ * user name and password that have been specified for creating them.</p>
+ *
+ * <p>A session that is released will be kept open and reused by a subsequent request.
+ * Sessions that have been idle for some time will be checked before they are reused, and
+ * sessions that exceed the idle timeout will be closed. The state of a session
+ * (opened databases, assigned options) will not be reset when it is released.</p>
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class ClientPool {
+  /** Global pool instance. */
+  private static final ClientPool POOL = new ClientPool(8, 60000);
+  /** Idle time after which a session will be checked before it is reused (ms). */
+  private static final long CHECK = 1000;
+
+  /** Idle sessions, indexed by their key. */
+  private final HashMap<String, ArrayDeque<Idle>> idle = new HashMap<>();
+  /** Keys of the sessions that have been acquired. */
+  private final IdentityHashMap<ClientSession, String> acquired = new IdentityHashMap<>();
+  /** Maximum number of idle sessions per key. */
+  private final int max;
+  /** Timeout after which idle sessions will be closed (ms). */
+  private final long timeout;
+  /** Timer for closing idle sessions (created on demand). */
+  private Timer timer;
+
+  /**
+   * Constructor.
+   * @param max maximum number of idle sessions per host, port and user
+   * @param timeout timeout after which idle sessions will be closed (ms)
+   */
+  public ClientPool(final int max, final long timeout) {
+    this.max = max;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Returns the global pool instance.
+   * @return pool
+   */
+  public static ClientPool get() {
+    return POOL;
+  }
+
+  /**
+   * Returns an idle session or creates a new one.
+   * @param host server name
+   * @param port server port
+   * @param username user name
+   * @param password password (plain text)
+   * @return session
+   * @throws IOException I/O exception
+   */
+  public ClientSession acquire(final String host, final int port, final String username,
+      final String password) throws IOException {
+
+    final String key = host + ':' + port + ':' + username + ':' + Strings.md5(password);
+    while(true) {
+      final Idle entry;
+      synchronized(this) {
+        final ArrayDeque<Idle> sessions = idle.get(key);
+        entry = sessions == null ? null : sessions.pollLast();
+      }
+      if(entry == null) break;
+      if(alive(entry)) {
+        synchronized(this) {
+          acquired.put(entry.session, key);
+        }
+        return entry.session;
+      }
+      close(entry.session);
+    }
+
+    final ClientSession cs = new ClientSession(host, port, username, password);
+    synchronized(this) {
+      acquired.put(cs, key);
+    }
+    return cs;
+  }
+
+  /**
+   * Releases a session. The session will be closed if it has not been created by this pool,
+   * or if the maximum number of idle sessions has been reached.
+   * @param session session
+   */
+  public void release(final ClientSession session) {
+    synchronized(this) {
+      final String key = acquired.remove(session);
+      if(key != null) {
+        ArrayDeque<Idle> sessions = idle.get(key);
+        if(sessions == null) {
+          sessions = new ArrayDeque<>();
+          idle.put(key, sessions);
+        }
+        if(sessions.size() < max) {
+          sessions.add(new Idle(session));
+          if(timer == null) {
+            timer = new Timer(true);
+            timer.scheduleAtFixedRate(new TimerTask() {
+              @Override
+              public void run() {
+                evict(System.currentTimeMillis() - timeout);
+              }
+            }, timeout, timeout);
+          }
+          return;
+        }
+      }
+    }
+    close(session);
+  }
+
+  /**
+   * Closes a session that must not be reused, e.g. because it may still be in use.
+   * @param session session
+   */
+  public void discard(final ClientSession session) {
+    synchronized(this) {
+      acquired.remove(session);
+    }
+    close(session);
+  }
+
+  /**
+   * Closes all idle sessions.
+   */
+  public void close() {
+    evict(Long.MAX_VALUE);
+  }
+
+  /**
+   * Closes all sessions that have been idle since the specified time.
+   * @param time time
+   */
+  private void evict(final long time) {
+    final ArrayList<ClientSession> list = new ArrayList<>();
+    synchronized(this) {
+      final Iterator<ArrayDeque<Idle>> iter = idle.values().iterator();
+      while(iter.hasNext()) {
+        final ArrayDeque<Idle> sessions = iter.next();
+        // sessions are sorted by the time of their release
+        while(!sessions.isEmpty() && sessions.peekFirst().time < time) {
+          list.add(sessions.pollFirst().session);
+        }
+        if(sessions.isEmpty()) iter.remove();
+      }
+    }
+    for(final ClientSession cs : list) close(cs);
+  }
+
+  /**
+   * Checks if the specified session can be reused.
+   * @param entry idle session
+   * @return result of check
+   */
+  private boolean alive(final Idle entry) {
+    final long time = System.currentTimeMillis() - entry.time;
+    if(time > timeout) return false;
+    if(time < CHECK) return true;
+    try {
+      entry.session.execute("XQUERY ()");
+      return true;
+    } catch(final IOException ex) {
+      Util.debug(ex);
+      return false;
+    }
+  }
+
+  /**
+   * Closes a session.
+   * @param session session
+   */
+  private static void close(final ClientSession session) {
+    try {
+      session.close();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
+  }
+
+  /** Idle session. */
+  private static final class Idle {
+    /** Session. */
+    private final ClientSession session;
+    /** Time of release. */
+    private final long time = System.currentTimeMillis();
+
+    /**
+     * Constructor.
+     * @param session session
+     */
+    private Idle(final ClientSession session) {
+      this.session = session;
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package org.basex.build;
 
 import java.io.*;
+import java.nio.file.*;
+import java.util.*;
 
+import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.util.*;
@@ -18,6 +21,10 @@ public final class MemBuilder extends Builder {
   private MemData data;
   /** Debug counter. */
   private int c;
+  /** Snapshot directory (can be {@code null}). */
+  private IOFile snapshots;
+  /** Maximum size of all snapshots. */
+  private long max;
 
   /**
    * Constructor.
@@ -59,12 +66,100 @@ public final class MemBuilder extends Builder {
     return new MemBuilder(name, parser).build();
   }
 
+  /**
+   * Assigns the snapshot directory. If a directory is specified, and if the input is a single
+   * file, the database will be loaded from an up-to-date snapshot, or a new snapshot will be
+   * created after parsing the input.
+   * @param sopts static options
+   * @return self reference
+   */
+  public MemBuilder snapshots(final StaticOptions sopts) {
+    final String path = sopts.get(StaticOptions.SNAPSHOTPATH);
+    snapshots = path.isEmpty() ? null : new IOFile(path);
+    max = (long) Math.max(0, sopts.get(StaticOptions.SNAPSHOTSIZE)) << 20;
+    return this;
+  }
+
   @Override
   public MemData build() throws IOException {
+    final IOFile snapshot = snapshot();
+    long checksum = 0;
+    if(snapshot != null) {
+      // the checksum is computed before parsing: if the input is changed in the meantime,
+      // the snapshot will not be used for the new contents
+      final IO source = parser.source;
+      checksum = ((IOFile) source).checksum();
+      if(snapshot.exists()) {
+        try {
+          if(MemData.checksum(snapshot) == checksum) {
+            final MemData md = new MemData(snapshot, parser.options);
+            if(md.meta.original.equals(source.path()) && md.meta.filesize == source.length()) {
+              md.meta.name = dbName;
+              // mark snapshot as recently used
+              snapshot.file().setLastModified(System.currentTimeMillis());
+              return md;
+            }
+          }
+        } catch(final IOException ex) {
+          // outdated storage format or corrupt snapshot: parse input
+          Util.debug(ex);
+        }
+      }
+    }
+
     dataClip();
+
+    if(snapshot != null) {
+      // write to temporary file first: concurrent readers must not see incomplete snapshots
+      final String name = snapshot.name() + '.' + Thread.currentThread().getId();
+      final IOFile tmp = new IOFile(snapshots, name);
+      try {
+        snapshots.md();
+        data.write(tmp, checksum);
+        Files.move(tmp.file().toPath(), snapshot.file().toPath(),
+            StandardCopyOption.REPLACE_EXISTING);
+        evict(snapshot);
+      } catch(final IOException ex) {
+        Util.debug(ex);
+        tmp.delete();
+      }
+    }
     return data;
   }
 
+  /**
+   * Deletes the least recently used snapshots if the total size of all snapshots exceeds
+   * the maximum size (see {@link StaticOptions#SNAPSHOTSIZE}).
+   * @param snapshot snapshot that has just been written (will be retained)
+   */
+  private void evict(final IOFile snapshot) {
+    final IOFile[] files = snapshots.children(".*\\" + IO.BASEXSUFFIX);
+    Arrays.sort(files, new Comparator<IOFile>() {
+      @Override
+      public int compare(final IOFile file1, final IOFile file2) {
+        return Long.compare(file2.timeStamp(), file1.timeStamp());
+      }
+    });
+    long size = snapshot.length();
+    for(final IOFile file : files) {
+      if(file.eq(snapshot)) continue;
+      size += file.length();
+      if(size > max) file.delete();
+    }
+  }
+
+  /**
+   * Returns the snapshot file for the current input.
+   * @return snapshot file, or {@code null} if no snapshot can be created
+   */
+  private IOFile snapshot() {
+    final IO source = parser.source;
+    if(snapshots == null || !(source instanceof IOFile) || source.isDir()) return null;
+    // snapshots depend on the input path and on the parsing and indexing options
+    final String key = source.path() + '\n' + parser.options;
+    return new IOFile(snapshots, Strings.md5(key) + IO.BASEXSUFFIX);
+  }
+
   @Override
   public DataClip dataClip() throws IOException {
     init();
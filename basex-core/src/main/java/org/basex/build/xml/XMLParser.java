@@ -9,6 +9,7 @@ import org.basex.build.*;
 import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.io.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 
 /**
@@ -68,10 +69,14 @@ public class XMLParser extends SingleParser {
     scanner.more();
     while(true) {
       if(scanner.type == Type.TEXT) {
-        final byte[] text = scanner.token.toArray();
+        final TokenBuilder token = scanner.token;
+        byte[] text = token.toArray();
         if(!elms.isEmpty() || fragment || !ws(text)) {
-          if(chops.peek()) scanner.token.trim();
-          builder.text(scanner.token.toArray());
+          if(chops.peek()) {
+            final int size = token.size();
+            if(token.trim().size() != size) text = token.toArray();
+          }
+          builder.text(text);
         }
       } else if(scanner.type == Type.COMMENT) {
         builder.comment(scanner.token.toArray());
@@ -203,7 +208,7 @@ public class XMLParser extends SingleParser {
    */
   private byte[] consumeToken(final Type type) throws IOException {
     if(scanner.type == type) {
-      final byte[] tok = scanner.token.toArray();
+      final byte[] tok = scanner.name();
       scanner.more();
       return tok;
     }
@@ -33,6 +33,18 @@ final class XMLScanner extends Job {
   private static final byte[] QUESTION = { '?' };
   /** Ampersand entity. */
   private static final byte[] AMPER = { '&' };
+  /** Bytes that end a run of text. */
+  private static final boolean[] TEXT = TextInput.delimiters(true, '<', '&', ']');
+  /** Bytes that end a run of an attribute value. */
+  private static final boolean[] ATTVALUE = TextInput.delimiters(true, '<', '&', '\'', '"', '\n');
+  /** Bytes that end a run of an ASCII name. */
+  private static final boolean[] NAME = new boolean[256];
+
+  static {
+    for(int b = 0; b < 256; b++) {
+      NAME[b] = !(letterOrDigit(b) || b == '-' || b == '.' || b == ':');
+    }
+  }
 
   /** Scanning states. */
   private enum Scan {
@@ -47,6 +59,8 @@ final class XMLScanner extends Job {
   /** Current token type. */
   Type type;
 
+  /** Cache for recently scanned names. */
+  private final byte[][] names = new byte[256][];
   /** Index for all entity names. */
   private final TokenMap ents = new TokenMap();
   /** Index for all PEReferences. */
@@ -143,6 +157,27 @@ final class XMLScanner extends Job {
     return true;
   }
 
+  /**
+   * Returns the current token as name. Recurring names are returned from a cache and
+   * will not be copied again.
+   * @return name
+   */
+  byte[] name() {
+    final int tl = token.size();
+    int h = tl;
+    for(int t = 0; t < tl; t++) h = (h << 5) - h + token.get(t);
+    final int i = h & 0xFF;
+    final byte[] name = names[i];
+    if(name != null && name.length == tl) {
+      int t = 0;
+      while(t < tl && name[t] == token.get(t)) t++;
+      if(t == tl) return name;
+    }
+    final byte[] tok = token.toArray();
+    names[i] = tok;
+    return tok;
+  }
+
   /**
    * Finishes file scanning.
    * @throws IOException I/O exception
@@ -235,7 +270,10 @@ final class XMLScanner extends Job {
     } else if(isStartChar(c)) {
       // scan name of attribute or element...
       type = scan == Scan.ATT ? Type.ATTNAME : Type.ELEMNAME;
-      do token.add(c); while(isChar(c = nextChar()));
+      do {
+        token.add(c);
+        input.copy(token, NAME);
+      } while(isChar(c = nextChar()));
       prev(1);
       scan = Scan.ATT;
     } else {
@@ -280,6 +318,7 @@ final class XMLScanner extends Job {
         else if(!input.add(r, false)) throw error(RECENT);
       } else {
         token.add(c);
+        if(!pe) input.copy(token, ATTVALUE);
       }
     } while((c = consume()) != quote);
   }
@@ -316,8 +355,9 @@ final class XMLScanner extends Job {
             }
             prev(1);
           }
-          // add character to cached content
+          // add character and subsequent plain characters to cached content
           token.add(c);
+          input.copy(token, TEXT);
         }
       }
       c = consume();
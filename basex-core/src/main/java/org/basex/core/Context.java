@@ -5,6 +5,7 @@ import org.basex.core.locks.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
 import org.basex.io.random.*;
+import org.basex.io.serial.*;
 import org.basex.query.util.pkg.*;
 import org.basex.query.value.seq.*;
 import org.basex.server.*;
@@ -45,6 +46,8 @@ public final class Context {
   public final Log log;
   /** Locking. */
   public final Locking locking;
+  /** Cache for serialized documents. */
+  public final SerialCache serialCache;
 
   /** Current node context. Set if it does not contain all documents of the current database. */
   private DBNodes current;
@@ -105,6 +108,7 @@ public final class Context {
     repo = ctx.repo;
     log = ctx.log;
     jobs = ctx.jobs;
+    serialCache = ctx.serialCache;
   }
 
   /**
@@ -124,6 +128,7 @@ public final class Context {
     log = new Log(soptions);
     user = users.get(UserText.ADMIN);
     jobs = new JobPool(soptions);
+    serialCache = new SerialCache(soptions);
     client = null;
   }
 
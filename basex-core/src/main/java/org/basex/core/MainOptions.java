@@ -79,6 +79,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption ATTRINDEX = new BooleanOption("ATTRINDEX", true);
   /** Flag for creating a token index. */
   public static final BooleanOption TOKENINDEX = new BooleanOption("TOKENINDEX", false);
+  /** Flag for creating a trigram index. */
+  public static final BooleanOption TRIGRAMINDEX = new BooleanOption("TRIGRAMINDEX", false);
   /** Flag for creating a full-text index. */
   public static final BooleanOption FTINDEX = new BooleanOption("FTINDEX", false);
 
@@ -88,6 +90,8 @@ public final class MainOptions extends Options {
   public static final StringOption ATTRINCLUDE = new StringOption("ATTRINCLUDE", "");
   /** Token index: names to include. */
   public static final StringOption TOKENINCLUDE = new StringOption("TOKENINCLUDE", "");
+  /** Trigram index: names to include. */
+  public static final StringOption TRIGRAMINCLUDE = new StringOption("TRIGRAMINCLUDE", "");
   /** Full-text index: names to include. */
   public static final StringOption FTINCLUDE = new StringOption("FTINCLUDE", "");
 
@@ -127,6 +131,11 @@ public final class MainOptions extends Options {
   public static final NumberOption INLINELIMIT = new NumberOption("INLINELIMIT", 100);
   /** Flag for tail-call optimization. */
   public static final NumberOption TAILCALLS = new NumberOption("TAILCALLS", 256);
+  /** Number of threads for evaluating paths on multiple documents (1: sequential evaluation). */
+  public static final NumberOption PATHTHREADS = new NumberOption("PATHTHREADS", 1);
+  /** Minimum number of nodes of constructed fragments that will be stored in a compact table
+   * representation (0: disabled). */
+  public static final NumberOption FRAGMENTSIZE = new NumberOption("FRAGMENTSIZE", 100000);
   /** Favor global database when opening resources. */
   public static final BooleanOption DEFAULTDB = new BooleanOption("DEFAULTDB", false);
   /** Forces database creation for unknown documents. */
@@ -157,6 +166,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption COMPPLAN = new BooleanOption("COMPPLAN", true);
   /** Dots the query plan. */
   public static final BooleanOption DOTPLAN = new BooleanOption("DOTPLAN", false);
+  /** Annotates the query plan with runtime statistics. */
+  public static final BooleanOption PLANSTATS = new BooleanOption("PLANSTATS", false);
   /** Compact dot representation. */
   public static final BooleanOption DOTCOMPACT = new BooleanOption("DOTCOMPACT", false);
 
@@ -164,6 +175,9 @@ public final class MainOptions extends Options {
   public static final BooleanOption AUTOFLUSH = new BooleanOption("AUTOFLUSH", true);
   /** Writes original files back after updates. */
   public static final BooleanOption WRITEBACK = new BooleanOption("WRITEBACK", false);
+  /** Only backs up database files that have been changed since the last backup
+   * (all files are still read to compute their checksums). */
+  public static final BooleanOption INCBACKUP = new BooleanOption("INCBACKUP", false);
   /** Maximum number of index occurrences to print. */
   public static final NumberOption MAXSTAT = new NumberOption("MAXSTAT", 30);
 
@@ -38,6 +38,12 @@ public final class StaticOptions extends Options {
   public static final BooleanOption FAIRLOCK = new BooleanOption("FAIRLOCK", false);
   /** Timeout (seconds) for remembering result of asynchronous queries. */
   public static final NumberOption CACHETIMEOUT = new NumberOption("CACHETIMEOUT", 3600);
+  /** Maximum size of cached serialized documents (MB); the cache is disabled if 0. */
+  public static final NumberOption SERIALCACHE = new NumberOption("SERIALCACHE", 0);
+  /** Directory for snapshots of main-memory databases; snapshots are disabled if empty. */
+  public static final StringOption SNAPSHOTPATH = new StringOption("SNAPSHOTPATH", "");
+  /** Maximum size of all snapshots (MB); least recently used snapshots are deleted first. */
+  public static final NumberOption SNAPSHOTSIZE = new NumberOption("SNAPSHOTSIZE", 1000);
 
   /** Comment: written to options file. */
   public static final Comment C_CLIENT = new Comment("Client/Server Architecture");
@@ -78,27 +78,38 @@ public abstract class AQuery extends Command {
 
           qp.compile();
           info.compiling += perf.time();
-          if(r == 0) plan(true);
+          if(r == 0 && qp.qc.profiler == null) plan(true);
           if(!run) continue;
 
           final PrintOutput po = r == 0 && serial ? out : new NullOutput();
-          try(Serializer ser = qp.getSerializer(po)) {
-            if(maxResults >= 0) {
+          if(maxResults >= 0) {
+            try(Serializer ser = qp.getSerializer(po)) {
               result = qp.cache(maxResults);
               info.evaluating += perf.time();
               result.serialize(ser);
               hits = result.size();
+            }
+          } else {
+            final Iter ir = qp.iter();
+            info.evaluating += perf.time();
+            // single database nodes: use serialization cache
+            final Item first = ir.next(), second = first != null ? ir.next() : null;
+            if(second == null && first != null && po == out &&
+                context.serialCache.serialize(first, qp.qc.serParams(), po)) {
+              hits = 1;
             } else {
-              hits = 0;
-              final Iter ir = qp.iter();
-              info.evaluating += perf.time();
-              for(Item it; (it = ir.next()) != null;) {
-                ser.serialize(it);
-                ++hits;
-                checkStop();
+              try(Serializer ser = qp.getSerializer(po)) {
+                hits = 0;
+                for(Item it = first; it != null; it = hits == 1 ? second : ir.next()) {
+                  ser.serialize(it);
+                  ++hits;
+                  checkStop();
+                }
               }
             }
           }
+          // query plan with runtime statistics
+          if(r == 0 && qp.qc.profiler != null) plan(true);
           qp.close();
           info.serializing += perf.time();
         }
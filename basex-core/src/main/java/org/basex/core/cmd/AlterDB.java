@@ -45,6 +45,7 @@ public final class AlterDB extends ACreate {
     if(context.pinned(src)) return error(DB_PINNED_X, src);
 
     // try to alter database
+    context.serialCache.remove(src);
     return alter(src, trg, soptions) && (!closed || new Open(trg).run(context)) ?
         info(DB_RENAMED_X, src, trg) : error(DB_NOT_RENAMED_X, src);
   }
@@ -0,0 +1,143 @@
+package org.basex.core.cmd;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.io.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Manifest of a database backup. The manifest lists all files of the backed up database,
+ * along with their size, their CRC32 checksum and the name of the backup that contains
+ * the file. Files that have not changed since the last backup will only be referenced.
+ * Modification times are not compared, as their resolution may be too coarse to detect
+ * updates that happen shortly after a backup.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class BackupManifest {
+  /** Name of the manifest entry. */
+  static final String NAME = "backup" + IO.BASEXSUFFIX;
+
+  /** Files, indexed by their paths. */
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+  /**
+   * Reads the manifest of the specified backup.
+   * @param backup backup file
+   * @return manifest, or {@code null} if the backup contains no manifest
+   * @throws IOException I/O exception
+   */
+  static BackupManifest read(final IOFile backup) throws IOException {
+    final byte[] content;
+    try {
+      content = new Zip(backup).read(NAME);
+    } catch(final FileNotFoundException ex) {
+      Util.debug(ex);
+      return null;
+    }
+    final BackupManifest manifest = new BackupManifest();
+    for(final String line : Strings.split(Token.string(content), '\n')) {
+      if(line.isEmpty()) continue;
+      final String[] fields = Strings.split(line, '\t', 4);
+      if(fields.length != 4) throw new IOException("Invalid backup manifest: " + backup);
+      try {
+        manifest.add(fields[3], Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2]);
+      } catch(final NumberFormatException ex) {
+        throw new IOException("Invalid backup manifest: " + backup, ex);
+      }
+    }
+    return manifest;
+  }
+
+  /**
+   * Adds a file.
+   * @param path relative path (with forward slashes)
+   * @param size file size
+   * @param crc checksum
+   * @param origin name of the backup that contains the file
+   */
+  void add(final String path, final long size, final long crc, final String origin) {
+    entries.put(path, new Entry(size, crc, origin));
+  }
+
+  /**
+   * Returns the name of the backup that contains an unchanged version of the specified file.
+   * @param path relative path
+   * @param size file size
+   * @param crc checksum
+   * @return name of the backup, or {@code null} if the file is unknown or has been changed
+   */
+  String origin(final String path, final long size, final long crc) {
+    final Entry entry = entries.get(path);
+    return entry != null && entry.size == size && entry.crc == crc ? entry.origin : null;
+  }
+
+  /**
+   * Checks if the manifest references files of the specified backup.
+   * @param backup name of the backup
+   * @return result of check
+   */
+  boolean references(final String backup) {
+    for(final Entry entry : entries.values()) {
+      if(entry.origin.equals(backup)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the paths of all files, grouped by the backups that contain them.
+   * @return map with backup names and paths
+   */
+  LinkedHashMap<String, StringList> origins() {
+    final LinkedHashMap<String, StringList> origins = new LinkedHashMap<>();
+    for(final java.util.Map.Entry<String, Entry> entry : entries.entrySet()) {
+      final String origin = entry.getValue().origin;
+      StringList paths = origins.get(origin);
+      if(paths == null) {
+        paths = new StringList();
+        origins.put(origin, paths);
+      }
+      paths.add(entry.getKey());
+    }
+    return origins;
+  }
+
+  /**
+   * Returns the serialized manifest.
+   * @return content
+   */
+  byte[] finish() {
+    final TokenBuilder tb = new TokenBuilder();
+    for(final java.util.Map.Entry<String, Entry> entry : entries.entrySet()) {
+      final Entry e = entry.getValue();
+      tb.addLong(e.size).add('\t').addLong(e.crc).add('\t').add(e.origin).add('\t');
+      tb.add(entry.getKey()).add('\n');
+    }
+    return tb.finish();
+  }
+
+  /** File entry. */
+  private static final class Entry {
+    /** File size. */
+    private final long size;
+    /** Checksum. */
+    private final long crc;
+    /** Name of the backup that contains the file. */
+    private final String origin;
+
+    /**
+     * Constructor.
+     * @param size file size
+     * @param crc checksum
+     * @param origin name of the backup that contains the file
+     */
+    private Entry(final long size, final long crc, final String origin) {
+      this.size = size;
+      this.crc = crc;
+      this.origin = origin;
+    }
+  }
+}
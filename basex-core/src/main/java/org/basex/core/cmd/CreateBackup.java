@@ -50,7 +50,7 @@ public final class CreateBackup extends ABackup {
         ok = false;
       } else {
         try {
-          backup(db, soptions, this);
+          backup(db, context, this);
           // backup was successful
           info(DB_BACKUP_X, db, jc().performance);
         } catch(final IOException ex) {
@@ -63,26 +63,57 @@ public final class CreateBackup extends ABackup {
   }
 
   /**
-   * Backups the specified database.
+   * Backups the specified database. If {@link MainOptions#INCBACKUP} is enabled, and if the
+   * last backup of the database contains a manifest, only files that have been changed since
+   * this backup will be stored. Unchanged files are detected by their size and checksum.
+   * As the checksums are computed from the file contents, all files will still be read in full:
+   * only the amount of written data is reduced. Backups whose files are referenced by later
+   * backups cannot be dropped (see {@link DropBackup#referenced}).
    * @param db name of the database
-   * @param sopts static options
+   * @param ctx database context
    * @param cmd calling command instance
    * @throws IOException I/O Exception
    */
-  public static void backup(final String db, final StaticOptions sopts, final CreateBackup cmd)
+  public static void backup(final String db, final Context ctx, final CreateBackup cmd)
       throws IOException {
 
-    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME) + IO.ZIPSUFFIX;
-    final IOFile zf = sopts.dbPath(backup);
+    final StaticOptions sopts = ctx.soptions;
+    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME);
+    final IOFile zf = sopts.dbPath(backup + IO.ZIPSUFFIX);
     final Zip zip = new Zip(zf);
 
+    // manifest of the last backup
+    BackupManifest last = null;
+    if(ctx.options.get(MainOptions.INCBACKUP)) {
+      final StringList backups = ctx.databases.backups(db);
+      if(!backups.isEmpty() && !backups.get(0).equals(backup)) {
+        last = BackupManifest.read(sopts.dbPath(backups.get(0) + IO.ZIPSUFFIX));
+      }
+    }
+
     try {
       if(cmd != null) cmd.pushJob(zip);
       final IOFile dbpath = sopts.dbPath(db);
       final StringList files = dbpath.descendants();
       // delete file indicating an update (this file is generated when using XQuery)
       files.delete(DATAUPD + IO.BASEXSUFFIX);
-      zip.zip(dbpath, files);
+
+      // only add files that have been changed since the last backup
+      final BackupManifest manifest = new BackupManifest();
+      final StringList changed = new StringList(files.size());
+      for(final String file : files) {
+        final IOFile f = new IOFile(dbpath, file);
+        final String path = Prop.WIN ? file.replace('\\', '/') : file;
+        final long size = f.length(), crc = f.checksum();
+        final String origin = last != null ? last.origin(path, size, crc) : null;
+        if(origin != null) {
+          manifest.add(path, size, crc, origin);
+        } else {
+          manifest.add(path, size, crc, backup);
+          changed.add(file);
+        }
+      }
+      zip.zip(dbpath, changed, BackupManifest.NAME, manifest.finish());
     } finally {
       if(cmd != null) cmd.popJob();
     }
@@ -51,6 +51,9 @@ public final class CreateIndex extends ACreate {
       data.meta.diacritics = options.get(MainOptions.DIACRITICS);
       data.meta.language = Language.get(options);
       data.meta.stopwords = options.get(MainOptions.STOPWORDS);
+    } else if(ci == CmdIndex.TRIGRAM) {
+      type = IndexType.TRIGRAM;
+      data.meta.createtrigram = true;
     } else {
       return error(UNKNOWN_CMD_X, this);
     }
@@ -81,6 +84,7 @@ public final class CreateIndex extends ACreate {
     if(data.meta.createtext) create(IndexType.TEXT, data, cmd);
     if(data.meta.createattr) create(IndexType.ATTRIBUTE, data, cmd);
     if(data.meta.createtoken) create(IndexType.TOKEN, data, cmd);
+    if(data.meta.createtrigram) create(IndexType.TRIGRAM, data, cmd);
     if(data.meta.createft) create(IndexType.FULLTEXT, data, cmd);
   }
 
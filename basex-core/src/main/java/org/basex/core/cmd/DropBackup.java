@@ -2,12 +2,16 @@ package org.basex.core.cmd;
 
 import static org.basex.core.Text.*;
 
+import java.io.*;
+import java.util.*;
+
 import org.basex.core.*;
 import org.basex.core.parse.*;
 import org.basex.core.parse.Commands.Cmd;
 import org.basex.core.parse.Commands.CmdDrop;
 import org.basex.core.users.*;
 import org.basex.io.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 
 /**
@@ -35,14 +39,48 @@ public final class DropBackup extends ABackup {
     // if the given argument is not a database name, it could be the name of a backup file
     if(dbs.isEmpty() && context.perm(Perm.READ, name)) dbs.add(name);
 
+    // collect all backups, reject backups with files that are referenced by other backups
+    final StringList backups = new StringList();
+    for(final String db : dbs) backups.add(context.databases.backups(db));
+    final String[] ref = referenced(backups, context);
+    if(ref != null) return error(BACKUP_REFERENCED_X_X, ref[0], ref[1]);
+
     // drop all backups
-    for(final String db : dbs) {
-      for(final String backup : context.databases.backups(db)) drop(backup, soptions);
-    }
+    for(final String backup : backups) drop(backup, soptions);
 
     return info(BACKUP_DROPPED_X, name + '*' + IO.ZIPSUFFIX);
   }
 
+  /**
+   * Checks if files of the specified backups are referenced by the manifests of other
+   * backups (see {@link MainOptions#INCBACKUP}). Such backups cannot be dropped, as the
+   * other backups could not be restored anymore.
+   * @param backups names of the backups to be dropped
+   * @param ctx database context
+   * @return names of a referenced backup and of the referencing backup, or {@code null}
+   */
+  public static String[] referenced(final StringList backups, final Context ctx) {
+    final HashMap<String, BackupManifest> manifests = new HashMap<>();
+    for(final String backup : backups) {
+      for(final String other : ctx.databases.backups(Databases.name(backup))) {
+        if(backups.contains(other)) continue;
+        if(!manifests.containsKey(other)) {
+          BackupManifest manifest = null;
+          try {
+            manifest = BackupManifest.read(ctx.soptions.dbPath(other + IO.ZIPSUFFIX));
+          } catch(final IOException ex) {
+            // backups with invalid manifests cannot be restored anyway
+            Util.debug(ex);
+          }
+          manifests.put(other, manifest);
+        }
+        final BackupManifest manifest = manifests.get(other);
+        if(manifest != null && manifest.references(backup)) return new String[] { backup, other };
+      }
+    }
+    return null;
+  }
+
   /**
    * Drops a backup with the specified name.
    * @param name name of backup file
@@ -48,6 +48,7 @@ public final class DropDB extends ACreate {
         info(DB_NOT_DROPPED_X, db);
         ok = false;
       } else {
+        context.serialCache.remove(db);
         info(DB_DROPPED_X, db);
       }
     }
@@ -54,6 +54,7 @@ public final class InfoIndex extends AInfo {
     tb.add(info(CmdIndexInfo.TEXT, data, options));
     tb.add(info(CmdIndexInfo.ATTRIBUTE, data, options));
     tb.add(info(CmdIndexInfo.TOKEN, data, options));
+    tb.add(info(CmdIndexInfo.TRIGRAM, data, options));
     tb.add(info(CmdIndexInfo.FULLTEXT, data, options));
     tb.add(info(CmdIndexInfo.PATH, data, options));
     out.print(tb.finish());
@@ -86,6 +87,8 @@ public final class InfoIndex extends AInfo {
         return info(ATTRIBUTE_INDEX, IndexType.ATTRIBUTE, data, options, data.meta.attrindex);
       case TOKEN:
         return info(TOKEN_INDEX, IndexType.TOKEN, data, options, data.meta.tokenindex);
+      case TRIGRAM:
+        return info(TRIGRAM_INDEX, IndexType.TRIGRAM, data, options, data.meta.trigramindex);
       case FULLTEXT:
         return info(FULLTEXT_INDEX, IndexType.FULLTEXT, data, options, data.meta.ftindex);
       default:
@@ -89,7 +89,7 @@ public final class Optimize extends ACreate {
    * @throws IOException I/O Exception during index rebuild
    */
   public static void optimize(final Data data, final Optimize cmd) throws IOException {
-    optimize(data, false, false, false, false, cmd);
+    optimize(data, false, false, false, false, false, cmd);
   }
 
   /**
@@ -98,12 +98,14 @@ public final class Optimize extends ACreate {
    * @param enforceText enforce creation or deletion of text index
    * @param enforceAttr enforce creation or deletion of attribute index
    * @param enforceToken enforce creation or deletion of token index
+   * @param enforceTrigram enforce creation or deletion of trigram index
    * @param enforceFt enforce creation or deletion of full-text index
    * @param cmd calling command instance (may be {@code null})
    * @throws IOException I/O Exception during index rebuild
    */
   public static void optimize(final Data data, final boolean enforceText, final boolean enforceAttr,
-      final boolean enforceToken, final boolean enforceFt, final Optimize cmd) throws IOException {
+      final boolean enforceToken, final boolean enforceTrigram, final boolean enforceFt,
+      final Optimize cmd) throws IOException {
 
     // initialize structural indexes
     final MetaData meta = data.meta;
@@ -160,6 +162,7 @@ public final class Optimize extends ACreate {
     optimize(IndexType.TEXT, data, meta.createtext, enforceText, cmd);
     optimize(IndexType.ATTRIBUTE, data, meta.createattr, enforceAttr, cmd);
     optimize(IndexType.TOKEN, data, meta.createtoken, enforceToken, cmd);
+    optimize(IndexType.TRIGRAM, data, meta.createtrigram, enforceTrigram, cmd);
     optimize(IndexType.FULLTEXT, data, meta.createft, enforceFt, cmd);
   }
 
@@ -199,6 +202,7 @@ public final class Optimize extends ACreate {
       if(data.meta.textindex) optimize(IndexType.TEXT, data, true, true, null);
       if(data.meta.attrindex) optimize(IndexType.ATTRIBUTE, data, true, true, null);
       if(data.meta.tokenindex) optimize(IndexType.TOKEN, data, true, true, null);
+      if(data.meta.trigramindex) optimize(IndexType.TRIGRAM, data, true, true, null);
     }
   }
 }
@@ -94,10 +94,12 @@ public final class OptimizeAll extends ACreate {
     options.set(MainOptions.TEXTINDEX, ometa.textindex);
     options.set(MainOptions.ATTRINDEX, ometa.attrindex);
     options.set(MainOptions.TOKENINDEX, ometa.tokenindex);
+    options.set(MainOptions.TRIGRAMINDEX, ometa.trigramindex);
     options.set(MainOptions.FTINDEX, ometa.ftindex);
     options.set(MainOptions.TEXTINCLUDE, ometa.textinclude);
     options.set(MainOptions.ATTRINCLUDE, ometa.attrinclude);
     options.set(MainOptions.TOKENINCLUDE, ometa.tokeninclude);
+    options.set(MainOptions.TRIGRAMINCLUDE, ometa.trigraminclude);
     options.set(MainOptions.FTINCLUDE, ometa.ftinclude);
     // adopt original full-text index options
     options.set(MainOptions.STEMMING, ometa.stemming);
@@ -130,6 +132,7 @@ public final class OptimizeAll extends ACreate {
     nmeta.createtext = ometa.createtext;
     nmeta.createattr = ometa.createattr;
     nmeta.createtoken = ometa.createtoken;
+    nmeta.createtrigram = ometa.createtrigram;
     nmeta.createft = ometa.createft;
     nmeta.original = ometa.original;
     nmeta.filesize = ometa.filesize;
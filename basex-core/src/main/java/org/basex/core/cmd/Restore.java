@@ -3,6 +3,7 @@ package org.basex.core.cmd;
 import static org.basex.core.Text.*;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.core.*;
 import org.basex.io.*;
@@ -74,14 +75,49 @@ public final class Restore extends ABackup {
   public static void restore(final String db, final String backup, final StaticOptions sopts,
       final Restore cmd) throws IOException {
 
+    final IOFile dbpath = sopts.dbPath();
+    final IOFile file = new IOFile(dbpath, backup + IO.ZIPSUFFIX);
+
+    // incremental backup: files may be stored in previous backups
+    final BackupManifest manifest = BackupManifest.read(file);
+    final LinkedHashMap<String, StringList> origins = new LinkedHashMap<>();
+    if(manifest != null) {
+      for(final Map.Entry<String, StringList> entry : manifest.origins().entrySet()) {
+        final String origin = entry.getKey();
+        if(!sopts.dbPath(origin + IO.ZIPSUFFIX).exists())
+          throw new FileNotFoundException(origin + IO.ZIPSUFFIX);
+        final StringList entries = new StringList();
+        for(final String path : entry.getValue()) entries.add(db + '/' + path);
+        origins.put(origin, entries);
+      }
+    }
+
     // drop target database
     DropDB.drop(db, sopts);
 
-    final IOFile dbpath = sopts.dbPath();
-    final Zip zip = new Zip(new IOFile(dbpath, backup + IO.ZIPSUFFIX));
+    if(manifest == null) {
+      unzip(new Zip(file), dbpath, null, cmd);
+    } else {
+      for(final Map.Entry<String, StringList> entry : origins.entrySet()) {
+        final Zip zip = new Zip(new IOFile(dbpath, entry.getKey() + IO.ZIPSUFFIX));
+        unzip(zip, dbpath, entry.getValue(), cmd);
+      }
+    }
+  }
+
+  /**
+   * Unzips entries of a backup.
+   * @param zip zip archive
+   * @param target target path
+   * @param entries entries to be extracted ({@code null}: all entries)
+   * @param cmd calling command instance
+   * @throws IOException I/O exception
+   */
+  private static void unzip(final Zip zip, final IOFile target, final StringList entries,
+      final Restore cmd) throws IOException {
     try {
       if(cmd != null) cmd.pushJob(zip);
-      zip.unzip(dbpath);
+      zip.unzip(target, entries);
     } finally {
       if(cmd != null) cmd.popJob();
     }
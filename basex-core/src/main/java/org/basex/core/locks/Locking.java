@@ -5,11 +5,13 @@ import static org.basex.util.Prop.*;
 import java.util.*;
 import java.util.Map.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 import java.util.concurrent.locks.*;
 
 import org.basex.core.*;
 import org.basex.core.jobs.*;
 import org.basex.util.*;
+import org.basex.util.metrics.*;
 
 /**
  * Read and write locks on arbitrary strings.
@@ -72,6 +74,13 @@ public final class Locking {
   /** Number of currently running jobs. */
   private int jobs;
 
+  /** Counter for released write locks. */
+  private final AtomicLong updates = new AtomicLong();
+  /** Counter value when the last global write lock was released. */
+  private volatile long globalUpdate;
+  /** Counter values when the last write locks on databases were released. */
+  private final ConcurrentMap<String, Long> localUpdates = new ConcurrentHashMap<>();
+
   /**
    * Constructor.
    * @param soptions static options
@@ -83,6 +92,21 @@ public final class Locking {
     queue = fair ? new FairLockQueue() : new NonfairLockQueue();
   }
 
+  /**
+   * Returns the lock string for a resource of a database. Resources are locked by the first
+   * segment of their path, so resources in different top-level directories can be accessed in
+   * parallel. Resource locks are only assigned to binary resources: XML documents share the node
+   * table of their database, and updates of the table always lock the complete database.
+   * @param db name of the database
+   * @param path normalized path to the resource
+   * @return lock string
+   */
+  public static String resource(final String db, final String path) {
+    final int i = path.indexOf('/');
+    final String segment = i == -1 ? path : path.substring(0, i);
+    return db + '/' + (Prop.CASE ? segment : segment.toLowerCase(Locale.ENGLISH));
+  }
+
   /**
    * Acquires locks for the specified job.
    * @param job job to be queued
@@ -117,10 +141,22 @@ public final class Locking {
     // queue job if the job limit has been reached
     final LockList reads = locks.reads, writes = locks.writes;
     final boolean write = writes.locking(), read = reads.locking(), lock = read || write;
+    final long start = System.nanoTime();
     synchronized(queue) {
-      if(jobs >= parallel) queue.wait(id, read, write);
+      if(jobs >= parallel) {
+        Metrics.JOBS_THROTTLED.inc();
+        Metrics.JOBS_QUEUED.inc();
+        try {
+          queue.wait(id, read, write);
+        } finally {
+          Metrics.JOBS_QUEUED.dec();
+        }
+      }
       jobs++;
     }
+    Metrics.JOBS_RUNNING.inc();
+    final long queued = System.nanoTime();
+    Metrics.JOB_QUEUE.record(queued - start);
 
     // apply exclusive lock (global write), or shared lock otherwise
     if(lock) (writes.global() ? globalLocks.writeLock() : globalLocks.readLock()).lock();
@@ -148,6 +184,19 @@ public final class Locking {
         pin(reads.get(r++)).readLock().lock();
       }
     }
+    Metrics.LOCK_WAIT.time(queued);
+  }
+
+  /**
+   * Returns the update stamp of a database. The stamp changes whenever a job that may have
+   * updated the database releases its write locks. It can be used to validate cached information
+   * on the database without acquiring a read lock.
+   * @param name name of the database
+   * @return update stamp
+   */
+  public long updates(final String name) {
+    final Long upd = localUpdates.get(Prop.CASE ? name : name.toLowerCase(Locale.ENGLISH));
+    return Math.max(globalUpdate, upd != null ? upd : 0);
   }
 
   /**
@@ -159,6 +208,18 @@ public final class Locking {
     final LockList reads = locks.reads, writes = locks.writes;
     final boolean lock = reads.locking() || writes.locking();
 
+    // assign new update stamps before the write locks are released
+    if(writes.locking()) {
+      final long upd = updates.incrementAndGet();
+      if(writes.global()) globalUpdate = upd;
+      for(final String write : writes) {
+        // resource locks: database name precedes the first slash
+        final int i = write.indexOf('/');
+        final String name = i == -1 ? write : write.substring(0, i);
+        localUpdates.put(Prop.CASE ? name : name.toLowerCase(Locale.ENGLISH), upd);
+      }
+    }
+
     // release all local locks
     for(final String read : reads) unpin(read).readLock().unlock();
     for(final String write : writes) unpin(write).writeLock().unlock();
@@ -187,6 +248,7 @@ public final class Locking {
       jobs--;
       queue.notifyAll();
     }
+    Metrics.JOBS_RUNNING.dec();
   }
 
   /**
@@ -81,6 +81,8 @@ public abstract class Data {
 
   /** Resource index. */
   public final Resources resources = new Resources(this);
+  /** Pre values of elements, grouped by local names (created on demand). */
+  public final ElemPres elemPres = new ElemPres(this);
   /** Meta data. */
   public final MetaData meta;
 
@@ -98,11 +100,15 @@ public abstract class Data {
   public ValueIndex attrIndex;
   /** Token index. */
   public ValueIndex tokenIndex;
+  /** Trigram index. */
+  public ValueIndex trigramIndex;
   /** Full-text index. */
   public ValueIndex ftIndex;
 
   /** Indicates if distances are to be updated. */
   public boolean updateDists = true;
+  /** Indicates if the instance stores a compacted fragment ({@link MainOptions#FRAGMENTSIZE}). */
+  public boolean fragment;
   /** ID->PRE mapping. */
   public IdPreMap idmap;
 
@@ -210,6 +216,7 @@ public abstract class Data {
       case TEXT:      return textIndex;
       case ATTRIBUTE: return attrIndex;
       case TOKEN:     return tokenIndex;
+      case TRIGRAM:   return trigramIndex;
       case FULLTEXT:  return ftIndex;
       case PATH:      return paths;
       default:        throw Util.notExpected();
@@ -510,6 +517,7 @@ public abstract class Data {
         if(meta.updindex) {
           if(meta.attrindex) attrIndex.delete(new ValueCache(pre, IndexType.ATTRIBUTE, this));
           if(meta.tokenindex) tokenIndex.delete(new ValueCache(pre, IndexType.TOKEN, this));
+          if(meta.trigramindex) trigramIndex.delete(new ValueCache(pre, IndexType.TRIGRAM, this));
         }
         table.write1(pre, 11, uriId);
         table.write2(pre, 1, attrNames.put(name));
@@ -518,23 +526,29 @@ public abstract class Data {
         if(meta.updindex) {
           if(meta.attrindex) attrIndex.add(new ValueCache(pre, IndexType.ATTRIBUTE, this));
           if(meta.tokenindex) tokenIndex.add(new ValueCache(pre, IndexType.TOKEN, this));
+          if(meta.trigramindex) trigramIndex.add(new ValueCache(pre, IndexType.TRIGRAM, this));
         }
 
       } else {
         // update element name
         final IntList pres = new IntList();
-        // update text index
-        if(meta.updindex && meta.textindex) {
+        // update text and trigram index
+        final boolean text = meta.textindex, trigram = meta.trigramindex;
+        if(meta.updindex && (text || trigram)) {
           final int last = pre + sz;
           for(int curr = pre + attSize(pre, kind); curr < last; curr += size(curr, kind(curr))) {
             if(kind(curr) == TEXT) pres.add(curr);
           }
-          textIndex.delete(new ValueCache(pres, IndexType.TEXT, this));
+          if(text) textIndex.delete(new ValueCache(pres, IndexType.TEXT, this));
+          if(trigram) trigramIndex.delete(new ValueCache(pres, IndexType.TRIGRAM, this));
         }
         table.write1(pre, 3, uriId);
         final int nameId = elemNames.put(name);
         table.write2(nsPre, 1, (nsFlag || nsFlag(nsPre) ? 1 << 15 : 0) | nameId);
-        if(!pres.isEmpty()) textIndex.add(new ValueCache(pres, IndexType.TEXT, this));
+        if(!pres.isEmpty()) {
+          if(text) textIndex.add(new ValueCache(pres, IndexType.TEXT, this));
+          if(trigram) trigramIndex.add(new ValueCache(pres, IndexType.TRIGRAM, this));
+        }
       }
     }
   }
@@ -1059,6 +1073,9 @@ public abstract class Data {
       if(meta.textindex) textIndex.delete(new ValueCache(pre, size, IndexType.TEXT, this));
       if(meta.attrindex) attrIndex.delete(new ValueCache(pre, size, IndexType.ATTRIBUTE, this));
       if(meta.tokenindex) tokenIndex.delete(new ValueCache(pre, size, IndexType.TOKEN, this));
+      if(meta.trigramindex) {
+        trigramIndex.delete(new ValueCache(pre, size, IndexType.TRIGRAM, this));
+      }
       if(id != -1) idmap.delete(pre, id, -size);
     }
   }
@@ -1077,6 +1094,7 @@ public abstract class Data {
       if(meta.textindex) textIndex.add(new ValueCache(pre, size, IndexType.TEXT, this));
       if(meta.attrindex) attrIndex.add(new ValueCache(pre, size, IndexType.ATTRIBUTE, this));
       if(meta.tokenindex) tokenIndex.add(new ValueCache(pre, size, IndexType.TOKEN, this));
+      if(meta.trigramindex) trigramIndex.add(new ValueCache(pre, size, IndexType.TRIGRAM, this));
     }
   }
 
@@ -42,6 +42,8 @@ public interface DataText {
   String DBATVIDX = "ATVINDEX";
   /** Token index. */
   String DBTOKIDX = "TOKINDEX";
+  /** Trigram index. */
+  String DBTRIIDX = "TRIINDEX";
   /** Full-text index. */
   String DBFTXIDX = "FTXINDEX";
   /** Text index: names. */
@@ -50,6 +52,8 @@ public interface DataText {
   String DBATVINC = "ATVINC";
   /** Token index: names. */
   String DBTOKINC = "TOKINC";
+  /** Trigram index: names. */
+  String DBTRIINC = "TRIINC";
   /** Full-text index: names. */
   String DBFTXINC = "FTXINC";
   /** Full-text stemming. */
@@ -62,6 +66,10 @@ public interface DataText {
   String DBFTCS = "FTCS";
   /** Full-text diacritics removal. */
   String DBFTDC = "FTDC";
+  /** Full-text index: number of indexed texts. */
+  String DBFTTEXTS = "FTTEXTS";
+  /** Full-text index: total length of indexed texts. */
+  String DBFTLENGTH = "FTLENGTH";
   /** Maximum length of index entries. */
   String DBMAXLEN = "MAXLEN";
   /** Maximum number of categories. */
@@ -82,6 +90,8 @@ public interface DataText {
   String DBCRTATV = "CRTATV";
   /** Recreate token index. */
   String DBCRTTOK = "CRTTOK";
+  /** Recreate trigram index. */
+  String DBCRTTRI = "CRTTRI";
   /** Recreate full-text index. */
   String DBCRTFTX = "CRTFTX";
 
@@ -98,6 +108,12 @@ public interface DataText {
   String DBPATH = "PATH";
   /** Namespace. */
   String DBNS = "NS";
+  /** Texts (main-memory snapshot). */
+  String DBTEXTS = "TEXTS";
+  /** Attribute values (main-memory snapshot). */
+  String DBVALUES = "VALUES";
+  /** ID->PRE mapping (main-memory snapshot). */
+  String DBIDMAP = "IDMAP";
 
   // DATABASE FILES ===============================================================================
 
@@ -113,6 +129,8 @@ public interface DataText {
   String DATAATV = "atv";
   /** Database - Token index. */
   String DATATOK = "tok";
+  /** Database - Trigram index. */
+  String DATATRI = "tri";
   /** Database - Full-text index. */
   String DATAFTX = "ftx";
   /** Database - Stopword list. */
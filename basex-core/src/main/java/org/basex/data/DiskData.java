@@ -65,10 +65,12 @@ public final class DiskData extends Data {
       if(meta.textindex) textIndex = new UpdatableDiskValues(this, IndexType.TEXT);
       if(meta.attrindex) attrIndex = new UpdatableDiskValues(this, IndexType.ATTRIBUTE);
       if(meta.tokenindex) tokenIndex = new UpdatableDiskValues(this, IndexType.TOKEN);
+      if(meta.trigramindex) trigramIndex = new UpdatableDiskValues(this, IndexType.TRIGRAM);
     } else {
       if(meta.textindex) textIndex = new DiskValues(this, IndexType.TEXT);
       if(meta.attrindex) attrIndex = new DiskValues(this, IndexType.ATTRIBUTE);
       if(meta.tokenindex) tokenIndex = new DiskValues(this, IndexType.TOKEN);
+      if(meta.trigramindex) trigramIndex = new DiskValues(this, IndexType.TRIGRAM);
     }
     if(meta.ftindex) ftIndex = new FTIndex(this);
   }
@@ -142,6 +144,7 @@ public final class DiskData extends Data {
       close(IndexType.TEXT);
       close(IndexType.ATTRIBUTE);
       close(IndexType.TOKEN);
+      close(IndexType.TRIGRAM);
       close(IndexType.FULLTEXT);
     } catch(final IOException ex) {
       Util.stack(ex);
@@ -167,7 +170,8 @@ public final class DiskData extends Data {
     close(type);
     final IndexBuilder ib;
     switch(type) {
-      case TEXT: case ATTRIBUTE: case TOKEN: ib = new DiskValuesBuilder(this, type); break;
+      case TEXT: case ATTRIBUTE: case TOKEN: case TRIGRAM:
+        ib = new DiskValuesBuilder(this, type); break;
       case FULLTEXT: ib = new FTBuilder(this); break;
       default: throw Util.notExpected();
     }
@@ -197,6 +201,7 @@ public final class DiskData extends Data {
       case TEXT:      textIndex = index; break;
       case ATTRIBUTE: attrIndex = index; break;
       case TOKEN:     tokenIndex = index; break;
+      case TRIGRAM:   trigramIndex = index; break;
       case FULLTEXT:  ftIndex = index; break;
       default:        break;
     }
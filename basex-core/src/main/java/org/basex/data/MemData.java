@@ -1,14 +1,22 @@
 package org.basex.data;
 
 import static org.basex.core.Text.*;
+import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
 
 import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
 
+import org.basex.build.*;
 import org.basex.core.*;
 import org.basex.index.*;
 import org.basex.index.name.*;
 import org.basex.index.path.*;
 import org.basex.index.value.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
 import org.basex.io.random.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
@@ -70,11 +78,106 @@ public final class MemData extends Data {
     this.nspaces = nspaces == null ? new Namespaces() : nspaces;
   }
 
+  /**
+   * Constructor for reading a snapshot that has been created via {@link #write(IOFile, long)}.
+   * Value indexes are not included in the snapshot.
+   * @param file snapshot file
+   * @param options database options
+   * @throws IOException I/O exception
+   */
+  public MemData(final IOFile file, final MainOptions options) throws IOException {
+    super(new MetaData(options));
+    TokenSet txts = null, vals = null;
+    try(FileChannel fc = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)) {
+      final DataInput in = new DataInput(Channels.newInputStream(fc));
+      // skip checksum
+      in.readNum();
+      meta.read(in);
+      while(true) {
+        final String k = string(in.readToken());
+        if(k.isEmpty()) break;
+        switch(k) {
+          case DBTAGS:   elemNames = new Names(in, meta); break;
+          case DBATTS:   attrNames = new Names(in, meta); break;
+          case DBPATH:   paths = new PathIndex(this, in); break;
+          case DBNS:     nspaces = new Namespaces(in); break;
+          case DBTEXTS:  txts = new TokenSet(in); break;
+          case DBVALUES: vals = new TokenSet(in); break;
+          case DBIDMAP:  idmap = new IdPreMap(in); break;
+          default:       throw new BuildException(DB_CORRUPT);
+        }
+      }
+      // table entries are stored at the end of the file
+      final long pos = fc.size() - ((long) meta.size << 4);
+      if(pos < 0 || elemNames == null || attrNames == null || paths == null ||
+          nspaces == null || txts == null || vals == null) throw new BuildException(DB_CORRUPT);
+
+      final TableMemAccess tbl = new TableMemAccess(meta);
+      tbl.read(fc, pos);
+      table = tbl;
+    }
+    texts = txts;
+    values = vals;
+    if(meta.updindex && idmap == null) idmap = new IdPreMap(meta.lastid);
+    meta.textindex = false;
+    meta.attrindex = false;
+    meta.tokenindex = false;
+    meta.trigramindex = false;
+    meta.ftindex = false;
+  }
+
+  /**
+   * Returns the checksum that is stored in the header of a snapshot.
+   * @param file snapshot file
+   * @return checksum
+   * @throws IOException I/O exception
+   */
+  public static long checksum(final IOFile file) throws IOException {
+    try(DataInput in = new DataInput(file)) {
+      return in.readNum() & 0xFFFFFFFFL;
+    }
+  }
+
+  /**
+   * Writes a snapshot of the database to the specified file. The snapshot starts with the
+   * checksum of the input and contains the database table, the texts and attribute values,
+   * the names, namespaces and the path index. The table is written last and can be read in bulk.
+   * @param file snapshot file
+   * @param checksum CRC32 checksum of the input (see {@link IOFile#checksum()})
+   * @throws IOException I/O exception
+   */
+  public void write(final IOFile file, final long checksum) throws IOException {
+    try(DataOutput out = new DataOutput(file)) {
+      out.writeNum((int) checksum);
+      meta.write(out);
+      out.writeToken(token(DBTAGS));
+      elemNames.write(out);
+      out.writeToken(token(DBATTS));
+      attrNames.write(out);
+      out.writeToken(token(DBPATH));
+      paths.write(out);
+      out.writeToken(token(DBNS));
+      nspaces.write(out);
+      out.writeToken(token(DBTEXTS));
+      texts.write(out);
+      out.writeToken(token(DBVALUES));
+      values.write(out);
+      if(idmap != null) {
+        out.writeToken(token(DBIDMAP));
+        idmap.write(out);
+      }
+      out.write(0);
+    }
+    try(FileChannel fc = FileChannel.open(file.file().toPath(), StandardOpenOption.APPEND)) {
+      ((TableMemAccess) table).write(fc);
+    }
+  }
+
   @Override
   public void createIndex(final IndexType type, final Command cmd) throws IOException {
     final IndexBuilder ib;
     switch(type) {
-      case TEXT: case ATTRIBUTE: case TOKEN:
+      case TEXT: case ATTRIBUTE: case TOKEN: case TRIGRAM:
         ib = new MemValuesBuilder(this, type); break;
       case FULLTEXT:
         throw new BaseXException(NO_MAINMEM);
@@ -95,6 +198,7 @@ public final class MemData extends Data {
       case TEXT:      break;
       case ATTRIBUTE: break;
       case TOKEN:     break;
+      case TRIGRAM:   break;
       case FULLTEXT:  throw new BaseXException(NO_MAINMEM);
       default:        throw Util.notExpected();
     }
@@ -112,6 +216,7 @@ public final class MemData extends Data {
       case TEXT:      textIndex = index; break;
       case ATTRIBUTE: attrIndex = index; break;
       case TOKEN:     tokenIndex = index; break;
+      case TRIGRAM:   trigramIndex = index; break;
       case FULLTEXT:  ftIndex = index; break;
       default:        break;
     }
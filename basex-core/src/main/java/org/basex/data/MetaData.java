@@ -44,6 +44,8 @@ public final class MetaData {
   public boolean attrindex;
   /** Indicates if a token index exists. */
   public boolean tokenindex;
+  /** Indicates if a trigram index exists. */
+  public boolean trigramindex;
   /** Indicates if a full-text index exists. */
   public boolean ftindex;
 
@@ -58,6 +60,8 @@ public final class MetaData {
   public boolean createattr;
   /** Indicates if the token index is to be recreated. */
   public boolean createtoken;
+  /** Indicates if the trigram index is to be recreated. */
+  public boolean createtrigram;
   /** Indicates if the full-text index is to be recreated. */
   public boolean createft;
   /** Text index: names to include. */
@@ -66,6 +70,8 @@ public final class MetaData {
   public String attrinclude = "";
   /** Token index: names to tokenize. */
   public String tokeninclude = "";
+  /** Trigram index: names to include. */
+  public String trigraminclude = "";
   /** Full-text index: names to include. */
   public String ftinclude = "";
 
@@ -77,6 +83,10 @@ public final class MetaData {
   public boolean diacritics;
   /** Full-text stopword file. */
   public String stopwords = "";
+  /** Full-text index: number of indexed texts. */
+  public int fttexts;
+  /** Full-text index: total length of indexed texts. */
+  public long ftlength;
 
   /** Maximum number of categories. */
   public int maxcats;
@@ -94,6 +104,8 @@ public final class MetaData {
   public boolean corrupt;
   /** Dirty flag. */
   public boolean dirty;
+  /** Number of updates since the database has been opened (will not be stored on disk). */
+  public long updates;
 
   /** Number of nodes. */
   public int size;
@@ -127,6 +139,7 @@ public final class MetaData {
     createtext = options.get(MainOptions.TEXTINDEX);
     createattr = options.get(MainOptions.ATTRINDEX);
     createtoken = options.get(MainOptions.TOKENINDEX);
+    createtrigram = options.get(MainOptions.TRIGRAMINDEX);
     createft = options.get(MainOptions.FTINDEX);
     diacritics = options.get(MainOptions.DIACRITICS);
     stemming = options.get(MainOptions.STEMMING);
@@ -140,6 +153,7 @@ public final class MetaData {
     textinclude = options.get(MainOptions.TEXTINCLUDE);
     attrinclude = options.get(MainOptions.ATTRINCLUDE);
     tokeninclude = options.get(MainOptions.TOKENINCLUDE);
+    trigraminclude = options.get(MainOptions.TRIGRAMINCLUDE);
     ftinclude = options.get(MainOptions.FTINCLUDE);
     splitsize = options.get(MainOptions.SPLITSIZE);
   }
@@ -291,6 +305,7 @@ public final class MetaData {
       case TEXT:      return textindex;
       case ATTRIBUTE: return attrindex;
       case TOKEN:     return tokenindex;
+      case TRIGRAM:   return trigramindex;
       case FULLTEXT:  return ftindex;
       default:        throw Util.notExpected();
     }
@@ -306,6 +321,7 @@ public final class MetaData {
       case TEXT:      textindex = exists; break;
       case ATTRIBUTE: attrindex = exists; break;
       case TOKEN:     tokenindex = exists; break;
+      case TRIGRAM:   trigramindex = exists; break;
       case FULLTEXT:  ftindex = exists; break;
       default:        throw Util.notExpected();
     }
@@ -321,6 +337,7 @@ public final class MetaData {
       case TEXT:      return textinclude;
       case ATTRIBUTE: return attrinclude;
       case TOKEN:     return tokeninclude;
+      case TRIGRAM:   return trigraminclude;
       case FULLTEXT:  return ftinclude;
       default:        throw Util.notExpected();
     }
@@ -336,6 +353,7 @@ public final class MetaData {
       case TEXT:      textinclude = options.get(MainOptions.TEXTINCLUDE); break;
       case ATTRIBUTE: attrinclude = options.get(MainOptions.ATTRINCLUDE); break;
       case TOKEN:     tokeninclude = options.get(MainOptions.TOKENINCLUDE); break;
+      case TRIGRAM:   trigraminclude = options.get(MainOptions.TRIGRAMINCLUDE); break;
       case FULLTEXT:  ftinclude = options.get(MainOptions.FTINCLUDE); break;
       default:        throw Util.notExpected();
     }
@@ -371,21 +389,26 @@ public final class MetaData {
         else if(k.equals(DBLASTID))   lastid       = toInt(v);
         else if(k.equals(DBTIME))     time         = toLong(v);
         else if(k.equals(DBFSIZE))    filesize     = toLong(v);
+        else if(k.equals(DBFTTEXTS))  fttexts      = toInt(v);
+        else if(k.equals(DBFTLENGTH)) ftlength     = toLong(v);
         else if(k.equals(DBFTDC))     diacritics   = toBool(v);
         else if(k.equals(DBUPDIDX))   updindex     = toBool(v);
         else if(k.equals(DBAUTOOPT))  autooptimize = toBool(v);
         else if(k.equals(DBTXTIDX))   textindex    = toBool(v);
         else if(k.equals(DBATVIDX))   attrindex    = toBool(v);
         else if(k.equals(DBTOKIDX))   tokenindex   = toBool(v);
+        else if(k.equals(DBTRIIDX))   trigramindex = toBool(v);
         else if(k.equals(DBFTXIDX))   ftindex      = toBool(v);
         else if(k.equals(DBTXTINC))   textinclude  = v;
         else if(k.equals(DBATVINC))   attrinclude  = v;
         else if(k.equals(DBTOKINC))   tokeninclude = v;
+        else if(k.equals(DBTRIINC))   trigraminclude = v;
         else if(k.equals(DBFTXINC))   ftinclude    = v;
         else if(k.equals(DBSPLITS))   splitsize    = toInt(v);
         else if(k.equals(DBCRTTXT))   createtext   = toBool(v);
         else if(k.equals(DBCRTATV))   createattr   = toBool(v);
         else if(k.equals(DBCRTTOK))   createtoken  = toBool(v);
+        else if(k.equals(DBCRTTRI))   createtrigram = toBool(v);
         else if(k.equals(DBCRTFTX))   createft     = toBool(v);
         else if(k.equals(DBWCIDX))    wcindex      = toBool(v);
         else if(k.equals(DBFTST))     stemming     = toBool(v);
@@ -402,7 +425,7 @@ public final class MetaData {
     // check version of database indexes
     oldindex = !istorage.equals(ISTORAGE) &&
         new Version(istorage).compareTo(new Version(ISTORAGE)) > 0;
-    corrupt = dbfile(DATAUPD).exists();
+    corrupt = path != null && dbfile(DATAUPD).exists();
     // deactivate full-text index if obsolete trie structure was used
     if(wcindex) ftindex = false;
   }
@@ -425,20 +448,25 @@ public final class MetaData {
     writeInfo(out, DBTXTIDX,   textindex);
     writeInfo(out, DBATVIDX,   attrindex);
     writeInfo(out, DBTOKIDX,   tokenindex);
+    writeInfo(out, DBTRIIDX,   trigramindex);
     writeInfo(out, DBFTXIDX,   ftindex);
     writeInfo(out, DBTXTINC,   textinclude);
     writeInfo(out, DBATVINC,   attrinclude);
     writeInfo(out, DBTOKINC,   tokeninclude);
+    writeInfo(out, DBTRIINC,   trigraminclude);
     writeInfo(out, DBFTXINC,   ftinclude);
     writeInfo(out, DBSPLITS,   splitsize);
     writeInfo(out, DBCRTTXT,   createtext);
     writeInfo(out, DBCRTATV,   createattr);
     writeInfo(out, DBCRTTOK,   createtoken);
+    writeInfo(out, DBCRTTRI,   createtrigram);
     writeInfo(out, DBCRTFTX,   createft);
     writeInfo(out, DBFTST,     stemming);
     writeInfo(out, DBFTCS,     casesens);
     writeInfo(out, DBFTDC,     diacritics);
     writeInfo(out, DBFTSW,     stopwords);
+    writeInfo(out, DBFTTEXTS,  fttexts);
+    writeInfo(out, DBFTLENGTH, ftlength);
     writeInfo(out, DBMAXLEN,   maxlen);
     writeInfo(out, DBMAXCATS,  maxcats);
     writeInfo(out, DBUPTODATE, uptodate);
@@ -453,12 +481,14 @@ public final class MetaData {
   public void update() {
     // update database timestamp
     time = System.currentTimeMillis();
+    updates++;
     uptodate = false;
     dirty = true;
     if(!updindex) {
       textindex = false;
       attrindex = false;
       tokenindex = false;
+      trigramindex = false;
     }
     ftindex = false;
   }
@@ -80,6 +80,11 @@ public enum MetaProp {
     public Boolean value(final MetaData meta) { return meta.tokenindex; }
   },
   /** Property. */
+  TRIGRAMINDEX(true) {
+    @Override
+    public Boolean value(final MetaData meta) { return meta.trigramindex; }
+  },
+  /** Property. */
   FTINDEX(true) {
     @Override
     public Boolean value(final MetaData meta) { return meta.ftindex; }
@@ -100,6 +105,11 @@ public enum MetaProp {
     public String value(final MetaData meta) { return meta.tokeninclude; }
   },
   /** Property. */
+  TRIGRAMINCLUDE(true) {
+    @Override
+    public String value(final MetaData meta) { return meta.trigraminclude; }
+  },
+  /** Property. */
   FTINCLUDE(true) {
     @Override
     public String value(final MetaData meta) { return meta.ftinclude; }
@@ -54,16 +54,19 @@ public class IdPreMap {
    */
   public IdPreMap(final IOFile f) throws IOException {
     try(DataInput in = new DataInput(f)) {
-      baseid = in.readNum();
-      rows = in.readNum();
-      pres = in.readNums();
-      fids = in.readNums();
-      nids = in.readNums();
-      incs = in.readNums();
-      oids = in.readNums();
+      read(in);
     }
   }
 
+  /**
+   * Constructs a map by reading it from an input stream.
+   * @param in input stream
+   * @throws IOException I/O error while reading from the stream
+   */
+  public IdPreMap(final DataInput in) throws IOException {
+    read(in);
+  }
+
   /**
    * Write the map to the specified file.
    * @param file file to write to
@@ -71,16 +74,40 @@ public class IdPreMap {
    */
   public final void write(final IOFile file) throws IOException {
     try(DataOutput out = new DataOutput(file)) {
-      out.writeNum(baseid);
-      out.writeNum(rows);
-      out.writeNums(pres);
-      out.writeNums(fids);
-      out.writeNums(nids);
-      out.writeNums(incs);
-      out.writeNums(oids);
+      write(out);
     }
   }
 
+  /**
+   * Write the map to the specified output stream.
+   * @param out output stream
+   * @throws IOException I/O error while writing to the stream
+   */
+  public final void write(final DataOutput out) throws IOException {
+    out.writeNum(baseid);
+    out.writeNum(rows);
+    out.writeNums(pres);
+    out.writeNums(fids);
+    out.writeNums(nids);
+    out.writeNums(incs);
+    out.writeNums(oids);
+  }
+
+  /**
+   * Reads the map from the specified input stream.
+   * @param in input stream
+   * @throws IOException I/O error while reading from the stream
+   */
+  private void read(final DataInput in) throws IOException {
+    baseid = in.readNum();
+    rows = in.readNum();
+    pres = in.readNums();
+    fids = in.readNums();
+    nids = in.readNums();
+    incs = in.readNums();
+    oids = in.readNums();
+  }
+
   /**
    * Finishes database creation.
    * @param base last id
@@ -27,8 +27,8 @@ public abstract class IndexBuilder extends Job {
   protected final int size;
   /** Index type. */
   protected final IndexType type;
-  /** Text node flag. */
-  protected final boolean text;
+  /** Text node flag (assigned for each entry if texts and attributes are indexed). */
+  protected boolean text;
 
   /** Number of index operations to perform before writing a partial index to disk. */
   private final int splitSize;
@@ -86,7 +86,9 @@ public abstract class IndexBuilder extends Job {
    * @return result of check
    */
   protected final boolean indexEntry() {
-    return data.kind(pre) == (text ? Data.TEXT : Data.ATTR) && includeNames.contains(pre, text);
+    final int kind = data.kind(pre);
+    if(type == IndexType.TRIGRAM) text = kind == Data.TEXT;
+    return kind == (text ? Data.TEXT : Data.ATTR) && includeNames.contains(pre, text);
   }
 
   /**
@@ -170,6 +172,7 @@ public abstract class IndexBuilder extends Job {
       case ATTRIBUTE: return INDEX_ATTRIBUTES_D;
       case TOKEN: return INDEX_TOKENS_D;
       case FULLTEXT: return INDEX_FULLTEXT_D;
+      case TRIGRAM: return INDEX_TRIGRAMS_D;
       default: throw Util.notExpected();
     }
   }
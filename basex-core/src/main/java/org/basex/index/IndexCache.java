@@ -6,6 +6,7 @@ import java.lang.ref.*;
 import java.util.concurrent.locks.*;
 
 import org.basex.util.*;
+import org.basex.util.metrics.*;
 
 /**
  * This class caches sizes and offsets from index results.
@@ -37,13 +38,17 @@ public final class IndexCache {
       BucketEntry e = buckets[i];
       while(e != null) {
         final IndexEntry entry = e.get();
-        if(entry != null && e.hash == hash && eq(entry.key, key)) return entry;
+        if(entry != null && e.hash == hash && eq(entry.key, key)) {
+          Metrics.INDEX_CACHE_HITS.inc();
+          return entry;
+        }
         e = e.next;
       }
     } finally {
       rwl.readLock().unlock();
     }
 
+    Metrics.INDEX_CACHE_MISSES.inc();
     return null;
   }
 
@@ -40,14 +40,14 @@ public class IndexTree {
    * @param type index type
    */
   public IndexTree(final IndexType type) {
-    tokenize = type == IndexType.TOKEN;
+    tokenize = type == IndexType.TOKEN || type == IndexType.TRIGRAM;
   }
 
   /**
    * Indexes the specified key and id.
    * @param key key to be indexed
    * @param id id to be indexed
-   * @param pos token position (only relevant for token index)
+   * @param pos token position (only relevant for token and trigram index)
    */
   public final void add(final byte[] key, final int id, final int pos) {
     add(key, id, pos, true);
@@ -19,6 +19,6 @@ public abstract class ValuesBuilder extends IndexBuilder {
    */
   protected ValuesBuilder(final Data data, final IndexType type) {
     super(data, type);
-    tokenize = type == IndexType.TOKEN;
+    tokenize = type == IndexType.TOKEN || type == IndexType.TRIGRAM;
   }
 }
@@ -27,6 +27,10 @@ public final class FTBuilder extends IndexBuilder {
   private final FTLexer lexer;
   /** Number of indexed tokens. */
   private long ntok;
+  /** Number of indexed texts. */
+  private int texts;
+  /** Total length of indexed texts. */
+  private long length;
 
   /**
    * Constructor.
@@ -64,6 +68,8 @@ public final class FTBuilder extends IndexBuilder {
 
         // current lexer position
         final StopWords sw = lexer.ftOpt().sw;
+        texts++;
+        length += data.textLen(pre, true);
         lexer.init(data.text(pre, true));
         int pos = -1;
         while(lexer.hasNext()) {
@@ -85,6 +91,9 @@ public final class FTBuilder extends IndexBuilder {
       // finalize partial or all index structures
       write(splits > 0);
 
+      // statistics for relevance scoring
+      data.meta.fttexts = texts;
+      data.meta.ftlength = length;
       finishIndex();
       return new FTIndex(data);
 
@@ -107,7 +116,8 @@ public final class FTBuilder extends IndexBuilder {
     // merges temporary index files
     try(DataOutput outX = new DataOutput(data.meta.dbfile(DATAFTX + 'x'));
         DataOutput outY = new DataOutput(data.meta.dbfile(DATAFTX + 'y'));
-        DataOutput outZ = new DataOutput(data.meta.dbfile(DATAFTX + 'z'))) {
+        DataOutput outZ = new DataOutput(data.meta.dbfile(DATAFTX + 'z'));
+        DataOutput outS = new DataOutput(data.meta.dbfile(DATAFTX + 's'))) {
 
       final IntList ind = new IntList();
 
@@ -144,7 +154,7 @@ public final class FTBuilder extends IndexBuilder {
         // pointer on full-text data
         outY.write5(outZ.size());
         // merge and write data size
-        outY.write4(merge(outZ, il, v));
+        outY.write4(merge(outZ, outS, il, v));
       }
       writeInd(outX, ind, ind.get(ind.size() - 2) + 1, (int) outY.size());
     }
@@ -180,7 +190,8 @@ public final class FTBuilder extends IndexBuilder {
     final String name = DATAFTX + (partial ? splits : "");
     try(DataOutput outX = new DataOutput(data.meta.dbfile(name + 'x'));
         DataOutput outY = new DataOutput(data.meta.dbfile(name + 'y'));
-        DataOutput outZ = new DataOutput(data.meta.dbfile(name + 'z'))) {
+        DataOutput outZ = new DataOutput(data.meta.dbfile(name + 'z'));
+        DataOutput outS = partial ? null : new DataOutput(data.meta.dbfile(name + 's'))) {
 
       final IntList ind = new IntList();
       tree.init();
@@ -203,7 +214,7 @@ public final class FTBuilder extends IndexBuilder {
         // write full-text data size (number of pre values)
         outY.write4(t.nextNumPre());
         // write compressed pre and pos arrays
-        writeFTData(outZ, t.nextPres(), t.nextPoss());
+        writeFTData(outZ, outS, t.nextPres(), t.nextPoss());
 
         dr = outZ.size();
         tr = (int) outY.size();
@@ -219,12 +230,14 @@ public final class FTBuilder extends IndexBuilder {
   /**
    * Merges temporary indexes for the current token.
    * @param out full-text data
+   * @param outS skip lists
    * @param il array mapping
    * @param v full-text list
    * @return written size
    * @throws IOException I/O exception
    */
-  private static int merge(final DataOutput out, final IntList il, final FTList[] v)
+  private static int merge(final DataOutput out, final DataOutput outS, final IntList il,
+      final FTList[] v)
       throws IOException {
 
     final TokenBuilder tbp = new TokenBuilder();
@@ -248,29 +261,64 @@ public final class FTBuilder extends IndexBuilder {
     Num.size(po, po.length);
 
     // write full-text data
-    writeFTData(out, pr, po);
+    writeFTData(out, outS, pr, po);
     return s;
   }
 
   /**
    * Writes full-text data for a single token to disk.<br/>
-   * Format: {@code score? pre1 pos1 pre2 pos2 ... (0 score)? pre...}
+   * Format: {@code score? pre1 pos1 pre2 pos2 ... (0 score)? pre...}<br/>
+   * If the number of entries exceeds {@link FTIndex#SKIP}, a skip list will be written,
+   * which references the first entry of each block with at least {@link FTIndex#SKIP} entries.
    * @param out DataOutput for disk access
+   * @param outS output for skip lists (can be {@code null})
    * @param vpre compressed pre values
    * @param vpos compressed pos values
    * @throws IOException IOException
    */
-  private static void writeFTData(final DataOutput out, final byte[] vpre, final byte[] vpos)
-      throws IOException {
+  private static void writeFTData(final DataOutput out, final DataOutput outS,
+      final byte[] vpre, final byte[] vpos) throws IOException {
 
-    int np = 4, pp = 4;
+    final long start = out.size();
+    final IntList pres = new IntList(), entries = new IntList();
+    final LongList offsets = new LongList();
+    int np = 4, pp = 4, e = 0, b = -FTIndex.SKIP, df = 0, tf = 0, n = 0, last = -1;
     final int ns = Num.size(vpre);
     while(np < ns) {
+      // start new block if current entry is the first of a new pre value
+      final int pre = Num.get(vpre, np);
+      if(pre != last) {
+        if(e - b >= FTIndex.SKIP) {
+          pres.add(pre);
+          entries.add(e);
+          offsets.add(out.size());
+          b = e;
+        }
+        last = pre;
+        df++;
+        n = 0;
+      }
+      tf = Math.max(tf, ++n);
+      e++;
+
       // full-text data is stored here, with -scoreU, pre1, pos1, ...,
       // -scoreU, preU, posU
       for(final int l = np + Num.length(vpre, np); np < l; ++np) out.write(vpre[np]);
       for(final int l = pp + Num.length(vpos, pp); pp < l; ++pp) out.write(vpos[pp]);
     }
+
+    if(outS != null && e > FTIndex.SKIP) {
+      final int bs = pres.size();
+      outS.write5(start);
+      outS.writeNum(df);
+      outS.writeNum(tf);
+      outS.writeNum(bs);
+      for(int i = 0; i < bs; i++) {
+        outS.writeNum(pres.get(i));
+        outS.writeNum(entries.get(i));
+        outS.write5(offsets.get(i));
+      }
+    }
   }
 
   /**
@@ -6,6 +6,7 @@ import static org.basex.util.Token.*;
 import static org.basex.util.ft.FTFlag.*;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.core.*;
 import org.basex.data.*;
@@ -13,6 +14,7 @@ import org.basex.index.*;
 import org.basex.index.query.*;
 import org.basex.index.stats.*;
 import org.basex.index.value.*;
+import org.basex.io.*;
 import org.basex.io.random.*;
 import org.basex.query.expr.ft.*;
 import org.basex.query.util.ft.*;
@@ -44,12 +46,24 @@ import org.basex.util.similarity.*;
  * <li>File <b>z</b> contains the {@code id/pos} references.
  *   The values are ordered, but not distinct:<br/>
  *   {@code pre1/pos1, pre2/pos2, pre3/pos3, ...} [{@link Num}]</li>
+ * <li>File <b>s</b> contains skip lists for all tokens with more than {@link #SKIP} entries
+ *   (it is missing in databases created with older versions):<br/>
+ *   Structure: {@code [z, d, t, n, [p, i, o] ...]}<br/>
+ *   {@code z} is the pointer on the data entries of the token [long]<br/>
+ *   {@code d} is the number of distinct pre values [{@link Num}]<br/>
+ *   {@code t} is the maximum number of entries per pre value [{@link Num}]<br/>
+ *   {@code n} is the number of blocks [{@link Num}]<br/>
+ *   {@code p}, {@code i} and {@code o} are the first pre value, the index of the first
+ *   entry [{@link Num}] and the pointer on the first entry [long] of a block. Each block
+ *   starts with a new pre value and contains at least {@link #SKIP} entries.</li>
  * </ul>
  *
  * @author BaseX Team 2005-17, BSD License
  * @author Christian Gruen
  */
 public final class FTIndex extends ValueIndex {
+  /** Minimum number of entries per block of a skip list. */
+  static final int SKIP = 128;
   /** Entry size. */
   private static final int ENTRY = 9;
 
@@ -65,6 +79,12 @@ public final class FTIndex extends ValueIndex {
   private final DataAccess inY;
   /** Storing pre and pos values for each token. */
   private final DataAccess inZ;
+  /** Skip lists (can be {@code null}). */
+  private final DataAccess inS;
+  /** Pointers on the data entries of tokens with skip lists (sorted, lazily initialized). */
+  private long[] skipZ;
+  /** Pointers on the skip lists. */
+  private long[] skipS;
 
   /** Cache for number of hits and data reference per token. */
   private final IndexCache cache = new IndexCache();
@@ -82,6 +102,8 @@ public final class FTIndex extends ValueIndex {
     inY = new DataAccess(data.meta.dbfile(DATAFTX + 'y'));
     inZ = new DataAccess(data.meta.dbfile(DATAFTX + 'z'));
     inX = new DataAccess(data.meta.dbfile(DATAFTX + 'x'));
+    final IOFile fileS = data.meta.dbfile(DATAFTX + 's');
+    inS = fileS.exists() ? new DataAccess(fileS) : null;
     tp = new int[data.meta.maxlen + 3];
     final int tl = tp.length;
     for(int i = 0; i < tl; ++i) tp[i] = -1;
@@ -128,7 +150,7 @@ public final class FTIndex extends ValueIndex {
 
     // return cached or new result
     final IndexEntry e = entry(tok);
-    return e.size > 0 ? iter(e.offset, e.size, inZ, tok) : FTIndexIterator.FTEMPTY;
+    return e.size > 0 ? iter(e.offset, e.size, tok) : FTIndexIterator.FTEMPTY;
   }
 
   /**
@@ -219,7 +241,7 @@ public final class FTIndex extends ValueIndex {
   @Override
   public synchronized byte[] info(final MainOptions options) {
     final TokenBuilder tb = new TokenBuilder();
-    final long l = inX.length() + inY.length() + inZ.length();
+    final long l = inX.length() + inY.length() + inZ.length() + (inS != null ? inS.length() : 0);
     tb.add(LI_NAMES).add(data.meta.ftinclude).add(NL);
     tb.add(LI_SIZE + Performance.format(l, true) + NL);
 
@@ -239,6 +261,7 @@ public final class FTIndex extends ValueIndex {
     inX.close();
     inY.close();
     inZ.close();
+    if(inS != null) inS.close();
   }
 
   @Override
@@ -346,7 +369,7 @@ public final class FTIndex extends ValueIndex {
       while(t < tl && r == -1) r = tp[t++];
       while(p < r) {
         if(ls.similar(inY.readBytes(p, s), token, k)) {
-          it = FTIndexIterator.union(iter(pointer(p, s), size(p, s), inZ, token), it);
+          it = FTIndexIterator.union(iter(pointer(p, s), size(p, s), token), it);
         }
         p += s + ENTRY;
       }
@@ -394,51 +417,228 @@ public final class FTIndex extends ValueIndex {
     return iter(new FTCache(pr, ps), token);
   }
 
+  /**
+   * Returns the skip list for the specified data entries.
+   * @param off pointer on the data entries
+   * @return skip list or {@code null}
+   */
+  private Skips skips(final long off) {
+    if(inS == null) return null;
+    if(skipZ == null) {
+      // index pointers of all skip lists
+      final LongList zs = new LongList(), ss = new LongList();
+      final long sl = inS.length();
+      inS.cursor(0);
+      while(inS.cursor() < sl) {
+        zs.add(inS.read5());
+        ss.add(inS.cursor());
+        inS.readNum();
+        inS.readNum();
+        for(int b = inS.readNum(); b > 0; b--) {
+          inS.readNum();
+          inS.readNum();
+          inS.read5();
+        }
+      }
+      skipZ = zs.toArray();
+      skipS = ss.toArray();
+    }
+    final int i = Arrays.binarySearch(skipZ, off);
+    if(i < 0) return null;
+
+    inS.cursor(skipS[i]);
+    final int df = inS.readNum(), tf = inS.readNum(), bs = inS.readNum();
+    final int[] pres = new int[bs], entries = new int[bs];
+    final long[] offsets = new long[bs];
+    for(int b = 0; b < bs; b++) {
+      pres[b] = inS.readNum();
+      entries[b] = inS.readNum();
+      offsets[b] = inS.read5();
+    }
+    return new Skips(df, tf, pres, entries, offsets);
+  }
+
   /**
    * Returns an iterator for an index entry.
+   * Entries with skip lists are decoded lazily; all other entries are cached.
    * @param off offset on entries
    * @param size number of id/pos entries
-   * @param da data source
    * @param token index token
    * @return iterator
    */
-  private static FTIndexIterator iter(final long off, final int size, final DataAccess da,
-      final byte[] token) {
-    da.cursor(off);
+  private FTIndexIterator iter(final long off, final int size, final byte[] token) {
+    final Skips skips = size > SKIP ? skips(off) : null;
+    if(skips != null) return iter(off, size, skips, token);
+
+    inZ.cursor(off);
     final IntList pr = new IntList(size);
     final IntList ps = new IntList(size);
     for(int c = 0; c < size; c++) {
-      pr.add(da.readNum());
-      ps.add(da.readNum());
+      pr.add(inZ.readNum());
+      ps.add(inZ.readNum());
     }
     return iter(new FTCache(pr, ps), token);
   }
 
+  /**
+   * Returns an iterator for an index entry with a skip list.
+   * Entries are decoded on demand, and blocks that precede a requested pre value are skipped.
+   * @param off offset on entries
+   * @param size number of id/pos entries
+   * @param skips skip list
+   * @param token index token
+   * @return iterator
+   */
+  private FTIndexIterator iter(final long off, final int size, final Skips skips,
+      final byte[] token) {
+
+    final int texts = data.meta.fttexts;
+    final double avg = (double) data.meta.ftlength / Math.max(1, texts);
+
+    return new FTIndexIterator() {
+      final FTMatches all = new FTMatches();
+      /** Offset of the next entry to be read. */
+      long next = off;
+      /** Number of read entries. */
+      int read;
+      /** Pre and pos value of the last read entry ({@code -1}: no more entries). */
+      int npre = -1, npos;
+      int pos, pre, tf;
+
+      @Override
+      public boolean more() {
+        synchronized(FTIndex.this) {
+          if(read == 0) read();
+          if(npre == -1) return false;
+          all.reset(pos);
+          pre = npre;
+          tf = 0;
+          do {
+            all.or(npos);
+            tf++;
+          } while(read() && npre == pre);
+          return true;
+        }
+      }
+
+      @Override
+      public boolean skip(final int p) {
+        synchronized(FTIndex.this) {
+          if(read == 0) read();
+          if(npre != -1 && npre < p) {
+            // jump to the block of the requested pre value if it starts after the read entry
+            final int b = skips.block(p);
+            if(b != -1 && skips.entries[b] >= read) {
+              next = skips.offsets[b];
+              read = skips.entries[b];
+              read();
+            }
+            while(npre != -1 && npre < p) read();
+          }
+          return more();
+        }
+      }
+
+      /**
+       * Reads the next entry.
+       * @return {@code true} if an entry was read
+       */
+      private boolean read() {
+        if(read == size) {
+          npre = -1;
+          return false;
+        }
+        inZ.cursor(next);
+        npre = inZ.readNum();
+        npos = inZ.readNum();
+        next = inZ.cursor();
+        read++;
+        return true;
+      }
+
+      @Override
+      public FTMatches matches() {
+        return all;
+      }
+
+      @Override
+      public int pre() {
+        return pre;
+      }
+
+      @Override
+      public void pos(final int p) {
+        pos = p;
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public double score() {
+        return texts == 0 ? -1 : Scoring.bm25(tf, skips.df, texts, data.textLen(pre, true), avg);
+      }
+
+      @Override
+      public double max() {
+        return texts == 0 ? -1 : Scoring.bm25(skips.tf, skips.df, texts);
+      }
+
+      @Override
+      public String toString() {
+        return new TokenBuilder(token).add('(').addExt(size).add("x)").toString();
+      }
+    };
+  }
+
   /**
    * Returns an iterator for an index entry.
    * @param ftc id cache
    * @param token index token
    * @return iterator
    */
-  private static synchronized FTIndexIterator iter(final FTCache ftc, final byte[] token) {
-    final int size = ftc.pre.size();
+  private FTIndexIterator iter(final FTCache ftc, final byte[] token) {
+    final int size = ftc.pre.size(), texts = data.meta.fttexts;
+    final double avg = (double) data.meta.ftlength / Math.max(1, texts);
 
     return new FTIndexIterator() {
       final FTMatches all = new FTMatches();
-      int pos, pre, c;
+      int pos, pre, tf, c;
 
       @Override
       public synchronized boolean more() {
         if(c == size) return false;
         all.reset(pos);
+        final int s = c;
         pre = ftc.pre.get(ftc.order[c]);
         all.or(ftc.pos.get(ftc.order[c++]));
         while(c < size && pre == ftc.pre.get(ftc.order[c])) {
           all.or(ftc.pos.get(ftc.order[c++]));
         }
+        tf = c - s;
         return true;
       }
 
+      @Override
+      public synchronized boolean skip(final int p) {
+        // galloping search for the first entry with the requested pre value
+        int l = c, h = c;
+        for(int s = 1; h < size && ftc.pre.get(ftc.order[h]) < p; s <<= 1) {
+          l = h + 1;
+          h += s;
+        }
+        h = Math.min(h, size);
+        while(l < h) {
+          final int m = l + h >>> 1;
+          if(ftc.pre.get(ftc.order[m]) < p) l = m + 1;
+          else h = m;
+        }
+        c = l;
+        return more();
+      }
+
       @Override
       public synchronized FTMatches matches() {
         return all;
@@ -459,6 +659,16 @@ public final class FTIndex extends ValueIndex {
         return size;
       }
 
+      @Override
+      public synchronized double score() {
+        return texts == 0 ? -1 : Scoring.bm25(tf, ftc.df, texts, data.textLen(pre, true), avg);
+      }
+
+      @Override
+      public double max() {
+        return texts == 0 ? -1 : Scoring.bm25(ftc.tf, ftc.df, texts);
+      }
+
       @Override
       public String toString() {
         return new TokenBuilder(token).add('(').addExt(size).add("x)").toString();
@@ -476,6 +686,10 @@ public final class FTIndex extends ValueIndex {
     private final IntList pre;
     /** Pos values. */
     private final IntList pos;
+    /** Number of distinct pre values. */
+    private final int df;
+    /** Maximum number of positions per pre value. */
+    private final int tf;
 
     /**
      * Constructor.
@@ -489,6 +703,66 @@ public final class FTIndex extends ValueIndex {
       order = Array.createOrder(v, true);
       pre = pr;
       pos = ps;
+
+      // collect statistics for scoring
+      int d = 0, t = 0;
+      for(int i = 0, n = 0; i < s; i++) {
+        if(i == 0 || pr.get(order[i]) != pr.get(order[i - 1])) {
+          d++;
+          n = 0;
+        }
+        t = Math.max(t, ++n);
+      }
+      df = d;
+      tf = t;
+    }
+  }
+
+  /**
+   * Skip list of a single token.
+   */
+  private static final class Skips {
+    /** Number of distinct pre values. */
+    private final int df;
+    /** Maximum number of entries per pre value. */
+    private final int tf;
+    /** First pre value of each block. */
+    private final int[] pres;
+    /** Index of the first entry of each block. */
+    private final int[] entries;
+    /** Pointer on the first entry of each block. */
+    private final long[] offsets;
+
+    /**
+     * Constructor.
+     * @param df number of distinct pre values
+     * @param tf maximum number of entries per pre value
+     * @param pres first pre values
+     * @param entries indexes of the first entries
+     * @param offsets pointers on the first entries
+     */
+    private Skips(final int df, final int tf, final int[] pres, final int[] entries,
+        final long[] offsets) {
+      this.df = df;
+      this.tf = tf;
+      this.pres = pres;
+      this.entries = entries;
+      this.offsets = offsets;
+    }
+
+    /**
+     * Returns the last block whose first pre value is not greater than the specified value.
+     * @param pre pre value
+     * @return block index or {@code -1}
+     */
+    private int block(final int pre) {
+      int l = 0, h = pres.length - 1;
+      while(l <= h) {
+        final int m = l + h >>> 1;
+        if(pres[m] <= pre) l = m + 1;
+        else h = m - 1;
+      }
+      return h;
     }
   }
 
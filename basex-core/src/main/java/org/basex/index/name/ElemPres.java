@@ -0,0 +1,92 @@
+package org.basex.index.name;
+
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * This class organizes the pre values of all elements with a specific local name.
+ * Lists are created on demand and discarded as soon as the database is updated.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class ElemPres {
+  /** Data reference. */
+  private final Data data;
+  /** Sorted pre values, indexed by local names. */
+  private final TokenObjMap<int[]> lists = new TokenObjMap<>();
+  /** Number of database updates at the time the lists were created. */
+  private long updates;
+
+  /**
+   * Constructor.
+   * @param data data reference
+   */
+  public ElemPres(final Data data) {
+    this.data = data;
+  }
+
+  /**
+   * Returns the sorted pre values of all elements with the specified local name.
+   * @param local local name
+   * @param create create list if it does not exist yet
+   * @return pre values, or {@code null} if the list does not exist
+   */
+  public synchronized int[] get(final byte[] local, final boolean create) {
+    if(updates != data.meta.updates) {
+      lists.clear();
+      updates = data.meta.updates;
+    }
+    int[] pres = lists.get(local);
+    if(pres == null && create) {
+      pres = create(local);
+      lists.put(local, pres);
+    }
+    return pres;
+  }
+
+  /**
+   * Returns the index of the first pre value in the specified list that is equal to or greater
+   * than the specified value.
+   * @param pres sorted pre values
+   * @param pre pre value
+   * @return index
+   */
+  public static int first(final int[] pres, final int pre) {
+    final int i = Arrays.binarySearch(pres, pre);
+    return i < 0 ? -i - 1 : i;
+  }
+
+  /**
+   * Creates a list with the pre values of the specified elements.
+   * @param local local name
+   * @return pre values
+   */
+  private int[] create(final byte[] local) {
+    // find ids of all names with the specified local name
+    final Names names = data.elemNames;
+    final int ns = names.size();
+    final boolean[] ids = new boolean[ns + 1];
+    boolean found = false;
+    for(int id = 1; id <= ns; id++) {
+      if(Token.eq(local, Token.local(names.key(id)))) {
+        ids[id] = true;
+        found = true;
+      }
+    }
+    if(!found) return new int[0];
+
+    final IntList il = new IntList();
+    final int size = data.meta.size;
+    for(int pre = 0; pre < size;) {
+      final int kind = data.kind(pre);
+      if(kind == Data.ELEM && ids[data.nameId(pre)]) il.add(pre);
+      pre += data.attSize(pre, kind);
+    }
+    return il.finish();
+  }
+}
@@ -21,6 +21,8 @@ public abstract class FTIndexIterator implements IndexIterator {
     public int size() { return 0; }
     @Override
     public void pos(final int p) { }
+    @Override
+    public double max() { return 0; }
   };
 
   /**
@@ -35,6 +37,35 @@ public abstract class FTIndexIterator implements IndexIterator {
    */
   public abstract void pos(int p);
 
+  /**
+   * Returns the relevance score of the current match.
+   * @return score, or {@code -1} if no score is available
+   */
+  public double score() {
+    return -1;
+  }
+
+  /**
+   * Returns an upper bound for the scores of all matches.
+   * @return maximum score, or {@code -1} if no scores are available
+   */
+  public double max() {
+    return -1;
+  }
+
+  /**
+   * Moves to the next match whose pre value is equal to or greater than the specified value.
+   * Iterators may override this method to skip entries without decoding them.
+   * @param pre pre value (must be greater than the pre value of the current match)
+   * @return {@code true} if a match was found
+   */
+  public boolean skip(final int pre) {
+    while(more()) {
+      if(pre() >= pre) return true;
+    }
+    return false;
+  }
+
   /**
    * Merges two index array iterators.
    * @param i1 first index array iterator to merge
@@ -50,6 +81,22 @@ public abstract class FTIndexIterator implements IndexIterator {
       public boolean more() {
         if(diff <= 0) ii1 = i1.more() ? i1 : null;
         if(diff >= 0) ii2 = i2.more() ? i2 : null;
+        return next();
+      }
+
+      @Override
+      public boolean skip(final int pre) {
+        // skip consumed iterators and iterators that precede the specified pre value
+        if(diff <= 0 || ii1 != null && ii1.pre() < pre) ii1 = i1.skip(pre) ? i1 : null;
+        if(diff >= 0 || ii2 != null && ii2.pre() < pre) ii2 = i2.skip(pre) ? i2 : null;
+        return next();
+      }
+
+      /**
+       * Chooses the iterator with the smaller pre value.
+       * @return {@code true} if a match was found
+       */
+      private boolean next() {
         diff = ii1 != null ? ii2 != null ? ii1.pre() - ii2.pre() : -1 : 1;
         next = diff <= 0 ? ii1 : ii2;
         return next != null;
@@ -68,6 +115,16 @@ public abstract class FTIndexIterator implements IndexIterator {
         return next.pre();
       }
 
+      @Override
+      public double score() {
+        return max() < 0 ? -1 : diff == 0 ? ii1.score() + ii2.score() : next.score();
+      }
+
+      @Override
+      public double max() {
+        return sum(i1.max(), i2.max());
+      }
+
       @Override
       public void pos(final int p) {
         i1.pos(p);
@@ -97,27 +154,41 @@ public abstract class FTIndexIterator implements IndexIterator {
       final int dis) {
 
     return new FTIndexIterator() {
-      private FTIndexIterator ii1, ii2;
       private FTMatches all;
 
       @Override
       public boolean more() {
-        int d = 0;
+        return i1.more() && i2.more() && next();
+      }
+
+      @Override
+      public boolean skip(final int pre) {
+        return i1.skip(pre) && i2.skip(pre) && next();
+      }
+
+      /**
+       * Moves both iterators to the next common pre value. The iterator with the smaller
+       * pre value skips all entries that precede the pre value of the other iterator.
+       * @return {@code true} if a match was found
+       */
+      private boolean next() {
         while(true) {
-          if(d <= 0) ii1 = i1.more() ? i1 : null;
-          if(d >= 0) ii2 = i2.more() ? i2 : null;
-          if(ii1 == null || ii2 == null) return false;
-          d = ii1.pre() - ii2.pre();
-          if(d != 0) continue;
-          all = ii1.matches();
-          final FTMatches all2 = ii2.matches();
-          if(dis == 0) {
-            for(final FTMatch m1 : all) {
-              for(final FTMatch m2 : all2) m1.add(m2);
+          final int p1 = i1.pre(), p2 = i2.pre();
+          if(p1 < p2) {
+            if(!i1.skip(p2)) return false;
+          } else if(p1 > p2) {
+            if(!i2.skip(p1)) return false;
+          } else {
+            all = i1.matches();
+            final FTMatches all2 = i2.matches();
+            if(dis == 0) {
+              for(final FTMatch m1 : all) {
+                for(final FTMatch m2 : all2) m1.add(m2);
+              }
+              return true;
             }
-            return true;
-          } else if(all.phrase(all2, dis)) {
-            return true;
+            if(all.phrase(all2, dis)) return true;
+            if(!i1.more() || !i2.more()) return false;
           }
         }
       }
@@ -129,7 +200,17 @@ public abstract class FTIndexIterator implements IndexIterator {
 
       @Override
       public int pre() {
-        return ii1.pre();
+        return i1.pre();
+      }
+
+      @Override
+      public double score() {
+        return sum(i1.score(), i2.score());
+      }
+
+      @Override
+      public double max() {
+        return sum(i1.max(), i2.max());
       }
 
       @Override
@@ -149,4 +230,14 @@ public abstract class FTIndexIterator implements IndexIterator {
       }
     };
   }
+
+  /**
+   * Adds two scores.
+   * @param score1 first score
+   * @param score2 second score
+   * @return sum, or {@code -1} if one of the scores is not available
+   */
+  private static double sum(final double score1, final double score2) {
+    return score1 < 0 || score2 < 0 ? -1 : score1 + score2;
+  }
 }
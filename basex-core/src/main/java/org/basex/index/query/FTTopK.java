@@ -0,0 +1,226 @@
+package org.basex.index.query;
+
+import java.util.*;
+
+/**
+ * <p>This class returns the {@code k} best-scored results of a ranked full-text query.
+ * It follows the MaxScore strategy: The term iterators are sorted by their maximum scores.
+ * As soon as {@code k} results have been found, all iterators whose accumulated maximum
+ * scores do not exceed the current threshold are treated as non-essential: they will only be
+ * consulted for candidates that have been found in the remaining iterators, and candidates
+ * whose score cannot enter the result will be skipped as early as possible.</p>
+ *
+ * <p>The score of a result is the average of the scores of all terms.</p>
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class FTTopK {
+  /** Term iterators, sorted by their maximum scores. */
+  private final FTIndexIterator[] iters;
+  /** Maximum scores, accumulated from the first to the current iterator. */
+  private final double[] bounds;
+  /** Indicates if the iterators have remaining entries. */
+  private final boolean[] alive;
+  /** Indicates if all terms must be found. */
+  private final boolean all;
+  /** Maximum number of results. */
+  private final int k;
+
+  /** Pre values of the results (min-heap). */
+  private final int[] pres;
+  /** Scores of the results (min-heap). */
+  private final double[] scores;
+  /** Number of results. */
+  private int size;
+
+  /**
+   * Constructor.
+   * @param iters term iterators (all iterators must provide scores)
+   * @param k maximum number of results
+   * @param all indicates if all terms must be found
+   */
+  public FTTopK(final FTIndexIterator[] iters, final int k, final boolean all) {
+    final int il = iters.length;
+    this.iters = iters.clone();
+    Arrays.sort(this.iters, new Comparator<FTIndexIterator>() {
+      @Override
+      public int compare(final FTIndexIterator i1, final FTIndexIterator i2) {
+        return Double.compare(i1.max(), i2.max());
+      }
+    });
+    bounds = new double[il];
+    for(int i = 0; i < il; i++) bounds[i] = (i == 0 ? 0 : bounds[i - 1]) + this.iters[i].max();
+    alive = new boolean[il];
+    this.all = all;
+    this.k = k;
+    pres = new int[k];
+    scores = new double[k];
+  }
+
+  /**
+   * Computes the results.
+   * @return self reference
+   */
+  public FTTopK run() {
+    final int il = iters.length;
+    if(il == 0 || k == 0) return this;
+    for(int i = 0; i < il; i++) {
+      alive[i] = iters[i].more();
+      if(all && !alive[i]) return this;
+    }
+
+    while(true) {
+      // find first essential iterator: all iterators are essential until the heap is full
+      int e = 0;
+      if(size == k) {
+        final double min = scores[0];
+        while(e < il && bounds[e] <= min) e++;
+        if(e == il) break;
+        if(all) e = 0;
+      }
+      // choose next candidate: largest pre value if all terms are required,
+      // smallest pre value of the essential iterators otherwise
+      int pre = all ? 0 : Integer.MAX_VALUE;
+      for(int i = e; i < il; i++) {
+        if(all) pre = Math.max(pre, iters[i].pre());
+        else if(alive[i]) pre = Math.min(pre, iters[i].pre());
+      }
+      if(pre == Integer.MAX_VALUE) break;
+
+      // compute candidate score, starting with the essential iterators
+      double score = 0;
+      boolean found = true;
+      for(int i = il - 1; i >= 0 && found; i--) {
+        final FTIndexIterator iter = iters[i];
+        // skip candidate if it cannot enter the result
+        if(size == k && score + bounds[i] <= scores[0]) {
+          found = false;
+        } else {
+          if(i < e || all) {
+            if(alive[i] && iter.pre() < pre) alive[i] = iter.skip(pre);
+            if(all && !alive[i]) return this;
+          }
+          if(alive[i] && iter.pre() == pre) score += iter.score();
+          else if(all) found = false;
+        }
+      }
+      if(found) add(pre, score);
+
+      // advance essential iterators
+      for(int i = e; i < il; i++) {
+        if(alive[i] && iters[i].pre() == pre) {
+          alive[i] = iters[i].more();
+          if(all && !alive[i]) return this;
+        }
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Returns the pre values of the results, sorted by their scores.
+   * @return pre values
+   */
+  public int[] pres() {
+    final int[] p = new int[size];
+    final double[] s = scores.clone();
+    final int[] h = pres.clone();
+    for(int n = size; n > 0;) {
+      p[--n] = h[0];
+      remove(h, s, n + 1);
+    }
+    return p;
+  }
+
+  /**
+   * Returns the scores of the results, sorted in descending order.
+   * @return scores
+   */
+  public double[] scores() {
+    final double[] r = new double[size];
+    final double[] s = scores.clone();
+    final int[] h = pres.clone();
+    final int il = iters.length;
+    for(int n = size; n > 0;) {
+      r[--n] = s[0] / il;
+      remove(h, s, n + 1);
+    }
+    return r;
+  }
+
+  /**
+   * Adds a candidate to the heap.
+   * @param pre pre value
+   * @param score score
+   */
+  private void add(final int pre, final double score) {
+    if(size < k) {
+      // sift up
+      int c = size++;
+      while(c > 0) {
+        final int p = c - 1 >> 1;
+        if(!less(score, pre, scores[p], pres[p])) break;
+        pres[c] = pres[p];
+        scores[c] = scores[p];
+        c = p;
+      }
+      pres[c] = pre;
+      scores[c] = score;
+    } else if(score > scores[0]) {
+      // replace minimum (candidates are visited in ascending order, so ties are rejected)
+      pres[0] = pre;
+      scores[0] = score;
+      down(pres, scores, size);
+    }
+  }
+
+  /**
+   * Removes the minimum entry from the specified heap.
+   * @param h pre values
+   * @param s scores
+   * @param n number of entries
+   */
+  private static void remove(final int[] h, final double[] s, final int n) {
+    h[0] = h[n - 1];
+    s[0] = s[n - 1];
+    down(h, s, n - 1);
+  }
+
+  /**
+   * Moves the first entry of the heap to its final position.
+   * @param h pre values
+   * @param s scores
+   * @param n number of entries
+   */
+  private static void down(final int[] h, final double[] s, final int n) {
+    final int pre = h[0];
+    final double score = s[0];
+    int p = 0;
+    while(true) {
+      int c = (p << 1) + 1;
+      if(c >= n) break;
+      if(c + 1 < n && less(s[c + 1], h[c + 1], s[c], h[c])) c++;
+      if(!less(s[c], h[c], score, pre)) break;
+      h[p] = h[c];
+      s[p] = s[c];
+      p = c;
+    }
+    h[p] = pre;
+    s[p] = score;
+  }
+
+  /**
+   * Checks if the first entry is ranked lower than the second one.
+   * Entries with higher pre values are ranked lower if the scores are equal.
+   * @param score1 first score
+   * @param pre1 first pre value
+   * @param score2 second score
+   * @param pre2 second pre value
+   * @return result of check
+   */
+  private static boolean less(final double score1, final int pre1, final double score2,
+      final int pre2) {
+    return score1 < score2 || score1 == score2 && pre1 > pre2;
+  }
+}
@@ -369,7 +369,7 @@ public class DiskValues extends ValueIndex {
       for(int i = 0, id = 0; i < sz; i++) {
         id += idxl.readNum();
         // pass over token position
-        if(type == IndexType.TOKEN) idxl.readNum();
+        if(tokenize()) idxl.readNum();
         pres.add(pre(id));
       }
     }
@@ -467,8 +467,10 @@ public class DiskValues extends ValueIndex {
    * @return key token
    */
   private byte[] key(final int id) {
-    final byte[] text = data.text(pre(id), type == IndexType.TEXT);
-    return type == IndexType.TOKEN ? distinctTokens(text)[idxl.readNum()] : text;
+    final int pre = pre(id);
+    final byte[] text = data.text(pre, type == IndexType.TEXT ||
+        type == IndexType.TRIGRAM && data.kind(pre) == Data.TEXT);
+    return tokenize() ? keys(type, text)[idxl.readNum()] : text;
   }
 
   /**
@@ -513,6 +515,7 @@ public class DiskValues extends ValueIndex {
    * @return file suffix
    */
   static String fileSuffix(final IndexType type) {
-    return type == IndexType.TOKEN ? DATATOK : type == IndexType.TEXT ? DATATXT : DATAATV;
+    return type == IndexType.TOKEN ? DATATOK : type == IndexType.TRIGRAM ? DATATRI :
+      type == IndexType.TEXT ? DATATXT : DATAATV;
   }
 }
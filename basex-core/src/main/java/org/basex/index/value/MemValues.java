@@ -37,8 +37,8 @@ public final class MemValues extends ValueIndex {
    */
   public MemValues(final Data data, final IndexType type) {
     super(data, type);
-    // token index: work extra token set instance
-    values = type == IndexType.TOKEN ? new TokenSet() :
+    // token and trigram index: work extra token set instance
+    values = tokenize() ? new TokenSet() :
       ((MemData) data).values(type == IndexType.TEXT);
     final int s = values.size() + 1;
     idsList = new ArrayList<>(s);
@@ -159,7 +159,7 @@ public final class MemValues extends ValueIndex {
    */
   void add(final byte[] key, final int... vals) {
     // token index: add values. otherwise, reference existing values
-    final int id = type == IndexType.TOKEN ? values.put(key) : values.id(key), vl = vals.length;
+    final int id = tokenize() ? values.put(key) : values.id(key), vl = vals.length;
     // updatable index: if required, resize existing arrays
     while(idsList.size() < id + 1) idsList.add(null);
     if(lenList.size() < id + 1) lenList.set(id, 0);
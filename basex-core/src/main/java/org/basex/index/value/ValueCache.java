@@ -1,7 +1,5 @@
 package org.basex.index.value;
 
-import static org.basex.util.Token.*;
-
 import java.util.*;
 
 import org.basex.data.*;
@@ -51,17 +49,20 @@ public final class ValueCache implements Iterable<byte[]> {
    * @param data data reference
    */
   public ValueCache(final IntList pres, final IndexType type, final Data data) {
-    pos = type == IndexType.TOKEN ? new ArrayList<IntList>() : null;
+    final boolean tokenize = type == IndexType.TOKEN || type == IndexType.TRIGRAM;
+    pos = tokenize ? new ArrayList<IntList>() : null;
 
     final IndexNames in = new IndexNames(type, data);
-    final boolean text = type == IndexType.TEXT;
-    final int pl = pres.size(), kind = text ? Data.TEXT : Data.ATTR;
+    final boolean trigram = type == IndexType.TRIGRAM;
+    final int pl = pres.size();
     for(int p = 0; p < pl; p++) {
-      final int pre = pres.get(p);
-      if(data.kind(pre) == kind && in.contains(pre, text)) {
-        if(type == IndexType.TOKEN) {
+      final int pre = pres.get(p), kind = data.kind(pre);
+      // trigram index: include both texts and attribute values
+      final boolean text = trigram ? kind == Data.TEXT : type == IndexType.TEXT;
+      if(kind == (text ? Data.TEXT : Data.ATTR) && in.contains(pre, text)) {
+        if(tokenize) {
           int ps = 0;
-          for(final byte[] token : distinctTokens(data.text(pre, text))) {
+          for(final byte[] token : ValueIndex.keys(type, data.text(pre, text))) {
             addId(token, pre, ps++, data);
           }
         } else if(data.textLen(pre, text) <= data.meta.maxlen) {
@@ -1,7 +1,12 @@
 package org.basex.index.value;
 
+import static org.basex.util.Token.*;
+
+import java.util.*;
+
 import org.basex.data.*;
 import org.basex.index.*;
+import org.basex.util.hash.*;
 
 /**
  * Index for texts, attribute values and full-texts.
@@ -47,4 +52,54 @@ public abstract class ValueIndex implements Index {
    * Flushes the buffered data.
    */
   public abstract void flush();
+
+  /**
+   * Indicates if the index keys are tokens or trigrams of the indexed values.
+   * @return result of check
+   */
+  protected final boolean tokenize() {
+    return type == IndexType.TOKEN || type == IndexType.TRIGRAM;
+  }
+
+  /**
+   * Returns the keys of a text or attribute value that will be indexed by a tokenizing index.
+   * The order of the keys must be stable, as their positions are stored in the index.
+   * @param type index type ({@link IndexType#TOKEN} or {@link IndexType#TRIGRAM})
+   * @param text text or attribute value
+   * @return distinct keys
+   */
+  public static byte[][] keys(final IndexType type, final byte[] text) {
+    return type == IndexType.TOKEN ? distinctTokens(text) : trigrams(text);
+  }
+
+  /**
+   * Returns the distinct trigrams of the specified token, in the order of their first
+   * occurrence. A trigram consists of three consecutive characters.
+   * @param token token
+   * @return trigrams (empty if the token has less than three characters)
+   */
+  public static byte[][] trigrams(final byte[] token) {
+    final TokenSet trigrams = new TokenSet();
+    final int tl = token.length;
+    // offsets of the second, third and next character
+    int b = next(token, 0), c = next(token, b), d = next(token, c);
+    for(int a = 0; c < tl; a = b, b = c, c = d, d = next(token, d)) {
+      trigrams.add(Arrays.copyOfRange(token, a, d));
+    }
+    final int ts = trigrams.size();
+    final byte[][] keys = new byte[ts][];
+    for(int t = 0; t < ts; t++) keys[t] = trigrams.key(t + 1);
+    return keys;
+  }
+
+  /**
+   * Returns the offset of the next character.
+   * @param token token
+   * @param off current offset
+   * @return next offset (limited by the token length)
+   */
+  private static int next(final byte[] token, final int off) {
+    final int tl = token.length;
+    return off < tl ? Math.min(tl, off + cl(token, off)) : tl;
+  }
 }
@@ -4,6 +4,7 @@ import java.io.*;
 import java.nio.file.*;
 import java.util.*;
 import java.util.regex.*;
+import java.util.zip.*;
 
 import javax.xml.transform.stream.*;
 
@@ -130,6 +131,20 @@ public final class IOFile extends IO {
     return file.length();
   }
 
+  /**
+   * Computes the CRC32 checksum of the file contents.
+   * @return checksum
+   * @throws IOException I/O exception
+   */
+  public long checksum() throws IOException {
+    final CRC32 crc = new CRC32();
+    try(InputStream in = inputStream()) {
+      final byte[] buffer = new byte[BLOCKSIZE];
+      for(int n; (n = in.read(buffer)) != -1;) crc.update(buffer, 0, n);
+    }
+    return crc.getValue();
+  }
+
   @Override
   public InputSource inputSource() {
     return new InputSource(url());
@@ -4,6 +4,7 @@ import java.io.*;
 import java.util.zip.*;
 
 import org.basex.core.jobs.*;
+import org.basex.io.out.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
 
@@ -35,6 +36,12 @@ public final class Zip extends Job {
    * @throws IOException I/O exception
    */
   private int size() throws IOException {
+    // read number of entries from the central directory
+    if(file instanceof IOFile) {
+      try(ZipFile zf = new ZipFile(file.path())) {
+        return zf.size();
+      }
+    }
     try(ZipInputStream in = new ZipInputStream(file.inputStream())) {
       int c = 0;
       while(in.getNextEntry() != null) c++;
@@ -49,6 +56,16 @@ public final class Zip extends Job {
    * @throws IOException I/O exception
    */
   public byte[] read(final String path) throws IOException {
+    // locate entry via the central directory
+    if(file instanceof IOFile) {
+      try(ZipFile zf = new ZipFile(file.path())) {
+        final ZipEntry ze = zf.getEntry(path);
+        if(ze == null) throw new FileNotFoundException(path);
+        try(InputStream in = zf.getInputStream(ze)) {
+          return getEntry(in, ze);
+        }
+      }
+    }
     try(ZipInputStream in = new ZipInputStream(file.inputStream())) {
       final byte[] cont = getEntry(in, path);
       if(cont == null) throw new FileNotFoundException(path);
@@ -62,11 +79,22 @@ public final class Zip extends Job {
    * @throws IOException I/O exception
    */
   public void unzip(final IOFile target) throws IOException {
-    total = size();
+    unzip(target, null);
+  }
+
+  /**
+   * Unzips the specified entries of the archive to the specified directory.
+   * @param target target path
+   * @param entries names of the entries to be extracted ({@code null}: all entries)
+   * @throws IOException I/O exception
+   */
+  public void unzip(final IOFile target, final StringList entries) throws IOException {
+    total = entries != null ? entries.size() : size();
     curr = 0;
     try(ZipInputStream in = new ZipInputStream(file.inputStream())) {
       final byte[] data = new byte[IO.BLOCKSIZE];
       for(ZipEntry ze; (ze = in.getNextEntry()) != null;) {
+        if(entries != null && !entries.contains(ze.getName())) continue;
         curr++;
         final IOFile trg = new IOFile(target, ze.getName());
         if(ze.isDirectory()) {
@@ -88,10 +116,24 @@ public final class Zip extends Job {
    * @throws IOException I/O exception
    */
   public void zip(final IOFile root, final StringList files) throws IOException {
+    zip(root, files, null, null);
+  }
+
+  /**
+   * Zips the specified files and adds an additional entry.
+   * @param root root directory
+   * @param files files to add
+   * @param name name of the additional entry ({@code null}: no entry)
+   * @param content content of the additional entry
+   * @throws IOException I/O exception
+   */
+  public void zip(final IOFile root, final StringList files, final String name,
+      final byte[] content) throws IOException {
     if(!(file instanceof IOFile)) throw new FileNotFoundException(file.path());
 
     curr = 0;
-    try(ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(
+    // entries are compressed in parallel
+    try(ZipOutput out = new ZipOutput(new BufferedOutputStream(
         new FileOutputStream(file.path())))) {
       // use simple, fast compression
       out.setLevel(1);
@@ -107,6 +149,11 @@ public final class Zip extends Job {
           out.closeEntry();
         }
       }
+      if(name != null) {
+        out.putNextEntry(new ZipEntry(name));
+        out.write(content);
+        out.closeEntry();
+      }
     }
   }
 
@@ -124,21 +171,31 @@ public final class Zip extends Job {
    */
   private static byte[] getEntry(final ZipInputStream in, final String entry) throws IOException {
     for(ZipEntry ze; (ze = in.getNextEntry()) != null;) {
-      if(!entry.equals(ze.getName())) continue;
-      final int s = (int) ze.getSize();
-      if(s >= 0) {
-        // known size: pre-allocate and fill array
-        final byte[] data = new byte[s];
-        int c, o = 0;
-        while(s - o != 0 && (c = in.read(data, o, s - o)) != -1) o += c;
-        return data;
-      }
-      // unknown size: use byte list
-      final byte[] data = new byte[IO.BLOCKSIZE];
-      final ByteList bl = new ByteList();
-      for(int c; (c = in.read(data)) != -1;) bl.add(data, 0, c);
-      return bl.finish();
+      if(entry.equals(ze.getName())) return getEntry(in, ze);
     }
     return null;
   }
+
+  /**
+   * Returns the contents of the specified entry.
+   * @param in input stream, pointing to the entry data
+   * @param ze entry
+   * @return entry
+   * @throws IOException I/O exception
+   */
+  private static byte[] getEntry(final InputStream in, final ZipEntry ze) throws IOException {
+    final int s = (int) ze.getSize();
+    if(s >= 0) {
+      // known size: pre-allocate and fill array
+      final byte[] data = new byte[s];
+      int c, o = 0;
+      while(s - o != 0 && (c = in.read(data, o, s - o)) != -1) o += c;
+      return data;
+    }
+    // unknown size: use byte list
+    final byte[] data = new byte[IO.BLOCKSIZE];
+    final ByteList bl = new ByteList();
+    for(int c; (c = in.read(data)) != -1;) bl.add(data, 0, c);
+    return bl.finish();
+  }
 }
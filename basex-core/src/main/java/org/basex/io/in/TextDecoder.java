@@ -21,6 +21,8 @@ abstract class TextDecoder {
   String encoding;
   /** Indicates if input must be valid. */
   boolean validate;
+  /** Indicates if ASCII bytes are decoded to the identical codepoints. */
+  boolean ascii;
 
   /**
    * Returns the next character.
@@ -63,6 +65,11 @@ abstract class TextDecoder {
     /** UTF8 cache. */
     private final byte[] cache = new byte[4];
 
+    /** Constructor. */
+    private UTF8() {
+      ascii = true;
+    }
+
     @Override
     int read(final TextInput ti) throws IOException {
       int ch = ti.readByte();
@@ -141,6 +148,9 @@ abstract class TextDecoder {
       } catch(final Exception ex) {
         throw new EncodingException(ex);
       }
+      final String name = csd.charset().name();
+      ascii = name.equals("US-ASCII") || name.startsWith("ISO-8859-") ||
+          name.startsWith("windows-125");
     }
 
     @Override
@@ -17,6 +17,9 @@ import org.basex.util.*;
  * @author Christian Gruen
  */
 public class TextInput extends BufferInput {
+  /** Byte table for copying all valid characters. */
+  private static final boolean[] ALL = delimiters(true);
+
   /** Decoder. */
   private TextDecoder decoder;
   /** Indicates if the input is to be checked for valid XML 1.0.5 characters. */
@@ -127,6 +130,75 @@ public class TextInput extends BufferInput {
     return ch;
   }
 
+  /**
+   * Copies a run of characters from the input buffer to the specified token builder.
+   * Instead of decoding single characters, the bytes are copied in bulk. Copying stops at the
+   * first byte that is flagged in the specified table, at the first byte that is not part of
+   * a valid UTF-8 sequence, or at the end of the buffer. Nothing is copied if the input is
+   * neither UTF-8 nor encoded in an ASCII-compatible encoding.
+   * @param tb token builder
+   * @param delims byte table (see {@link #delimiters(boolean, char...)})
+   * @return number of copied newlines, or {@code -1} if no bytes were copied
+   */
+  public int copy(final TokenBuilder tb, final boolean[] delims) {
+    if(!decoder.ascii) return -1;
+    final boolean utf8 = decoder.encoding == UTF8;
+    final byte[] buf = array;
+    final int start = bpos, end = bsize;
+    int p = start, nl = 0;
+    while(p < end) {
+      final int b = buf[p] & 0xFF;
+      if(delims[b]) break;
+      if(b < 0x80) {
+        if(b == '\n') nl++;
+        p++;
+      } else {
+        final int l = utf8 ? utf8(buf, p, end) : 0;
+        if(l == 0) break;
+        p += l;
+      }
+    }
+    if(p == start) return -1;
+    tb.add(buf, start, p);
+    bpos = p;
+    return nl;
+  }
+
+  /**
+   * Returns the length of a valid UTF-8 sequence that represents a valid XML character.
+   * @param buf buffer
+   * @param p position of the first byte
+   * @param end end of buffer
+   * @return length, or {@code 0} if the sequence is invalid, incomplete or overlong
+   */
+  private static int utf8(final byte[] buf, final int p, final int end) {
+    final int b = buf[p] & 0xFF;
+    final int l = b < 0xC2 ? 0 : b < 0xE0 ? 2 : b < 0xF0 ? 3 : b < 0xF5 ? 4 : 0;
+    if(l == 0 || p + l > end) return 0;
+    for(int i = 1; i < l; i++) {
+      if((buf[p + i] & 0xC0) != 0x80) return 0;
+    }
+    final int cp = Token.cp(buf, p);
+    return l == 3 && cp < 0x800 || l == 4 && cp < 0x10000 || !XMLToken.valid(cp) ? 0 : l;
+  }
+
+  /**
+   * Creates a byte table for {@link #copy(TokenBuilder, boolean[])}. Control characters
+   * (except for tabs and newlines) and the specified delimiters will be flagged.
+   * @param utf8 copy non-ASCII characters (if {@code false}, all non-ASCII bytes are flagged)
+   * @param delims delimiters
+   * @return table, indexed by unsigned byte values
+   */
+  public static boolean[] delimiters(final boolean utf8, final char... delims) {
+    final boolean[] table = new boolean[256];
+    for(int b = 0; b < 0x20; b++) table[b] = b != '\t' && b != '\n';
+    for(final char d : delims) table[d] = true;
+    if(!utf8) {
+      for(int b = 0x80; b < 0x100; b++) table[b] = true;
+    }
+    return table;
+  }
+
   @Override
   public final byte[] content() throws IOException {
     return cache().finish();
@@ -140,7 +212,12 @@ public class TextInput extends BufferInput {
   public final TokenBuilder cache() throws IOException {
     final TokenBuilder tb = new TokenBuilder(Math.max(Array.CAPACITY, (int) length));
     try {
-      for(int ch; (ch = read()) != -1;) tb.add(ch);
+      while(true) {
+        if(copy(tb, ALL) != -1) continue;
+        final int ch = read();
+        if(ch == -1) break;
+        tb.add(ch);
+      }
     } finally {
       close();
     }
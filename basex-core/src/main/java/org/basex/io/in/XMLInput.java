@@ -72,6 +72,20 @@ public class XMLInput extends InputStream {
     return ch;
   }
 
+  /**
+   * Copies a run of characters to the specified token builder
+   * (see {@link TextInput#copy(TokenBuilder, boolean[])}). Nothing is copied if characters have
+   * been pushed back or if entities are being read. Copied characters cannot be pushed back.
+   * @param tb token builder
+   * @param delims byte table
+   */
+  public void copy(final TokenBuilder tb, final boolean[] delims) {
+    if(pp == 0 && ip == 0) {
+      final int nl = inputs[0].copy(tb, delims);
+      if(nl > 0) line += nl;
+    }
+  }
+
   /**
    * Inserts some bytes in the input stream.
    * @param value values to insert
@@ -55,6 +55,18 @@ public final class BufferOutput extends OutputStream {
     buffer[pos++] = (byte) b;
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if(len < bufsize - pos) {
+      System.arraycopy(b, off, buffer, pos, len);
+      pos += len;
+    } else {
+      // write large arrays directly
+      flush();
+      os.write(b, off, len);
+    }
+  }
+
   @Override
   public void flush() throws IOException {
     os.write(buffer, 0, pos);
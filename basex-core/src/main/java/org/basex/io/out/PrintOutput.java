@@ -66,6 +66,16 @@ public class PrintOutput extends OutputStream {
     if(size++ < max) os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if(size + len > max) {
+      super.write(b, off, len);
+    } else {
+      os.write(b, off, len);
+      size += len;
+    }
+  }
+
   /**
    * Prints a single codepoint.
    * @param cp codepoint to be printed
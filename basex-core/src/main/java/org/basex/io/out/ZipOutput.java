@@ -0,0 +1,520 @@
+package org.basex.io.out;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+import org.basex.util.*;
+
+/**
+ * <p>This class writes ZIP archives, similar to the {@link ZipOutputStream} class.
+ * The data of the entries is split into blocks, which are deflated in parallel.</p>
+ *
+ * <p>The dictionary of each block is initialized with the last bytes of the preceding block,
+ * and each block except for the last one is terminated with a sync flush. The resulting
+ * blocks form a single deflate stream that can be read by all ZIP decoders.
+ * Entries are written with data descriptors, and ZIP64 records are added if the limits of
+ * the original format are exceeded.</p>
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class ZipOutput extends OutputStream {
+  /** Executor for deflating blocks in parallel (threads are created and reused on demand). */
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+    new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread thread = new Thread(r, Util.className(ZipOutput.class));
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  /** Maximum size of uncompressed blocks. */
+  private static final int BLOCK = 1 << 17;
+  /** Initial size of uncompressed blocks. */
+  private static final int INIT = 1 << 12;
+  /** Maximum size of a dictionary. */
+  private static final int DICT = 1 << 15;
+  /** Maximum value of 16 bit fields. */
+  private static final int MAX16 = 0xFFFF;
+  /** Maximum value of 32 bit fields. */
+  private static final long MAX32 = 0xFFFFFFFFL;
+  /** General purpose flags: data descriptor, UTF-8 names. */
+  private static final int FLAGS = 0x0808;
+  /** Version needed to extract. */
+  private static final int VERSION = 20;
+  /** Version needed to extract ZIP64 entries. */
+  private static final int VERSION64 = 45;
+
+  /** Output stream. */
+  private final OutputStream out;
+  /** Number of threads (maximum number of blocks that are deflated in parallel). */
+  private final int threads;
+  /** Blocks that have been submitted, but not written yet. */
+  private final ArrayDeque<Block> blocks = new ArrayDeque<>();
+  /** Entries that have been added. */
+  private final ArrayList<Entry> entries = new ArrayList<>();
+  /** Names of the entries. */
+  private final HashSet<String> names = new HashSet<>();
+
+  /** Compression level. */
+  private int level = Deflater.DEFAULT_COMPRESSION;
+  /** Current entry. */
+  private Entry entry;
+  /** Current block (allocated and resized on demand). */
+  private byte[] block = Token.EMPTY;
+  /** Number of bytes in the current block. */
+  private int size;
+  /** Dictionary for the next block of the current entry. */
+  private byte[] dict;
+  /** Number of written bytes. */
+  private long written;
+  /** Closed flag. */
+  private boolean closed;
+
+  /**
+   * Constructor, using as many threads as processors are available.
+   * @param out output stream
+   */
+  public ZipOutput(final OutputStream out) {
+    this(out, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor.
+   * @param out output stream
+   * @param threads number of threads
+   */
+  public ZipOutput(final OutputStream out, final int threads) {
+    this.out = out;
+    this.threads = Math.max(1, threads);
+  }
+
+  /**
+   * Sets the compression level of the following entries.
+   * @param lvl compression level (0-9, or -1 for the default compression)
+   */
+  public void setLevel(final int lvl) {
+    if(lvl < Deflater.DEFAULT_COMPRESSION || lvl > Deflater.BEST_COMPRESSION)
+      throw new IllegalArgumentException("Invalid compression level: " + lvl);
+    level = lvl;
+  }
+
+  /**
+   * Starts a new entry. The current entry will be closed.
+   * @param ze zip entry
+   * @throws IOException I/O exception
+   */
+  public void putNextEntry(final ZipEntry ze) throws IOException {
+    if(closed) throw new IOException("Stream closed");
+    if(entry != null) closeEntry();
+    if(!names.add(ze.getName())) throw new ZipException("Duplicate entry: " + ze.getName());
+    entry = new Entry(ze, level);
+    entries.add(entry);
+    dict = null;
+  }
+
+  /**
+   * Closes the current entry.
+   * @throws IOException I/O exception
+   */
+  public void closeEntry() throws IOException {
+    if(entry == null) return;
+    submit(true);
+    entry = null;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    if(entry == null) throw new ZipException("No current entry");
+    if(size == BLOCK) submit(false);
+    ensure(size + 1);
+    block[size++] = (byte) b;
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if(entry == null) throw new ZipException("No current entry");
+    int o = off;
+    final int e = off + len;
+    while(o < e) {
+      if(size == BLOCK) submit(false);
+      final int l = Math.min(e - o, BLOCK - size);
+      ensure(size + l);
+      System.arraycopy(b, o, block, size, l);
+      size += l;
+      o += l;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if(closed) return;
+    try {
+      closeEntry();
+      while(!blocks.isEmpty()) drain();
+
+      // write central directory
+      final long start = written;
+      for(final Entry e : entries) central(e);
+      end(start, written - start);
+      out.flush();
+    } finally {
+      closed = true;
+      // cancel blocks that have not been written (e.g. if an exception was raised)
+      for(final Block b : blocks) b.result.cancel(true);
+      blocks.clear();
+      out.close();
+    }
+  }
+
+  /**
+   * Ensures that the current block can hold the specified number of bytes.
+   * The block grows with the pending data and will never exceed {@link #BLOCK} bytes.
+   * @param sz required size
+   */
+  private void ensure(final int sz) {
+    final int bl = block.length;
+    if(sz > bl) {
+      final int nl = Math.max(sz, Math.max(bl << 1, INIT));
+      block = Arrays.copyOf(block, Math.min(nl, BLOCK));
+    }
+  }
+
+  /**
+   * Submits the current block for compression.
+   * @param last last block of the current entry
+   * @throws IOException I/O exception
+   */
+  private void submit(final boolean last) throws IOException {
+    final Entry e = entry;
+    final byte[] data = block;
+    final int len = size;
+    final byte[] dc = dict;
+    final int lvl = e.level;
+    e.crc.update(data, 0, len);
+    e.size += len;
+
+    final Callable<byte[]> task = new Callable<byte[]>() {
+      @Override
+      public byte[] call() {
+        return deflate(data, len, dc, lvl, last);
+      }
+    };
+    final Block b = new Block(e, e.blocks++ == 0, last);
+    if(threads == 1) {
+      final FutureTask<byte[]> ft = new FutureTask<>(task);
+      ft.run();
+      b.result = ft;
+    } else {
+      b.result = EXECUTOR.submit(task);
+    }
+    blocks.add(b);
+
+    // remember end of block as dictionary for the next block
+    if(!last) {
+      if(len >= DICT) {
+        dict = Arrays.copyOfRange(data, len - DICT, len);
+      } else {
+        final int dl = dc == null ? 0 : Math.min(dc.length, DICT - len);
+        final byte[] d = new byte[dl + len];
+        if(dl > 0) System.arraycopy(dc, dc.length - dl, d, 0, dl);
+        System.arraycopy(data, 0, d, dl, len);
+        dict = d;
+      }
+    }
+    block = Token.EMPTY;
+    size = 0;
+
+    // write finished blocks, limit number of pending blocks
+    while(blocks.size() > threads << 1 || !blocks.isEmpty() && blocks.peek().result.isDone()) {
+      drain();
+    }
+  }
+
+  /**
+   * Writes the first pending block.
+   * @throws IOException I/O exception
+   */
+  private void drain() throws IOException {
+    final Block b = blocks.poll();
+    final Entry e = b.entry;
+    if(b.first) local(e);
+
+    final byte[] data;
+    try {
+      data = b.result.get();
+    } catch(final InterruptedException ex) {
+      throw new InterruptedIOException(ex.getMessage());
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      throw th instanceof IOException ? (IOException) th : new IOException(th);
+    }
+    out.write(data);
+    written += data.length;
+    e.csize += data.length;
+    if(b.last) descriptor(e);
+  }
+
+  /**
+   * Deflates a block.
+   * @param data data
+   * @param len length of the data
+   * @param dict dictionary (can be {@code null})
+   * @param level compression level
+   * @param last last block of an entry
+   * @return compressed data
+   */
+  private static byte[] deflate(final byte[] data, final int len, final byte[] dict,
+      final int level, final boolean last) {
+
+    final Deflater def = new Deflater(level, true);
+    try {
+      if(dict != null) def.setDictionary(dict);
+      def.setInput(data, 0, len);
+      if(last) def.finish();
+
+      final ArrayOutput ao = new ArrayOutput();
+      final byte[] buffer = new byte[Math.max(len >>> 1, 1 << 10)];
+      while(true) {
+        final int n = last ? def.deflate(buffer) :
+          def.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+        ao.write(buffer, 0, n);
+        if(last ? def.finished() : n < buffer.length) break;
+      }
+      return ao.finish();
+    } finally {
+      def.end();
+    }
+  }
+
+  /**
+   * Writes a local file header.
+   * @param e entry
+   * @throws IOException I/O exception
+   */
+  private void local(final Entry e) throws IOException {
+    e.offset = written;
+    writeInt(ZipEntry.LOCSIG);
+    writeShort(VERSION);
+    writeShort(FLAGS);
+    writeShort(ZipEntry.DEFLATED);
+    writeInt(e.time);
+    // checksum and sizes are written to the data descriptor
+    writeInt(0);
+    writeInt(0);
+    writeInt(0);
+    writeShort(e.name.length);
+    writeShort(0);
+    writeBytes(e.name);
+  }
+
+  /**
+   * Writes a data descriptor.
+   * @param e entry
+   * @throws IOException I/O exception
+   */
+  private void descriptor(final Entry e) throws IOException {
+    writeInt(ZipEntry.EXTSIG);
+    writeInt(e.crc.getValue());
+    if(e.size >= MAX32 || e.csize >= MAX32) {
+      writeLong(e.csize);
+      writeLong(e.size);
+    } else {
+      writeInt(e.csize);
+      writeInt(e.size);
+    }
+  }
+
+  /**
+   * Writes a central directory header.
+   * @param e entry
+   * @throws IOException I/O exception
+   */
+  private void central(final Entry e) throws IOException {
+    final boolean size64 = e.size >= MAX32, csize64 = e.csize >= MAX32;
+    final boolean offset64 = e.offset >= MAX32;
+    final int extra = (size64 ? 8 : 0) + (csize64 ? 8 : 0) + (offset64 ? 8 : 0);
+    final int version = extra > 0 ? VERSION64 : VERSION;
+
+    writeInt(ZipEntry.CENSIG);
+    writeShort(version);
+    writeShort(version);
+    writeShort(FLAGS);
+    writeShort(ZipEntry.DEFLATED);
+    writeInt(e.time);
+    writeInt(e.crc.getValue());
+    writeInt(csize64 ? MAX32 : e.csize);
+    writeInt(size64 ? MAX32 : e.size);
+    writeShort(e.name.length);
+    writeShort(extra > 0 ? extra + 4 : 0);
+    writeShort(e.comment.length);
+    // disk number, internal and external attributes
+    writeShort(0);
+    writeShort(0);
+    writeInt(0);
+    writeInt(offset64 ? MAX32 : e.offset);
+    writeBytes(e.name);
+    if(extra > 0) {
+      writeShort(1);
+      writeShort(extra);
+      if(size64) writeLong(e.size);
+      if(csize64) writeLong(e.csize);
+      if(offset64) writeLong(e.offset);
+    }
+    writeBytes(e.comment);
+  }
+
+  /**
+   * Writes the end of the central directory.
+   * @param offset offset of the central directory
+   * @param length length of the central directory
+   * @throws IOException I/O exception
+   */
+  private void end(final long offset, final long length) throws IOException {
+    final int es = entries.size();
+    if(es >= MAX16 || offset >= MAX32 || length >= MAX32) {
+      // ZIP64 end of central directory record and locator
+      final long end64 = written;
+      writeInt(0x06064b50);
+      writeLong(44);
+      writeShort(VERSION64);
+      writeShort(VERSION64);
+      writeInt(0);
+      writeInt(0);
+      writeLong(es);
+      writeLong(es);
+      writeLong(length);
+      writeLong(offset);
+      writeInt(0x07064b50);
+      writeInt(0);
+      writeLong(end64);
+      writeInt(1);
+    }
+    writeInt(ZipEntry.ENDSIG);
+    writeShort(0);
+    writeShort(0);
+    writeShort(Math.min(es, MAX16));
+    writeShort(Math.min(es, MAX16));
+    writeInt(Math.min(length, MAX32));
+    writeInt(Math.min(offset, MAX32));
+    writeShort(0);
+  }
+
+  /**
+   * Writes bytes.
+   * @param b bytes
+   * @throws IOException I/O exception
+   */
+  private void writeBytes(final byte[] b) throws IOException {
+    out.write(b);
+    written += b.length;
+  }
+
+  /**
+   * Writes a 16 bit value in little-endian order.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void writeShort(final int v) throws IOException {
+    out.write(v);
+    out.write(v >>> 8);
+    written += 2;
+  }
+
+  /**
+   * Writes a 32 bit value in little-endian order.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void writeInt(final long v) throws IOException {
+    writeShort((int) v & 0xFFFF);
+    writeShort((int) (v >>> 16) & 0xFFFF);
+  }
+
+  /**
+   * Writes a 64 bit value in little-endian order.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void writeLong(final long v) throws IOException {
+    writeInt(v & MAX32);
+    writeInt(v >>> 32);
+  }
+
+  /**
+   * Converts a Java time to a DOS date and time.
+   * @param time time in milliseconds ({@code -1}: current time)
+   * @return DOS time
+   */
+  private static long dosTime(final long time) {
+    final Calendar cal = Calendar.getInstance();
+    cal.setTimeInMillis(time == -1 ? System.currentTimeMillis() : time);
+    final int year = cal.get(Calendar.YEAR);
+    if(year < 1980) return 1 << 21 | 1 << 16;
+    return (long) (year - 1980) << 25 | (cal.get(Calendar.MONTH) + 1) << 21 |
+        cal.get(Calendar.DAY_OF_MONTH) << 16 | cal.get(Calendar.HOUR_OF_DAY) << 11 |
+        cal.get(Calendar.MINUTE) << 5 | cal.get(Calendar.SECOND) >> 1;
+  }
+
+  /** Entry of the archive. */
+  private static final class Entry {
+    /** Name. */
+    private final byte[] name;
+    /** Comment. */
+    private final byte[] comment;
+    /** DOS time. */
+    private final long time;
+    /** Compression level. */
+    private final int level;
+    /** Checksum of the uncompressed data. */
+    private final CRC32 crc = new CRC32();
+    /** Number of submitted blocks. */
+    private int blocks;
+    /** Uncompressed size. */
+    private long size;
+    /** Compressed size. */
+    private long csize;
+    /** Offset of the local file header. */
+    private long offset;
+
+    /**
+     * Constructor.
+     * @param ze zip entry
+     * @param level compression level
+     */
+    private Entry(final ZipEntry ze, final int level) {
+      this.level = level;
+      name = Token.token(ze.getName());
+      final String cmt = ze.getComment();
+      comment = cmt == null ? Token.EMPTY : Token.token(cmt);
+      time = dosTime(ze.getTime());
+    }
+  }
+
+  /** Block of an entry. */
+  private static final class Block {
+    /** Entry. */
+    private final Entry entry;
+    /** First block of the entry. */
+    private final boolean first;
+    /** Last block of the entry. */
+    private final boolean last;
+    /** Compressed data. */
+    private Future<byte[]> result;
+
+    /**
+     * Constructor.
+     * @param entry entry
+     * @param first first block
+     * @param last last block
+     */
+    private Block(final Entry entry, final boolean first, final boolean last) {
+      this.entry = entry;
+      this.first = first;
+      this.last = last;
+    }
+  }
+}
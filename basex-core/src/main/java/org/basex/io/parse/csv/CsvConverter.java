@@ -10,6 +10,7 @@ import org.basex.core.jobs.*;
 import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.query.value.item.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 
 /**
@@ -40,6 +41,10 @@ public abstract class CsvConverter extends Job {
   private final CsvParserOptions copts;
   /** Current input. */
   protected NewlineInput nli;
+  /** Lazy conversion (records will not be retained). */
+  protected boolean lazy;
+  /** Parser for lazy conversion. */
+  private CsvParser parser;
 
   /**
    * Constructor.
@@ -58,13 +63,66 @@ public abstract class CsvConverter extends Job {
    * @throws IOException I/O exception
    */
   public final Item convert(final IO input) throws IOException {
-    try(NewlineInput in = new NewlineInput(input)) {
+    return convert(input(input));
+  }
+
+  /**
+   * Converts the specified input to XML and closes it.
+   * @param input input
+   * @return result
+   * @throws IOException I/O exception
+   */
+  public final Item convert(final NewlineInput input) throws IOException {
+    try(NewlineInput in = input) {
       nli = in;
-      CsvParser.parse(in.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this);
+      CsvParser.parse(in, copts, this);
     }
     return finish();
   }
 
+  /**
+   * Prepares the lazy conversion of the specified input. The records can then be
+   * requested one by one via {@link #next()}.
+   * @param input input
+   * @throws IOException I/O exception
+   */
+  public final void open(final NewlineInput input) throws IOException {
+    nli = input;
+    lazy = true;
+    try {
+      parser = new CsvParser(input, copts, this);
+    } catch(final IOException ex) {
+      input.close();
+      throw ex;
+    }
+  }
+
+  /**
+   * Parses and returns the next record. The input will be closed as soon as it is exhausted.
+   * @return record, or {@code null} if no more records are found
+   * @throws IOException I/O exception
+   */
+  public final Item next() throws IOException {
+    try {
+      if(parser.next()) return current();
+    } catch(final IOException ex) {
+      nli.close();
+      throw ex;
+    }
+    nli.close();
+    return null;
+  }
+
+  /**
+   * Returns an input with normalized line breaks and the encoding of the parser options.
+   * @param input input
+   * @return input
+   * @throws IOException I/O exception
+   */
+  public final NewlineInput input(final IO input) throws IOException {
+    return new NewlineInput(input).encoding(copts.get(CsvParserOptions.ENCODING));
+  }
+
   /**
    * Returns a CSV converter for the given configuration.
    * @param copts options
@@ -96,6 +154,15 @@ public abstract class CsvConverter extends Job {
    */
   protected abstract void entry(byte[] value) throws IOException;
 
+  /**
+   * Returns the record that has been converted last.
+   * @return record
+   * @throws IOException I/O exception
+   */
+  protected Item current() throws IOException {
+    throw Util.notExpected();
+  }
+
   /**
    * Returns the resulting byte array.
    * @return result
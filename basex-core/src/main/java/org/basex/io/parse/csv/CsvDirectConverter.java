@@ -29,7 +29,7 @@ final class CsvDirectConverter extends CsvConverter {
   @Override
   protected void record() {
     record = new FElem(RECORD);
-    root.add(record);
+    if(!lazy) root.add(record);
     col = 0;
   }
 
@@ -51,6 +51,11 @@ final class CsvDirectConverter extends CsvConverter {
     record.add(e.add(entry));
   }
 
+  @Override
+  protected FElem current() {
+    return record;
+  }
+
   @Override
   protected FDoc finish() {
     return doc;
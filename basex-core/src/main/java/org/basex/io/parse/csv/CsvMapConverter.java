@@ -6,6 +6,7 @@ import org.basex.build.csv.*;
 import org.basex.query.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.map.*;
 import org.basex.query.value.map.Map;
 
 /**
@@ -19,6 +20,8 @@ final class CsvMapConverter extends CsvConverter {
   private final ArrayList<ItemList> records = new ArrayList<>(1);
   /** Current record. */
   private ItemList record = new ItemList();
+  /** Number of records. */
+  private int row;
 
   /**
    * Constructor.
@@ -37,7 +40,8 @@ final class CsvMapConverter extends CsvConverter {
   protected void record() {
     record = new ItemList();
     if(!headers.isEmpty()) record.add(Map.EMPTY);
-    records.add(record);
+    if(!lazy) records.add(record);
+    row++;
     col = 0;
   }
 
@@ -56,15 +60,22 @@ final class CsvMapConverter extends CsvConverter {
     }
   }
 
+  @Override
+  protected Map current() throws QueryIOException {
+    try {
+      return Map.EMPTY.put(Int.get(row), record.value(), null);
+    } catch(final QueryException ex) {
+      throw new QueryIOException(ex);
+    }
+  }
+
   @Override
   protected Map finish() throws QueryIOException {
     try {
-      Map map = Map.EMPTY;
+      final MapBuilder mb = new MapBuilder(null);
       int row = 1;
-      for(final ItemList list : records) {
-        map = map.put(Int.get(row++), list.value(), null);
-      }
-      return map;
+      for(final ItemList list : records) mb.put(Int.get(row++), list.value());
+      return mb.freeze();
     } catch(final QueryException ex) {
       throw new QueryIOException(ex);
     }
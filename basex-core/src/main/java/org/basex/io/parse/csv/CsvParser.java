@@ -26,24 +26,38 @@ final class CsvParser {
   /** Parse quotes.  */
   private final boolean quotes;
 
+  /** Current entry. */
+  private final TokenBuilder entry = new TokenBuilder();
   /** First entry of a line. */
   private boolean first = true;
   /** Data mode. */
   private boolean data;
+  /** Quoted state. */
+  private boolean quoted;
+  /** Current character. */
+  private int ch;
+  /** Number of records that have been started. */
+  private int records;
+  /** Indicates if the end of the input has been reached. */
+  private boolean done;
 
   /**
    * Constructor.
    * @param input input
    * @param opts options
    * @param conv converter
+   * @throws IOException I/O exception
    */
-  private CsvParser(final TextInput input, final CsvParserOptions opts, final CsvConverter conv) {
+  CsvParser(final TextInput input, final CsvParserOptions opts, final CsvConverter conv)
+      throws IOException {
     this.input = input;
     this.conv = conv;
     header = opts.get(CsvOptions.HEADER);
     separator = opts.separator();
     quotes = opts.get(CsvOptions.QUOTES);
     backslashes = opts.get(CsvOptions.BACKSLASHES);
+    data = !header;
+    ch = input.read();
   }
 
   /**
@@ -56,19 +70,18 @@ final class CsvParser {
    */
   static void parse(final TextInput input, final CsvParserOptions opts, final CsvConverter conv)
       throws IOException {
-    new CsvParser(input, opts, conv).parse();
+    final CsvParser parser = new CsvParser(input, opts, conv);
+    while(parser.next());
   }
 
   /**
-   * Parses a CSV expression.
+   * Parses CSV input until the next record has been completed.
+   * @return {@code true} if a record has been parsed, {@code false} if the input is exhausted
    * @throws IOException query I/O exception
    */
-  private void parse() throws IOException {
-    final TokenBuilder entry = new TokenBuilder();
-    boolean quoted = false;
-    data = !header;
-
-    int ch = input.read();
+  boolean next() throws IOException {
+    if(done) return false;
+    final int started = records;
     while(ch != -1) {
       if(quoted) {
         // quoted state
@@ -97,10 +110,13 @@ final class CsvParser {
         record(entry, true);
         first = false;
       } else if(ch == '\n') {
-        // parse newline
+        // parse newline, stop if a record has been completed
         record(entry, !entry.isEmpty());
         first = true;
         data = true;
+        ch = input.read();
+        if(records != started) return true;
+        continue;
       } else {
         if(ch == '\\' && backslashes) ch = bs();
         add(entry, ch);
@@ -108,6 +124,8 @@ final class CsvParser {
       ch = input.read();
     }
     record(entry, !entry.isEmpty());
+    done = true;
+    return records != started;
   }
 
   /**
@@ -139,7 +157,10 @@ final class CsvParser {
    * @throws IOException I/O exception
    */
   private void record(final TokenBuilder entry, final boolean record) throws IOException {
-    if(record && first && data) conv.record();
+    if(record && first && data) {
+      conv.record();
+      records++;
+    }
     if(record || !first) {
       if(data) {
         conv.entry(entry.next());
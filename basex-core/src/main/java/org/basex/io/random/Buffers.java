@@ -1,5 +1,7 @@
 package org.basex.io.random;
 
+import org.basex.util.metrics.*;
+
 /**
  * This class provides a simple, clock-based buffer management.
  *
@@ -45,9 +47,13 @@ final class Buffers {
   boolean cursor(final long p) {
     final int o = off;
     do {
-      if(buf[off].pos == p) return false;
+      if(buf[off].pos == p) {
+        Metrics.BUFFER_HITS.inc();
+        return false;
+      }
     } while((off = off + 1 & BUFFERS - 1) != o);
     off = o + 1 & BUFFERS - 1;
+    Metrics.BUFFER_MISSES.inc();
     return true;
   }
 }
@@ -1,5 +1,8 @@
 package org.basex.io.random;
 
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
 import java.util.*;
 
 import org.basex.data.*;
@@ -116,6 +119,51 @@ public final class TableMemAccess extends TableAccess {
     dirty = true;
   }
 
+  /**
+   * Writes the table entries to the specified channel. The entries are written as big-endian
+   * long values: first all values of the first buffer, then all values of the second buffer.
+   * @param fc file channel
+   * @throws IOException I/O exception
+   */
+  public void write(final FileChannel fc) throws IOException {
+    final int size = meta.size;
+    final ByteBuffer bb = ByteBuffer.allocateDirect(IO.BLOCKSIZE << 4);
+    final LongBuffer lb = bb.asLongBuffer();
+    for(final long[] buf : new long[][] { buf1, buf2 }) {
+      for(int p = 0; p < size;) {
+        final int n = Math.min(size - p, lb.capacity());
+        lb.clear();
+        lb.put(buf, p, n);
+        bb.clear();
+        bb.limit(n << 3);
+        while(bb.hasRemaining()) fc.write(bb);
+        p += n;
+      }
+    }
+  }
+
+  /**
+   * Reads the table entries from the specified channel. The entries are mapped into memory and
+   * copied to the buffer arrays in bulk.
+   * @param fc file channel
+   * @param pos offset of the first entry
+   * @throws IOException I/O exception
+   */
+  public void read(final FileChannel fc, final long pos) throws IOException {
+    final int size = meta.size;
+    buf1 = new long[Math.max(size, Array.CAPACITY)];
+    buf2 = new long[buf1.length];
+    long off = pos;
+    for(final long[] buf : new long[][] { buf1, buf2 }) {
+      for(int p = 0; p < size;) {
+        final int n = Math.min(size - p, Integer.MAX_VALUE >>> 3);
+        fc.map(FileChannel.MapMode.READ_ONLY, off, (long) n << 3).asLongBuffer().get(buf, p, n);
+        off += (long) n << 3;
+        p += n;
+      }
+    }
+  }
+
   // PRIVATE METHODS ==========================================================
 
   /**
@@ -2,6 +2,7 @@ package org.basex.io.serial;
 
 import java.io.*;
 
+import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.value.array.*;
 import org.basex.query.value.item.*;
@@ -37,7 +38,8 @@ public final class BaseXSerializer extends AdaptiveSerializer {
       try {
         if(binary && item instanceof Bin) {
           try(InputStream is = item.input(null)) {
-            for(int b; (b = is.read()) != -1;) out.write(b);
+            final byte[] buffer = new byte[IO.BLOCKSIZE];
+            for(int n; (n = is.read(buffer)) != -1;) out.write(buffer, 0, n);
           }
         } else {
           printChars(item.string(null));
@@ -0,0 +1,245 @@
+package org.basex.io.serial;
+
+import java.io.*;
+import java.lang.ref.*;
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.io.out.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+
+/**
+ * This class caches the serialized representation of database nodes.
+ * The cache is disabled by default; its maximum size is specified via
+ * {@link StaticOptions#SERIALCACHE}. Entries are referenced by the database name, the pre value
+ * of the node and the serialization parameters. They are invalidated if the database has been
+ * updated or reopened, and the least recently used entries are evicted if the cache is full.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class SerialCache {
+  /** Cached entries. */
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  /** Static options. */
+  private final StaticOptions sopts;
+  /** Total size of all cached entries. */
+  private long size;
+  /** Number of cache hits. */
+  private long hits;
+  /** Number of cache misses. */
+  private long misses;
+
+  /**
+   * Constructor.
+   * @param sopts static options
+   */
+  public SerialCache(final StaticOptions sopts) {
+    this.sopts = sopts;
+  }
+
+  /**
+   * Serializes an item. If the item is a cacheable database node, the cached bytes will be
+   * written to the output stream, or the serialized node will be added to the cache.
+   * @param item item to be serialized
+   * @param options serialization parameters
+   * @param out output stream
+   * @return {@code true} if the item was serialized, {@code false} if it is not cacheable
+   * @throws IOException I/O exception
+   */
+  public boolean serialize(final Item item, final SerializerOptions options,
+      final PrintOutput out) throws IOException {
+
+    final long max = max();
+    if(max == 0 || !(item instanceof DBNode)) return false;
+    final DBNode node = (DBNode) item;
+    final Data data = node.data();
+    final int kind = node.kind();
+    if(data.inMemory() || kind != Data.DOC && kind != Data.ELEM) return false;
+
+    final String key = data.meta.name + '/' + node.pre() + '/' + options;
+    final Entry cached = get(key, data);
+    if(cached != null) {
+      out.write(cached.bytes);
+      return true;
+    }
+
+    // serialize node, cache output if it does not exceed a fraction of the cache size
+    final Tee tee = new Tee(out, max >> 2);
+    try(Serializer ser = Serializer.get(tee, options)) {
+      ser.serialize(node);
+    }
+    if(tee.cache != null) put(key, new Entry(data, tee.cache.toArray()), max);
+    return true;
+  }
+
+  /**
+   * Removes all entries of the specified database.
+   * @param name name of database
+   */
+  public synchronized void remove(final String name) {
+    final Iterator<Entry> it = entries.values().iterator();
+    while(it.hasNext()) {
+      final Entry entry = it.next();
+      if(entry.name.equals(name)) {
+        size -= entry.bytes.length;
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes all entries and resets the statistics.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    size = 0;
+    hits = 0;
+    misses = 0;
+  }
+
+  /**
+   * Returns the total size of all entries.
+   * @return size in bytes
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of cache hits.
+   * @return hits
+   */
+  public synchronized long hits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of cache misses.
+   * @return misses
+   */
+  public synchronized long misses() {
+    return misses;
+  }
+
+  /**
+   * Returns the maximum cache size.
+   * @return size in bytes
+   */
+  private long max() {
+    return Math.max(0, sopts.get(StaticOptions.SERIALCACHE)) << 20;
+  }
+
+  /**
+   * Returns a cache entry. Entries that have been invalidated are removed.
+   * @param key key
+   * @param data data reference
+   * @return entry or {@code null}
+   */
+  private synchronized Entry get(final String key, final Data data) {
+    final Entry entry = entries.get(key);
+    if(entry != null) {
+      if(entry.valid(data)) {
+        hits++;
+        return entry;
+      }
+      entries.remove(key);
+      size -= entry.bytes.length;
+    }
+    misses++;
+    return null;
+  }
+
+  /**
+   * Adds a cache entry and evicts the least recently used entries.
+   * @param key key
+   * @param entry entry
+   * @param max maximum cache size
+   */
+  private synchronized void put(final String key, final Entry entry, final long max) {
+    final Entry old = entries.put(key, entry);
+    if(old != null) size -= old.bytes.length;
+    size += entry.bytes.length;
+    final Iterator<Entry> it = entries.values().iterator();
+    while(size > max && it.hasNext()) {
+      size -= it.next().bytes.length;
+      it.remove();
+    }
+  }
+
+  /** Cache entry. */
+  private static final class Entry {
+    /** Database name. */
+    private final String name;
+    /** Database timestamp. */
+    private final long time;
+    /** Number of updates. */
+    private final long updates;
+    /** Data instance (weakly referenced, as closed instances may be discarded at any time). */
+    private final WeakReference<Data> ref;
+    /** Serialized bytes. */
+    private final byte[] bytes;
+
+    /**
+     * Constructor.
+     * @param data data reference
+     * @param bytes serialized bytes
+     */
+    private Entry(final Data data, final byte[] bytes) {
+      name = data.meta.name;
+      time = data.meta.time;
+      updates = data.meta.updates;
+      ref = new WeakReference<>(data);
+      this.bytes = bytes;
+    }
+
+    /**
+     * Checks if the entry is still valid for the specified data reference.
+     * @param data data reference
+     * @return result of check
+     */
+    private boolean valid(final Data data) {
+      return ref.get() == data && time == data.meta.time && updates == data.meta.updates;
+    }
+  }
+
+  /** Output stream that writes all bytes to the target stream and a bounded cache. */
+  private static final class Tee extends OutputStream {
+    /** Target stream. */
+    private final OutputStream os;
+    /** Maximum number of bytes to be cached. */
+    private final long limit;
+    /** Cached output (set to {@code null} if limit is exceeded). */
+    private ArrayOutput cache = new ArrayOutput();
+
+    /**
+     * Constructor.
+     * @param os target stream
+     * @param limit maximum number of bytes to be cached
+     */
+    private Tee(final OutputStream os, final long limit) {
+      this.os = os;
+      this.limit = limit;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      os.write(b);
+      if(cache != null) {
+        cache.write(b);
+        if(cache.size() > limit) cache = null;
+      }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      os.write(b, off, len);
+      if(cache != null) {
+        cache.write(b, off, len);
+        if(cache.size() > limit) cache = null;
+      }
+    }
+  }
+}
@@ -131,6 +131,8 @@ public final class QueryContext extends Job implements Closeable {
   public MainModule ctxItem;
   /** Root expression of the query. */
   public MainModule root;
+  /** Query profiler (only assigned if runtime statistics are collected). */
+  public QueryProfiler profiler;
 
   /** Serialization parameters. */
   private SerializerOptions serParams;
@@ -152,6 +154,7 @@ public final class QueryContext extends Job implements Closeable {
     resources = parent.resources;
     http = parent.http;
     updates = parent.updates;
+    if(parent.profiler != null) profiler = new QueryProfiler(parent.profiler);
   }
 
   /**
@@ -306,6 +309,12 @@ public final class QueryContext extends Job implements Closeable {
         if(root != null) QueryCompiler.compile(cc, root);
         // compile global functions.
         else funcs.compile(cc);
+
+        // instrument expressions to collect runtime statistics
+        if(root != null && parent == null && context.options.get(MainOptions.PLANSTATS)) {
+          profiler = new QueryProfiler();
+          profiler.instrument(root);
+        }
       } catch(final StackOverflowError ex) {
         Util.debug(ex);
         throw BASX_STACKOVERFLOW.get(null, ex);
@@ -574,6 +583,7 @@ public final class QueryContext extends Job implements Closeable {
   public void close() {
     if(closed) return;
     closed = true;
+    if(profiler != null) profiler.close();
     if(parent == null) {
       // topmost query: close resources (opened by compile step)
       resources.close();
@@ -766,6 +776,14 @@ public final class QueryContext extends Job implements Closeable {
     args = arg;
   }
 
+  /**
+   * Indicates if a tail-call function has been registered and not been invoked yet.
+   * @return result of check
+   */
+  public boolean tailCall() {
+    return tailFunc != null;
+  }
+
   /**
    * Returns and clears the currently registered tail-call function.
    * @return function to call if present, {@code null} otherwise
@@ -139,6 +139,10 @@ public enum QueryError {
   BXDB_SAME_X(BXDB, 16, "Name of source and target database is equal: %."),
   /** BXDB0017. */
   BXDB_PROP_X(BXDB, 17, "Unknown database property: %."),
+  /** BXDB0018. */
+  BXDB_CHUNK_X_X(BXDB, 18, "Requested chunk [%,%] exceeds resource bounds."),
+  /** BXDB0019. */
+  BXDB_REFBACKUP_X_X(BXDB, 19, "Backup '%' is referenced by '%'."),
 
   // Fetch Module
 
@@ -151,6 +155,8 @@ public enum QueryError {
 
   /** BXFT0001. */
   BXFT_MATCH(BXFT, 1, "Wildcards and fuzzy option cannot be specified both."),
+  /** BXFT0002. */
+  BXFT_SCORE_X(BXFT, 2, "Full-text index of '%' provides no statistics; it must be recreated."),
 
   // HTML Module
 
@@ -0,0 +1,53 @@
+package org.basex.query;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.util.*;
+
+/**
+ * Inputs that are opened by lazy iterators [SINGLE]. Inputs that have not been completely
+ * consumed will be closed after the query has been evaluated.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryInputs implements QueryResource {
+  /** Opened inputs. */
+  private final Set<Closeable> inputs = Collections.newSetFromMap(
+      new IdentityHashMap<Closeable, Boolean>());
+
+  /**
+   * Registers an opened input.
+   * @param input input
+   */
+  public synchronized void add(final Closeable input) {
+    inputs.add(input);
+  }
+
+  /**
+   * Closes an input and removes it from the list of opened inputs.
+   * @param input input
+   */
+  public synchronized void close(final Closeable input) {
+    if(inputs.remove(input)) close0(input);
+  }
+
+  @Override
+  public synchronized void close() {
+    for(final Closeable input : inputs) close0(input);
+    inputs.clear();
+  }
+
+  /**
+   * Closes an input.
+   * @param input input
+   */
+  private static void close0(final Closeable input) {
+    try {
+      input.close();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
+  }
+}
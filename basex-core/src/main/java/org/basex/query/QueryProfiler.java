@@ -0,0 +1,199 @@
+package org.basex.query;
+
+import java.lang.management.*;
+import java.util.*;
+import java.util.Map.Entry;
+
+import org.basex.query.expr.*;
+import org.basex.query.expr.path.*;
+import org.basex.query.scope.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+
+/**
+ * Query profiler. Instruments the expressions of a compiled query with {@link Profiled}
+ * wrappers, which collect runtime statistics that will be attached to the query plan.
+ * Each query context has its own profiler; the statistics of sub contexts (e.g. of threads
+ * that evaluate parts of a query in parallel) are added to the parent profiler when the
+ * sub context is closed.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryProfiler {
+  /** Indicates if allocated bytes are measured. */
+  public final boolean alloc;
+  /** Thread bean (can be {@code null}). */
+  private final com.sun.management.ThreadMXBean bean;
+  /** Parent profiler (can be {@code null}). */
+  private final QueryProfiler parent;
+  /** Statistics of the profiled expressions. */
+  private final IdentityHashMap<Profiled, Stats> stats = new IdentityHashMap<>();
+  /** Instrumented expressions. */
+  private final IdentityHashMap<Expr, Expr> visited = new IdentityHashMap<>();
+
+  /**
+   * Constructor.
+   */
+  QueryProfiler() {
+    com.sun.management.ThreadMXBean tb = null;
+    try {
+      final ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+      if(mx instanceof com.sun.management.ThreadMXBean) {
+        tb = (com.sun.management.ThreadMXBean) mx;
+        // accounting is a JVM-wide setting: only use it if it has already been enabled
+        if(!tb.isThreadAllocatedMemorySupported() || !tb.isThreadAllocatedMemoryEnabled()) {
+          tb = null;
+        }
+      }
+    } catch(final Throwable th) {
+      // thread allocation accounting is not supported by this JVM
+      Util.debug(th);
+      tb = null;
+    }
+    bean = tb;
+    alloc = tb != null;
+    parent = null;
+  }
+
+  /**
+   * Constructor for sub contexts.
+   * @param parent parent profiler
+   */
+  QueryProfiler(final QueryProfiler parent) {
+    bean = parent.bean;
+    alloc = parent.alloc;
+    this.parent = parent;
+  }
+
+  /**
+   * Returns the number of bytes that have been allocated by the current thread.
+   * @return allocated bytes, or {@code 0} if the value cannot be measured
+   */
+  public long allocated() {
+    return alloc ? bean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+  }
+
+  /**
+   * Returns the statistics of the specified expression.
+   * @param expr profiled expression
+   * @return statistics
+   */
+  public synchronized Stats stats(final Profiled expr) {
+    Stats st = stats.get(expr);
+    if(st == null) {
+      st = new Stats();
+      stats.put(expr, st);
+    }
+    return st;
+  }
+
+  /**
+   * Adds the statistics of this profiler to the parent profiler.
+   */
+  synchronized void close() {
+    if(parent == null) return;
+    for(final Entry<Profiled, Stats> entry : stats.entrySet()) {
+      parent.stats(entry.getKey()).add(entry.getValue());
+    }
+    stats.clear();
+  }
+
+  /**
+   * Instruments the main module and all static declarations referenced by it.
+   * @param main main module
+   */
+  void instrument(final MainModule main) {
+    for(final StaticDecl decl : QueryCompiler.usedDecls(main)) decl.expr = wrap(decl.expr);
+    main.expr = wrap(main.expr);
+  }
+
+  /**
+   * Instruments the operands of the specified expression and returns a profiled wrapper.
+   * @param expr expression (can be {@code null})
+   * @return wrapped or original expression
+   */
+  public Expr wrap(final Expr expr) {
+    if(expr == null) return null;
+    traverse(expr);
+    // skip values, cheap references, path steps and already instrumented expressions
+    return !(expr instanceof ParseExpr) || expr instanceof Profiled || expr instanceof Step ||
+      expr instanceof VarRef || expr instanceof ContextValue ? expr :
+      new Profiled(this, (ParseExpr) expr);
+  }
+
+  /**
+   * Replaces the specified expressions with profiled wrappers. If the array has a more
+   * specific component type, the expressions are only traversed.
+   * @param exprs expressions
+   */
+  public void wrap(final Expr[] exprs) {
+    if(exprs.getClass().getComponentType() != Expr.class) {
+      traverse(exprs);
+    } else {
+      final int el = exprs.length;
+      for(int e = 0; e < el; e++) exprs[e] = wrap(exprs[e]);
+    }
+  }
+
+  /**
+   * Instruments the operands of the specified expressions without wrapping the expressions
+   * themselves.
+   * @param exprs expressions (entries can be {@code null})
+   */
+  public void traverse(final Expr... exprs) {
+    for(final Expr expr : exprs) {
+      if(expr != null && visited.put(expr, expr) == null) expr.instrument(this);
+    }
+  }
+
+  /** Statistics of a profiled expression. */
+  public static final class Stats {
+    /** Number of invocations. */
+    public long calls;
+    /** Number of returned items. */
+    public long items;
+    /** Evaluation time (nano seconds). */
+    public long time;
+    /** Allocated bytes. */
+    public long alloc;
+    /** Number of active evaluations (greater than 1 for recursive calls). */
+    private int active;
+
+    /**
+     * Enters an evaluation.
+     * @return {@code true} if this is the outermost evaluation
+     */
+    public boolean enter() {
+      return active++ == 0;
+    }
+
+    /**
+     * Exits an evaluation. Time and allocated bytes are only recorded for the outermost
+     * evaluation, as they include the costs of all nested evaluations.
+     * @param outer outermost evaluation
+     * @param t start time
+     * @param a allocated bytes at start time
+     * @param profiler profiler
+     */
+    public void exit(final boolean outer, final long t, final long a,
+        final QueryProfiler profiler) {
+      active--;
+      if(outer) {
+        time += System.nanoTime() - t;
+        alloc += profiler.allocated() - a;
+      }
+    }
+
+    /**
+     * Adds the specified statistics.
+     * @param st statistics
+     */
+    private void add(final Stats st) {
+      calls += st.calls;
+      items += st.items;
+      time += st.time;
+      alloc += st.alloc;
+    }
+  }
+}
@@ -383,6 +383,10 @@ public interface QueryText {
   /** Query Info. */ String MAX = "max";
   /** Query Info. */ String INF = "inf";
   /** Query Info. */ String TCL = "tailCall";
+  /** Query Info. */ String CALLS = "calls";
+  /** Query Info. */ String ITEMS = "items";
+  /** Query Info. */ String TIME = "time";
+  /** Query Info. */ String ALLOC = "allocated";
 
   // OPTIMIZATIONS ================================================================================
 
@@ -408,6 +412,7 @@ public interface QueryText {
   /** Optimization info. */ String OPTNOINDEX = "removing path with no index results";
   /** Optimization info. */ String OPTCHILD_X = "converting % to child steps";
   /** Optimization info. */ String OPTUNROLL_X = "unrolling %";
+  /** Optimization info. */ String OPTAGGR_X = "aggregating non-grouping variable: %";
 
   // MISCELLANEOUS ================================================================================
 
@@ -113,6 +113,11 @@ public abstract class Arr extends ParseExpr {
     return new TokenBuilder(PAREN1).addSep(exprs, sep).add(PAREN2).toString();
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    profiler.wrap(exprs);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return visitAll(visitor, exprs);
@@ -401,6 +401,15 @@ public abstract class Expr extends ExprInfo {
   @SuppressWarnings("unused")
   public void markTailCalls(final CompileContext cc) { }
 
+  /**
+   * Instruments the operands of this expression with profiling wrappers.
+   * This method is called after compilation if runtime statistics are collected.
+   * Operands of expressions that do not override this method will not be profiled.
+   * @param profiler query profiler
+   */
+  @SuppressWarnings("unused")
+  public void instrument(final QueryProfiler profiler) { }
+
   /**
    * Traverses this expression, notifying the visitor of declared and used variables,
    * and checking the tree for other recursive properties.
@@ -227,6 +227,12 @@ public abstract class Filter extends Preds {
     return pr || rt != null ? optimize(cc) : null;
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    root = profiler.wrap(root);
+    super.instrument(profiler);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     for(final Expr e : preds) {
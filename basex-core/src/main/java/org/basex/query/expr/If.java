@@ -206,6 +206,12 @@ public final class If extends Arr {
     return IF + '(' + cond + ") " + THEN + ' ' + exprs[0] + ' ' + ELSE + ' ' + exprs[1];
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    cond = profiler.wrap(cond);
+    super.instrument(profiler);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return cond.accept(visitor) && super.accept(visitor);
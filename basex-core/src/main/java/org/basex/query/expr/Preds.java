@@ -273,6 +273,12 @@ public abstract class Preds extends ParseExpr {
     return VarUsage.sum(var, preds);
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    // predicates may have positional semantics: only instrument their operands
+    profiler.traverse(preds);
+  }
+
   @Override
   public void plan(final FElem plan) {
     for(final Expr p : preds) p.plan(plan);
@@ -0,0 +1,195 @@
+package org.basex.query.expr;
+
+import static org.basex.query.QueryText.*;
+
+import org.basex.data.*;
+import org.basex.query.*;
+import org.basex.query.QueryProfiler.Stats;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+
+/**
+ * Profiled expression. Wraps an expression of a compiled query plan and records the number of
+ * invocations, the number of returned items, the evaluation time and (if supported by the JVM)
+ * the number of allocated bytes. All measurements include the costs of the sub-expressions.
+ * Statistics are collected by the profiler of the evaluating query context; time and allocated
+ * bytes of recursive invocations are only recorded once at the outermost invocation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class Profiled extends Single {
+  /** Profiler of the instrumented query. */
+  private final QueryProfiler profiler;
+
+  /**
+   * Constructor.
+   * @param profiler profiler
+   * @param expr profiled expression
+   */
+  public Profiled(final QueryProfiler profiler, final ParseExpr expr) {
+    super(expr.info, expr);
+    this.profiler = profiler;
+    seqType = expr.seqType();
+    size = expr.size();
+  }
+
+  @Override
+  public void instrument(final QueryProfiler prof) {
+    // wrapped expression has already been instrumented
+  }
+
+  @Override
+  public void checkUp() throws QueryException {
+    expr.checkUp();
+  }
+
+  @Override
+  public Expr compile(final CompileContext cc) throws QueryException {
+    expr = expr.compile(cc);
+    return optimize(cc);
+  }
+
+  @Override
+  public Expr optimize(final CompileContext cc) {
+    seqType = expr.seqType();
+    size = expr.size();
+    return this;
+  }
+
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    final QueryProfiler prof = profiler(qc);
+    final Stats st = prof.stats(this);
+    final boolean outer = st.enter();
+    final long t = outer ? System.nanoTime() : 0, a = outer ? prof.allocated() : 0;
+    final Iter iter;
+    try {
+      iter = expr.iter(qc);
+    } finally {
+      st.exit(outer, t, a, prof);
+    }
+    st.calls++;
+    return new Iter() {
+      @Override
+      public Item next() throws QueryException {
+        final boolean out = st.enter();
+        final long tm = out ? System.nanoTime() : 0, al = out ? prof.allocated() : 0;
+        final Item it;
+        try {
+          it = iter.next();
+        } finally {
+          st.exit(out, tm, al, prof);
+        }
+        if(it != null) st.items++;
+        return it;
+      }
+
+      @Override
+      public Item get(final long i) throws QueryException {
+        return iter.get(i);
+      }
+
+      @Override
+      public long size() {
+        return iter.size();
+      }
+    };
+  }
+
+  @Override
+  public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    final QueryProfiler prof = profiler(qc);
+    final Stats st = prof.stats(this);
+    final boolean outer = st.enter();
+    final long t = outer ? System.nanoTime() : 0, a = outer ? prof.allocated() : 0;
+    final Item it;
+    try {
+      it = expr.item(qc, ii);
+    } finally {
+      st.exit(outer, t, a, prof);
+    }
+    // tail calls: result will be computed by the caller
+    if(!qc.tailCall()) {
+      st.calls++;
+      if(it != null) st.items++;
+    }
+    return it;
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final QueryProfiler prof = profiler(qc);
+    final Stats st = prof.stats(this);
+    final boolean outer = st.enter();
+    final long t = outer ? System.nanoTime() : 0, a = outer ? prof.allocated() : 0;
+    final Value v;
+    try {
+      v = expr.value(qc);
+    } finally {
+      st.exit(outer, t, a, prof);
+    }
+    // tail calls: result will be computed by the caller
+    if(!qc.tailCall()) {
+      st.calls++;
+      st.items += v.size();
+    }
+    return v;
+  }
+
+  @Override
+  public boolean iterable() {
+    return expr.iterable();
+  }
+
+  @Override
+  public Data data() {
+    return expr.data();
+  }
+
+  @Override
+  public Expr copy(final CompileContext cc, final IntObjMap<Var> vm) {
+    return expr.copy(cc, vm);
+  }
+
+  @Override
+  public void plan(final FElem plan) {
+    final FElem tmp = new FElem(plan.qname());
+    expr.plan(tmp);
+    for(final ANode node : tmp.children()) {
+      if(!(node instanceof FElem)) continue;
+      final FElem el = (FElem) node;
+      final Stats st = profiler.stats(this);
+      el.add(planAttr(CALLS, st.calls));
+      el.add(planAttr(ITEMS, st.items));
+      el.add(planAttr(TIME, Performance.getTime(st.time, 1)));
+      if(profiler.alloc) el.add(planAttr(ALLOC, Performance.format(st.alloc)));
+      plan.add(el);
+    }
+  }
+
+  @Override
+  public String description() {
+    return expr.description();
+  }
+
+  @Override
+  public String toString() {
+    return expr.toString();
+  }
+
+  /**
+   * Returns the profiler of the specified query context.
+   * @param qc query context
+   * @return profiler
+   */
+  private QueryProfiler profiler(final QueryContext qc) {
+    final QueryProfiler prof = qc.profiler;
+    return prof != null ? prof : profiler;
+  }
+}
@@ -65,6 +65,11 @@ public abstract class Single extends ParseExpr {
     addPlan(plan, planElem(), expr);
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    expr = profiler.wrap(expr);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return expr.accept(visitor);
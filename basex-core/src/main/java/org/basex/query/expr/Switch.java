@@ -218,6 +218,12 @@ public final class Switch extends ParseExpr {
     for(final SwitchCase sc : cases) sc.markTailCalls(cc);
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    cond = profiler.wrap(cond);
+    profiler.traverse(cases);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return cond.accept(visitor) && visitAll(visitor, cases);
@@ -155,6 +155,12 @@ public final class Try extends Single {
     return sb.toString();
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    super.instrument(profiler);
+    profiler.traverse(catches);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return super.accept(visitor) && visitAll(visitor, catches);
@@ -141,6 +141,12 @@ public final class TypeSwitch extends ParseExpr {
     for(final TypeCase t : cases) t.markTailCalls(cc);
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    ts = profiler.wrap(ts);
+    profiler.traverse(cases);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return ts.accept(visitor) && visitAll(visitor, cases);
@@ -5,6 +5,7 @@ import static org.basex.query.QueryText.*;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.util.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.type.*;
 import org.basex.query.var.*;
@@ -30,16 +31,24 @@ public final class CDoc extends CNode {
   }
 
   @Override
-  public FDoc item(final QueryContext qc, final InputInfo ii) throws QueryException {
+  public ANode item(final QueryContext qc, final InputInfo ii) throws QueryException {
     // create document node and add children
     final Constr c = new Constr(info, sc);
     final FDoc doc = new FDoc(c.children, Token.EMPTY);
+    c.compact(new Table() {
+      @Override
+      void open(final DataBuilder builder) {
+        builder.open(Token.EMPTY);
+      }
+    }, qc);
     c.add(qc, exprs);
     if(c.errAtt != null) throw DOCATTS_X.get(info, c.errAtt);
     if(!c.atts.isEmpty()) throw DOCATTS_X.get(info, c.atts.get(0).name());
     if(c.errNS != null) throw DOCNS_X.get(info, c.errNS);
     if(!c.nspaces.isEmpty()) throw DOCNS_X.get(info, c.nspaces.name(0));
-    return doc.optimize();
+
+    final DBNode table = c.table();
+    return table != null ? table : finish(doc.optimize(), c.children, qc);
   }
 
   @Override
@@ -53,7 +53,7 @@ public final class CElem extends CName {
   }
 
   @Override
-  public FElem item(final QueryContext qc, final InputInfo ii) throws QueryException {
+  public ANode item(final QueryContext qc, final InputInfo ii) throws QueryException {
     final int s = addNS();
     try {
       // adds in-scope namespaces
@@ -89,6 +89,13 @@ public final class CElem extends CName {
       // create node
       final Constr constr = new Constr(info, sc);
       final FElem node = new FElem(nm, ns, constr.children, constr.atts);
+      constr.compact(new Table() {
+        @Override
+        void open(final DataBuilder builder) throws QueryException {
+          namespaces(constr, nm, ns);
+          builder.open(nm, ns, constr.atts);
+        }
+      }, qc);
 
       // add child and attribute nodes
       constr.add(qc, exprs);
@@ -97,38 +104,15 @@ public final class CElem extends CName {
       if(constr.duplAtt != null) throw CATTDUPL_X.get(info, constr.duplAtt);
       if(constr.duplNS != null) throw DUPLNSCONS_X.get(info, constr.duplNS);
 
-      // check namespaces
-      if(constr.nspaces.contains(EMPTY) && !nm.hasURI()) throw DUPLNSCONS_X.get(info, EMPTY);
-
-      // add namespaces from constructor
-      final Atts cns = constr.nspaces;
-      final int cl = cns.size();
-      for(int c = 0; c < cl; c++) addNS(cns.name(c), cns.value(c), ns);
-
-      // add namespaces
-      final int al = constr.atts.size();
-      for(int a = 0; a < al; a++) {
-        final ANode att = constr.atts.get(a);
-        final QNm qnm = att.qname();
-        // skip attributes without prefixes or URIs
-        if(!qnm.hasPrefix() || !qnm.hasURI()) continue;
-
-        // skip XML namespace
-        final byte[] apref = qnm.prefix();
-        if(eq(apref, XML)) continue;
-
-        final byte[] auri = qnm.uri();
-        final byte[] npref = addNS(apref, auri, ns);
-        if(npref != null) {
-          final QNm aname = new QNm(concat(npref, COLON, qnm.local()), auri);
-          constr.atts.set(a, new FAttr(aname, att.string()));
-        }
-      }
+      // return table representation
+      final DBNode table = constr.table();
+      if(table != null) return table;
 
+      namespaces(constr, nm, ns);
       // update and optimize child nodes
       for(final ANode ch : constr.children) ch.optimize();
       // return generated and optimized node
-      return node.optimize();
+      return finish(node.optimize(), constr.children, qc);
 
     } finally {
       sc.ns.size(s);
@@ -141,6 +125,46 @@ public final class CElem extends CName {
         copyAll(cc, vm, exprs));
   }
 
+  /**
+   * Adds the namespaces of the constructor and the attributes to the in-scope namespaces.
+   * Attributes are renamed if their prefixes are already bound to other URIs.
+   * @param constr constructor
+   * @param nm element name
+   * @param ns in-scope namespaces
+   * @throws QueryException query exception
+   */
+  private void namespaces(final Constr constr, final QNm nm, final Atts ns)
+      throws QueryException {
+
+    // check namespaces
+    if(constr.nspaces.contains(EMPTY) && !nm.hasURI()) throw DUPLNSCONS_X.get(info, EMPTY);
+
+    // add namespaces from constructor
+    final Atts cns = constr.nspaces;
+    final int cl = cns.size();
+    for(int c = 0; c < cl; c++) addNS(cns.name(c), cns.value(c), ns);
+
+    // add namespaces
+    final int al = constr.atts.size();
+    for(int a = 0; a < al; a++) {
+      final ANode att = constr.atts.get(a);
+      final QNm qnm = att.qname();
+      // skip attributes without prefixes or URIs
+      if(!qnm.hasPrefix() || !qnm.hasURI()) continue;
+
+      // skip XML namespace
+      final byte[] apref = qnm.prefix();
+      if(eq(apref, XML)) continue;
+
+      final byte[] auri = qnm.uri();
+      final byte[] npref = addNS(apref, auri, ns);
+      if(npref != null) {
+        final QNm aname = new QNm(concat(npref, COLON, qnm.local()), auri);
+        constr.atts.set(a, new FAttr(aname, att.string()));
+      }
+    }
+  }
+
   /**
    * Adds the specified namespace to the namespace array.
    * If the prefix is already used for another URI, a new name is generated.
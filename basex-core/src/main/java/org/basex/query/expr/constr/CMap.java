@@ -36,17 +36,17 @@ public final class CMap extends Arr {
 
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    Map map = Map.EMPTY;
+    final MapBuilder mb = new MapBuilder(info);
     final int es = exprs.length;
     for(int e = 0; e < es; e += 2) {
       final Value key = exprs[e].atomValue(qc, info);
       if(!(key instanceof Item)) throw SEQFOUND_X.get(info, key);
       final Item k = (Item) key;
       final Value v = qc.value(exprs[e + 1]);
-      if(map.contains(k, info)) throw MAPDUPLKEY_X_X_X.get(info, k, map.get(k, info), v);
-      map = map.put(k, v, info);
+      if(mb.contains(k)) throw MAPDUPLKEY_X_X_X.get(info, k, mb.get(k), v);
+      mb.put(k, v);
     }
-    return map;
+    return mb.freeze();
   }
 
   @Override
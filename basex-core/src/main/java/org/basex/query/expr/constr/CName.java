@@ -102,6 +102,12 @@ abstract class CName extends CNode {
     return name.has(flag) || super.has(flag);
   }
 
+  @Override
+  public final void instrument(final QueryProfiler profiler) {
+    name = profiler.wrap(name);
+    super.instrument(profiler);
+  }
+
   @Override
   public final boolean accept(final ASTVisitor visitor) {
     return name.accept(visitor) && visitAll(visitor, exprs);
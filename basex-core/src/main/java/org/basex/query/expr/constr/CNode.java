@@ -2,8 +2,13 @@ package org.basex.query.expr.constr;
 
 import static org.basex.query.QueryText.*;
 
+import org.basex.core.*;
+import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.util.list.*;
 import org.basex.query.value.node.*;
 import org.basex.util.*;
 
@@ -37,6 +42,63 @@ public abstract class CNode extends Arr {
     return flag == Flag.CNS || super.has(flag);
   }
 
+  /**
+   * Replaces child nodes from compacted fragments, which have not been copied yet by the
+   * constructor, with copies (see {@link Constr#compact}).
+   * @param node constructed node
+   * @param children child nodes
+   * @param qc query context
+   * @return node
+   */
+  static ANode finish(final FNode node, final ANodeList children, final QueryContext qc) {
+    final int cs = children.size();
+    boolean copied = false;
+    for(int c = 0; c < cs; c++) {
+      final ANode child = children.get(c);
+      if(child instanceof DBNode && child.data().fragment) {
+        children.set(c, child.deepCopy(qc.context.options));
+        copied = true;
+      }
+    }
+    return copied ? node.optimize() : node;
+  }
+
+  /**
+   * Returns the number of nodes of a fragment, including the node itself and its attributes.
+   * Counting is stopped as soon as the specified maximum has been reached.
+   * @param node fragment node
+   * @param max maximum number of nodes
+   * @return number of nodes (can be larger than the maximum)
+   */
+  static int size(final ANode node, final int max) {
+    if(node instanceof DBNode) {
+      final DBNode dbnode = (DBNode) node;
+      return dbnode.data().size(dbnode.pre(), dbnode.kind());
+    }
+    int size = 1;
+    final BasicNodeIter iter = node.attributes();
+    while(iter.next() != null) ++size;
+    for(final ANode child : node.children()) {
+      if(size >= max) break;
+      size += size(child, max - size);
+    }
+    return size;
+  }
+
+  /**
+   * Table representation of a constructed node. If the number of constructed nodes reaches
+   * the value of {@link MainOptions#FRAGMENTSIZE}, the node itself is added to a main-memory
+   * table, and all existing and subsequent child nodes are directly appended to this table.
+   */
+  abstract static class Table {
+    /**
+     * Adds the constructed node to the specified builder.
+     * @param builder data builder
+     * @throws QueryException query exception
+     */
+    abstract void open(DataBuilder builder) throws QueryException;
+  }
+
   /**
    * Returns a string info for the expression.
    * @param pref info prefix
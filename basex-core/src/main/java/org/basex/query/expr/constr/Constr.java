@@ -2,9 +2,12 @@ package org.basex.query.expr.constr;
 
 import static org.basex.query.QueryError.*;
 
+import org.basex.core.*;
+import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.iter.*;
+import org.basex.query.util.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.array.Array;
@@ -34,6 +37,18 @@ public final class Constr {
   public QNm duplAtt;
   /** Error: duplicate namespace. */
   byte[] duplNS;
+  /** Table representation (can be {@code null}, see {@link #compact}). */
+  private CNode.Table table;
+  /** Table (assigned if the constructed node is stored in a table). */
+  private MemData data;
+  /** Builder for the table representation. */
+  private DataBuilder builder;
+  /** Main options. */
+  private MainOptions options;
+  /** Maximum number of nodes that will be stored as fragment nodes. */
+  private int max;
+  /** Number of constructed nodes (only counted until the maximum is reached). */
+  private int nodes = 1;
 
   /** Static context. */
   private final StaticContext sc;
@@ -54,6 +69,30 @@ public final class Constr {
     this.sc = sc;
   }
 
+  /**
+   * Enables the table representation of the constructed node if the value of
+   * {@link MainOptions#FRAGMENTSIZE} is positive. Child nodes from compacted fragments will
+   * not be copied until it is known if the constructed node will be compacted as well
+   * (see {@link CNode#finish}).
+   * @param tbl table representation
+   * @param qc query context
+   */
+  void compact(final CNode.Table tbl, final QueryContext qc) {
+    options = qc.context.options;
+    max = options.get(MainOptions.FRAGMENTSIZE);
+    if(max > 0) table = tbl;
+  }
+
+  /**
+   * Returns the table representation of the constructed node.
+   * @return database node, or {@code null} if the node has not been compacted
+   */
+  DBNode table() {
+    if(builder == null) return null;
+    builder.close();
+    return new DBNode(data);
+  }
+
   /**
    * Constructs child and attribute nodes.
    * @param qc query context
@@ -69,7 +108,7 @@ public final class Constr {
         final Iter iter = qc.iter(expr);
         for(Item it; (it = iter.next()) != null && add(qc, it););
       }
-      if(!text.isEmpty()) children.add(new FTxt(text.toArray()));
+      if(!text.isEmpty()) child(new FTxt(text.toArray()));
       return this;
     } finally {
       sc.ns.size(s);
@@ -109,7 +148,7 @@ public final class Constr {
 
         // check if attribute is specified after texts or child nodes
         final QNm name = node.qname();
-        if(!text.isEmpty() || !children.isEmpty()) {
+        if(!text.isEmpty() || !children.isEmpty() || builder != null) {
           errAtt = name;
           return false;
         }
@@ -129,7 +168,7 @@ public final class Constr {
         // type: namespace node
 
         // no attribute allowed after texts or child nodes
-        if(!text.isEmpty() || !children.isEmpty()) {
+        if(!text.isEmpty() || !children.isEmpty() || builder != null) {
           errNS = node.qname();
           return false;
         }
@@ -154,9 +193,10 @@ public final class Constr {
         // type: element/comment/processing instruction node
 
         // add text node
-        if(!text.isEmpty()) children.add(new FTxt(text.next()));
-        node = node.deepCopy(qc.context.options);
-        children.add(node);
+        if(!text.isEmpty()) child(new FTxt(text.next()));
+        // nodes will be copied to the table, or copied later (see CNode#finish)
+        child(builder != null ? node : table != null && node instanceof DBNode &&
+          node.data().fragment ? ((DBNode) node).finish() : node.deepCopy(qc.context.options));
       }
       more = false;
     } else {
@@ -168,4 +208,31 @@ public final class Constr {
     }
     return true;
   }
+
+  /**
+   * Adds a child node. If the maximum number of nodes is reached, the constructed node and
+   * its children are added to a table.
+   * @param node child node
+   * @throws QueryException query exception
+   */
+  private void child(final ANode node) throws QueryException {
+    if(builder != null) {
+      builder.add(node);
+    } else {
+      children.add(node);
+      if(table != null && (nodes += CNode.size(node, max - nodes)) >= max) {
+        data = new MemData(options);
+        data.fragment = true;
+        builder = new DataBuilder(data);
+        table.open(builder);
+        // copy existing children to the table and release them
+        final int cs = children.size();
+        for(int c = 0; c < cs; c++) {
+          builder.add(children.get(c));
+          children.set(c, null);
+        }
+        children.reset();
+      }
+    }
+  }
 }
@@ -84,12 +84,11 @@ public final class FTAnd extends FTExpr {
               it[i] = ir[i].next();
               i = -1;
             }
-          } else {
-            if(d != 0) {
-              if(d < 0) i = 0;
-              it[i] = ir[i].next();
-              i = -1;
-            }
+          } else if(d != 0) {
+            // skip all nodes of the lagging iterator that precede the other one
+            if(d < 0) it[0] = ir[0].skip(it[i].pre());
+            else it[i] = ir[i].skip(it[0].pre());
+            i = -1;
           }
         }
 
@@ -104,6 +103,15 @@ public final class FTAnd extends FTExpr {
         it[0] = ir[0].next();
         return item;
       }
+
+      @Override
+      public FTNode skip(final int pre) throws QueryException {
+        final int il = it.length;
+        for(int i = 0; i < il; ++i) {
+          if(!negated[i] && it[i] != null && it[i].pre() < pre) it[i] = ir[i].skip(pre);
+        }
+        return next();
+      }
     };
   }
 
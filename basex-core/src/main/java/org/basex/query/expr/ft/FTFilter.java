@@ -51,12 +51,26 @@ public abstract class FTFilter extends FTExpr {
     return new FTIter() {
       @Override
       public FTNode next() throws QueryException {
-        FTNode it;
-        while((it = ir.next()) != null) {
+        return find(ir.next());
+      }
+
+      @Override
+      public FTNode skip(final int pre) throws QueryException {
+        return find(ir.skip(pre));
+      }
+
+      /**
+       * Returns the first node that matches the filters.
+       * @param node first candidate (can be {@code null})
+       * @return node or {@code null}
+       * @throws QueryException query exception
+       */
+      private FTNode find(final FTNode node) throws QueryException {
+        for(FTNode it = node; it != null; it = ir.next()) {
           // only create lexer if content needs to be parsed
-          if(filter(qc, it, content() ? new FTLexer().init(it.string(info)) : null)) break;
+          if(filter(qc, it, content() ? new FTLexer().init(it.string(info)) : null)) return it;
         }
-        return it;
+        return null;
       }
     };
   }
@@ -87,6 +87,14 @@ public final class FTOr extends FTExpr {
         it[p] = ir[p].next();
         return item;
       }
+
+      @Override
+      public FTNode skip(final int pre) throws QueryException {
+        for(int i = 0; i < es; ++i) {
+          if(it[i] != null && it[i].pre() < pre) it[i] = ir[i].skip(pre);
+        }
+        return next();
+      }
     };
   }
 
@@ -134,6 +134,20 @@ public final class FTWords extends FTExpr {
 
       @Override
       public FTNode next() throws QueryException {
+        return init() && ftiter.more() ? node() : null;
+      }
+
+      @Override
+      public FTNode skip(final int pre) throws QueryException {
+        return init() && ftiter.skip(pre) ? node() : null;
+      }
+
+      /**
+       * Creates the index iterator.
+       * @return {@code false} if no results will be returned
+       * @throws QueryException query exception
+       */
+      private boolean init() throws QueryException {
         if(ftiter == null) {
           final FTTokenizer ftt = FTWords.this.get(qc);
           final FTLexer lexer = new FTLexer(ftOpt).
@@ -144,7 +158,7 @@ public final class FTWords extends FTExpr {
           // loop through unique tokens
           for(final byte[] k : unique(tokens != null ? tokens : tokens(qc))) {
             lexer.init(k);
-            if(!lexer.hasNext()) return null;
+            if(!lexer.hasNext()) return false;
 
             int d = 0;
             FTIndexIterator ii = null;
@@ -172,7 +186,7 @@ public final class FTWords extends FTExpr {
                 len = count;
                 ftiter = ii;
               } else if(mode == FTMode.ALL || mode == FTMode.ALL_WORDS) {
-                if(ii.size() == 0) return null;
+                if(ii.size() == 0) return false;
                 len += count;
                 ftiter = FTIndexIterator.intersect(ftiter, ii, 0);
               } else {
@@ -183,8 +197,15 @@ public final class FTWords extends FTExpr {
             }
           }
         }
-        return ftiter == null || !ftiter.more() ? null :
-          new FTNode(ftiter.matches(), data, ftiter.pre(), len, ftiter.size(), -1);
+        return ftiter != null;
+      }
+
+      /**
+       * Returns a node for the current index entry.
+       * @return node
+       */
+      private FTNode node() {
+        return new FTNode(ftiter.matches(), data, ftiter.pre(), len, ftiter.size(), -1);
       }
     };
   }
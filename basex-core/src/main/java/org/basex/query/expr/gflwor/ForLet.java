@@ -42,6 +42,11 @@ abstract class ForLet extends Clause {
     return optimize(cc);
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    expr = profiler.wrap(expr);
+  }
+
   @Override
   public final boolean has(final Flag flag) {
     return expr.has(flag);
@@ -4,6 +4,7 @@ import java.util.*;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.List;
 import org.basex.query.expr.path.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.*;
@@ -138,8 +139,10 @@ public final class GFLWOR extends ParseExpr {
     // the other optimizations are applied until nothing changes anymore
     boolean changed;
     do {
+      // compute aggregates of non-grouping variables while grouping
+      changed = aggregate(cc);
       // rewrite singleton for clauses to let
-      changed = forToLet(cc);
+      changed |= forToLet(cc);
       // slide let clauses out to avoid repeated evaluation
       changed |= slideLetsOut(cc);
       // inline let expressions if they are used only once (and not in a loop)
@@ -432,6 +435,59 @@ public final class GFLWOR extends ParseExpr {
     return changed;
   }
 
+  /**
+   * Rewrites aggregate function calls with non-grouping variables as arguments that will be
+   * evaluated for each group: the expressions of let clauses that directly follow a group by
+   * clause, and the return expression (see {@link GroupBy#aggregate}).
+   * @param cc compilation context
+   * @return change flag
+   * @throws QueryException query exception
+   */
+  private boolean aggregate(final CompileContext cc) throws QueryException {
+    boolean changed = false;
+    GroupBy group = null;
+    for(final Clause clause : clauses) {
+      if(clause instanceof GroupBy) {
+        group = (GroupBy) clause;
+      } else if(group != null) {
+        if(clause instanceof Let) {
+          final Let let = (Let) clause;
+          if(!let.scoring) {
+            final Expr ex = group.aggregate(let.expr, cc);
+            if(ex != let.expr) {
+              let.expr = ex;
+              changed = true;
+            }
+          }
+        } else if(!(clause instanceof OrderBy || clause instanceof Count)) {
+          // the expressions of subsequent clauses may not be evaluated for each group
+          group = null;
+        }
+      }
+    }
+    if(group != null) {
+      final Expr[] exprs = ret instanceof List ? ((List) ret).exprs : null;
+      if(exprs != null) {
+        boolean ch = false;
+        final int el = exprs.length;
+        for(int e = 0; e < el; e++) {
+          final Expr ex = group.aggregate(exprs[e], cc);
+          ch |= ex != exprs[e];
+          exprs[e] = ex;
+        }
+        if(ch) {
+          ret = ret.optimize(cc);
+          changed = true;
+        }
+      } else {
+        final Expr ex = group.aggregate(ret, cc);
+        changed |= ex != ret;
+        ret = ex;
+      }
+    }
+    return changed;
+  }
+
   /**
    * Cleans dead entries from the tuples that {@link GroupBy} and {@link OrderBy} handle.
    * @return change flag
@@ -765,6 +821,12 @@ public final class GFLWOR extends ParseExpr {
     return true;
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    for(final Clause clause : clauses) profiler.traverse(clause);
+    ret = profiler.wrap(ret);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     for(final Clause clause : clauses) if(!clause.accept(visitor)) return false;
@@ -853,7 +915,7 @@ public final class GFLWOR extends ParseExpr {
    */
   public abstract static class Clause extends ParseExpr {
     /** All variables declared in this clause. */
-    final Var[] vars;
+    Var[] vars;
 
     /**
      * Constructor.
@@ -8,6 +8,7 @@ import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.gflwor.GFLWOR.Clause;
 import org.basex.query.expr.gflwor.GFLWOR.Eval;
+import org.basex.query.func.*;
 import org.basex.query.util.*;
 import org.basex.query.util.collation.*;
 import org.basex.query.value.*;
@@ -33,6 +34,8 @@ public final class GroupBy extends Clause {
   private Expr[] preExpr;
   /** Non-grouping variables. */
   private Var[] post;
+  /** Aggregations of non-grouping variables ({@code null} entries: values are cached). */
+  private Aggregate[] aggrs;
   /** Number of non-occluded grouping variables. */
   private final int nonOcc;
 
@@ -47,6 +50,7 @@ public final class GroupBy extends Clause {
     super(info, vars(specs, post));
     this.specs = specs;
     this.post = post;
+    aggrs = new Aggregate[post.length];
     preExpr = new Expr[pre.length];
     System.arraycopy(pre, 0, preExpr, 0, pre.length);
     int n = 0;
@@ -59,15 +63,17 @@ public final class GroupBy extends Clause {
    * @param specs grouping specs
    * @param pre pre-grouping expressions
    * @param post post-grouping variables
+   * @param aggrs aggregations of post-grouping variables
    * @param nonOcc number of non-occluded grouping variables
    * @param info input info
    */
-  private GroupBy(final Spec[] specs, final Expr[] pre, final Var[] post, final int nonOcc,
-      final InputInfo info) {
+  private GroupBy(final Spec[] specs, final Expr[] pre, final Var[] post,
+      final Aggregate[] aggrs, final int nonOcc, final InputInfo info) {
     super(info, vars(specs, post));
     this.specs = specs;
     preExpr = pre;
     this.post = post;
+    this.aggrs = aggrs;
     this.nonOcc = nonOcc;
   }
 
@@ -110,7 +116,11 @@ public final class GroupBy extends Clause {
           }
         }
         final int pl = post.length;
-        for(int i = 0; i < pl; i++) qc.set(post[i], curr.ngv[i].value());
+        for(int i = 0; i < pl; i++) {
+          final Aggregate aggr = aggrs[i];
+          qc.set(post[i], aggr == null ? curr.ngv[i].value() :
+            aggr.value(curr.accs[i], curr.counts[i], info));
+        }
         return true;
       }
 
@@ -158,8 +168,9 @@ public final class GroupBy extends Clause {
           if(grp == null) {
             // new group, add it to the list
             final ValueBuilder[] ngs = new ValueBuilder[pl];
-            final int nl = ngs.length;
-            for(int n = 0; n < nl; n++) ngs[n] = new ValueBuilder();
+            for(int n = 0; n < pl; n++) {
+              if(aggrs[n] == null) ngs[n] = new ValueBuilder();
+            }
             grp = new Group(key, ngs);
             grps.add(grp);
 
@@ -173,8 +184,17 @@ public final class GroupBy extends Clause {
             }
           }
 
-          // add values of non-grouping variables to the group
-          for(int g = 0; g < pl; g++) grp.ngv[g].add(preExpr[g].value(qc));
+          // add values of non-grouping variables to the group, or aggregate them
+          for(int g = 0; g < pl; g++) {
+            final Value value = preExpr[g].value(qc);
+            final Aggregate aggr = aggrs[g];
+            if(aggr == null) {
+              grp.ngv[g].add(value);
+            } else if(!value.isEmpty()) {
+              grp.accs[g] = aggr.add(grp.accs[g], value, qc);
+              grp.counts[g] += aggr.func == Function.AVG ? value.atomSize() : value.size();
+            }
+          }
         }
 
         // we're finished, copy the array so the list can be garbage-collected
@@ -219,12 +239,74 @@ public final class GroupBy extends Clause {
   public GroupBy optimize(final CompileContext cc) throws QueryException {
     final int pl = preExpr.length;
     for(int p = 0; p < pl; p++) {
+      if(aggrs[p] != null) continue;
       final SeqType it = preExpr[p].seqType();
       post[p].refineType(it.withOcc(it.mayBeZero() ? Occ.ZERO_MORE : Occ.ONE_MORE), cc);
     }
     return this;
   }
 
+  /**
+   * Rewrites an aggregate function call with a non-grouping variable as argument.
+   * A new non-grouping variable is added, which will be bound to the aggregated value.
+   * Instead of caching all values of a group, a running result will be computed.
+   * The caller must ensure that the expression is evaluated for each group.
+   * As the running result is computed for all incoming tuples, the function call is only
+   * rewritten if its evaluation cannot raise errors.
+   * @param expr expression ({@code count}, {@code sum}, {@code avg}, {@code min}, {@code max})
+   * @param cc compilation context
+   * @return reference to the new variable, or original expression
+   * @throws QueryException query exception
+   */
+  Expr aggregate(final Expr expr, final CompileContext cc) throws QueryException {
+    if(!(expr instanceof StandardFunc)) return expr;
+    final StandardFunc func = (StandardFunc) expr;
+    final Function sig = func.sig;
+    if(sig != Function.COUNT && sig != Function.SUM && sig != Function.AVG &&
+        sig != Function.MIN && sig != Function.MAX || func.exprs.length != 1 ||
+        !(func.exprs[0] instanceof VarRef)) return expr;
+
+    final Var var = ((VarRef) func.exprs[0]).var;
+    final int pl = post.length;
+    int p = -1;
+    for(int i = 0; i < pl; i++) {
+      if(aggrs[i] == null && post[i].is(var)) p = i;
+    }
+    if(p == -1) return expr;
+
+    // integers may overflow, untyped values may not be convertible to numbers
+    final Type type = preExpr[p].seqType().type;
+    if(sig == Function.SUM || sig == Function.AVG ? type != AtomType.DBL &&
+        type != AtomType.FLT : sig != Function.COUNT && !type.isNumber() &&
+        !type.instanceOf(AtomType.STR)) return expr;
+
+    // reuse existing aggregation
+    Var nv = null;
+    for(int i = 0; i < pl && nv == null; i++) {
+      final Aggregate aggr = aggrs[i];
+      if(aggr != null && aggr.func == sig && aggr.source == var) nv = post[i];
+    }
+    if(nv == null) {
+      cc.info(OPTAGGR_X, func);
+      final VarScope vs = cc.vs();
+      nv = vs.addNew(var.name, null, false, cc.qc, info);
+      nv.refineType(func.seqType(), cc);
+      StandardFunc call = null;
+      Var input = null;
+      if(sig != Function.COUNT) {
+        // averages are computed from the running sum and the number of items
+        input = vs.addNew(var.name, null, false, cc.qc, info);
+        call = (sig == Function.AVG ? Function.SUM : sig).get(func.sc, func.info,
+            new VarRef(func.info, input));
+      }
+      preExpr = Array.add(preExpr, preExpr[p].copy(cc, new IntObjMap<Var>()));
+      post = Array.add(post, nv);
+      aggrs = Array.add(aggrs, new Aggregate(sig, var, input, call));
+      vars = vars(specs, post);
+    }
+    return new VarRef(func.info, nv).optimize(cc);
+  }
+
   @Override
   public boolean removable(final Var var) {
     for(final Spec b : specs) if(!b.removable(var)) return false;
@@ -253,8 +335,19 @@ public final class GroupBy extends Clause {
     final int pl = ps.length;
     for(int p = 0; p < pl; p++) ps[p] = cc.copy(post[p], vm);
 
+    // copy the aggregations
+    final Aggregate[] as = new Aggregate[pl];
+    for(int p = 0; p < pl; p++) {
+      if(aggrs[p] != null) as[p] = aggrs[p].copy(cc, vm);
+    }
+
     // done
-    return new GroupBy(Arr.copyAll(cc, vm, specs), pEx, ps, nonOcc, info);
+    return new GroupBy(Arr.copyAll(cc, vm, specs), pEx, ps, as, nonOcc, info);
+  }
+
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    profiler.traverse(specs);
   }
 
   @Override
@@ -262,20 +355,23 @@ public final class GroupBy extends Clause {
     if(!visitAll(visitor, specs)) return false;
     for(final Expr ng : preExpr) if(!ng.accept(visitor)) return false;
     for(final Var ng : post) if(!visitor.declared(ng)) return false;
+    for(final Aggregate aggr : aggrs) if(aggr != null && !aggr.accept(visitor)) return false;
     return true;
   }
 
   @Override
   boolean clean(final IntObjMap<Var> decl, final BitArray used) {
-    // [LW] does not fix {@link #vars}
     final int len = preExpr.length;
     for(int p = 0; p < post.length; p++) {
       if(!used.get(post[p].id)) {
         preExpr = Array.delete(preExpr, p);
+        aggrs = Array.delete(aggrs, p);
         post = Array.delete(post, p--);
       }
     }
-    return preExpr.length < len;
+    if(preExpr.length == len) return false;
+    vars = vars(specs, post);
+    return true;
   }
 
   @Override
@@ -315,7 +411,10 @@ public final class GroupBy extends Clause {
     final int pl = post.length;
     for(int p = 0; p < pl; p++) {
       sb.append(LET).append(" (: post-group :) ").append(post[p]);
-      sb.append(' ').append(ASSIGN).append(' ').append(preExpr[p]).append(' ');
+      sb.append(' ').append(ASSIGN).append(' ');
+      final Aggregate aggr = aggrs[p];
+      sb.append(aggr == null ? preExpr[p].toString() : aggr.func.toString(preExpr[p]));
+      sb.append(' ');
     }
     sb.append(GROUP).append(' ').append(BY);
     final int sl = specs.length;
@@ -390,6 +489,89 @@ public final class GroupBy extends Clause {
     }
   }
 
+  /**
+   * Aggregation of a non-grouping variable.
+   *
+   * @author BaseX Team 2005-17, BSD License
+   * @author Christian Gruen
+   */
+  private static final class Aggregate {
+    /** Aggregate function. */
+    final Function func;
+    /** Original non-grouping variable. */
+    final Var source;
+    /** Variable bound to the input of the function call ({@code null} for {@code count}). */
+    final Var input;
+    /** Function call that computes the running result ({@code null} for {@code count}). */
+    final StandardFunc call;
+
+    /**
+     * Constructor.
+     * @param func aggregate function
+     * @param source original non-grouping variable
+     * @param input variable bound to the input of the function call
+     * @param call function call
+     */
+    Aggregate(final Function func, final Var source, final Var input, final StandardFunc call) {
+      this.func = func;
+      this.source = source;
+      this.input = input;
+      this.call = call;
+    }
+
+    /**
+     * Adds values to the running result.
+     * @param acc running result ({@code null} if no values have been added yet)
+     * @param value non-empty value to be added
+     * @param qc query context
+     * @return new running result
+     * @throws QueryException query exception
+     */
+    Item add(final Item acc, final Value value, final QueryContext qc) throws QueryException {
+      if(call == null) return null;
+      qc.set(input, acc == null ? value : ValueBuilder.concat(acc, value));
+      return call.item(qc, call.info);
+    }
+
+    /**
+     * Returns the aggregated value.
+     * @param acc running result ({@code null} if no values have been added)
+     * @param count number of added items
+     * @param ii input info
+     * @return value
+     * @throws QueryException query exception
+     */
+    Value value(final Item acc, final long count, final InputInfo ii) throws QueryException {
+      switch(func) {
+        case COUNT: return Int.get(count);
+        case SUM:   return acc == null ? Int.get(0) : acc;
+        case AVG:   return acc == null ? Empty.SEQ : Calc.DIV.ev(acc, Int.get(count), ii);
+        default:    return acc == null ? Empty.SEQ : acc;
+      }
+    }
+
+    /**
+     * Creates a copy of this aggregation.
+     * @param cc compilation context
+     * @param vm variable mapping
+     * @return copy
+     */
+    Aggregate copy(final CompileContext cc, final IntObjMap<Var> vm) {
+      final Var src = vm.get(source.id), in = input == null ? null : cc.copy(input, vm);
+      return new Aggregate(func, src == null ? source : src, in,
+          call == null ? null : call.copy(cc, vm));
+    }
+
+    /**
+     * Traverses the function call with the specified visitor.
+     * @param visitor visitor
+     * @return continue flag
+     */
+    boolean accept(final ASTVisitor visitor) {
+      return input == null || visitor.declared(input) && call.accept(visitor);
+    }
+  }
+
   /**
    * A group of tuples of post-grouping variables.
    *
@@ -399,8 +581,12 @@ public final class GroupBy extends Clause {
   private static final class Group {
     /** Grouping key, may contain {@code null} values. */
     final Item[] key;
-    /** Non-grouping variables. */
+    /** Non-grouping variables ({@code null} entries: values are aggregated). */
     final ValueBuilder[] ngv;
+    /** Running results of aggregated non-grouping variables. */
+    final Item[] accs;
+    /** Number of items of aggregated non-grouping variables. */
+    final long[] counts;
     /** Overflow list. */
     Group next;
 
@@ -412,6 +598,8 @@ public final class GroupBy extends Clause {
     Group(final Item[] k, final ValueBuilder[] ng) {
       key = k;
       ngv = ng;
+      accs = new Item[ng.length];
+      counts = new long[ng.length];
     }
   }
 }
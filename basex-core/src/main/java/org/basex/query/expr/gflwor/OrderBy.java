@@ -186,6 +186,11 @@ public final class OrderBy extends Clause {
     return new OrderBy(Arr.copyAll(cc, vm, refs), Arr.copyAll(cc, vm, keys), info);
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    profiler.traverse(keys);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return visitAll(visitor, keys);
@@ -96,6 +96,11 @@ public final class Where extends Clause {
     return new Where(expr.copy(cc, vm), info);
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    expr = profiler.wrap(expr);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return expr.accept(visitor);
@@ -304,6 +304,12 @@ public final class Window extends Clause {
     }
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    expr = profiler.wrap(expr);
+    profiler.traverse(start, end);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return expr.accept(visitor) && start.accept(visitor) &&
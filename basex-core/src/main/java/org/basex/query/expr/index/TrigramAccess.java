@@ -0,0 +1,153 @@
+package org.basex.query.expr.index;
+
+import static org.basex.query.QueryText.*;
+
+import java.util.*;
+import java.util.regex.*;
+
+import org.basex.data.*;
+import org.basex.index.*;
+import org.basex.index.query.*;
+import org.basex.index.value.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * This index class retrieves texts and attribute values that contain a string.
+ * Candidates are retrieved from the trigram index and verified by the original function:
+ * {@link Function#CONTAINS}, {@link Function#ENDS_WITH} or {@link Function#MATCHES}.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class TrigramAccess extends IndexAccess {
+  /** String that occurs in all results. */
+  private final byte[] string;
+  /** Function used for verifying the candidates. */
+  private final Function func;
+  /** Regular expression pattern (only assigned if function is {@link Function#MATCHES}). */
+  private final Pattern pattern;
+  /** Text flag. */
+  private final boolean text;
+
+  /**
+   * Constructor.
+   * @param info input info
+   * @param string string that occurs in all results
+   * @param func function used for verifying the candidates
+   * @param pattern regular expression pattern (can be {@code null})
+   * @param text text flag
+   * @param ictx index context
+   */
+  public TrigramAccess(final InputInfo info, final byte[] string, final Function func,
+      final Pattern pattern, final boolean text, final IndexContext ictx) {
+    super(ictx, info);
+    this.string = string;
+    this.func = func;
+    this.pattern = pattern;
+    this.text = text;
+  }
+
+  @Override
+  public BasicNodeIter iter(final QueryContext qc) {
+    final Data data = ictx.data;
+    final IntList pres = candidates(data);
+    final byte kind = text ? Data.TEXT : Data.ATTR;
+    return new DBNodeIter(data) {
+      final int ps = pres.size();
+      int p;
+
+      @Override
+      public DBNode next() {
+        while(p < ps) {
+          final int pre = pres.get(p++);
+          if(data.kind(pre) == kind && verify(data.text(pre, text))) {
+            return new DBNode(data, pre, kind);
+          }
+        }
+        return null;
+      }
+    };
+  }
+
+  /**
+   * Returns the sorted pre values of all nodes that contain the trigrams of the search string.
+   * @param data data reference
+   * @return pre values
+   */
+  private IntList candidates(final Data data) {
+    // start with the least frequent trigram
+    final byte[][] trigrams = ValueIndex.trigrams(string);
+    final int tl = trigrams.length;
+    final IndexIterator[] iters = new IndexIterator[tl];
+    for(int t = 0; t < tl; t++) {
+      iters[t] = data.iter(new StringToken(IndexType.TRIGRAM, trigrams[t]));
+    }
+    Arrays.sort(iters, new Comparator<IndexIterator>() {
+      @Override
+      public int compare(final IndexIterator i1, final IndexIterator i2) {
+        return i1.size() - i2.size();
+      }
+    });
+
+    IntList pres = new IntList(tl == 0 ? 0 : iters[0].size());
+    if(tl != 0) {
+      while(iters[0].more()) pres.add(iters[0].pre());
+    }
+    // intersect pre values with the remaining trigrams
+    for(int t = 1; t < tl && !pres.isEmpty(); t++) {
+      final IndexIterator ii = iters[t];
+      final IntList tmp = new IntList(pres.size());
+      final int ps = pres.size();
+      int p = 0;
+      while(p < ps && ii.more()) {
+        final int pre = ii.pre();
+        while(p < ps && pres.get(p) < pre) p++;
+        if(p < ps && pres.get(p) == pre) tmp.add(pre);
+      }
+      pres = tmp;
+    }
+    return pres;
+  }
+
+  /**
+   * Checks if the specified value is a result.
+   * @param value text or attribute value
+   * @return result of check
+   */
+  private boolean verify(final byte[] value) {
+    switch(func) {
+      case CONTAINS:  return Token.contains(value, string);
+      case ENDS_WITH: return Token.endsWith(value, string);
+      default:        return pattern.matcher(Token.string(value)).find();
+    }
+  }
+
+  @Override
+  public Expr copy(final CompileContext cc, final IntObjMap<Var> vm) {
+    return copyType(new TrigramAccess(info, string, func, pattern, text, ictx));
+  }
+
+  @Override
+  public void plan(final FElem plan) {
+    addPlan(plan, planElem(DATA, ictx.data.meta.name, TYP, IndexType.TRIGRAM, NAM, func,
+        VAL, pattern != null ? pattern.pattern() : string));
+  }
+
+  @Override
+  public String toString() {
+    final TokenBuilder tb = new TokenBuilder(Function._DB_OPEN.toString(
+        Str.get(ictx.data.meta.name))).add("//").add(text ? "text()" : "@*").add('[');
+    final Expr search = Str.get(pattern != null ? Token.token(pattern.pattern()) : string);
+    return tb.add(func.toString(new ContextValue(info), search)).add(']').toString();
+  }
+}
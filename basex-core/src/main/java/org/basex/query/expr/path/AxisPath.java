@@ -1,13 +1,29 @@
 package org.basex.query.expr.path;
 
 import static org.basex.query.expr.path.PathCache.State;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.basex.core.*;
+import org.basex.core.jobs.*;
+import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.func.*;
 import org.basex.query.iter.*;
+import org.basex.query.scope.*;
+import org.basex.query.util.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
+import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.query.var.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * Abstract axis path expression.
@@ -16,6 +32,17 @@ import org.basex.util.*;
  * @author Christian Gruen
  */
 public abstract class AxisPath extends Path {
+  /** Executor for evaluating partitions in parallel (threads are created and reused on demand). */
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+    new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread thread = new Thread(r, Util.className(AxisPath.class));
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
   /** Thread-safe path caching. */
   private final ThreadLocal<PathCache> caches = new ThreadLocal<PathCache>() {
     @Override
@@ -23,6 +50,10 @@ public abstract class AxisPath extends Path {
       return new PathCache();
     }
   };
+  /** Indicates if the path can be evaluated in parallel ({@code null}: not checked yet). */
+  private Boolean parallel;
+  /** Path without root, which will be evaluated for partitions of the root documents. */
+  private CachedPath partition;
 
   /**
    * Constructor.
@@ -36,13 +67,30 @@ public abstract class AxisPath extends Path {
 
   @Override
   public final Iter iter(final QueryContext qc) throws QueryException {
+    return iter(qc, false);
+  }
+
+  @Override
+  public final Value value(final QueryContext qc) throws QueryException {
+    return iter(qc, true).value();
+  }
+
+  /**
+   * Returns an iterator. The path will only be evaluated in parallel if all results are
+   * requested, as lazy iteration may stop after the first items.
+   * @param qc query context
+   * @param all all results will be requested
+   * @return iterator
+   * @throws QueryException query exception
+   */
+  private Iter iter(final QueryContext qc, final boolean all) throws QueryException {
     final PathCache cache = caches.get();
     switch(cache.state) {
       case INIT:
         // first invocation: initialize caching flag
         cache.state = !hasFreeVars() && !has(Flag.NDT) && !has(Flag.UPD)
             ? State.ENABLED : State.DISABLED;
-        return iter(qc);
+        return iter(qc, all);
       case ENABLED:
         // second invocation, caching is enabled: cache context value (copy light-weight db nodes)
         final Value value = qc.focus.value;
@@ -71,7 +119,197 @@ public abstract class AxisPath extends Path {
 
     // iterate or return cached values
     final Value result = cache.result;
-    return result == null ? nodeIter(qc) : result.iter();
+    if(result != null) return result.iter();
+    final Iter iter = parallel(qc, all);
+    return iter != null ? iter : nodeIter(qc);
+  }
+
+  /**
+   * Evaluates the path in parallel if its root yields multiple documents and if the number of
+   * threads has been set via {@link MainOptions#PATHTHREADS}. The documents are split into
+   * partitions, which are evaluated by separate threads. Since the steps of the path never leave
+   * the documents, the results of the partitions are concatenated in document order.
+   * If not all results are requested, the first partition is evaluated by the calling thread,
+   * and the remaining partitions will only be evaluated if more items are requested.
+   * @param qc query context
+   * @param all all results will be requested
+   * @return iterator, or {@code null} if the path is evaluated sequentially
+   * @throws QueryException query exception
+   */
+  private Iter parallel(final QueryContext qc, final boolean all) throws QueryException {
+    final int threads = qc.context.options.get(MainOptions.PATHTHREADS);
+    if(threads < 2 || !parallel()) return null;
+
+    // collect pre values of the documents
+    final Value value = qc.value(root);
+    Data dt = null;
+    final IntList docs = new IntList();
+    final Iter iter = value.iter();
+    for(Item it; (it = iter.next()) != null;) {
+      if(it instanceof DBNode && (dt == null || dt == ((DBNode) it).data())) {
+        dt = ((DBNode) it).data();
+        docs.add(((DBNode) it).pre());
+      } else {
+        dt = null;
+        break;
+      }
+    }
+    // no database documents: evaluate path sequentially
+    if(dt == null || docs.size() < 2) return partition(value, qc).iter();
+
+    // create partitions with contiguous documents (more partitions than threads: balance load)
+    final int[] pres = docs.sort().distinct().finish();
+    final int ds = pres.length, ps = Math.min(ds, threads << 2);
+    final Value[] inputs = new Value[ps];
+    for(int p = 0; p < ps; p++) {
+      final int s = (int) ((long) ds * p / ps), e = (int) ((long) ds * (p + 1) / ps);
+      inputs[p] = DBNodeSeq.get(new IntList(Arrays.copyOfRange(pres, s, e)), dt, true, false);
+    }
+    final Data data = dt;
+    if(all) return parallel(inputs, 0, data, threads, qc).iter();
+
+    // lazy iteration: evaluate remaining partitions when the first one has been consumed
+    final Value first = partition(inputs[0], qc);
+    return new Iter() {
+      private Iter it = first.iter();
+      private boolean more = true;
+
+      @Override
+      public Item next() throws QueryException {
+        while(true) {
+          final Item item = it.next();
+          if(item != null || !more) return item;
+          more = false;
+          it = parallel(inputs, 1, data, threads, qc).iter();
+        }
+      }
+    };
+  }
+
+  /**
+   * Evaluates the specified partitions in parallel.
+   * @param inputs documents of all partitions
+   * @param start index of the first partition to be evaluated
+   * @param data data reference
+   * @param threads maximum number of threads
+   * @param qc query context
+   * @return resulting nodes
+   * @throws QueryException query exception
+   */
+  private Value parallel(final Value[] inputs, final int start, final Data data,
+      final int threads, final QueryContext qc) throws QueryException {
+
+    final int ps = inputs.length;
+    if(ps - start == 1) return partition(inputs[start], qc);
+
+    // query contexts of the partitions are created and closed by the calling thread
+    final Value[] results = new Value[ps];
+    final QueryContext[] qcs = new QueryContext[ps];
+    for(int p = start; p < ps; p++) qcs[p] = new QueryContext(qc);
+
+    // shared threads: each task evaluates partitions until all of them have been assigned
+    final AtomicInteger next = new AtomicInteger(start);
+    final ArrayList<Future<Void>> futures = new ArrayList<>(threads);
+    try {
+      for(int t = Math.min(threads, ps - start); t > 0; t--) {
+        futures.add(EXECUTOR.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws QueryException {
+            for(int p; (p = next.getAndIncrement()) < ps;) {
+              results[p] = partition(inputs[p], qcs[p]);
+            }
+            return null;
+          }
+        }));
+      }
+      for(final Future<Void> future : futures) future.get();
+
+      // concatenate results (all nodes belong to the same database)
+      final IntList list = new IntList();
+      for(int p = start; p < ps; p++) {
+        for(final Item it : results[p]) list.add(((DBNode) it).pre());
+      }
+      return DBNodeSeq.get(list, data, false, false);
+    } catch(final ExecutionException ex) {
+      final Throwable th = Util.rootException(ex);
+      if(th instanceof QueryException) throw (QueryException) th;
+      if(th instanceof JobException) throw (JobException) th;
+      throw Util.notExpected(th);
+    } catch(final InterruptedException ex) {
+      throw new JobException();
+    } finally {
+      // skip remaining partitions, wait for running tasks
+      next.set(ps);
+      for(final Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch(final ExecutionException | InterruptedException ex) {
+          Util.debug(ex);
+        }
+      }
+      for(int q = ps - 1; q >= start; q--) qcs[q].close();
+    }
+  }
+
+  /**
+   * Evaluates the path without root for the specified documents.
+   * @param docs documents
+   * @param qc query context
+   * @return result
+   * @throws QueryException query exception
+   */
+  private Value partition(final Value docs, final QueryContext qc) throws QueryException {
+    final QueryFocus qf = qc.focus, focus = new QueryFocus();
+    focus.value = docs;
+    qc.focus = focus;
+    try {
+      return partition.nodeIter(qc).value();
+    } finally {
+      qc.focus = qf;
+    }
+  }
+
+  /**
+   * Checks if the path can be evaluated in parallel. This is the case if the root yields
+   * documents, if only descendant, child, attribute and self steps are specified, and if the
+   * steps do not reference variables, call functions, construct nodes or have side effects.
+   * @return result of check
+   */
+  private synchronized boolean parallel() {
+    if(parallel == null) {
+      boolean par = root != null && root.seqType().type.instanceOf(NodeType.DOC) &&
+          !root.seqType().zeroOrOne();
+      for(final Expr expr : steps) {
+        if(!par) break;
+        if(expr instanceof Step) {
+          final Axis axis = ((Step) expr).axis;
+          par = (axis == Axis.CHILD || axis == Axis.DESC || axis == Axis.DESCORSELF ||
+            axis == Axis.ATTR || axis == Axis.SELF) && !expr.has(Flag.NDT) &&
+            !expr.has(Flag.UPD) && !expr.has(Flag.CNS) && !expr.has(Flag.HOF) &&
+            expr.accept(new ASTVisitor() {
+              @Override
+              public boolean declared(final Var var) { return false; }
+              @Override
+              public boolean used(final VarRef ref) { return false; }
+              @Override
+              public boolean staticVar(final StaticVar var) { return false; }
+              @Override
+              public boolean inlineFunc(final Scope sub) { return false; }
+              @Override
+              public boolean staticFuncCall(final StaticFuncCall call) { return false; }
+              @Override
+              public boolean dynFuncCall(final DynFuncCall call) { return false; }
+              @Override
+              public boolean funcItem(final FuncItem func) { return false; }
+            });
+        } else {
+          par = false;
+        }
+      }
+      if(par) partition = new CachedPath(info, null, steps);
+      parallel = par;
+    }
+    return parallel;
   }
 
   /**
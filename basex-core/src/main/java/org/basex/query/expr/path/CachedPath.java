@@ -2,16 +2,21 @@ package org.basex.query.expr.path;
 
 import static org.basex.query.QueryError.*;
 
+import org.basex.data.*;
+import org.basex.index.name.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.path.Test.Kind;
 import org.basex.query.iter.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
+import org.basex.util.list.*;
 
 /**
  * Axis path expression.
@@ -34,6 +39,9 @@ final class CachedPath extends AxisPath {
   protected NodeIter nodeIter(final QueryContext qc) throws QueryException {
     final QueryFocus qf = qc.focus, focus = new QueryFocus();
     final Value r = root != null ? qc.value(root) : qf.value;
+    final NodeIter batch = batch(r, qc);
+    if(batch != null) return batch;
+
     qc.focus = focus;
     final ANodeList list = new ANodeList().check();
     try {
@@ -56,6 +64,136 @@ final class CachedPath extends AxisPath {
     return list.iter();
   }
 
+  /**
+   * Evaluates all steps in batches if the input consists of nodes of a single database, and if
+   * all steps are predicate-free child, descendant, attribute or self steps with kind or name
+   * tests. The steps are evaluated on sorted lists of pre values, which are directly read from
+   * the database table: no nodes and axis iterators are created for the context nodes.
+   * Context nodes of descendant steps are skipped if they are located in the subtree of a
+   * preceding context node.
+   * @param value input value (can be {@code null})
+   * @param qc query context
+   * @return iterator, or {@code null} if the path cannot be evaluated in batches
+   * @throws QueryException query exception
+   */
+  private NodeIter batch(final Value value, final QueryContext qc) throws QueryException {
+    if(value == null) return null;
+    for(final Expr step : steps) {
+      if(!(step instanceof Step)) return null;
+      final Step st = (Step) step;
+      if(st.preds.length != 0 || st.axis != Axis.CHILD && st.axis != Axis.DESC &&
+        st.axis != Axis.DESCORSELF && st.axis != Axis.ATTR && st.axis != Axis.SELF ||
+        !PreTest.supported(st.test)) return null;
+    }
+
+    // collect pre values of the input nodes
+    Data data = null;
+    IntList input = new IntList((int) Math.min(value.size(), Integer.MAX_VALUE));
+    final Iter iter = value.iter();
+    for(Item it; (it = iter.next()) != null;) {
+      if(!(it instanceof DBNode)) return null;
+      final DBNode node = (DBNode) it;
+      if(data == null) data = node.data();
+      else if(data != node.data()) return null;
+      input.add(node.pre());
+    }
+    if(data == null) return null;
+    input.sort().distinct();
+
+    for(final Expr step : steps) input = step((Step) step, data, input, qc);
+
+    final Data dt = data;
+    final int[] pres = input.finish();
+    return new NodeIter() {
+      int p;
+
+      @Override
+      public ANode next() {
+        return p < pres.length ? new DBNode(dt, pres[p++]) : null;
+      }
+
+      @Override
+      public ANode get(final long i) {
+        return new DBNode(dt, pres[(int) i]);
+      }
+
+      @Override
+      public long size() {
+        return pres.length;
+      }
+
+      @Override
+      public Value value() {
+        return DBNodeSeq.get(new IntList(pres), dt, false, false);
+      }
+    };
+  }
+
+  /**
+   * Evaluates a single step for the specified pre values.
+   * @param step step
+   * @param data data reference
+   * @param input sorted and distinct pre values of the context nodes
+   * @param qc query context
+   * @return sorted and distinct pre values of the resulting nodes
+   * @throws QueryException query exception
+   */
+  private static IntList step(final Step step, final Data data, final IntList input,
+      final QueryContext qc) throws QueryException {
+
+    final PreTest test = new PreTest(step.test, data);
+    final Axis axis = step.axis;
+    final IntList output = new IntList();
+    boolean sorted = true;
+    int limit = -1;
+    final int is = input.size();
+    for(int i = 0; i < is; i++) {
+      qc.checkStop();
+      final int pre = input.get(i), kind = data.kind(pre);
+      switch(axis) {
+        case SELF:
+          if(test.eq(pre, kind)) output.add(pre);
+          break;
+        case ATTR:
+          if(kind == Data.ELEM) {
+            final int end = pre + data.attSize(pre, kind);
+            for(int p = pre + 1; p < end; p++) {
+              if(test.eq(p, Data.ATTR)) output.add(p);
+            }
+          }
+          break;
+        case CHILD:
+          if(kind == Data.ELEM || kind == Data.DOC) {
+            final int end = pre + data.size(pre, kind);
+            for(int p = pre + data.attSize(pre, kind); p < end;) {
+              final int k = data.kind(p);
+              if(test.eq(p, k)) {
+                // children of nested context nodes may be returned out of order
+                if(sorted && !output.isEmpty() && output.peek() > p) sorted = false;
+                output.add(p);
+              }
+              p += data.size(p, k);
+            }
+          }
+          break;
+        default:
+          // skip nodes that have already been covered by a preceding context node
+          if(pre < limit) break;
+          final int end = pre + data.size(pre, kind);
+          limit = end;
+          if(axis == Axis.DESCORSELF && test.eq(pre, kind)) output.add(pre);
+          // attributes are skipped
+          for(int p = pre + data.attSize(pre, kind); p < end;) {
+            final int k = data.kind(p);
+            if(test.eq(p, k)) output.add(p);
+            p += data.attSize(p, k);
+          }
+      }
+    }
+    if(!sorted) output.sort();
+    return output;
+  }
+
   /**
    * Recursive step iterator.
    * @param step current step
@@ -85,4 +223,69 @@ final class CachedPath extends AxisPath {
     final Expr rt = root == null ? null : root.copy(cc, vm);
     return copyType(new CachedPath(info, rt, Arr.copyAll(cc, vm, steps)));
   }
+
+  /**
+   * Kind or name test for nodes that are addressed by pre values.
+   */
+  private static final class PreTest {
+    /** Data reference. */
+    private final Data data;
+    /** Node kind ({@code -1}: all kinds). */
+    private final int kind;
+    /** Flags for the ids of matching local names ({@code null}: all names). */
+    private final boolean[] names;
+    /** Namespace URI ({@code null}: all URIs). */
+    private final byte[] uri;
+
+    /**
+     * Constructor.
+     * @param test node test (see {@link #supported(Test)})
+     * @param data data reference
+     */
+    PreTest(final Test test, final Data data) {
+      this.data = data;
+      if(test instanceof NameTest) {
+        final NameTest nt = (NameTest) test;
+        kind = ANode.kind(nt.type);
+        if(nt.kind == Kind.NAME || nt.kind == Kind.URI_NAME) {
+          final Names nms = kind == Data.ELEM ? data.elemNames : data.attrNames;
+          final int ns = nms.size() + 1;
+          names = new boolean[ns];
+          for(int n = 1; n < ns; n++) names[n] = Token.eq(nt.local, Token.local(nms.key(n)));
+        } else {
+          names = null;
+        }
+        uri = nt.kind == Kind.URI || nt.kind == Kind.URI_NAME ? nt.name.uri() : null;
+      } else {
+        kind = test == KindTest.NOD ? -1 : ANode.kind(test.type);
+        names = null;
+        uri = null;
+      }
+    }
+
+    /**
+     * Checks if the specified test can be evaluated on pre values.
+     * @param test node test
+     * @return result of check
+     */
+    static boolean supported(final Test test) {
+      return test == KindTest.NOD || test instanceof NameTest ||
+        test.getClass() == KindTest.class && ANode.kind(test.type) != -1;
+    }
+
+    /**
+     * Checks if the specified node matches the test.
+     * @param pre pre value
+     * @param k kind of the node
+     * @return result of check
+     */
+    boolean eq(final int pre, final int k) {
+      if(kind != -1 && kind != k) return false;
+      if(names != null) {
+        final int id = data.nameId(pre);
+        if(id >= names.length || !names[id]) return false;
+      }
+      return uri == null || Token.eq(uri, data.qname(pre, k)[1]);
+    }
+  }
 }
@@ -900,6 +900,12 @@ public abstract class Path extends ParseExpr {
     return changed ? optimize(cc) : null;
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    root = profiler.wrap(root);
+    profiler.traverse(steps);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     if(root == null) {
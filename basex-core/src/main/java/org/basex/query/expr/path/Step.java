@@ -12,6 +12,7 @@ import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.path.Test.*;
 import org.basex.query.func.*;
+import org.basex.query.iter.*;
 import org.basex.query.util.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
@@ -190,6 +191,41 @@ public abstract class Step extends Preds {
     return get(info, axis, test, ExprList.concat(preds, add));
   }
 
+  /**
+   * Returns an iterator for the nodes of the axis. If the step is a descendant or following step
+   * with an element name test, and if the input is a database node, only elements with the
+   * requested local name will be visited. Their pre values will be retrieved from a
+   * list that is created on demand if the scanned range is large enough.
+   * @param node input node
+   * @return iterator
+   */
+  final BasicNodeIter axisIter(final ANode node) {
+    if(node instanceof DBNode && test.type == NodeType.ELM &&
+        (test.kind == Kind.NAME || test.kind == Kind.URI_NAME) &&
+        (axis == Axis.DESC || axis == Axis.DESCORSELF || axis == Axis.FOLL)) {
+
+      final DBNode dbnode = (DBNode) node;
+      final Data data = dbnode.data();
+      final int pre = dbnode.pre(), kind = data.kind(pre), size = data.size(pre, kind);
+      final int start, end;
+      if(axis == Axis.FOLL) {
+        start = pre + size;
+        int root = -1;
+        if(data.meta.ndocs > 1) {
+          for(final ANode anc : node.ancestor()) root = ((DBNode) anc).pre();
+        }
+        end = root == -1 ? data.meta.size : root + data.size(root, data.kind(root));
+      } else {
+        start = axis == Axis.DESC ? pre + 1 : pre;
+        end = pre + size;
+      }
+      final int[] pres = data.elemPres.get(((NameTest) test).local,
+          end - start > data.meta.size >> 4);
+      if(pres != null) return dbnode.elements(pres, ElemPres.first(pres, start), end);
+    }
+    return axis.iter(node);
+  }
+
   /**
    * Throws an exception if the context value is not a node.
    * @param qc query context
@@ -560,6 +560,8 @@ public enum Function {
   /** XQuery function. */
   _ADMIN_DELETE_LOGS(AdminDeleteLogs.class, "delete-logs(date)",
       arg(STR), EMP, flag(NDT), ADMIN_URI),
+  /** XQuery function. */
+  _ADMIN_METRICS(AdminMetrics.class, "metrics()", arg(), ELM_ZM, flag(NDT), ADMIN_URI),
 
   /* Archive Module. */
 
@@ -661,8 +663,8 @@ public enum Function {
   /* Client Module. */
 
   /** XQuery function. */
-  _CLIENT_CONNECT(ClientConnect.class, "connect(url,port,user,password)",
-      arg(STR, ITR, STR, STR), URI, flag(NDT), CLIENT_URI),
+  _CLIENT_CONNECT(ClientConnect.class, "connect(url,port,user,password[,options])",
+      arg(STR, ITR, STR, STR, MAP_O), URI, flag(NDT), CLIENT_URI),
   /** XQuery function. */
   _CLIENT_EXECUTE(ClientExecute.class, "execute(id,command)", arg(URI, STR), STR, flag(NDT),
       CLIENT_URI),
@@ -672,6 +674,9 @@ public enum Function {
   _CLIENT_QUERY(ClientQuery.class, "query(id,query[,bindings])",
       arg(URI, STR, MAP_ZO), ITEM_ZO, flag(NDT), CLIENT_URI),
   /** XQuery function. */
+  _CLIENT_QUERY_ALL(ClientQueryAll.class, "query-all(ids,query[,bindings])",
+      arg(URI_ZM, STR, MAP_ZO), ITEM_ZM, flag(NDT), CLIENT_URI),
+  /** XQuery function. */
   _CLIENT_CLOSE(ClientClose.class, "close(id)", arg(URI), EMP, flag(NDT), CLIENT_URI),
 
   /* Conversion Module. */
@@ -737,6 +742,8 @@ public enum Function {
   /** XQuery function. */
   _CSV_PARSE(CsvParse.class, "parse(string[,config])", arg(STR, MAP_O), ITEM, CSV_URI),
   /** XQuery function. */
+  _CSV_RECORDS(CsvRecords.class, "records(string[,config])", arg(STR, MAP_O), ITEM_ZM, CSV_URI),
+  /** XQuery function. */
   _CSV_SERIALIZE(CsvSerialize.class, "serialize(item[,params])", arg(ITEM_ZO, ITEM_ZO), STR,
       CSV_URI),
 
@@ -814,7 +821,8 @@ public enum Function {
   _DB_OPTIMIZE(DbOptimize.class, "optimize(database[,all[,options]])",
       arg(STR, BLN, MAP_O), EMP, flag(UPD), DB_URI),
   /** XQuery function. */
-  _DB_RETRIEVE(DbRetrieve.class, "retrieve(database,path)", arg(STR, STR), B64, flag(NDT), DB_URI),
+  _DB_RETRIEVE(DbRetrieve.class, "retrieve(database,path[,offset[,length]])",
+      arg(STR, STR, ITR, ITR), B64, flag(NDT), DB_URI),
   /** XQuery function. */
   _DB_STORE(DbStore.class, "store(database,path,input)",
       arg(STR, STR, ITEM), EMP, flag(UPD), DB_URI),
@@ -902,8 +910,9 @@ public enum Function {
   _FILE_READ_TEXT(FileReadText.class, "read-text(path[,encoding[,fallback]])",
       arg(STR, STR, BLN), STR, flag(NDT), FILE_URI),
   /** XQuery function. */
-  _FILE_READ_TEXT_LINES(FileReadTextLines.class, "read-text-lines(path[,encoding[,fallback]])",
-      arg(STR, STR, BLN), STR_ZM, flag(NDT), FILE_URI),
+  _FILE_READ_TEXT_LINES(FileReadTextLines.class,
+      "read-text-lines(path[,encoding[,fallback[,offset[,length]]]])",
+      arg(STR, STR, BLN, ITR, ITR), STR_ZM, flag(NDT), FILE_URI),
   /** XQuery function. */
   _FILE_READ_BINARY(FileReadBinary.class, "read-binary(path[,offset[,length]])",
       arg(STR, ITR, ITR), B64, flag(NDT), FILE_URI),
@@ -951,6 +960,9 @@ public enum Function {
   _FT_SEARCH(FtSearch.class, "search(database,terms[,options])",
       arg(STR, ITEM_ZM, MAP_O), TXT_ZM, flag(NDT), FT_URI),
   /** XQuery function. */
+  _FT_TOP(FtTop.class, "top(database,terms,count[,options])",
+      arg(STR, ITEM_ZM, ITR, MAP_O), TXT_ZM, flag(NDT), FT_URI),
+  /** XQuery function. */
   _FT_COUNT(FtCount.class, "count(nodes)", arg(NOD_ZM), ITR, FT_URI),
   /** XQuery function. */
   _FT_MARK(FtMark.class, "mark(nodes[,name])", arg(NOD_ZM, STR), NOD_ZM, FT_URI),
@@ -1180,10 +1192,14 @@ public enum Function {
   /** XQuery function. */
   _SQL_PREPARE(SqlPrepare.class, "prepare(id,statement)", arg(ITR, STR), ITR, flag(NDT), SQL_URI),
   /** XQuery function. */
-  _SQL_EXECUTE(SqlExecute.class, "execute(id,query)", arg(ITR, STR), ELM_ZM, flag(NDT), SQL_URI),
+  _SQL_EXECUTE(SqlExecute.class, "execute(id,query[,options])",
+      arg(ITR, STR, MAP_O), ELM_ZM, flag(NDT), SQL_URI),
+  /** XQuery function. */
+  _SQL_EXECUTE_PREPARED(SqlExecutePrepared.class, "execute-prepared(id[,params[,options]])",
+      arg(ITR, ELM, MAP_O), ELM_ZM, flag(NDT), SQL_URI),
   /** XQuery function. */
-  _SQL_EXECUTE_PREPARED(SqlExecutePrepared.class, "execute-prepared(id[,params])",
-      arg(ITR, ELM), ELM_ZM, flag(NDT), SQL_URI),
+  _SQL_EXECUTE_BATCH(SqlExecuteBatch.class, "execute-batch(id,params)",
+      arg(ITR, ELM_ZM), ITR_ZM, flag(NDT), SQL_URI),
   /** XQuery function. */
   _SQL_CLOSE(SqlClose.class, "close(id)", arg(ITR), EMP, flag(NDT), SQL_URI),
   /** XQuery function. */
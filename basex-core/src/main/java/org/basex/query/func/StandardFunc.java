@@ -173,7 +173,9 @@ public abstract class StandardFunc extends Arr {
    * @throws QueryException query exception
    */
   protected final DBNode toDBNode(final Item it) throws QueryException {
-    if(checkNoEmpty(it, NodeType.NOD) instanceof DBNode) return (DBNode) it;
+    if(checkNoEmpty(it, NodeType.NOD) instanceof DBNode && !((DBNode) it).data().fragment) {
+      return (DBNode) it;
+    }
     throw BXDB_NODB_X_X.get(info, it.type, it);
   }
 
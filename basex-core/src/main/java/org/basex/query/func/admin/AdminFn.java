@@ -27,4 +27,16 @@ abstract class AdminFn extends StandardFunc {
   static final String TYPE = "type";
   /** QName: ms. */
   static final String MS = "ms";
+  /** QName: name. */
+  static final String NAME = "name";
+  /** QName: labels. */
+  static final String LABELS = "labels";
+  /** QName: value. */
+  static final String VALUE = "value";
+  /** QName: count. */
+  static final String COUNT = "count";
+  /** QName: sum. */
+  static final String SUM = "sum";
+  /** QName: max. */
+  static final String MAX = "max";
 }
@@ -0,0 +1,61 @@
+package org.basex.query.func.admin;
+
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.node.*;
+import org.basex.util.metrics.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class AdminMetrics extends AdminFn {
+  /** QName: metric. */
+  private static final String METRIC = "metric";
+  /** Quantile attributes (see {@link Histogram#QUANTILES}). */
+  private static final String[] QUANTILES = { "p50", "p90", "p99", "p999" };
+
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return value(qc).iter();
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkAdmin(qc);
+
+    final ValueBuilder vb = new ValueBuilder();
+    for(final Metric metric : Metrics.all()) {
+      final FElem elem = new FElem(METRIC).add(NAME, metric.name).add(TYPE, metric.type());
+      if(!metric.labels.isEmpty()) elem.add(LABELS, metric.labels);
+      if(metric instanceof Counter) {
+        elem.add(VALUE, Long.toString(((Counter) metric).get()));
+      } else if(metric instanceof Gauge) {
+        elem.add(VALUE, Long.toString(((Gauge) metric).get()));
+      } else if(metric instanceof Histogram) {
+        final Histogram hist = (Histogram) metric;
+        elem.add(COUNT, Long.toString(hist.count()));
+        elem.add(SUM, seconds(hist.sum()));
+        final int ql = QUANTILES.length;
+        for(int q = 0; q < ql; q++) {
+          elem.add(QUANTILES[q], seconds(hist.quantile(Histogram.QUANTILES[q])));
+        }
+        elem.add(MAX, seconds(hist.max()));
+      }
+      vb.add(elem);
+    }
+    return vb.value();
+  }
+
+  /**
+   * Returns a string representation of the specified nanoseconds in seconds.
+   * @param nano nanoseconds
+   * @return string
+   */
+  private static String seconds(final long nano) {
+    return Double.toString(nano / 1e9);
+  }
+}
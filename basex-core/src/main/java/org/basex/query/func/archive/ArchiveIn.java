@@ -9,6 +9,7 @@ import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.io.out.*;
 import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 
 /**
@@ -21,6 +22,27 @@ abstract class ArchiveIn implements Closeable {
   /** Buffer. */
   private final byte[] data = new byte[IO.BLOCKSIZE];
 
+  /**
+   * Returns a new instance of an archive reader.
+   * @param archive archive
+   * @param info input info
+   * @return reader
+   * @throws QueryException query exception
+   */
+  static ArchiveIn get(final B64 archive, final InputInfo info) throws QueryException {
+    // ZIP files: access entries via the central directory
+    final IOFile file = archive instanceof B64Stream ? ((B64Stream) archive).file() : null;
+    if(file != null) {
+      try {
+        return new ZIPFileIn(file);
+      } catch(final IOException ex) {
+        // no ZIP file: parse input stream
+        Util.debug(ex);
+      }
+    }
+    return get(archive.input(info), info);
+  }
+
   /**
    * Returns a new instance of an archive reader.
    * @param bi buffer input
@@ -28,7 +50,7 @@ abstract class ArchiveIn implements Closeable {
    * @return reader
    * @throws QueryException query exception
    */
-  static ArchiveIn get(final BufferInput bi, final InputInfo info) throws QueryException {
+  private static ArchiveIn get(final BufferInput bi, final InputInfo info) throws QueryException {
     try {
       final LookupInput li = new LookupInput(bi);
       if(li.lookup() == 0x50) return new ZIPIn(li);
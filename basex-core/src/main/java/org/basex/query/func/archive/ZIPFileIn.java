@@ -0,0 +1,82 @@
+package org.basex.query.func.archive;
+
+import static org.basex.query.func.archive.ArchiveText.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.*;
+
+import org.basex.io.*;
+import org.basex.util.*;
+
+/**
+ * ZIP file input. Entries are read from the central directory, and the data of an entry
+ * will only be decompressed if it is requested.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class ZIPFileIn extends ArchiveIn {
+  /** ZIP file. */
+  private final ZipFile zf;
+  /** Entries. */
+  private final Enumeration<? extends ZipEntry> entries;
+  /** Current entry. */
+  private ZipEntry ze;
+  /** Input stream of the current entry (opened on demand). */
+  private InputStream is;
+
+  /**
+   * Constructor.
+   * @param file file
+   * @throws IOException I/O exception
+   */
+  ZIPFileIn(final IOFile file) throws IOException {
+    zf = new ZipFile(file.file());
+    entries = zf.entries();
+  }
+
+  @Override
+  public boolean more() throws IOException {
+    closeEntry();
+    ze = entries.hasMoreElements() ? entries.nextElement() : null;
+    return ze != null;
+  }
+
+  @Override
+  public ZipEntry entry() {
+    return ze;
+  }
+
+  @Override
+  public int read(final byte[] d) throws IOException {
+    if(is == null) is = zf.getInputStream(ze);
+    return is.read(d);
+  }
+
+  @Override
+  public String format() {
+    return ZIP;
+  }
+
+  @Override
+  public void close() {
+    try {
+      closeEntry();
+      zf.close();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
+  }
+
+  /**
+   * Closes the input stream of the current entry.
+   * @throws IOException I/O exception
+   */
+  private void closeEntry() throws IOException {
+    if(is != null) {
+      is.close();
+      is = null;
+    }
+  }
+}
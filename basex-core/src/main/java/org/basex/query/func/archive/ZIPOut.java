@@ -3,6 +3,7 @@ package org.basex.query.func.archive;
 import java.io.*;
 import java.util.zip.*;
 
+import org.basex.io.out.*;
 import org.basex.util.*;
 
 /**
@@ -12,14 +13,14 @@ import org.basex.util.*;
  * @author Christian Gruen
  */
 final class ZIPOut extends ArchiveOut {
-  /** ZIP output stream. */
-  private final ZipOutputStream zos;
+  /** ZIP output stream (entries are compressed in parallel). */
+  private final ZipOutput zos;
 
   /**
    * Writing constructor.
    */
   ZIPOut() {
-    zos = new ZipOutputStream(ao);
+    zos = new ZipOutput(ao);
   }
 
   @Override
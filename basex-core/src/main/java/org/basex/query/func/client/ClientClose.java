@@ -19,7 +19,7 @@ public final class ClientClose extends ClientFn {
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
     checkCreate(qc);
     try {
-      session(qc, true).close();
+      sessions(qc).close(session(qc, true));
       return null;
     } catch(final IOException ex) {
       throw BXCL_COMMAND_X.get(info, ex);
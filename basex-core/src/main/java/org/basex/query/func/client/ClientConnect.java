@@ -24,8 +24,10 @@ public final class ClientConnect extends ClientFn {
     final String user = Token.string(toToken(exprs[2], qc));
     final String pass = Token.string(toToken(exprs[3], qc));
     final int port = (int) toLong(exprs[1], qc);
+    final boolean pool = toOptions(4, new ConnectOptions(), qc).get(ConnectOptions.POOL);
     try {
-      return sessions(qc).add(new ClientSession(host, port, user, pass));
+      return sessions(qc).add(pool ? ClientPool.get().acquire(host, port, user, pass) :
+        new ClientSession(host, port, user, pass), pool);
     } catch(final IOException ex) {
       throw BXCL_CONN_X.get(info, ex);
     }
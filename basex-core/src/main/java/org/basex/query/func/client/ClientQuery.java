@@ -3,6 +3,7 @@ package org.basex.query.func.client;
 import static org.basex.query.QueryError.*;
 
 import java.io.*;
+import java.util.*;
 import java.util.Map.*;
 import java.util.regex.*;
 
@@ -14,6 +15,7 @@ import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.type.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * Function implementation.
@@ -21,12 +23,12 @@ import org.basex.util.*;
  * @author BaseX Team 2005-17, BSD License
  * @author Christian Gruen
  */
-public final class ClientQuery extends ClientFn {
+public class ClientQuery extends ClientFn {
   /** Query pattern. */
   private static final Pattern QUERYPAT = Pattern.compile("\\[(.*?)\\] (.*)", Pattern.MULTILINE);
 
   @Override
-  public Iter iter(final QueryContext qc) throws QueryException {
+  public final Iter iter(final QueryContext qc) throws QueryException {
     return value(qc).iter();
   }
 
@@ -35,10 +37,28 @@ public final class ClientQuery extends ClientFn {
     checkCreate(qc);
     final ClientSession cs = session(qc, false);
     final String query = Token.string(toToken(exprs[1], qc));
-    final ValueBuilder vb = new ValueBuilder();
+    try {
+      return value(results(cs, query, toBindings(2, qc)), qc);
+    } catch(final IOException ex) {
+      throw error(ex);
+    }
+  }
+
+  /**
+   * Evaluates a query and returns the string representations and types of all results.
+   * @param cs client session
+   * @param query query string
+   * @param bindings variable bindings
+   * @return results
+   * @throws IOException I/O exception
+   */
+  static Results results(final ClientSession cs, final String query,
+      final HashMap<String, Value> bindings) throws IOException {
+
+    final Results results = new Results();
     try(org.basex.api.client.ClientQuery cq = cs.query(query)) {
       // bind variables and context value
-      for(final Entry<String, Value> binding : toBindings(2, qc).entrySet()) {
+      for(final Entry<String, Value> binding : bindings.entrySet()) {
         final String key = binding.getKey();
         final Value value = binding.getValue();
         if(key.isEmpty()) cq.context(value);
@@ -47,24 +67,56 @@ public final class ClientQuery extends ClientFn {
       // evaluate query
       cq.cache(true);
       while(cq.more()) {
-        final String result = cq.next();
-        final Type tp = cq.type();
-        if(tp instanceof FuncType) throw BXCL_FITEM_X.get(info, result);
-        vb.add(cq.type().castString(result, qc, sc, info));
+        results.strings.add(cq.next());
+        results.types.add(cq.type());
       }
-      return vb.value();
-    } catch(final QueryIOException ex) {
-      throw ex.getCause(info);
-    } catch(final BaseXException ex) {
+    }
+    return results;
+  }
+
+  /**
+   * Converts query results to a value.
+   * @param results results
+   * @param qc query context
+   * @return value
+   * @throws QueryException query exception
+   */
+  final Value value(final Results results, final QueryContext qc) throws QueryException {
+    final ValueBuilder vb = new ValueBuilder();
+    final int rs = results.strings.size();
+    for(int r = 0; r < rs; r++) {
+      final String result = results.strings.get(r);
+      final Type tp = results.types.get(r);
+      if(tp instanceof FuncType) throw BXCL_FITEM_X.get(info, result);
+      vb.add(tp.castString(result, qc, sc, info));
+    }
+    return vb.value();
+  }
+
+  /**
+   * Converts an I/O exception to a query exception.
+   * @param ex I/O exception
+   * @return query exception
+   */
+  final QueryException error(final IOException ex) {
+    if(ex instanceof QueryIOException) return ((QueryIOException) ex).getCause(info);
+    if(ex instanceof BaseXException) {
       final Matcher m = QUERYPAT.matcher(ex.getMessage());
       if(m.find()) {
         final String name = m.group(1), msg = m.group(2);
         final QueryException exc = get(name, msg, info);
-        throw exc == null ? new QueryException(info, new QNm(name), msg) : exc;
+        return exc == null ? new QueryException(info, new QNm(name), msg) : exc;
       }
-      throw BXCL_QUERY_X.get(info, ex);
-    } catch(final IOException ex) {
-      throw BXCL_COMM_X.get(info, ex);
+      return BXCL_QUERY_X.get(info, ex);
     }
+    return BXCL_COMM_X.get(info, ex);
+  }
+
+  /** Results of a query. */
+  static final class Results {
+    /** String representations. */
+    final StringList strings = new StringList();
+    /** Types. */
+    final ArrayList<Type> types = new ArrayList<>();
   }
 }
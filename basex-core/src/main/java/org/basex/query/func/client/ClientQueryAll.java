@@ -0,0 +1,93 @@
+package org.basex.query.func.client;
+
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.api.client.*;
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class ClientQueryAll extends ClientQuery {
+  /** Executor for evaluating queries in parallel (threads are created and reused on demand). */
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+    new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread thread = new Thread(r, Util.className(ClientQueryAll.class));
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkCreate(qc);
+    final ClientSessions sessions = sessions(qc);
+    final ArrayList<ClientSession> list = new ArrayList<>();
+    final Iter ids = exprs[0].iter(qc);
+    for(Item it; (it = ids.next()) != null;) {
+      final Uri id = (Uri) checkType(it, AtomType.URI);
+      final ClientSession cs = sessions.get(id);
+      if(cs == null) throw BXCL_NOTAVL_X.get(info, id);
+      list.add(cs);
+    }
+    final String query = Token.string(toToken(exprs[1], qc));
+    final HashMap<String, Value> bindings = toBindings(2, qc);
+
+    final int sl = list.size();
+    if(sl == 0) return Empty.SEQ;
+
+    // evaluate queries in parallel, convert results in the order of the specified sessions
+    final ArrayList<Future<Results>> futures = new ArrayList<>(sl);
+    for(final ClientSession cs : list) {
+      futures.add(EXECUTOR.submit(new Callable<Results>() {
+        @Override
+        public Results call() throws IOException {
+          // sessions that are specified more than once will be evaluated one after another
+          synchronized(cs) {
+            return results(cs, query, bindings);
+          }
+        }
+      }));
+    }
+
+    // wait for all queries: running requests cannot be interrupted, and their sessions
+    // must not be released before they are finished
+    final ValueBuilder vb = new ValueBuilder();
+    QueryException error = null;
+    for(int s = 0; s < sl; s++) {
+      try {
+        final Results results = futures.get(s).get();
+        if(error == null) vb.add(value(results, qc));
+      } catch(final ExecutionException ex) {
+        if(error == null) {
+          final Throwable th = ex.getCause();
+          error = th instanceof IOException ? error((IOException) th) :
+            BXCL_COMM_X.get(info, th);
+        }
+      } catch(final InterruptedException ex) {
+        // sessions that may still be in use will be closed instead of being pooled
+        for(int f = s; f < sl; f++) {
+          if(!futures.get(f).isDone()) sessions.discard(list.get(f));
+        }
+        throw BXCL_COMM_X.get(info, ex);
+      }
+    }
+    if(error != null) throw error;
+    return vb.value();
+  }
+}
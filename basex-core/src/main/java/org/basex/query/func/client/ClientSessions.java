@@ -1,6 +1,7 @@
 package org.basex.query.func.client;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.api.client.*;
 import org.basex.query.*;
@@ -19,15 +20,23 @@ public final class ClientSessions implements QueryResource {
   private int lastId = -1;
   /** Map with all open sessions and their ids. */
   private final TokenObjMap<ClientSession> conns = new TokenObjMap<>();
+  /** Sessions that have been acquired from the global pool. */
+  private final Set<ClientSession> pooled =
+      Collections.newSetFromMap(new IdentityHashMap<ClientSession, Boolean>());
+  /** Sessions that must not be returned to the global pool. */
+  private final Set<ClientSession> discarded =
+      Collections.newSetFromMap(new IdentityHashMap<ClientSession, Boolean>());
 
   /**
    * Adds a session.
    * @param cs client session
+   * @param pool indicates if the session has been acquired from the global pool
    * @return session id
    */
-  synchronized Uri add(final ClientSession cs) {
+  synchronized Uri add(final ClientSession cs, final boolean pool) {
     final byte[] uri = Token.token(cs + "/" + ++lastId);
     conns.put(uri, cs);
+    if(pool) pooled.add(cs);
     return Uri.uri(uri);
   }
 
@@ -48,11 +57,34 @@ public final class ClientSessions implements QueryResource {
     conns.delete(id.string());
   }
 
+  /**
+   * Marks a session that may still be in use. It will be closed instead of being returned
+   * to the global pool.
+   * @param cs client session
+   */
+  synchronized void discard(final ClientSession cs) {
+    discarded.add(cs);
+  }
+
+  /**
+   * Closes a session, or returns it to the global pool.
+   * @param cs client session
+   * @throws IOException I/O exception
+   */
+  synchronized void close(final ClientSession cs) throws IOException {
+    if(pooled.remove(cs)) {
+      if(discarded.remove(cs)) ClientPool.get().discard(cs);
+      else ClientPool.get().release(cs);
+    } else {
+      cs.close();
+    }
+  }
+
   @Override
   public void close() {
     for(final ClientSession cs : conns.values()) {
       try {
-        if(cs != null) cs.close();
+        if(cs != null) close(cs);
       } catch(final IOException ex) {
         Util.debug(ex);
       }
@@ -0,0 +1,14 @@
+package org.basex.query.func.client;
+
+import org.basex.util.options.*;
+
+/**
+ * Options for connecting to a database server.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class ConnectOptions extends Options {
+  /** Option: reuse authenticated sessions from the global pool. */
+  public static final BooleanOption POOL = new BooleanOption("pool", false);
+}
@@ -0,0 +1,59 @@
+package org.basex.query.func.csv;
+
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+
+import org.basex.build.csv.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.io.parse.csv.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.value.item.*;
+
+/**
+ * Functions for parsing CSV input.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+abstract class CsvFn extends StandardFunc {
+  /**
+   * Returns a converter for the specified options.
+   * @param qc query context
+   * @return converter
+   * @throws QueryException query exception
+   */
+  final CsvConverter converter(final QueryContext qc) throws QueryException {
+    return CsvConverter.get(toOptions(1, new CsvParserOptions(), qc));
+  }
+
+  /**
+   * Returns the input of the specified item. Streamable strings will not be materialized.
+   * @param it input item
+   * @param conv converter
+   * @return input
+   * @throws QueryException query exception
+   */
+  final NewlineInput input(final Item it, final CsvConverter conv) throws QueryException {
+    if(it instanceof StrStream) return ((StrStream) it).newlineInput(info);
+    try {
+      return conv.input(new IOContent(toToken(it)));
+    } catch(final IOException ex) {
+      throw BXCS_PARSE_X.get(info, ex);
+    }
+  }
+
+  /**
+   * Returns a query exception for an I/O exception that was raised while parsing the input.
+   * Errors raised by streamable strings are returned unchanged.
+   * @param ex I/O exception
+   * @param it input item
+   * @return query exception
+   */
+  final QueryException error(final IOException ex, final Item it) {
+    return it instanceof StrStream && !(ex instanceof QueryIOException) ?
+      ((StrStream) it).error(ex, info) : BXCS_PARSE_X.get(info, ex);
+  }
+}
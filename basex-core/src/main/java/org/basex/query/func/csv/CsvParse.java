@@ -1,14 +1,9 @@
 package org.basex.query.func.csv;
 
-import static org.basex.query.QueryError.*;
-
 import java.io.*;
 
-import org.basex.build.csv.*;
-import org.basex.io.*;
 import org.basex.io.parse.csv.*;
 import org.basex.query.*;
-import org.basex.query.func.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
@@ -18,15 +13,15 @@ import org.basex.util.*;
  * @author BaseX Team 2005-17, BSD License
  * @author Christian Gruen
  */
-public final class CsvParse extends StandardFunc {
+public final class CsvParse extends CsvFn {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    final byte[] input = toToken(exprs[0], qc);
-    final CsvParserOptions opts = toOptions(1, new CsvParserOptions(), qc);
+    final Item it = toAtomItem(exprs[0], qc);
+    final CsvConverter conv = converter(qc);
     try {
-      return CsvConverter.get(opts).convert(new IOContent(input));
+      return conv.convert(input(it, conv));
     } catch(final IOException ex) {
-      throw BXCS_PARSE_X.get(info, ex);
+      throw error(ex, it);
     }
   }
 }
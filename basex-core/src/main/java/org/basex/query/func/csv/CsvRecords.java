@@ -0,0 +1,45 @@
+package org.basex.query.func.csv;
+
+import java.io.*;
+
+import org.basex.io.in.*;
+import org.basex.io.parse.csv.*;
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.item.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class CsvRecords extends CsvFn {
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    final Item it = toAtomItem(exprs[0], qc);
+    final CsvConverter conv = converter(qc);
+    final NewlineInput nli = input(it, conv);
+    try {
+      conv.open(nli);
+    } catch(final IOException ex) {
+      throw error(ex, it);
+    }
+    // close input after query evaluation if not all records are requested
+    final QueryInputs inputs = qc.resources.index(QueryInputs.class);
+    inputs.add(nli);
+    return new Iter() {
+      @Override
+      public Item next() throws QueryException {
+        try {
+          final Item record = conv.next();
+          if(record == null) inputs.close(nli);
+          return record;
+        } catch(final IOException ex) {
+          inputs.close(nli);
+          throw error(ex, it);
+        }
+      }
+    };
+  }
+}
@@ -36,6 +36,21 @@ abstract class DbAccess extends DbFn {
     return norm;
   }
 
+  /**
+   * Locks the resource addressed by the first two arguments if the database name and the path
+   * are statically known, or the complete database otherwise.
+   * Must only be called by functions that access binary resources (see
+   * {@link org.basex.core.locks.Locking#resource(String, String)}).
+   * @param visitor visitor
+   * @return if more expressions should be visited
+   */
+  final boolean resourceLock(final ASTVisitor visitor) {
+    final String db = exprs[0] instanceof Str ? string(((Str) exprs[0]).string()) : null;
+    final String path = exprs[1] instanceof Str ?
+      MetaData.normPath(string(((Str) exprs[1]).string())) : null;
+    return visitor.lock(db, path) && visitAll(visitor, exprs);
+  }
+
   /**
    * Performs the attribute function.
    * @param ia index access
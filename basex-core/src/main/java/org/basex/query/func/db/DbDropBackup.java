@@ -4,6 +4,7 @@ import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
 import org.basex.core.*;
+import org.basex.core.cmd.*;
 import org.basex.query.*;
 import org.basex.query.up.*;
 import org.basex.query.up.primitives.name.*;
@@ -25,6 +26,8 @@ public final class DbDropBackup extends DbAccess {
 
     final StringList backups = qc.context.databases.backups(name);
     if(backups.isEmpty()) throw BXDB_WHICHBACK_X.get(info, name);
+    final String[] ref = DropBackup.referenced(backups, qc.context);
+    if(ref != null) throw BXDB_REFBACKUP_X_X.get(info, ref[0], ref[1]);
 
     final Updates updates = qc.updates();
     for(final String backup : backups) updates.add(new BackupDrop(backup, info, qc), qc);
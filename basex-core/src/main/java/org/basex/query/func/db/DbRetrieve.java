@@ -2,9 +2,13 @@ package org.basex.query.func.db;
 
 import static org.basex.query.QueryError.*;
 
+import java.io.*;
+
 import org.basex.data.*;
 import org.basex.io.*;
+import org.basex.io.random.*;
 import org.basex.query.*;
+import org.basex.query.util.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
@@ -16,13 +20,32 @@ import org.basex.util.*;
  */
 public final class DbRetrieve extends DbAccess {
   @Override
-  public B64Stream item(final QueryContext qc, final InputInfo ii) throws QueryException {
+  public B64 item(final QueryContext qc, final InputInfo ii) throws QueryException {
     final Data data = checkData(qc);
     final String path = path(1, qc);
     if(data.inMemory()) throw BXDB_MEM_X.get(info, data.meta.name);
 
     final IOFile file = data.meta.binary(path);
     if(file == null || !file.exists() || file.isDir()) throw WHICHRES_X.get(info, path);
-    return new B64Stream(file, IOERR_X);
+    // stream full resource
+    if(exprs.length == 2) return new B64Stream(file, IOERR_X);
+
+    // read chunk of resource
+    final long off = toLong(exprs[2], qc);
+    long len = exprs.length > 3 ? toLong(exprs[3], qc) : 0;
+    try(DataAccess da = new DataAccess(file)) {
+      final long dlen = da.length();
+      if(exprs.length == 3) len = dlen - off;
+      if(off < 0 || off > dlen || len < 0 || off + len > dlen || len > Integer.MAX_VALUE)
+        throw BXDB_CHUNK_X_X.get(info, off, off + len);
+      return new B64(da.readBytes(off, (int) len));
+    } catch(final IOException ex) {
+      throw IOERR_X.get(info, ex);
+    }
+  }
+
+  @Override
+  public boolean accept(final ASTVisitor visitor) {
+    return resourceLock(visitor);
   }
 }
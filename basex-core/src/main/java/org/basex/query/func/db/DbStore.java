@@ -6,6 +6,7 @@ import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.up.primitives.db.*;
+import org.basex.query.util.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
@@ -28,4 +29,9 @@ public final class DbStore extends DbAccess {
     qc.updates().add(new DBStore(data, path, item, info), qc);
     return null;
   }
+
+  @Override
+  public boolean accept(final ASTVisitor visitor) {
+    return resourceLock(visitor);
+  }
 }
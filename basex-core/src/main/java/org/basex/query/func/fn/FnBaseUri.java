@@ -31,7 +31,7 @@ public final class FnBaseUri extends StandardFunc {
       final Uri bu = Uri.uri(n.baseURI(), false);
       if(!bu.isValid()) throw INVURI_X.get(info, n.baseURI());
       base = bu.resolve(base, info);
-      if(n.type == NodeType.DOC && n instanceof DBNode) break;
+      if(n.type == NodeType.DOC && n instanceof DBNode && !n.data().fragment) break;
       n = n.parent();
     } while(!base.isAbsolute());
     return base;
@@ -1,7 +1,9 @@
 package org.basex.query.func.fn;
 
+import org.basex.index.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
+import org.basex.query.util.*;
 import org.basex.query.util.collation.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
@@ -19,4 +21,12 @@ public final class FnContains extends StandardFunc {
     final Collation coll = toCollation(2, qc);
     return Bln.get(coll == null ? Token.contains(ss, sb) : coll.contains(ss, sb, info));
   }
+
+  @Override
+  public boolean indexAccessible(final IndexInfo ii) {
+    // support limited to default collation and string literals
+    return exprs.length == 2 && sc.collation == null && exprs[1] instanceof Str &&
+        ii.create(ii.type(exprs[0], IndexType.TRIGRAM), ((Str) exprs[1]).string(),
+        Function.CONTAINS, null, info);
+  }
 }
@@ -4,7 +4,10 @@ import static org.basex.util.Token.*;
 
 import java.util.regex.*;
 
+import org.basex.index.*;
 import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.util.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
@@ -21,4 +24,113 @@ public final class FnMatches extends RegEx {
     final Pattern p = pattern(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, false);
     return Bln.get(p.matcher(string(value)).find());
   }
+
+  @Override
+  public boolean indexAccessible(final IndexInfo ii) throws QueryException {
+    // support limited to string literals
+    final int el = exprs.length;
+    if(!(exprs[1] instanceof Str) || el == 3 && !(exprs[2] instanceof Str)) return false;
+
+    final byte[] string = literal(((Str) exprs[1]).string(),
+        el == 3 ? ((Str) exprs[2]).string() : EMPTY);
+    return string != null && ii.create(ii.type(exprs[0], IndexType.TRIGRAM), string,
+        Function.MATCHES, pattern(exprs[1], el == 3 ? exprs[2] : null, ii.qc, false), info);
+  }
+
+  /**
+   * Returns the longest literal string that occurs in all strings matched by the specified
+   * regular expression. Alternatives, groups, character classes and optional characters
+   * are skipped.
+   * @param regex regular expression
+   * @param flags flags
+   * @return literal string, or {@code null} if no string was found
+   */
+  static byte[] literal(final byte[] regex, final byte[] flags) {
+    // case-insensitive matching and ignored whitespaces are not supported
+    for(final byte f : flags) {
+      if(f != 's' && f != 'm' && f != 'q') return null;
+    }
+    if(contains(flags, 'q')) return regex;
+    if(contains(regex, '|')) return null;
+
+    byte[] longest = EMPTY;
+    final TokenBuilder tb = new TokenBuilder();
+    // offset of the last literal character
+    int last = 0;
+    final int rl = regex.length;
+    for(int r = 0; r < rl;) {
+      final int cp = cp(regex, r), cl = cl(regex, r);
+      r += cl;
+      int ch = -1;
+      if(cp == '\\') {
+        // escaped characters
+        if(r == rl) return null;
+        final int e = regex[r++];
+        if(e == 'n') ch = '\n';
+        else if(e == 'r') ch = '\r';
+        else if(e == 't') ch = '\t';
+        else if(indexOf(token("\\|.-^?*+{}()[]$"), e) != -1) ch = e;
+        else if((e == 'p' || e == 'P') && r < rl && regex[r] == '{') r = skip(regex, r, '}');
+      } else if(cp == '?' || cp == '*' || cp == '{') {
+        // optional characters: discard last character
+        tb.size(last);
+        if(cp == '{') r = skip(regex, r, '}');
+      } else if(cp == '(') {
+        r = group(regex, r);
+      } else if(cp == '[') {
+        r = skip(regex, r, ']');
+      } else if(cp != '.' && cp != '^' && cp != '$' && cp != '+' && cp != ')') {
+        ch = cp;
+      }
+
+      if(ch == -1) {
+        if(tb.size() > longest.length) longest = tb.toArray();
+        tb.reset();
+        last = 0;
+      } else {
+        last = tb.size();
+        tb.add(ch);
+      }
+    }
+    if(tb.size() > longest.length) longest = tb.toArray();
+    return longest.length == 0 ? null : longest;
+  }
+
+  /**
+   * Skips a group, including nested groups and character classes.
+   * @param regex regular expression
+   * @param r offset after the opening parenthesis
+   * @return offset after the closing parenthesis
+   */
+  private static int group(final byte[] regex, final int r) {
+    final int rl = regex.length;
+    int o = r;
+    for(int depth = 1; o < rl && depth > 0; o++) {
+      final byte b = regex[o];
+      if(b == '\\') o++;
+      else if(b == '[') o = skip(regex, o + 1, ']') - 1;
+      else if(b == '(') depth++;
+      else if(b == ')') depth--;
+    }
+    return Math.min(o, rl);
+  }
+
+  /**
+   * Skips a character class or quantifier, including nested character classes.
+   * @param regex regular expression
+   * @param r offset after the opening bracket
+   * @param close closing bracket
+   * @return offset after the closing bracket
+   */
+  private static int skip(final byte[] regex, final int r, final char close) {
+    final int rl = regex.length;
+    int o = r;
+    for(int depth = 1; o < rl && depth > 0; o++) {
+      final byte b = regex[o];
+      if(b == '\\') o++;
+      else if(close == ']' && b == '[') depth++;
+      else if(b == close) depth--;
+    }
+    return Math.min(o, rl);
+  }
 }
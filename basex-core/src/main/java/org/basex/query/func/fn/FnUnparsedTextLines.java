@@ -15,8 +15,8 @@ import org.basex.query.value.seq.*;
 public final class FnUnparsedTextLines extends Parse {
   @Override
   public Iter iter(final QueryContext qc) throws QueryException {
-    final Item it = unparsedText(qc, false, true);
-    return it == null ? Empty.ITER : textIter(it.string(info));
+    final Item it = unparsedText(qc, false, true, true);
+    return it == null ? Empty.ITER : ((StrStream) it).lines(0, Long.MAX_VALUE, qc, info);
   }
 
   @Override
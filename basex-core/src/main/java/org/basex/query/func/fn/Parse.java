@@ -12,10 +12,8 @@ import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
-import org.basex.query.iter.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
-import org.basex.util.*;
 
 /**
  * Parse functions.
@@ -34,6 +32,20 @@ public abstract class Parse extends StandardFunc {
    */
   Item unparsedText(final QueryContext qc, final boolean check, final boolean encoding)
       throws QueryException {
+    return unparsedText(qc, check, encoding, false);
+  }
+
+  /**
+   * Performs the unparsed-text function.
+   * @param qc query context
+   * @param check only check if text is available
+   * @param encoding parse encoding
+   * @param stream return a streamable string, which will only be read when it is requested
+   * @return content string or boolean success flag
+   * @throws QueryException query exception
+   */
+  Item unparsedText(final QueryContext qc, final boolean check, final boolean encoding,
+      final boolean stream) throws QueryException {
 
     checkCreate(qc);
     final Item it = exprs[0].atomItem(qc, info);
@@ -67,6 +79,9 @@ public abstract class Parse extends StandardFunc {
       }
 
       try(InputStream is = io.inputStream()) {
+        if(stream) {
+          return new StrStream(io, enc, enc != null ? INVCHARS_X : WHICHCHARS_X, INVCHARS_X, true);
+        }
         final TextInput ti = new TextInput(io).encoding(enc).validate(true);
         if(!check) return Str.get(ti.content());
         while(ti.read() != -1);
@@ -109,29 +124,4 @@ public abstract class Parse extends StandardFunc {
       throw SAXERR_X.get(info, ex);
     }
   }
-
-  /**
-   * Returns the specified text as lines.
-   * @param str text input
-   * @return result
-   */
-  public static Iter textIter(final byte[] str) {
-    // no I/O exception expected, as input is a main-memory array
-    try {
-      final NewlineInput nli = new NewlineInput(new ArrayInput(str));
-      final TokenBuilder tb = new TokenBuilder();
-      return new Iter() {
-        @Override
-        public Item next() {
-          try {
-            return nli.readLine(tb) ? Str.get(tb.toArray()) : null;
-          } catch(final IOException ex) {
-            throw Util.notExpected(ex);
-          }
-        }
-      };
-    } catch(final IOException ex) {
-      throw Util.notExpected(ex);
-    }
-  }
 }
@@ -0,0 +1,81 @@
+package org.basex.query.func.ft;
+
+import static org.basex.query.QueryError.*;
+import static org.basex.util.ft.FTFlag.*;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.index.*;
+import org.basex.index.query.*;
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.util.ft.*;
+import org.basex.util.hash.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class FtTop extends FtAccess {
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return value(qc).iter();
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final Data data = checkData(qc);
+    final Iter terms = qc.iter(exprs[1]);
+    final long count = toLong(exprs[2], qc);
+    final FtIndexOptions opts = toOptions(3, new FtIndexOptions(), qc);
+    if(!data.meta.ftindex) throw BXDB_INDEX_X.get(info, data.meta.name, IndexType.FULLTEXT);
+
+    final FTOpt opt = new FTOpt().assign(data.meta);
+    final FTMode mode = opts.get(FtIndexOptions.MODE);
+    opt.set(FZ, opts.get(FtIndexOptions.FUZZY));
+    opt.set(WC, opts.get(FtIndexOptions.WILDCARDS));
+    if(opt.is(FZ) && opt.is(WC)) throw BXFT_MATCH.get(info, this);
+
+    // create an index iterator for each distinct token
+    final FTLexer lexer = new FTLexer(opt).lserror(qc.context.options.get(MainOptions.LSERROR));
+    final TokenSet tokens = new TokenSet();
+    final ArrayList<FTIndexIterator> iters = new ArrayList<>();
+    long size = 0;
+    for(Item it; (it = terms.next()) != null;) {
+      lexer.init(toToken(it));
+      while(lexer.hasNext()) {
+        final byte[] tok = lexer.nextToken();
+        if(tok.length > data.meta.maxlen || opt.sw != null && opt.sw.contains(tok) ||
+            !tokens.add(tok)) continue;
+        final FTIndexIterator iter = (FTIndexIterator) data.iter(lexer);
+        if(iter.max() < 0) throw BXFT_SCORE_X.get(info, data.meta.name);
+        iters.add(iter);
+        size += iter.size();
+      }
+    }
+
+    final boolean all = mode == FTMode.ALL || mode == FTMode.ALL_WORDS || mode == FTMode.PHRASE;
+    final int k = (int) Math.max(0, Math.min(count, size));
+    final FTTopK topk = new FTTopK(iters.toArray(new FTIndexIterator[iters.size()]), k, all).run();
+
+    final int[] pres = topk.pres();
+    final double[] scores = topk.scores();
+    final ValueBuilder vb = new ValueBuilder();
+    final int pl = pres.length;
+    for(int p = 0; p < pl; p++) vb.add(new FTNode(null, data, pres[p], 0, 0, scores[p]));
+    return vb.value();
+  }
+
+  @Override
+  public boolean accept(final ASTVisitor visitor) {
+    return dataLock(visitor, 0) && super.accept(visitor);
+  }
+}
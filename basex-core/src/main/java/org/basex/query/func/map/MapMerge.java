@@ -21,10 +21,8 @@ public final class MapMerge extends StandardFunc {
     if(exprs.length > 1) new FuncOptions(info).acceptUnknown().assign(toMap(exprs[1], qc), opts);
 
     final MergeDuplicates merge = opts.get(MergeOptions.DUPLICATES);
-    Map map = Map.EMPTY;
-    for(Item it; (it = maps.next()) != null;) {
-      map = map.addAll(toMap(it), merge, info);
-    }
-    return map;
+    final MapBuilder mb = new MapBuilder(info);
+    for(Item it; (it = maps.next()) != null;) mb.add(toMap(it), merge);
+    return mb.freeze();
   }
 }
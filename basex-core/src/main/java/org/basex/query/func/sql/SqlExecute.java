@@ -34,17 +34,31 @@ public class SqlExecute extends SqlFn {
     checkCreate(qc);
     final int id = (int) toLong(exprs[0], qc);
     final String query = string(toToken(exprs[1], qc));
+    final SqlOptions options = toOptions(2, new SqlOptions(), qc);
 
     final Object obj = jdbc(qc).get(id);
     if(!(obj instanceof Connection)) throw BXSQ_CONN_X.get(info, id);
     try {
       final Statement stmt = ((Connection) obj).createStatement();
+      options(options, stmt);
       return stmt.execute(query) ? iter(stmt, true) : Empty.ITER;
     } catch(final SQLException ex) {
       throw BXSQ_ERROR_X.get(info, ex);
     }
   }
 
+  /**
+   * Assigns options to a statement.
+   * @param options options
+   * @param stmt statement
+   * @throws SQLException SQL exception
+   */
+  static void options(final SqlOptions options, final Statement stmt) throws SQLException {
+    // rows will be fetched on demand, in chunks of the specified size
+    final int fetchSize = options.get(SqlOptions.FETCH_SIZE);
+    if(fetchSize > 0) stmt.setFetchSize(fetchSize);
+  }
+
   /**
    * Returns a result iterator.
    * @param stmt SQL statement
@@ -0,0 +1,55 @@
+package org.basex.query.func.sql;
+
+import static org.basex.query.QueryError.*;
+
+import java.sql.*;
+
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Functions on relational databases.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class SqlExecuteBatch extends SqlExecutePrepared {
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return value(qc).iter();
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkCreate(qc);
+    final PreparedStatement stmt = statement(qc);
+    final Iter params = exprs[1].iter(qc);
+    try {
+      // add a command for each parameter element, and execute all commands in a single step
+      for(Item it; (it = params.next()) != null;) {
+        parameters((ANode) checkType(it, NodeType.ELM), stmt);
+        stmt.addBatch();
+      }
+      final int[] counts = stmt.executeBatch();
+      final int cl = counts.length;
+      final long[] items = new long[cl];
+      for(int c = 0; c < cl; c++) items[c] = counts[c];
+      return IntSeq.get(items, AtomType.ITR);
+    } catch(final SQLException ex) {
+      throw BXSQ_ERROR_X.get(info, ex);
+    } finally {
+      // discard remaining commands if an error occurred
+      try {
+        stmt.clearBatch();
+      } catch(final SQLException ex) {
+        Util.debug(ex);
+      }
+    }
+  }
+}
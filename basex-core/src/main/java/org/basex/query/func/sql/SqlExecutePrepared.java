@@ -19,7 +19,7 @@ import org.basex.query.value.type.*;
  * @author BaseX Team 2005-17, BSD License
  * @author Rositsa Shadura
  */
-public final class SqlExecutePrepared extends SqlExecute {
+public class SqlExecutePrepared extends SqlExecute {
   /** QName. */
   private static final QNm Q_PARAMETERS = new QNm(SQL_PREFIX, "parameters", SQL_URI);
   /** QName. */
@@ -52,28 +52,51 @@ public final class SqlExecutePrepared extends SqlExecute {
   @Override
   public Iter iter(final QueryContext qc) throws QueryException {
     checkCreate(qc);
-    final int id = (int) toLong(exprs[0], qc);
-    long c = 0;
-    ANode params = null;
-    if(exprs.length > 1) {
-      params = toElem(exprs[1], qc);
-      if(!params.qname().eq(Q_PARAMETERS)) throw INVALIDOPTION_X.get(info, params.qname().local());
-      c = countParams(params);
-    }
-
-    final Object obj = jdbc(qc).get(id);
-    if(!(obj instanceof PreparedStatement)) throw BXSQ_STATE_X.get(info, id);
+    final PreparedStatement stmt = statement(qc);
+    final ANode params = exprs.length > 1 ? toElem(exprs[1], qc) : null;
+    final SqlOptions options = toOptions(2, new SqlOptions(), qc);
     try {
-      final PreparedStatement stmt = (PreparedStatement) obj;
-      // Check if number of parameters equals number of place holders
-      if(c != stmt.getParameterMetaData().getParameterCount()) throw BXSQ_PARAMS.get(info);
-      if(params != null) setParameters(params.children(), stmt);
+      parameters(params, stmt);
+      options(options, stmt);
       return stmt.execute() ? iter(stmt, false) : Empty.ITER;
     } catch(final SQLException ex) {
       throw BXSQ_ERROR_X.get(info, ex);
     }
   }
 
+  /**
+   * Returns the prepared statement.
+   * @param qc query context
+   * @return prepared statement
+   * @throws QueryException query exception
+   */
+  final PreparedStatement statement(final QueryContext qc) throws QueryException {
+    final int id = (int) toLong(exprs[0], qc);
+    final Object obj = jdbc(qc).get(id);
+    if(obj instanceof PreparedStatement) return (PreparedStatement) obj;
+    throw BXSQ_STATE_X.get(info, id);
+  }
+
+  /**
+   * Assigns parameters to a prepared statement.
+   * @param params element {@code <sql:parameters/>} (can be {@code null})
+   * @param stmt prepared statement
+   * @throws QueryException query exception
+   * @throws SQLException SQL exception
+   */
+  final void parameters(final ANode params, final PreparedStatement stmt)
+      throws QueryException, SQLException {
+
+    long c = 0;
+    if(params != null) {
+      if(!params.qname().eq(Q_PARAMETERS)) throw INVALIDOPTION_X.get(info, params.qname().local());
+      c = countParams(params);
+    }
+    // Check if number of parameters equals number of place holders
+    if(c != stmt.getParameterMetaData().getParameterCount()) throw BXSQ_PARAMS.get(info);
+    if(params != null) setParameters(params.children(), stmt);
+  }
+
   /**
    * Counts the numbers of <sql:parameter/> elements.
    * @param params element <sql:parameter/>
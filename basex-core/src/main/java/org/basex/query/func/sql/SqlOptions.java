@@ -0,0 +1,14 @@
+package org.basex.query.func.sql;
+
+import org.basex.util.options.*;
+
+/**
+ * Options for executing SQL statements.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class SqlOptions extends Options {
+  /** Option: number of rows that will be fetched at once (0: default of the driver). */
+  public static final NumberOption FETCH_SIZE = new NumberOption("fetch-size", 0);
+}
@@ -169,6 +169,8 @@ public final class MainModule extends Module {
     private final IdentityHashMap<Scope, Object> funcs = new IdentityHashMap<>();
     /** Reference to process list of locked databases. */
     private final LockList locks;
+    /** Read locks. */
+    private final LockList reads;
     /** Focus level. */
     private int level;
 
@@ -179,6 +181,7 @@ public final class MainModule extends Module {
      */
     private LockVisitor(final Locks lr, final QueryContext qc) {
       locks = qc.updating ? lr.writes : lr.reads;
+      reads = lr.reads;
       level = qc.ctxItem == null ? 0 : 1;
     }
 
@@ -191,6 +194,15 @@ public final class MainModule extends Module {
       return true;
     }
 
+    @Override
+    public boolean lock(final String db, final String path) {
+      if(db == null || path == null) return lock(db);
+      // lock resource, prevent concurrent updates of the whole database
+      locks.add(Locking.resource(db, path));
+      reads.add(db);
+      return true;
+    }
+
     @Override
     public void enterFocus() {
       level++;
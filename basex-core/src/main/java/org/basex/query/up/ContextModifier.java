@@ -4,6 +4,7 @@ import static org.basex.query.QueryError.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.Map.Entry;
 
 import org.basex.core.*;
 import org.basex.data.*;
@@ -129,7 +130,10 @@ public abstract class ContextModifier {
     // updated databases, but they cannot provide perfect safety.
     final Set<Data> datas = new HashSet<>();
     try {
-      for(final Data data : dbUpdates.keySet()) {
+      for(final Entry<Data, DataUpdates> entry : dbUpdates.entrySet()) {
+        // binary resources may be stored in parallel: do not lock node table
+        if(entry.getValue().binaries()) continue;
+        final Data data = entry.getKey();
         data.startUpdate(ctx.options);
         datas.add(data);
       }
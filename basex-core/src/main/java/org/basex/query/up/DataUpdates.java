@@ -50,6 +50,8 @@ final class DataUpdates {
   private AtomicUpdateCache auc;
   /** Number of updates. */
   private int size;
+  /** Indicates if only binary resources will be stored. */
+  private boolean binaries;
 
   /**
    * Constructor.
@@ -105,7 +107,11 @@ final class DataUpdates {
    */
   void prepare(final MemData tmp) throws QueryException {
     // Prepare/check database operations
-    for(final DBUpdate d : dbUpdates) d.prepare();
+    binaries = nodeUpdates.size() == 0 && puts.size() == 0;
+    for(final DBUpdate d : dbUpdates) {
+      d.prepare();
+      if(d.type != UpdateType.DBSTORE) binaries = false;
+    }
 
     // Prepare/check XQUP primitives:
     final int s = nodeUpdates.size();
@@ -157,6 +163,15 @@ final class DataUpdates {
     return data;
   }
 
+  /**
+   * Checks if only binary resources will be stored. Binary resources are located outside the
+   * node table, which need not be locked in this case.
+   * @return result of check
+   */
+  boolean binaries() {
+    return binaries;
+  }
+
   /**
    * Applies all updates for this specific database.
    * @param qc query context
@@ -178,10 +193,12 @@ final class DataUpdates {
     // execute fn:put operations
     for(final Put put : puts.values()) put.apply();
 
-    try {
-      Optimize.finish(data);
-    } catch(final IOException ex) {
-      throw UPDBOPTERR_X.get(null, ex);
+    if(!binaries) {
+      try {
+        Optimize.finish(data);
+      } catch(final IOException ex) {
+        throw UPDBOPTERR_X.get(null, ex);
+      }
     }
 
     /* optional: export file if...
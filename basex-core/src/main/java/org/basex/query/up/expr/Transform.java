@@ -132,6 +132,12 @@ public final class Transform extends Arr {
       append(exprs[1]).toString();
   }
 
+  @Override
+  public void instrument(final QueryProfiler profiler) {
+    profiler.traverse(copies);
+    super.instrument(profiler);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return visitAll(visitor, copies) && super.accept(visitor);
@@ -67,10 +67,12 @@ public final class DBOptimize extends DBUpdate {
     options.assignIfEmpty(MainOptions.TEXTINDEX, meta.createtext);
     options.assignIfEmpty(MainOptions.ATTRINDEX, meta.createattr);
     options.assignIfEmpty(MainOptions.TOKENINDEX, meta.createtoken);
+    options.assignIfEmpty(MainOptions.TRIGRAMINDEX, meta.createtrigram);
     options.assignIfEmpty(MainOptions.FTINDEX, meta.createft);
     options.assignIfEmpty(MainOptions.TEXTINCLUDE, meta.textinclude);
     options.assignIfEmpty(MainOptions.ATTRINCLUDE, meta.attrinclude);
     options.assignIfEmpty(MainOptions.TOKENINCLUDE, meta.tokeninclude);
+    options.assignIfEmpty(MainOptions.TRIGRAMINCLUDE, meta.trigraminclude);
     options.assignIfEmpty(MainOptions.FTINCLUDE, meta.ftinclude);
     options.assignIfEmpty(MainOptions.SPLITSIZE, meta.splitsize);
     options.assignIfEmpty(MainOptions.UPDINDEX, meta.updindex);
@@ -81,6 +83,7 @@ public final class DBOptimize extends DBUpdate {
     meta.createtext = opts.get(MainOptions.TEXTINDEX);
     meta.createattr = opts.get(MainOptions.ATTRINDEX);
     meta.createtoken = opts.get(MainOptions.TOKENINDEX);
+    meta.createtrigram = opts.get(MainOptions.TRIGRAMINDEX);
     meta.createft = opts.get(MainOptions.FTINDEX);
 
     meta.updindex = opts.get(MainOptions.UPDINDEX);
@@ -93,13 +96,16 @@ public final class DBOptimize extends DBUpdate {
     final String textinclude = opts.get(MainOptions.TEXTINCLUDE);
     final String attrinclude = opts.get(MainOptions.ATTRINCLUDE);
     final String tokeninclude = opts.get(MainOptions.TOKENINCLUDE);
+    final String trigraminclude = opts.get(MainOptions.TRIGRAMINCLUDE);
     final boolean rebuild = maxlen != meta.maxlen;
     final boolean rebuildText = !meta.textinclude.equals(textinclude) || rebuild;
     final boolean rebuildAttr = !meta.attrinclude.equals(attrinclude) || rebuild;
     final boolean rebuildToken = !meta.tokeninclude.equals(tokeninclude);
+    final boolean rebuildTrigram = !meta.trigraminclude.equals(trigraminclude);
     meta.textinclude = textinclude;
     meta.attrinclude = attrinclude;
     meta.tokeninclude = tokeninclude;
+    meta.trigraminclude = trigraminclude;
     meta.maxcats = maxcats;
     meta.maxlen = maxlen;
 
@@ -122,7 +128,8 @@ public final class DBOptimize extends DBUpdate {
 
     try {
       if(all) OptimizeAll.optimizeAll(data, qc.context, opts, null);
-      else Optimize.optimize(data, rebuildText, rebuildAttr, rebuildToken, rebuildFt, null);
+      else Optimize.optimize(data, rebuildText, rebuildAttr, rebuildToken, rebuildTrigram,
+          rebuildFt, null);
     } catch(final IOException ex) {
       throw UPDBOPTERR_X.get(info, ex);
     }
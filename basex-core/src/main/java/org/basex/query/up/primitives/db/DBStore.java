@@ -4,6 +4,7 @@ import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
 import java.io.*;
+import java.nio.file.*;
 
 import org.basex.data.*;
 import org.basex.io.*;
@@ -50,8 +51,15 @@ public final class DBStore extends DBUpdate {
         final IOFile file = data.meta.binary(string(path));
         if(file.isDir()) file.delete();
         file.parent().md();
+        // write to temporary file first: concurrent readers must not see incomplete resources
+        final IOFile tmp = new IOFile(data.meta.path, "store" + Thread.currentThread().getId() +
+            IO.TMPSUFFIX);
         try(BufferInput bi = map.get(path).input(info)) {
-          file.write(bi);
+          tmp.write(bi);
+          Files.move(tmp.file().toPath(), file.file().toPath(),
+              StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+          tmp.delete();
         }
       } catch(final IOException ex) {
         Util.debug(ex);
@@ -94,6 +94,17 @@ public abstract class ASTVisitor {
     return true;
   }
 
+  /**
+   * Notifies the visitor of a binary database resource that may be accessed.
+   * By default, the complete database will be locked.
+   * @param db database ({@code null} if unknown)
+   * @param path normalized path to the resource ({@code null} if unknown)
+   * @return if more expressions should be visited
+   */
+  public boolean lock(final String db, final String path) {
+    return lock(db);
+  }
+
   /**
    * Notifies the visitor of an expression entering a focus. Overwritten by {@link MainModule}.
    */
@@ -26,6 +26,10 @@ public final class DataBuilder {
   private final MemData data;
   /** Full-text result builder. */
   private DataFTBuilder ftbuilder;
+  /** Pre value of the opened node ({@code -1}: no node has been opened). */
+  private int open = -1;
+  /** Pre value of the next node to be added to the opened node. */
+  private int next;
 
   /**
    * Constructor.
@@ -65,6 +69,57 @@ public final class DataBuilder {
     for(final ANode n : nodes) next = addNode(n, next, -1);
   }
 
+  /**
+   * Adds an element without child nodes. All nodes that will subsequently be added via
+   * {@link #add(ANode)} will be children of this element until {@link #close()} is called.
+   * @param qname name of the element
+   * @param ns namespaces
+   * @param atts attributes
+   */
+  public void open(final QNm qname, final Atts ns, final ANodeList atts) {
+    data.meta.update();
+    final int pre = data.meta.size, asize = atts.size() + 1;
+    data.nspaces.open(pre, ns);
+    data.elem(pre + 1, data.elemNames.put(qname.string()), asize, asize,
+        data.nspaces.uriId(qname.uri()), !ns.isEmpty());
+    data.insert(pre);
+    next = pre + 1;
+    for(final ANode attr : atts) next = addAttr(attr, next, pre);
+    open = pre;
+  }
+
+  /**
+   * Adds a document node without child nodes. All nodes that will subsequently be added via
+   * {@link #add(ANode)} will be children of this node until {@link #close()} is called.
+   * @param uri base uri
+   */
+  public void open(final byte[] uri) {
+    data.meta.update();
+    final int pre = data.meta.size;
+    data.doc(1, uri);
+    data.insert(pre);
+    next = pre + 1;
+    open = pre;
+  }
+
+  /**
+   * Adds a child node to the opened node.
+   * @param node node to be added
+   */
+  public void add(final ANode node) {
+    next = addNode(node, next, open);
+  }
+
+  /**
+   * Closes the opened node.
+   */
+  public void close() {
+    final int kind = data.kind(open);
+    if(kind == Data.ELEM) data.nspaces.close(open);
+    data.size(open, kind, next - open);
+    open = -1;
+  }
+
   /**
    * Adds a node.
    * @param node node to be added
@@ -201,8 +256,9 @@ public final class DataBuilder {
   private int addElem(final ANode node, final int pre, final int par) {
     final int last = data.meta.size;
 
-    // add new namespaces
-    final Atts ns = par == -1 ? node.nsScope(null) : node.namespaces();
+    // add new namespaces (copied database nodes: adopt namespaces of ancestors)
+    final Atts ns = par == -1 || par == open && node instanceof DBNode ? node.nsScope(null) :
+      node.namespaces();
     data.nspaces.open(last, ns);
 
     // collect node name properties
@@ -3,17 +3,20 @@ package org.basex.query.util;
 import static org.basex.query.QueryText.*;
 
 import java.util.*;
+import java.util.regex.*;
 
 import org.basex.data.*;
 import org.basex.index.*;
 import org.basex.index.query.*;
 import org.basex.index.stats.*;
+import org.basex.index.value.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.Expr.*;
 import org.basex.query.expr.index.*;
 import org.basex.query.expr.path.*;
 import org.basex.query.expr.path.Test.Kind;
+import org.basex.query.func.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.item.*;
@@ -69,8 +72,8 @@ public final class IndexInfo {
    * Checks if the specified expression can be rewritten for index access, and returns
    * the applicable index type.
    * @param input input (if {@code null}, no optimization will be possible)
-   * @param type proposed index type ({@link IndexType#TOKEN}, {@link IndexType#FULLTEXT},
-   * or {@code null})
+   * @param type proposed index type ({@link IndexType#TOKEN}, {@link IndexType#TRIGRAM},
+   * {@link IndexType#FULLTEXT}, or {@code null})
    * @return type of applicable index, or {@code null}
    */
   public IndexType type(final Expr input, final IndexType type) {
@@ -165,6 +168,36 @@ public final class IndexInfo {
     return true;
   }
 
+  /**
+   * Tries to rewrite a substring search for trigram index access. The trigrams of the
+   * specified string are looked up in the index, and the resulting candidates are verified
+   * by the original function.
+   * @param type index type (can be {@code null})
+   * @param string string that occurs in all results (can be {@code null})
+   * @param func function used for verifying the candidates
+   * @param pattern regular expression pattern (only required for {@link Function#MATCHES})
+   * @param info input info
+   * @return success flag
+   */
+  public boolean create(final IndexType type, final byte[] string, final Function func,
+      final Pattern pattern, final InputInfo info) {
+
+    // no index or search string is too short: no optimization
+    if(type != IndexType.TRIGRAM || string == null) return false;
+    final byte[][] trigrams = ValueIndex.trigrams(string);
+    if(trigrams.length == 0) return false;
+
+    // costs are limited by the least frequent trigram
+    final Data data = ic.data;
+    costs = Integer.MAX_VALUE;
+    for(final byte[] trigram : trigrams) {
+      costs = Math.min(costs, data.costs(new StringToken(type, trigram)));
+    }
+    create(new TrigramAccess(info, string, func, pattern, text, ic), true, info,
+        Util.info(OPTINDEX_X_X, type, Str.get(string)));
+    return true;
+  }
+
   /**
    * Creates an index expression with an inverted axis path.
    * @param root new root expression
@@ -192,6 +225,7 @@ public final class IndexInfo {
     return ic.data.meta.index(type) && (
       type == IndexType.FULLTEXT ? text :
       type == IndexType.TOKEN ? !text :
+      type == IndexType.TRIGRAM ? text || last.test.type == NodeType.ATT :
       type == IndexType.TEXT ? text :
       !text && last.test.type == NodeType.ATT
     );
@@ -46,6 +46,14 @@ public final class B64Stream extends B64 {
     }
   }
 
+  /**
+   * Returns the file that is referenced by this item.
+   * @return file, or {@code null} if the input is no file
+   */
+  public IOFile file() {
+    return input instanceof IOFile ? (IOFile) input : null;
+  }
+
   @Override
   public void materialize(final InputInfo ii) throws QueryException {
     try {
@@ -6,6 +6,7 @@ import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
+import org.basex.query.iter.*;
 import org.basex.util.*;
 
 /**
@@ -21,6 +22,8 @@ public final class StrStream extends AStr {
   private final String encoding;
   /** Error message. */
   private final QueryError error;
+  /** Error message for invalid characters. */
+  private final QueryError invalid;
   /** Validation flag. */
   private final boolean validate;
 
@@ -33,9 +36,23 @@ public final class StrStream extends AStr {
    */
   public StrStream(final IO input, final String encoding, final QueryError error,
       final boolean validate) {
+    this(input, encoding, error, error, validate);
+  }
+
+  /**
+   * Constructor.
+   * @param input input
+   * @param encoding encoding (may be null)
+   * @param error error message to be thrown
+   * @param invalid error message to be thrown for invalid characters
+   * @param validate validate flag
+   */
+  public StrStream(final IO input, final String encoding, final QueryError error,
+      final QueryError invalid, final boolean validate) {
     this.input = input;
     this.encoding = encoding;
     this.error = error;
+    this.invalid = invalid;
     this.validate = validate;
   }
 
@@ -61,19 +78,91 @@ public final class StrStream extends AStr {
       return ti;
     } catch(final IOException ex) {
       if(ti != null) try { ti.close(); } catch(final IOException ignore) { }
-      throw error.get(ii, ex);
+      throw error(ex, ii);
     }
   }
 
+  /**
+   * Returns an input with normalized line breaks.
+   * @param ii input info
+   * @return input
+   * @throws QueryException query exception
+   */
+  public NewlineInput newlineInput(final InputInfo ii) throws QueryException {
+    NewlineInput nli = null;
+    try {
+      if(value != null) return new NewlineInput(new ArrayInput(value));
+      nli = new NewlineInput(input);
+      nli.encoding(encoding).validate(validate);
+      return nli;
+    } catch(final IOException ex) {
+      if(nli != null) try { nli.close(); } catch(final IOException ignore) { }
+      throw error(ex, ii);
+    }
+  }
+
+  /**
+   * Returns a lazy iterator over the lines of the input. Line breaks will be normalized,
+   * and the input will be closed as soon as its end or the last requested line is reached,
+   * or after the query has been evaluated.
+   * @param offset number of lines to be skipped
+   * @param length maximum number of lines to be returned
+   * @param qc query context
+   * @param ii input info
+   * @return iterator
+   * @throws QueryException query exception
+   */
+  public Iter lines(final long offset, final long length, final QueryContext qc,
+      final InputInfo ii) throws QueryException {
+
+    final NewlineInput nli = newlineInput(ii);
+    final QueryInputs inputs = qc.resources.index(QueryInputs.class);
+    inputs.add(nli);
+    final TokenBuilder tb = new TokenBuilder();
+    return new Iter() {
+      long skip = offset, left = length;
+
+      @Override
+      public Item next() throws QueryException {
+        if(left <= 0) return null;
+        try {
+          boolean more = true;
+          for(; more && skip > 0; skip--) more = nli.readLine(tb);
+          if(more && nli.readLine(tb)) {
+            if(--left == 0) inputs.close(nli);
+            return Str.get(tb.toArray());
+          }
+          left = 0;
+          inputs.close(nli);
+          return null;
+        } catch(final IOException ex) {
+          left = 0;
+          inputs.close(nli);
+          throw error(ex, ii);
+        }
+      }
+    };
+  }
+
   @Override
   public void materialize(final InputInfo ii) throws QueryException {
     try {
       if(value == null) value = input(ii).content();
     } catch(final IOException ex) {
-      throw error.get(ii, ex);
+      throw error(ex, ii);
     }
   }
 
+  /**
+   * Returns a query exception for an I/O exception that was raised while reading the input.
+   * @param ex I/O exception
+   * @param ii input info
+   * @return query exception
+   */
+  public QueryException error(final IOException ex, final InputInfo ii) {
+    return (ex instanceof EncodingException ? invalid : error).get(ii, ex);
+  }
+
   @Override
   public String toString() {
     try {
@@ -31,7 +31,7 @@ public final class Map extends FItem {
   static final int BITS = 5;
 
   /** Wrapped immutable map. */
-  private final TrieNode root;
+  final TrieNode root;
   /** Key sequence. */
   private Value keys;
 
@@ -39,7 +39,7 @@ public final class Map extends FItem {
    * Constructor.
    * @param root map
    */
-  private Map(final TrieNode root) {
+  Map(final TrieNode root) {
     super(SeqType.ANY_MAP, new AnnList());
     this.root = root;
   }
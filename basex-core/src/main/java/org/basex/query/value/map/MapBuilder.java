@@ -0,0 +1,166 @@
+package org.basex.query.value.map;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * A builder for creating a {@link Map} by adding single bindings or other maps.
+ * In contrast to the persistent operations of {@link Map}, inner nodes that have been
+ * created by the builder will be modified in place until the map is frozen.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class MapBuilder {
+  /** Owner token of the nodes that may be modified (replaced when the map is frozen). */
+  private Object owner = new Object();
+  /** Root node. */
+  private TrieNode root = TrieNode.EMPTY;
+  /** Input info (can be {@code null}). */
+  private final InputInfo info;
+
+  /**
+   * Constructor.
+   * @param info input info (can be {@code null})
+   */
+  public MapBuilder(final InputInfo info) {
+    this.info = info;
+  }
+
+  /**
+   * Adds a binding and replaces an existing key.
+   * @param key key to insert
+   * @param value value to insert
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public MapBuilder put(final Item key, final Value value) throws QueryException {
+    return add(key, value, MergeDuplicates.USE_LAST);
+  }
+
+  /**
+   * Adds a binding.
+   * @param key key to insert
+   * @param value value to insert
+   * @param merge merge duplicates
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public MapBuilder add(final Item key, final Value value, final MergeDuplicates merge)
+      throws QueryException {
+    root = add(root, new TrieLeaf(key.hash(info), key, value), 0, merge);
+    return this;
+  }
+
+  /**
+   * Adds all bindings of the specified map.
+   * @param map map to add
+   * @param merge merge duplicates
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public MapBuilder add(final Map map, final MergeDuplicates merge) throws QueryException {
+    final TrieNode node = map.root;
+    if(node.size > root.size) {
+      // large maps will be merged by sharing their nodes
+      root = root.addAll(node, 0, merge, info);
+    } else {
+      addAll(node, merge);
+    }
+    return this;
+  }
+
+  /**
+   * Checks if the given key exists in the map.
+   * @param key key to look for
+   * @return result of check
+   * @throws QueryException query exception
+   */
+  public boolean contains(final Item key) throws QueryException {
+    return root.contains(key.hash(info), key, 0, info);
+  }
+
+  /**
+   * Returns the value bound to the given key.
+   * @param key key to look up
+   * @return bound value if found, {@code null} otherwise
+   * @throws QueryException query exception
+   */
+  public Value get(final Item key) throws QueryException {
+    return root.get(key.hash(info), key, 0, info);
+  }
+
+  /**
+   * Returns the number of bindings.
+   * @return number of bindings
+   */
+  public int size() {
+    return root.size;
+  }
+
+  /**
+   * Returns the resulting map. Nodes that are shared with the map will not be modified anymore
+   * if the builder is used again.
+   * @return map
+   */
+  public Map freeze() {
+    owner = new Object();
+    return root.size == 0 ? Map.EMPTY : new Map(root);
+  }
+
+  /**
+   * Adds all bindings of the specified node.
+   * @param node node
+   * @param merge merge duplicates
+   * @throws QueryException query exception
+   */
+  private void addAll(final TrieNode node, final MergeDuplicates merge) throws QueryException {
+    if(node instanceof TrieBranch) {
+      for(final TrieNode kid : ((TrieBranch) node).kids) {
+        if(kid != null) addAll(kid, merge);
+      }
+    } else if(node instanceof TrieLeaf) {
+      final TrieLeaf leaf = (TrieLeaf) node;
+      root = add(root, leaf, 0, merge);
+    } else if(node instanceof TrieList) {
+      final TrieList list = (TrieList) node;
+      for(int l = 0; l < list.size; l++) {
+        root = add(root, new TrieLeaf(list.hash, list.keys[l], list.values[l]), 0, merge);
+      }
+    }
+  }
+
+  /**
+   * Adds a leaf to the specified node. Branches owned by this builder will be modified in place;
+   * all other branches will be copied once and owned by the builder from now on.
+   * @param node node
+   * @param leaf leaf to insert
+   * @param lvl level
+   * @param merge merge duplicates
+   * @return updated node
+   * @throws QueryException query exception
+   */
+  private TrieNode add(final TrieNode node, final TrieLeaf leaf, final int lvl,
+      final MergeDuplicates merge) throws QueryException {
+
+    // leaves, collision lists and empty nodes: resort to persistent operation
+    if(!(node instanceof TrieBranch)) return node.addAll(leaf, lvl, merge, info);
+
+    final TrieBranch branch = (TrieBranch) node;
+    final int k = TrieNode.key(leaf.hash, lvl);
+    final TrieNode sub = branch.kids[k];
+    // sub node may be modified in place: remember original size
+    final int size = sub == null ? 0 : sub.size;
+    final TrieNode nsub = sub == null ? leaf : add(sub, leaf, lvl + 1, merge);
+    if(nsub == sub && nsub.size == size) return branch;
+
+    final TrieBranch nb = branch.owner == owner ? branch :
+      new TrieBranch(branch.copyKids(), branch.used, branch.size, owner);
+    nb.kids[k] = nsub;
+    nb.used |= 1 << k;
+    nb.size += nsub.size - size;
+    return nb;
+  }
+}
@@ -15,9 +15,11 @@ import org.basex.util.*;
  */
 final class TrieBranch extends TrieNode {
   /** Child array. */
-  private final TrieNode[] kids;
+  final TrieNode[] kids;
   /** Bit array with a bit set for every used slot. */
-  final int used;
+  int used;
+  /** Owner token of the {@link MapBuilder} that may modify this node (can be {@code null}). */
+  final Object owner;
 
   /**
    * Constructor taking children array and the size of this map.
@@ -26,9 +28,21 @@ final class TrieBranch extends TrieNode {
    * @param size size of this node
    */
   TrieBranch(final TrieNode[] kids, final int used, final int size) {
+    this(kids, used, size, null);
+  }
+
+  /**
+   * Constructor for a node that is owned by a map builder.
+   * @param kids children
+   * @param used bit array
+   * @param size size of this node
+   * @param owner owner token (can be {@code null})
+   */
+  TrieBranch(final TrieNode[] kids, final int used, final int size, final Object owner) {
     super(size);
     this.kids = kids;
     this.used = used;
+    this.owner = owner;
     assert verify();
   }
 
@@ -128,8 +142,8 @@ final class TrieBranch extends TrieNode {
     final TrieNode[] ks = copyKids();
     ks[k] = nw;
 
-    // we don't replace here, so the size must increase
-    return new TrieBranch(ks, used | 1 << k, size + 1);
+    // size will not increase if a duplicate was merged
+    return new TrieBranch(ks, used | 1 << k, size + nw.size - (ch != null ? ch.size : 0));
   }
 
   @Override
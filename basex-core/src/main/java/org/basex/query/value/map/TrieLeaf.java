@@ -127,8 +127,20 @@ final class TrieLeaf extends TrieNode {
         if(key.sameKey(o.keys[i], ii)) {
           final Item[] ks = o.keys.clone();
           final Value[] vs = o.values.clone();
-          ks[i] = key;
-          vs[i] = value;
+          switch(merge) {
+            case USE_FIRST:
+            case UNSPECIFIED:
+              return o;
+            case USE_LAST:
+              ks[i] = key;
+              vs[i] = value;
+              break;
+            case COMBINE:
+              vs[i] = ValueBuilder.concat(vs[i], value);
+              break;
+            default:
+              throw MERGE_DUPLICATE_X.get(ii, key);
+          }
           return new TrieList(hash, ks, vs);
         }
       }
@@ -296,7 +296,7 @@ final class TrieList extends TrieNode {
     outer: for(int i = 0; i < size; i++) {
       final Item k = keys[i];
       for(int j = 0; j < size; j++) {
-        if(k.sameKey(ol.keys[i], ii)) {
+        if(k.sameKey(ol.keys[j], ii)) {
           // check bound value, too
           if(!deep(values[i], ol.values[j], coll, ii)) return false;
           // value matched, continue with next key
@@ -66,8 +66,8 @@ abstract class TrieNode {
     StringBuilder append(final StringBuilder sb) { return sb; }
   };
 
-  /** Size of this node. */
-  final int size;
+  /** Size of this node (will only be modified by the {@link MapBuilder} that owns the node). */
+  int size;
   /**
    * Constructor.
    * @param size size
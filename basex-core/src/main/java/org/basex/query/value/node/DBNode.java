@@ -225,6 +225,7 @@ public class DBNode extends ANode {
   @Override
   public final DBNode dbNodeCopy(final MainOptions opts) {
     final MemData md = new MemData(opts);
+    md.fragment = data.fragment;
     new DataBuilder(md).build(this);
     return new DBNode(md).parent(parent);
   }
@@ -342,6 +343,27 @@ public class DBNode extends ANode {
     };
   }
 
+  /**
+   * Returns an iterator for elements with the specified pre values.
+   * @param pres sorted pre values of elements
+   * @param first index of the first pre value
+   * @param end pre value at which the iteration will be stopped (exclusive)
+   * @return iterator
+   */
+  public final DBNodeIter elements(final int[] pres, final int first, final int end) {
+    return new DBNodeIter(data) {
+      final DBNode node = finish();
+      int p = first;
+
+      @Override
+      public DBNode next() {
+        if(p == pres.length || pres[p] >= end) return null;
+        node.set(pres[p++], Data.ELEM);
+        return node;
+      }
+    };
+  }
+
   @Override
   public final DBNodeIter descendant() {
     return new DBNodeIter(data) {
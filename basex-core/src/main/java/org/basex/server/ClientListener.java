@@ -17,6 +17,7 @@ import org.basex.query.*;
 import org.basex.server.Log.LogType;
 import org.basex.util.*;
 import org.basex.util.list.*;
+import org.basex.util.metrics.*;
 
 /**
  * Server-side client session in the client-server architecture.
@@ -78,6 +79,7 @@ public final class ClientListener extends Thread implements ClientInfo {
         command = null;
         String cmd;
         final ServerCmd sc;
+        final long start;
         try {
           final int b = in.read();
           if(b == -1) {
@@ -87,6 +89,7 @@ public final class ClientListener extends Thread implements ClientInfo {
           }
 
           last = System.currentTimeMillis();
+          start = System.nanoTime();
           perf.time();
           sc = ServerCmd.get(b);
           cmd = null;
@@ -109,7 +112,10 @@ public final class ClientListener extends Thread implements ClientInfo {
           close();
           break;
         }
-        if(sc != ServerCmd.COMMAND) continue;
+        if(sc != ServerCmd.COMMAND) {
+          Metrics.COMMANDS.time(start);
+          continue;
+        }
 
         // parse input and create command instance
         try {
@@ -147,6 +153,7 @@ public final class ClientListener extends Thread implements ClientInfo {
         out.write(0);
         // send info
         info(info, ok);
+        Metrics.COMMANDS.time(start);
 
         // stop console
         if(command instanceof Exit) {
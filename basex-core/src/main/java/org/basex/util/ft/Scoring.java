@@ -11,6 +11,10 @@ import static java.lang.StrictMath.*;
 public final class Scoring {
   /** Logarithmic base for calculating the score value. */
   private static final double LOG = Math.E - 1;
+  /** BM25: saturation of term frequencies. */
+  private static final double K1 = 1.2;
+  /** BM25: impact of the text length. */
+  private static final double B = 0.75;
 
   /** Private constructor. */
   private Scoring() { }
@@ -74,4 +78,42 @@ public final class Scoring {
       final int length) {
     return max((double) number / size, log(token * number + 1) / log(length + 1));
   }
+
+  /**
+   * Calculates the BM25 score of a single term in a text node. The inverse document
+   * frequency is divided by its maximum, and the term frequency component is divided by
+   * {@code K1 + 1}, so the returned value will be in the range {@code [0, 1]}.
+   * @param tf number of occurrences of the term in the text
+   * @param df number of texts containing the term
+   * @param texts total number of indexed texts
+   * @param length text length
+   * @param avg average text length
+   * @return score
+   */
+  public static double bm25(final int tf, final int df, final int texts, final double length,
+      final double avg) {
+    return idf(df, texts) * tf / (tf + K1 * (1 - B + B * length / avg));
+  }
+
+  /**
+   * Returns an upper bound for the BM25 scores of a term.
+   * @param tf maximum number of occurrences of the term in a single text
+   * @param df number of texts containing the term
+   * @param texts total number of indexed texts
+   * @return maximum score
+   */
+  public static double bm25(final int tf, final int df, final int texts) {
+    return idf(df, texts) * tf / (tf + K1 * (1 - B));
+  }
+
+  /**
+   * Returns the inverse document frequency of a term, divided by the maximum value.
+   * @param df number of texts containing the term
+   * @param texts total number of indexed texts
+   * @return inverse document frequency
+   */
+  private static double idf(final int df, final int texts) {
+    final int n = max(texts, df);
+    return log(1 + (n - df + 0.5) / (df + 0.5)) / log(1 + (n + 0.5) / 0.5);
+  }
 }
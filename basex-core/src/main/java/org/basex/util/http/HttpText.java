@@ -26,6 +26,16 @@ public interface HttpText {
   String LOCATION = "Location";
   /** HTTP header: Accept. */
   String ACCEPT = "Accept";
+  /** HTTP header: Content-Length. */
+  String CONTENT_LENGTH = "Content-Length";
+  /** HTTP header: Range. */
+  String RANGE = "Range";
+  /** HTTP header: Content-Range. */
+  String CONTENT_RANGE = "Content-Range";
+  /** HTTP header: Accept-Ranges. */
+  String ACCEPT_RANGES = "Accept-Ranges";
+  /** Range unit. */
+  String BYTES = "bytes";
 
   /** HTTP basic authentication. */
   String BASIC = "Basic";
@@ -0,0 +1,64 @@
+package org.basex.util.metrics;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Monotonically increasing counter. Increments are distributed over several padded cells,
+ * indexed by the current thread, in order to reduce contention on hot paths.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class Counter extends Metric {
+  /** Number of cells (must be 1 << n). */
+  private static final int CELLS = 1 << 4;
+  /** Distance between two cells (avoids false sharing of cache lines). */
+  private static final int PAD = 8;
+  /** Cells. */
+  private final AtomicLongArray cells = new AtomicLongArray(CELLS * PAD);
+
+  /**
+   * Constructor.
+   * @param name name
+   * @param help description
+   * @param labels labels (key/value pairs)
+   */
+  Counter(final String name, final String help, final String... labels) {
+    super(name, help, labels);
+  }
+
+  /**
+   * Increments the counter.
+   */
+  public void inc() {
+    add(1);
+  }
+
+  /**
+   * Adds the specified value.
+   * @param value value to be added
+   */
+  public void add(final long value) {
+    cells.addAndGet(((int) Thread.currentThread().getId() & CELLS - 1) * PAD, value);
+  }
+
+  /**
+   * Returns the current value.
+   * @return value
+   */
+  public long get() {
+    long sum = 0;
+    for(int c = 0; c < CELLS; c++) sum += cells.get(c * PAD);
+    return sum;
+  }
+
+  @Override
+  public String type() {
+    return "counter";
+  }
+
+  @Override
+  void text(final StringBuilder sb) {
+    sample(sb, "", null, get());
+  }
+}
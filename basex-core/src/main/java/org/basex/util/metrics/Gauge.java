@@ -0,0 +1,56 @@
+package org.basex.util.metrics;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Gauge, representing a value that can go up and down.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class Gauge extends Metric {
+  /** Value. */
+  private final AtomicLong value = new AtomicLong();
+
+  /**
+   * Constructor.
+   * @param name name
+   * @param help description
+   * @param labels labels (key/value pairs)
+   */
+  Gauge(final String name, final String help, final String... labels) {
+    super(name, help, labels);
+  }
+
+  /**
+   * Increments the value.
+   */
+  public void inc() {
+    value.incrementAndGet();
+  }
+
+  /**
+   * Decrements the value.
+   */
+  public void dec() {
+    value.decrementAndGet();
+  }
+
+  /**
+   * Returns the current value.
+   * @return value
+   */
+  public long get() {
+    return value.get();
+  }
+
+  @Override
+  public String type() {
+    return "gauge";
+  }
+
+  @Override
+  void text(final StringBuilder sb) {
+    sample(sb, "", null, get());
+  }
+}
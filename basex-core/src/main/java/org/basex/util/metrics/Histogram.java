@@ -0,0 +1,149 @@
+package org.basex.util.metrics;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Latency histogram with log-linear buckets (HDR style): each power of two is split into
+ * {@link #SUB} linear sub-buckets, which limits the relative error of the reported quantiles
+ * to 12.5%, independently of the magnitude of the recorded values. Values are recorded in
+ * nanoseconds and exposed in seconds.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class Histogram extends Metric {
+  /** Reported quantiles. */
+  public static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+  /** Number of linear sub-buckets per power of two (must be 1 << n). */
+  private static final int SUB = 1 << 3;
+  /** Bit shift for sub-buckets. */
+  private static final int SHIFT = 3;
+  /** Number of buckets. */
+  private static final int BUCKETS = SUB + (63 - SHIFT) * SUB;
+
+  /** Bucket counts. */
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  /** Number of recorded values. */
+  private final AtomicLong count = new AtomicLong();
+  /** Sum of recorded values. */
+  private final AtomicLong sum = new AtomicLong();
+  /** Maximum recorded value. */
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Constructor.
+   * @param name name
+   * @param help description
+   * @param labels labels (key/value pairs)
+   */
+  Histogram(final String name, final String help, final String... labels) {
+    super(name, help, labels);
+  }
+
+  /**
+   * Records the time that has passed since the specified start time.
+   * @param start start time, obtained via {@link System#nanoTime()}
+   */
+  public void time(final long start) {
+    record(System.nanoTime() - start);
+  }
+
+  /**
+   * Records a value.
+   * @param value value (nanoseconds)
+   */
+  public void record(final long value) {
+    final long v = Math.max(0, value);
+    counts.incrementAndGet(index(v));
+    count.incrementAndGet();
+    sum.addAndGet(v);
+    for(long m; v > (m = max.get()) && !max.compareAndSet(m, v););
+  }
+
+  /**
+   * Returns the number of recorded values.
+   * @return count
+   */
+  public long count() {
+    return count.get();
+  }
+
+  /**
+   * Returns the sum of all recorded values.
+   * @return sum (nanoseconds)
+   */
+  public long sum() {
+    return sum.get();
+  }
+
+  /**
+   * Returns the maximum recorded value.
+   * @return maximum (nanoseconds)
+   */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * Returns an estimate for the specified quantile.
+   * @param quantile quantile (between 0 and 1)
+   * @return value (nanoseconds), or {@code 0} if no values have been recorded
+   */
+  public long quantile(final double quantile) {
+    final long total = count.get();
+    if(total == 0) return 0;
+    final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for(int b = 0; b < BUCKETS; b++) {
+      seen += counts.get(b);
+      if(seen >= rank) return Math.min(upper(b), max.get());
+    }
+    return max.get();
+  }
+
+  /**
+   * Returns the bucket index for the specified value.
+   * @param value non-negative value
+   * @return index
+   */
+  static int index(final long value) {
+    if(value < SUB) return (int) value;
+    final int exp = 63 - Long.numberOfLeadingZeros(value);
+    return SUB + (exp - SHIFT) * SUB + (int) (value >>> exp - SHIFT & SUB - 1);
+  }
+
+  /**
+   * Returns the largest value of the specified bucket.
+   * @param index bucket index
+   * @return value
+   */
+  static long upper(final int index) {
+    if(index < SUB) return index;
+    final int exp = (index - SUB) / SUB, sub = (index - SUB) % SUB;
+    final long low = (long) (SUB + sub) << exp;
+    return low + (1L << exp) - 1;
+  }
+
+  @Override
+  public String type() {
+    return "summary";
+  }
+
+  @Override
+  void text(final StringBuilder sb) {
+    for(final double q : QUANTILES) {
+      sample(sb, "", "quantile=\"" + q + '"', seconds(quantile(q)));
+    }
+    sample(sb, "_sum", null, seconds(sum()));
+    sample(sb, "_count", null, count());
+  }
+
+  /**
+   * Converts nanoseconds to seconds.
+   * @param nano nanoseconds
+   * @return seconds
+   */
+  static double seconds(final long nano) {
+    return nano / 1e9;
+  }
+}
@@ -0,0 +1,77 @@
+package org.basex.util.metrics;
+
+/**
+ * Abstract runtime metric.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public abstract class Metric {
+  /** Name. */
+  public final String name;
+  /** Description. */
+  public final String help;
+  /** Labels (empty, or comma-separated {@code key="value"} pairs). */
+  public final String labels;
+
+  /**
+   * Constructor.
+   * @param name name
+   * @param help description
+   * @param labels labels (key/value pairs)
+   */
+  Metric(final String name, final String help, final String... labels) {
+    this.name = name;
+    this.help = help;
+    final StringBuilder sb = new StringBuilder();
+    final int ll = labels.length;
+    for(int l = 0; l < ll - 1; l += 2) {
+      if(sb.length() != 0) sb.append(',');
+      sb.append(labels[l]).append("=\"").append(labels[l + 1]).append('"');
+    }
+    this.labels = sb.toString();
+  }
+
+  /**
+   * Returns the metric type.
+   * @return type ({@code counter}, {@code gauge} or {@code summary})
+   */
+  public abstract String type();
+
+  /**
+   * Writes the metric in the Prometheus text exposition format.
+   * @param sb string builder
+   */
+  abstract void text(StringBuilder sb);
+
+  /**
+   * Writes a single sample.
+   * @param sb string builder
+   * @param suffix name suffix
+   * @param label additional label (can be {@code null})
+   * @param value value
+   */
+  final void sample(final StringBuilder sb, final String suffix, final String label,
+      final Object value) {
+    sb.append(name).append(suffix);
+    if(!labels.isEmpty() || label != null) {
+      sb.append('{').append(labels);
+      if(label != null) sb.append(labels.isEmpty() ? "" : ",").append(label);
+      sb.append('}');
+    }
+    sb.append(' ').append(value).append('\n');
+  }
+
+  /**
+   * Returns the unique key of this metric.
+   * @return key
+   */
+  final String key() {
+    return labels.isEmpty() ? name : name + '{' + labels + '}';
+  }
+
+  @Override
+  public String toString() {
+    return key();
+  }
+}
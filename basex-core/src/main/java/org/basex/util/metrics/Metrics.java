@@ -0,0 +1,152 @@
+package org.basex.util.metrics;
+
+import java.lang.management.*;
+import java.util.*;
+
+import javax.management.*;
+
+import org.basex.util.*;
+
+/**
+ * Process-wide registry of runtime metrics. The metrics can be accessed via JMX
+ * (object name {@link #OBJECT_NAME}), via XQuery ({@code admin:metrics}), and in the
+ * text exposition format of Prometheus (see {@link #text()}).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class Metrics {
+  /** JMX object name. */
+  public static final String OBJECT_NAME = "org.basex:type=Metrics";
+  /** Registered metrics. */
+  private static final Map<String, Metric> METRICS = new LinkedHashMap<>();
+
+  /** Time spent by jobs in the queue (waiting for a free slot, see PARALLEL). */
+  public static final Histogram JOB_QUEUE = histogram("basex_job_queue_seconds",
+      "Time spent by jobs in the job queue");
+  /** Time spent by jobs for acquiring database locks. */
+  public static final Histogram LOCK_WAIT = histogram("basex_lock_wait_seconds",
+      "Time spent by jobs for acquiring locks");
+  /** Number of jobs that were queued because the job limit was reached. */
+  public static final Counter JOBS_THROTTLED = counter("basex_jobs_throttled_total",
+      "Number of jobs that were queued because the job limit was reached");
+  /** Number of currently queued jobs. */
+  public static final Gauge JOBS_QUEUED = gauge("basex_jobs_queued",
+      "Number of currently queued jobs");
+  /** Number of currently running jobs. */
+  public static final Gauge JOBS_RUNNING = gauge("basex_jobs_running",
+      "Number of currently running jobs");
+  /** Buffer hits. */
+  public static final Counter BUFFER_HITS = counter("basex_buffer_hits_total",
+      "Number of block accesses served by the buffers of table and data files");
+  /** Buffer misses. */
+  public static final Counter BUFFER_MISSES = counter("basex_buffer_misses_total",
+      "Number of block accesses that required disk reads");
+  /** Index cache hits. */
+  public static final Counter INDEX_CACHE_HITS = counter("basex_index_cache_hits_total",
+      "Number of index lookups served by the index cache");
+  /** Index cache misses. */
+  public static final Counter INDEX_CACHE_MISSES = counter("basex_index_cache_misses_total",
+      "Number of index lookups not served by the index cache");
+  /** Execution time of client commands. */
+  public static final Histogram COMMANDS = histogram("basex_server_command_seconds",
+      "Execution time of client/server commands");
+
+  /** Private constructor. */
+  private Metrics() { }
+
+  /**
+   * Returns a counter with the specified name and labels. A new counter will be registered
+   * if it does not exist yet.
+   * @param name name
+   * @param help description
+   * @param labels labels (key/value pairs)
+   * @return counter
+   */
+  public static Counter counter(final String name, final String help, final String... labels) {
+    return register(new Counter(name, help, labels));
+  }
+
+  /**
+   * Returns a gauge with the specified name and labels. A new gauge will be registered
+   * if it does not exist yet.
+   * @param name name
+   * @param help description
+   * @param labels labels (key/value pairs)
+   * @return gauge
+   */
+  public static Gauge gauge(final String name, final String help, final String... labels) {
+    return register(new Gauge(name, help, labels));
+  }
+
+  /**
+   * Returns a histogram with the specified name and labels. A new histogram will be registered
+   * if it does not exist yet.
+   * @param name name
+   * @param help description
+   * @param labels labels (key/value pairs)
+   * @return histogram
+   */
+  public static Histogram histogram(final String name, final String help,
+      final String... labels) {
+    return register(new Histogram(name, help, labels));
+  }
+
+  /**
+   * Registers a metric, or returns an existing metric with the same name and labels.
+   * @param <M> metric type
+   * @param metric metric
+   * @return registered metric
+   */
+  @SuppressWarnings("unchecked")
+  private static synchronized <M extends Metric> M register(final M metric) {
+    final String key = metric.key();
+    final Metric m = METRICS.get(key);
+    if(m != null) {
+      if(m.getClass() != metric.getClass()) throw Util.notExpected("Metric exists: %", key);
+      return (M) m;
+    }
+    METRICS.put(key, metric);
+    return metric;
+  }
+
+  /**
+   * Returns all registered metrics.
+   * @return metrics
+   */
+  public static synchronized Metric[] all() {
+    return METRICS.values().toArray(new Metric[METRICS.size()]);
+  }
+
+  /**
+   * Returns all metrics in the text exposition format of Prometheus.
+   * @return string
+   */
+  public static String text() {
+    final StringBuilder sb = new StringBuilder();
+    String name = null;
+    for(final Metric metric : all()) {
+      if(!metric.name.equals(name)) {
+        name = metric.name;
+        sb.append("# HELP ").append(name).append(' ').append(metric.help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(metric.type()).append('\n');
+      }
+      metric.text(sb);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Registers the metrics at the platform MBean server. Does nothing if the metrics have
+   * already been registered.
+   */
+  public static synchronized void register() {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName on = new ObjectName(OBJECT_NAME);
+      if(!server.isRegistered(on)) server.registerMBean(new MetricsBean(), on);
+    } catch(final JMException ex) {
+      Util.debug(ex);
+    }
+  }
+}
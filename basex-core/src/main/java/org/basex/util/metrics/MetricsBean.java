@@ -0,0 +1,88 @@
+package org.basex.util.metrics;
+
+import java.util.*;
+
+import javax.management.*;
+
+/**
+ * Dynamic MBean, exposing all registered metrics as read-only attributes.
+ * Histograms are exposed as multiple attributes (count, sum, quantiles and maximum).
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+final class MetricsBean implements DynamicMBean {
+  /** Attribute suffixes for quantiles (see {@link Histogram#QUANTILES}). */
+  private static final String[] QUANTILES = { "_p50", "_p90", "_p99", "_p999" };
+
+  @Override
+  public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+    final Object value = values().get(attribute);
+    if(value == null) throw new AttributeNotFoundException(attribute);
+    return value;
+  }
+
+  @Override
+  public AttributeList getAttributes(final String[] attributes) {
+    final Map<String, Object> values = values();
+    final AttributeList list = new AttributeList();
+    for(final String attribute : attributes) {
+      final Object value = values.get(attribute);
+      if(value != null) list.add(new Attribute(attribute, value));
+    }
+    return list;
+  }
+
+  @Override
+  public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+    throw new AttributeNotFoundException("Attributes are read-only.");
+  }
+
+  @Override
+  public AttributeList setAttributes(final AttributeList attributes) {
+    return new AttributeList();
+  }
+
+  @Override
+  public Object invoke(final String action, final Object[] params, final String[] signature)
+      throws ReflectionException {
+    throw new ReflectionException(new NoSuchMethodException(action));
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo() {
+    final ArrayList<MBeanAttributeInfo> infos = new ArrayList<>();
+    for(final Map.Entry<String, Object> entry : values().entrySet()) {
+      infos.add(new MBeanAttributeInfo(entry.getKey(), entry.getValue().getClass().getName(),
+          entry.getKey(), true, false, false));
+    }
+    return new MBeanInfo(getClass().getName(), "BaseX runtime metrics",
+        infos.toArray(new MBeanAttributeInfo[infos.size()]), null, null, null);
+  }
+
+  /**
+   * Returns the current values of all metrics.
+   * @return attribute names and values
+   */
+  private static Map<String, Object> values() {
+    final Map<String, Object> map = new LinkedHashMap<>();
+    for(final Metric metric : Metrics.all()) {
+      final String key = metric.key().replaceAll("[^\\w]+", "_").replaceAll("_$", "");
+      if(metric instanceof Counter) {
+        map.put(key, ((Counter) metric).get());
+      } else if(metric instanceof Gauge) {
+        map.put(key, ((Gauge) metric).get());
+      } else if(metric instanceof Histogram) {
+        final Histogram hist = (Histogram) metric;
+        map.put(key + "_count", hist.count());
+        map.put(key + "_sum", Histogram.seconds(hist.sum()));
+        final int ql = QUANTILES.length;
+        for(int q = 0; q < ql; q++) {
+          map.put(key + QUANTILES[q], Histogram.seconds(hist.quantile(Histogram.QUANTILES[q])));
+        }
+        map.put(key + "_max", Histogram.seconds(hist.max()));
+      }
+    }
+    return map;
+  }
+}
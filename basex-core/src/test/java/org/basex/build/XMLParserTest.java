@@ -115,4 +115,29 @@ public final class XMLParserTest extends SandboxTest {
       assertEquals("Internal parser: " + b, out, query("."));
     }
   }
+
+  /**
+   * Compares the results of the internal parser and the default parser
+   * for documents with longer texts, names and attribute values.
+   */
+  @Test
+  public void runs() {
+    set(MainOptions.CHOP, false);
+    set(MainOptions.SERIALIZER, SerializerMode.NOINDENT.get());
+
+    final String[] docs = {
+      "<long-element.name_1 attribute-name.x='value'>text</long-element.name_1>",
+      "<x a='line\nbreak tab &amp; &lt;' b=\"'\">A\nB\r\nC\rD</x>",
+      "<x>a &amp; b &#x20AC; c<![CDATA[<&>]]>d ] e ]] f</x>",
+      "<x \u00e4='\u00f6\u20ac\ud83d\ude00'>\u00e4\u00f6\u00fc \u20ac \ud83d\ude00 end</x>",
+    };
+    for(final String doc : docs) {
+      set(MainOptions.INTPARSE, false);
+      execute(new CreateDB(NAME, doc));
+      final String expected = query(".");
+      set(MainOptions.INTPARSE, true);
+      execute(new CreateDB(NAME, doc));
+      assertEquals(doc, expected, query("."));
+    }
+  }
 }
@@ -0,0 +1,155 @@
+package org.basex.core;
+
+import static org.junit.Assert.*;
+
+import java.util.zip.*;
+
+import org.basex.*;
+import org.basex.core.cmd.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.query.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for incremental database backups.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class BackupTest extends SandboxTest {
+  /** Query for counting the elements of the database. */
+  private static final String COUNT = "count(db:open('" + NAME + "')//b)";
+
+  /** Resets the options. */
+  @After
+  public void finish() {
+    set(MainOptions.INCBACKUP, false);
+    execute(new DropBackup(NAME));
+    execute(new DropDB(NAME));
+  }
+
+  /**
+   * Creates and restores incremental backups.
+   * @throws Exception exception
+   */
+  @Test
+  public void incremental() throws Exception {
+    execute(new CreateDB(NAME, "<a/>"));
+    execute(new Close());
+    execute(new CreateBackup(NAME));
+    set(MainOptions.INCBACKUP, true);
+
+    // unchanged database: only the manifest will be stored (backups are named by seconds)
+    Performance.sleep(1000);
+    execute(new CreateBackup(NAME));
+    final String unchanged = context.databases.backups(NAME).get(0);
+    assertEquals(1, entries(unchanged));
+
+    // updated database
+    Performance.sleep(1000);
+    execute(new XQuery("insert node <b/> into db:open('" + NAME + "')/a"));
+    execute(new CreateBackup(NAME));
+    final StringList backups = context.databases.backups(NAME);
+    assertEquals(3, backups.size());
+    final String updated = backups.get(0), full = backups.get(2);
+
+    execute(new DropDB(NAME));
+    execute(new Restore(updated));
+    assertEquals("1", query(COUNT));
+    execute(new Restore(unchanged));
+    assertEquals("0", query(COUNT));
+
+    // backup with unchanged files is missing: database will not be dropped
+    assertTrue(context.soptions.dbPath(full + IO.ZIPSUFFIX).delete());
+    try {
+      new Restore(unchanged).execute(context);
+      fail("Restore should fail.");
+    } catch(final BaseXException ex) {
+      assertEquals("0", query(COUNT));
+    }
+  }
+
+  /**
+   * Rejects dropping backups whose files are referenced by other backups.
+   * @throws Exception exception
+   */
+  @Test
+  public void drop() throws Exception {
+    execute(new CreateDB(NAME, "<a/>"));
+    execute(new Close());
+    execute(new CreateBackup(NAME));
+    set(MainOptions.INCBACKUP, true);
+    Performance.sleep(1000);
+    execute(new CreateBackup(NAME));
+    final StringList backups = context.databases.backups(NAME);
+    final String inc = backups.get(0), full = backups.get(1);
+
+    // referenced backup cannot be dropped, neither via command nor via XQuery
+    try {
+      new DropBackup(full).execute(context);
+      fail("Referenced backup should not be dropped.");
+    } catch(final BaseXException ex) {
+      assertEquals(2, context.databases.backups(NAME).size());
+    }
+    try {
+      new XQuery("db:drop-backup('" + full + "')").execute(context);
+      fail("Referenced backup should not be dropped.");
+    } catch(final BaseXException ex) {
+      assertTrue(ex.getMessage().contains(QueryError.BXDB_REFBACKUP_X_X.code));
+      assertEquals(2, context.databases.backups(NAME).size());
+    }
+
+    // referencing backup can be dropped; afterwards, the referenced backup can be dropped
+    execute(new DropBackup(inc));
+    execute(new DropBackup(full));
+    assertEquals(0, context.databases.backups(NAME).size());
+
+    // all backups of a database can be dropped at once
+    execute(new CreateBackup(NAME));
+    Performance.sleep(1000);
+    execute(new CreateBackup(NAME));
+    execute(new XQuery("db:drop-backup('" + NAME + "')"));
+    assertEquals(0, context.databases.backups(NAME).size());
+  }
+
+  /**
+   * Detects changed files with identical sizes and timestamps.
+   * @throws Exception exception
+   */
+  @Test
+  public void checksums() throws Exception {
+    execute(new CreateDB(NAME, "<a/>"));
+    execute(new Close());
+    set(MainOptions.INCBACKUP, true);
+    execute(new CreateBackup(NAME));
+
+    // change contents of a database file, preserve size and timestamp
+    final IOFile file = new IOFile(context.soptions.dbPath(NAME),
+        DataText.DATAINF + IO.BASEXSUFFIX);
+    final long time = file.timeStamp();
+    final byte[] contents = file.read();
+    contents[contents.length - 1]++;
+    file.write(contents);
+    file.file().setLastModified(time);
+
+    Performance.sleep(1000);
+    execute(new CreateBackup(NAME));
+    assertEquals(2, entries(context.databases.backups(NAME).get(0)));
+  }
+
+  /**
+   * Returns the number of entries of a backup.
+   * @param backup name of the backup
+   * @return number of entries
+   * @throws Exception exception
+   */
+  private static int entries(final String backup) throws Exception {
+    try(ZipFile zf = new ZipFile(context.soptions.dbPath(backup + ".zip").file())) {
+      return zf.size();
+    }
+  }
+}
@@ -222,7 +222,8 @@ public final class CommandLockingTest extends SandboxTest {
     ckDBs(new XQuery(_DB_ATTRIBUTE.args(NAME, 23, 42)), false, NAME_LIST);
     ckDBs(new XQuery(_DB_NODE_ID.args(" .")), false, CTX_LIST);
     ckDBs(new XQuery(_DB_NODE_PRE.args(" .")), false, CTX_LIST);
-    ckDBs(new XQuery(_DB_RETRIEVE.args(NAME, "foo")), false, NAME_LIST);
+    ckDBs(new XQuery(_DB_RETRIEVE.args(NAME, "foo")), false,
+        new LockList().add(NAME).add(Locking.resource(NAME, "foo")));
     ckDBs(new XQuery(_DB_TEXT.args(NAME, "foo")), false, NAME_LIST);
     ckDBs(new XQuery(_DB_TEXT_RANGE.args(NAME, 23, 42)), false, NAME_LIST);
     ckDBs(new XQuery(_DB_TOKEN.args(NAME, "foo")), false, NAME_LIST);
@@ -242,7 +243,10 @@ public final class CommandLockingTest extends SandboxTest {
     ckDBs(new XQuery(_DB_OPTIMIZE.args(NAME, "true()")), true, NAME_LIST);
     ckDBs(new XQuery(_DB_RENAME.args(NAME, FILE, FILE + '2')), true, NAME_LIST);
     ckDBs(new XQuery(_DB_REPLACE.args(NAME, FILE, FILE + '2')), true, NAME_LIST);
-    ckDBs(new XQuery(_DB_STORE.args(NAME, FILE, "foo")), true, NAME_LIST);
+    ckDBs(new XQuery(_DB_STORE.args(NAME, FILE, "foo")), NAME_LIST,
+        new LockList().add(Locking.resource(NAME, FILE)));
+    ckDBs(new XQuery("for $p in ('a', 'b') return " + _DB_STORE.args(NAME, " $p", "foo")), true,
+        NAME_LIST);
     ckDBs(new XQuery(_DB_OUTPUT.args("foo")), true, NONE);
     ckDBs(new XQuery(_DB_FLUSH.args(NAME)), true, NAME_LIST);
 
@@ -289,6 +293,38 @@ public final class CommandLockingTest extends SandboxTest {
     ckDBs(new XQuery(_XQUERY_EVAL.args(FILE)), false, null);
   }
 
+  /**
+   * Test update stamps of databases.
+   */
+  @Test
+  public void updates() {
+    final Locking locking = context.locking;
+    execute(new CreateDB(NAME));
+    execute(new CreateDB(NAME2));
+    try {
+      final long upd = locking.updates(NAME), upd2 = locking.updates(NAME2);
+
+      // read-only jobs
+      execute(new List(NAME));
+      execute(new XQuery(_DB_LIST.args(NAME2)));
+      assertEquals(upd, locking.updates(NAME));
+      assertEquals(upd2, locking.updates(NAME2));
+
+      // updates of a single database
+      execute(new Open(NAME));
+      execute(new Store("a.bin", "<a/>"));
+      assertTrue(upd < locking.updates(NAME));
+      assertEquals(upd2, locking.updates(NAME2));
+
+      // resource lock on a database
+      execute(new XQuery(_DB_STORE.args(NAME2, "b/c.bin", "B")));
+      assertTrue(upd2 < locking.updates(NAME2));
+    } finally {
+      execute(new DropDB(NAME));
+      execute(new DropDB(NAME2));
+    }
+  }
+
   /**
    * Test if the right databases are identified for locking. Required databases are exact,
    * no additional ones allowed.
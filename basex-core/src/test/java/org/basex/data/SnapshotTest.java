@@ -0,0 +1,172 @@
+package org.basex.data;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.build.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for snapshots of main-memory databases.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class SnapshotTest extends SandboxTest {
+  /** XML document. */
+  private static final String XML = "<a xmlns:p='u' p:x='1'><b id='2'>X</b><!--c--><?p i?>"
+      + "<p:c>Y<d/></p:c></a>";
+  /** Snapshot directory. */
+  private static final IOFile SNAPSHOTS = new IOFile(sandbox(), "snapshots");
+  /** Input file. */
+  private static final IOFile FILE = new IOFile(sandbox(), "input.xml");
+
+  /** Assigns the snapshot directory. */
+  @Before
+  public void init() {
+    context.soptions.set(StaticOptions.SNAPSHOTPATH, SNAPSHOTS.path());
+    write(FILE, XML);
+  }
+
+  /** Removes the snapshot directory. */
+  @After
+  public void finish() {
+    context.soptions.set(StaticOptions.SNAPSHOTPATH, "");
+    context.soptions.set(StaticOptions.SNAPSHOTSIZE, StaticOptions.SNAPSHOTSIZE.value());
+    SNAPSHOTS.delete();
+    FILE.delete();
+  }
+
+  /**
+   * Writes and reads a snapshot.
+   * @throws Exception exception
+   */
+  @Test
+  public void writeRead() throws Exception {
+    final MainOptions opts = new MainOptions();
+    opts.set(MainOptions.UPDINDEX, true);
+    final MemData data = MemBuilder.build(new DirParser(FILE, opts));
+    final IOFile file = new IOFile(sandbox(), "snapshot");
+    data.write(file, FILE.checksum());
+    assertEquals(FILE.checksum(), MemData.checksum(file));
+
+    final MemData snapshot = new MemData(file, opts);
+    assertEquals(data.meta.size, snapshot.meta.size);
+    assertEquals(data.meta.ndocs, snapshot.meta.ndocs);
+    for(int pre = 0; pre < data.meta.size; pre++) {
+      final int kind = data.kind(pre);
+      assertEquals(kind, snapshot.kind(pre));
+      assertEquals(data.size(pre, kind), snapshot.size(pre, kind));
+      assertEquals(data.parent(pre, kind), snapshot.parent(pre, kind));
+      assertEquals(data.id(pre), snapshot.id(pre));
+      assertEquals(pre, snapshot.pre(snapshot.id(pre)));
+      assertEquals(data.uriId(pre, kind), snapshot.uriId(pre, kind));
+      if(kind == Data.ELEM || kind == Data.ATTR || kind == Data.PI) {
+        assertArrayEquals(data.name(pre, kind), snapshot.name(pre, kind));
+      }
+      assertArrayEquals(data.atom(pre), snapshot.atom(pre));
+    }
+    file.delete();
+  }
+
+  /** Loads documents from snapshots. */
+  @Test
+  public void doc() {
+    final String query = "doc('" + FILE.path() + "')";
+    final String result = query(query);
+    assertEquals(1, SNAPSHOTS.children().length);
+    // new timestamp, identical contents: document is loaded from the snapshot
+    FILE.file().setLastModified(FILE.timeStamp() + 2000);
+    assertEquals(result, query(query));
+    assertEquals("p:c", query("declare namespace p = 'u'; " + query + "//p:c/d/../name()"));
+    assertEquals("true", query(
+        "let $d := " + query + " return ($d//b/@id = '2' and $d//text() = 'Y')"));
+
+    // changed contents with identical size and timestamp: input is parsed again
+    replace();
+    assertEquals("Z", query(query + "//b/text()"));
+    assertEquals(1, SNAPSHOTS.children().length);
+
+    // updated input: snapshot will be replaced
+    write(FILE, "<x/>");
+    FILE.file().setLastModified(FILE.timeStamp() + 2000);
+    assertEquals("<x/>", query(query));
+    assertEquals(1, SNAPSHOTS.children().length);
+  }
+
+  /** Creates main-memory databases from snapshots. */
+  @Test
+  public void createDB() {
+    set(MainOptions.MAINMEM, true);
+    try {
+      execute(new CreateDB(NAME, FILE.path()));
+      assertEquals(1, SNAPSHOTS.children().length);
+      final long time = FILE.timeStamp();
+      // new timestamp, identical contents: database is created from the snapshot,
+      // which still contains the meta data of the original input
+      FILE.file().setLastModified(time + 2000);
+      execute(new CreateDB(NAME, FILE.path()));
+      assertEquals(time, context.data().meta.time);
+      assertEquals(NAME, context.data().meta.name);
+      assertEquals("X", query("//b/text()"));
+      assertEquals("2", query("data(//b/@id)"));
+      // index has been built for the loaded snapshot
+      assertEquals("X", query("//*[text() = 'X']/text()"));
+      execute(new Close());
+
+      // changed contents with identical size and timestamp: input is parsed again
+      replace();
+      execute(new CreateDB(NAME, FILE.path()));
+      assertEquals("Z", query("//b/text()"));
+      assertEquals(1, SNAPSHOTS.children().length);
+      execute(new Close());
+
+      // different parsing options: new snapshot
+      set(MainOptions.CHOP, false);
+      execute(new CreateDB(NAME, FILE.path()));
+      assertEquals(2, SNAPSHOTS.children().length);
+    } finally {
+      execute(new Close());
+      set(MainOptions.CHOP, true);
+      set(MainOptions.MAINMEM, false);
+    }
+  }
+
+  /**
+   * Deletes least recently used snapshots.
+   * @throws Exception exception
+   */
+  @Test
+  public void evict() throws Exception {
+    final IOFile file2 = new IOFile(sandbox(), "input2.xml");
+    write(file2, "<b/>");
+    try {
+      query("doc('" + FILE.path() + "')");
+      query("doc('" + file2.path() + "')");
+      assertEquals(2, SNAPSHOTS.children().length);
+
+      // no space left: only the most recent snapshot is retained
+      context.soptions.set(StaticOptions.SNAPSHOTSIZE, 0);
+      replace();
+      query("doc('" + FILE.path() + "')");
+      final IOFile[] files = SNAPSHOTS.children();
+      assertEquals(1, files.length);
+      assertEquals(FILE.checksum(), MemData.checksum(files[0]));
+    } finally {
+      file2.delete();
+    }
+  }
+
+  /**
+   * Replaces the text of the input file without changing its size and timestamp.
+   */
+  private static void replace() {
+    final long time = FILE.timeStamp();
+    write(FILE, XML.replace('X', 'Z'));
+    FILE.file().setLastModified(time);
+  }
+}
@@ -0,0 +1,82 @@
+package org.basex.index;
+
+import static org.basex.data.DataText.*;
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for the full-text index with skip lists.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class FTIndexTest extends SandboxTest {
+  /** Enables the full-text index. */
+  @Before
+  public void init() {
+    set(MainOptions.FTINDEX, true);
+  }
+
+  /** Resets the options. */
+  @After
+  public void finish() {
+    set(MainOptions.FTINDEX, false);
+    set(MainOptions.SPLITSIZE, 0);
+    execute(new DropDB(NAME));
+  }
+
+  /** Conjunctions and phrases with rare and common terms. */
+  @Test
+  public void skip() {
+    create(2000);
+    assertTrue(context.data().meta.dbfile(DATAFTX + 's').exists());
+    check();
+  }
+
+  /** Skip lists of indexes that have been created in several steps. */
+  @Test
+  public void splits() {
+    set(MainOptions.SPLITSIZE, 1);
+    create(25000);
+    check();
+  }
+
+  /**
+   * Compares the results of index-based queries with sequential string checks.
+   */
+  private static void check() {
+    final String a = "db:open('" + NAME + "')//a";
+    assertEquals(query("count(" + a + "[contains(., 'rare')])"),
+        query("count(" + a + "[text() contains text 'common' ftand 'rare'])"));
+    assertEquals(query("count(" + a + "[contains(., 'rare')])"),
+        query("count(" + a + "[text() contains text 'rare' ftand 'common'])"));
+    assertEquals(query("count(" + a + "[contains(., 'rare w1')])"),
+        query("count(" + a + "[text() contains text 'rare w1'])"));
+    assertEquals(query("count(" + a + "[contains(., 'rare') or ends-with(., 'w2')])"),
+        query("count(" + a + "[text() contains text 'rare' ftor 'w2'])"));
+    assertEquals(query("count(" + a + "[contains(., 'rare') and ends-with(., 'w2')])"),
+        query("count(" + a + "[text() contains text ('rare' ftor 'w5') ftand 'w2'])"));
+    assertEquals(query("count(" + a + "[contains(., 'rare') and ends-with(., 'w2')])"),
+        query("count(ft:top('" + NAME + "', ('w2', 'rare'), 1000000, map { 'mode': 'all' }))"));
+    assertEquals(query("count(" + a + "[contains(., 'rare') or ends-with(., 'w2')])"),
+        query("count(ft:top('" + NAME + "', ('w2', 'rare'), 1000000))"));
+  }
+
+  /**
+   * Creates a database with common and rare terms.
+   * @param size number of elements
+   */
+  private static void create(final int size) {
+    final StringBuilder sb = new StringBuilder("<x>");
+    for(int i = 1; i <= size; i++) {
+      sb.append("<a>common ").append(i % 97 == 0 ? "rare " : "").append('w').append(i % 3);
+      sb.append("</a>");
+    }
+    execute(new CreateDB(NAME, sb.append("</x>").toString()));
+  }
+}
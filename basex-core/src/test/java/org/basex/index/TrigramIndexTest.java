@@ -0,0 +1,109 @@
+package org.basex.index;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.parse.Commands.CmdIndex;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for the trigram index.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class TrigramIndexTest extends SandboxTest {
+  /** Enables the trigram index. */
+  @Before
+  public void init() {
+    set(MainOptions.TRIGRAMINDEX, true);
+  }
+
+  /** Resets the options. */
+  @After
+  public void finish() {
+    set(MainOptions.TRIGRAMINDEX, false);
+    set(MainOptions.UPDINDEX, false);
+    set(MainOptions.MAINMEM, false);
+    execute(new DropDB(NAME));
+  }
+
+  /** Disk-based database. */
+  @Test
+  public void disk() {
+    create();
+    check();
+  }
+
+  /** Main-memory database. */
+  @Test
+  public void mainmem() {
+    set(MainOptions.MAINMEM, true);
+    create();
+    check();
+  }
+
+  /** Incremental updates. */
+  @Test
+  public void updindex() {
+    set(MainOptions.UPDINDEX, true);
+    create();
+    check();
+    query("insert node <a a='über-müller'>mühle</a> into /x");
+    query("replace value of node (//a)[1] with 'Müller'");
+    query("replace value of node (//@a)[1] with 'windmill'");
+    query("rename node (//a)[2] as 'b'");
+    query("delete node (//a)[last()]");
+    check();
+    assertTrue(context.data().meta.trigramindex);
+    execute(new Optimize());
+    check();
+  }
+
+  /** Index is dropped after updates if it is not incrementally updated. */
+  @Test
+  public void drop() {
+    create();
+    query("insert node <a>mill</a> into /x");
+    assertFalse(context.data().meta.trigramindex);
+    execute(new Optimize());
+    assertTrue(context.data().meta.trigramindex);
+    check();
+    execute(new DropIndex(CmdIndex.TRIGRAM));
+    assertFalse(context.data().meta.trigramindex);
+    check();
+  }
+
+  /**
+   * Compares the results of index-based queries with sequential string checks.
+   */
+  private static void check() {
+    for(final String s : new String[] { "mill", "ill", "ller", "müh", "über", "xyz" }) {
+      assertEquals(query("count(//a[contains(string(.), '" + s + "')])"),
+          query("count(//a[contains(., '" + s + "')])"));
+      assertEquals(query("count(//a[ends-with(string(.), '" + s + "')])"),
+          query("count(//a[ends-with(text(), '" + s + "')])"));
+      assertEquals(query("count(//@a[contains(string(.), '" + s + "')])"),
+          query("count(//@a[contains(., '" + s + "')])"));
+      assertEquals(query("count(//a[matches(string(@a), '" + s + ".*')])"),
+          query("count(//a[matches(@a, '" + s + ".*')])"));
+    }
+  }
+
+  /**
+   * Creates a test database.
+   */
+  private static void create() {
+    final StringBuilder sb = new StringBuilder("<x>");
+    final String[] words = { "windmill", "Mill", "millennium", "mi", "Müller", "mühle" };
+    for(int i = 0; i < 300; i++) {
+      final String w = words[i % words.length];
+      sb.append("<a a='").append(words[(i + 1) % words.length]).append(' ').append(i);
+      sb.append("'>").append(w).append(i % 7 == 0 ? "" : " " + i).append("</a>");
+    }
+    execute(new CreateDB(NAME, sb.append("</x>").toString()));
+  }
+}
@@ -104,6 +104,44 @@ public final class TextInputTest {
     encoding("GBK", in);
   }
 
+  /**
+   * Test bulk copying of characters.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void copy() throws IOException {
+    final String in = "abc\u00e4\u20ac\ud83d\ude00\n\tx";
+    encoding("UTF-8", in);
+    encoding("ISO-8859-1", "a\u00e4b");
+    encoding("windows-1252", "a\u20acb");
+
+    // invalid, overlong and incomplete sequences, control characters
+    final byte[][] invalid = {
+      { 'a', (byte) 0xC0, (byte) 0x80, 'b' }, { 'a', (byte) 0xE0, (byte) 0x80, (byte) 0x80, 'b' },
+      { 'a', (byte) 0xED, (byte) 0xA0, (byte) 0x80, 'b' }, { 'a', 0x01, 'b' },
+      { 'a', (byte) 0xEF, (byte) 0xBF, (byte) 0xBF, 'b' }
+    };
+    for(final byte[] data : invalid) {
+      final byte[] cache = new TextInput(new IOContent(data)).content();
+      assertEquals(Token.string(data), 'a', cache[0]);
+      assertEquals(Token.string(data), 'b', cache[cache.length - 1]);
+      assertEquals(Token.string(data), Token.REPLACEMENT, Token.cp(cache, 1));
+    }
+
+    // delimiters and newlines
+    final TokenBuilder tb = new TokenBuilder();
+    final NewlineInput ni = new NewlineInput(new IOContent("ab\ncd<e\r\nf"));
+    final boolean[] delims = TextInput.delimiters(true, '<');
+    assertEquals(1, ni.copy(tb, delims));
+    assertEquals("ab\ncd", tb.toString());
+    assertEquals(-1, ni.copy(tb, delims));
+    assertEquals('<', ni.read());
+    assertEquals(0, ni.copy(tb, delims));
+    assertEquals('\n', ni.read());
+    assertEquals(0, ni.copy(tb, delims));
+    assertEquals("ab\ncdef", tb.toString());
+  }
+
   /**
    * Test alternate encoding.
    * @param enc encoding to be tested
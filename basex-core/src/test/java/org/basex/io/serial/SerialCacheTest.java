@@ -0,0 +1,97 @@
+package org.basex.io.serial;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for the serialization cache.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class SerialCacheTest extends SandboxTest {
+  /** Enables the cache and creates a test database. */
+  @Before
+  public void init() {
+    context.soptions.set(StaticOptions.SERIALCACHE, 1);
+    context.serialCache.clear();
+    execute(new CreateDB(NAME, "<x><a>1</a></x>"));
+  }
+
+  /** Disables the cache. */
+  @After
+  public void finish() {
+    execute(new DropDB(NAME));
+    context.serialCache.clear();
+    context.soptions.set(StaticOptions.SERIALCACHE, 0);
+  }
+
+  /** Cache hits and misses. */
+  @Test
+  public void cache() {
+    final SerialCache cache = context.serialCache;
+    assertEquals("<x>\n  <a>1</a>\n</x>", execute(new XQuery("db:open('" + NAME + "')")));
+    assertEquals(0, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals("<x>\n  <a>1</a>\n</x>", execute(new XQuery("db:open('" + NAME + "')")));
+    assertEquals(1, cache.hits());
+    assertEquals("<a>1</a>", execute(new XQuery("db:open('" + NAME + "')//a")));
+    assertEquals(2, cache.misses());
+
+    // multiple items and atomic values are not cached
+    execute(new XQuery("(db:open('" + NAME + "'), 1)"));
+    execute(new XQuery("db:open('" + NAME + "')//text()"));
+    assertEquals(2, cache.misses());
+    assertTrue(cache.size() > 0);
+  }
+
+  /** Serialization parameters. */
+  @Test
+  public void parameters() {
+    assertEquals("<x>\n  <a>1</a>\n</x>", execute(new XQuery("db:open('" + NAME + "')")));
+    assertEquals("<x><a>1</a></x>", execute(new XQuery(
+        "declare option output:indent 'no'; db:open('" + NAME + "')")));
+    assertEquals(2, context.serialCache.misses());
+  }
+
+  /** Invalidation after updates and drops. */
+  @Test
+  public void update() {
+    final SerialCache cache = context.serialCache;
+    execute(new XQuery("db:open('" + NAME + "')"));
+    execute(new XQuery("insert node <b/> into db:open('" + NAME + "')/x"));
+    assertEquals("<x>\n  <a>1</a>\n  <b/>\n</x>", execute(new XQuery("db:open('" + NAME + "')")));
+    assertEquals(0, cache.hits());
+    execute(new XQuery("db:open('" + NAME + "')"));
+    assertEquals(1, cache.hits());
+
+    execute(new DropDB(NAME));
+    assertEquals(0, cache.size());
+    execute(new CreateDB(NAME, "<y/>"));
+    assertEquals("<y/>", execute(new XQuery("db:open('" + NAME + "')")));
+  }
+
+  /** Entries of reopened databases are not reused. */
+  @Test
+  public void reopen() {
+    final SerialCache cache = context.serialCache;
+    execute(new XQuery("db:open('" + NAME + "')"));
+    execute(new Close());
+    execute(new XQuery("db:open('" + NAME + "')"));
+    assertEquals(0, cache.hits());
+    assertEquals(2, cache.misses());
+  }
+
+  /** Disabled cache. */
+  @Test
+  public void disabled() {
+    context.soptions.set(StaticOptions.SERIALCACHE, 0);
+    execute(new XQuery("db:open('" + NAME + "')"));
+    assertEquals(0, context.serialCache.misses());
+  }
+}
@@ -1,7 +1,9 @@
 package org.basex.query.ast;
 
+import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.gflwor.*;
+import org.basex.query.func.fn.*;
 import org.basex.query.func.util.*;
 import org.basex.util.*;
 import org.junit.*;
@@ -298,4 +300,58 @@ public final class GFLWOROptimizeTest extends QueryPlanTest {
         "count(//VarRef) = 1"
     );
   }
+
+  /** Aggregates non-grouping variables while grouping. */
+  @Test public void aggregate() {
+    check("for $i in 1 to 10 let $y := xs:double($i)[$i != 4] "
+        + "group by $x := $i mod 3 let $c := count($y) let $s := sum($y) let $a := avg($y) "
+        + "let $min := min($y) let $max := max($y) order by $x "
+        + "return string-join(($c, $s, $a, $min, $max), ' ')",
+        "3 18 6 3 9\n3 18 6 1 10\n3 15 5 2 8",
+        "empty(//" + Util.className(FnCount.class) + ')',
+        "empty(//" + Util.className(FnSum.class) + ')',
+        "empty(//" + Util.className(FnAvg.class) + ')',
+        "empty(//" + Util.className(FnMin.class) + ')',
+        "empty(//" + Util.className(FnMax.class) + ')'
+    );
+    // non-grouping variable is still referenced
+    check("for $i in 1 to 4 group by $x := $i mod 2 let $c := count($i) order by $x "
+        + "return $c || ':' || $i[1]",
+        "2:2\n2:1",
+        "empty(//" + Util.className(FnCount.class) + ')'
+    );
+    // empty groups, durations, strings, untyped values
+    check("for $i in 1 to 4 let $y := $i[. > 2] group by $x := $i > 2 order by $x "
+        + "return (count($y), sum($y), avg($y), min($y))",
+        "0\n0\n2\n7\n3.5\n3",
+        "empty(//" + Util.className(FnCount.class) + ')',
+        "exists(//" + Util.className(FnSum.class) + ')',
+        "empty(//" + Util.className(FnMin.class) + ')'
+    );
+    check("for $d in ('PT1H', 'PT2H', 'PT3H') ! xs:dayTimeDuration(.) group by $x := 1 "
+        + "return (sum($d), avg($d), max($d))",
+        "PT6H\nPT2H\nPT3H"
+    );
+    check("for $s in ('b', 'a', 'c') group by $x := 1 return (min($s), max($s))", "a\nc");
+    check("for $a in (<a>1</a>, <a>2.5</a>) group by $x := 1 return (sum($a), max($a))",
+        "3.5\n2.5");
+    error("for $s in ('b', 1) group by $x := 1 return sum($s)", QueryError.SUM_X_X);
+
+    // aggregates that may not be evaluated for each group are not rewritten
+    check("for $i in 1 to 4 let $d := xs:double($i) group by $x := $i mod 2 "
+        + "return if($x = 1) then sum($d) else ()",
+        "4",
+        "exists(//" + Util.className(FnSum.class) + ')'
+    );
+    check("for $i in 1 to 4 let $d := xs:double($i) group by $x := $i mod 2 "
+        + "where $x = 1 return sum($d)",
+        "4",
+        "exists(//" + Util.className(FnSum.class) + ')'
+    );
+    // errors are only raised if the aggregate is evaluated
+    query("for $s in ('b', 1) group by $x := 1 return if($x = 2) then sum($s) else ()", "");
+    query("for $i in (9223372036854775807, 1) group by $x := 1 "
+        + "let $s := if($x = 2) then sum($i) else () return $s", "");
+  }
+
 }
@@ -0,0 +1,116 @@
+package org.basex.query.ast;
+
+import static org.basex.util.Prop.*;
+import static org.junit.Assert.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.func.*;
+import org.basex.query.func.fn.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for query plans with runtime statistics.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class PlanStatsTest extends AdvancedQueryTest {
+  /** Enables runtime statistics. */
+  @BeforeClass
+  public static void init() {
+    context.options.set(MainOptions.PLANSTATS, true);
+  }
+
+  /** Disables runtime statistics. */
+  @AfterClass
+  public static void finish() {
+    context.options.set(MainOptions.PLANSTATS, false);
+  }
+
+  /** Invocation and item counters. */
+  @Test
+  public void counters() {
+    check("count((1 to 10)[. mod 2 = 0])", "5",
+        "//" + Util.className(FnCount.class) + "[@calls = 1][@items = 1]",
+        "//" + Util.className(Arith.class) + "[@calls = 10][@items = 10]",
+        "every $t in //*/@time satisfies ends-with($t, ' ms')");
+  }
+
+  /** Tail calls and recursive functions. */
+  @Test
+  public void functions() {
+    check("declare function local:f($n) { if($n = 0) then 0 else local:f($n - 1) };" +
+        "local:f(100000)", "0",
+        "//" + Util.className(StaticFuncCall.class) + "[@calls = 1][@items = 1]");
+  }
+
+  /** Recursive functions: times of nested invocations are not added again. */
+  @Test
+  public void recursion() {
+    final String query = "declare function local:f($n) { if($n = 0) then 0 else " +
+        "1 + local:f($n - 1) }; local:f(300)";
+    final long start = System.nanoTime();
+    try(QueryProcessor qp = new QueryProcessor(query, context)) {
+      assertEquals("300", qp.value().serialize().toString());
+      final double ms = (System.nanoTime() - start) / 1000000d;
+      final String times = "//" + Util.className(StaticFuncCall.class) +
+          "/@time ! number(substring-before(., ' '))";
+      final FDoc plan = qp.plan();
+      final String max = new QueryProcessor("max(" + times + ')', context).context(plan).
+          value().serialize().toString();
+      assertTrue(max + " ms > " + ms + " ms", Double.parseDouble(max) <= ms);
+    } catch(final Exception ex) {
+      throw new AssertionError(query, ex);
+    }
+  }
+
+  /** Statistics of expressions that are evaluated by other threads. */
+  @Test
+  public void parallel() {
+    execute(new CreateDB(NAME));
+    for(int d = 0; d < 20; d++) execute(new Add("doc" + d + ".xml", "<a><b>" + d + "</b></a>"));
+    set(MainOptions.PATHTHREADS, 4);
+    try {
+      check("count(//b[string-length() > 1])", "10",
+          "//" + Util.className(FnStringLength.class) + "[@calls = 20][@items = 20]");
+    } finally {
+      set(MainOptions.PATHTHREADS, 1);
+      execute(new DropDB(NAME));
+    }
+  }
+
+  /** Updating expressions. */
+  @Test
+  public void updates() {
+    check("copy $c := <a/> modify insert node <b/> into $c return count($c/b)", "1",
+        "//@calls");
+  }
+
+  /**
+   * Evaluates the query and checks the annotated query plan.
+   * @param query query
+   * @param result expected result
+   * @param checks queries on the query plan
+   */
+  private static void check(final String query, final String result, final String... checks) {
+    try(QueryProcessor qp = new QueryProcessor(query, context)) {
+      assertEquals(result, normNL(qp.value().serialize().toString()));
+      final FDoc plan = qp.plan();
+      for(final String chk : checks) {
+        if(new QueryProcessor("boolean(" + chk + ')', context).context(plan).value() != Bln.TRUE) {
+          fail(NL + "- Query: " + query + NL + "- Check: " + chk + NL +
+              "- Plan: " + plan.serialize());
+        }
+      }
+    } catch(final Exception ex) {
+      throw new AssertionError(query, ex);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package org.basex.query.expr;
+
+import static org.basex.query.QueryError.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.query.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for constructed fragments that are stored in a compact representation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class FragmentTest extends AdvancedQueryTest {
+  /** Stores small fragments in a compact representation. */
+  @Before
+  public void init() {
+    set(MainOptions.FRAGMENTSIZE, 5);
+  }
+
+  /** Resets the options. */
+  @After
+  public void finish() {
+    set(MainOptions.FRAGMENTSIZE, MainOptions.FRAGMENTSIZE.value());
+  }
+
+  /** Serialization. */
+  @Test public void serialize() {
+    query("<a>{ (1 to 3) ! <b n='{ . }'>{ . }</b> }</a>",
+        "<a>\n<b n=\"1\">1</b>\n<b n=\"2\">2</b>\n<b n=\"3\">3</b>\n</a>");
+    query("<a xmlns:p='u' p:x='1'><b>{ (1 to 3) ! <c/> }</b><p:d/></a>",
+        "<a xmlns:p=\"u\" p:x=\"1\">\n<b>\n<c/>\n<c/>\n<c/>\n</b>\n<p:d/>\n</a>");
+    query("document { <a>{ (1 to 5) ! <b/> }</a> }/a/b[5]", "<b/>");
+  }
+
+  /** Child nodes that are appended to the table of a constructed node. */
+  @Test public void build() {
+    compare("<a>{ (1 to 6) ! (., <b/>), 'x', <!--c-->, <?p i?> }</a>");
+    compare("<a>{ (1 to 6) ! (<b/>, 'x', 'y') }</a>");
+    compare("document { (1 to 3) ! <b/>, 'x', (1 to 3) ! <b/> }");
+    compare("<a>{ (1 to 3) ! <b>{ (1 to 3) ! <c/> }</b> }</a>");
+    compare("<a xmlns:p='u' p:x='1'>{ (1 to 6) ! <p:b/> }</a>");
+    compare("<a>{ attribute { QName('u', 'p:x') } { 1 }, (1 to 6) ! <b/> }</a>");
+    compare("<p:a xmlns:p='v'>{ attribute { QName('u', 'p:x') } { 1 }, (1 to 6) ! <b/> }</p:a>"
+        + "! (sort(in-scope-prefixes(.)), @* ! (name(), namespace-uri()))");
+    query("<a xmlns:p='u'>{ (1 to 6) ! <p:b/> }</a>/*[1]/namespace-uri()", "u");
+
+    execute(new CreateDB(NAME, "<r xmlns:p='u'><p:x/></r>"));
+    try {
+      compare("<a>{ (1 to 6) ! db:open('" + NAME + "')//*:x }</a>");
+      query("<a>{ (1 to 6) ! db:open('" + NAME + "')//*:x }</a>/*[6]/namespace-uri()", "u");
+    } finally {
+      execute(new DropDB(NAME));
+    }
+
+    error("<a>{ (1 to 6) ! <b/>, attribute x { 1 } }</a>", NOATTALL_X);
+    error("document { (1 to 6) ! <b/>, attribute x { 1 } }", DOCATTS_X);
+  }
+
+  /** Axis navigation and node identity. */
+  @Test public void navigate() {
+    query("let $a := <a><b>{ (1 to 3) ! <c>{ . }</c> }</b></a> return $a//c[2]/../.. is $a",
+        "true");
+    query("let $a := <a><b>{ (1 to 3) ! <c>{ . }</c> }</b></a> return count($a//node())", "7");
+    query("let $a := <a><b>{ (1 to 3) ! <c>{ . }</c> }</b></a> return root($a//c[1]) is $a",
+        "true");
+    query("<x>{ <a>{ (1 to 10) ! <c/> }</a> }</x>/a/c[3]/parent::a/parent::x/name()", "x");
+    query("let $d := document { <a>{ (1 to 10) ! <c/> }</a> } "
+        + "return $d/a/c[1]/parent::a is $d/a", "true");
+    query("declare namespace q = 'u'; "
+        + "in-scope-prefixes(<q:a>{ (1 to 10) ! <q:c/> }</q:a>/q:c[1]) = 'q'", "true");
+  }
+
+  /** Base URIs. */
+  @Test public void baseUri() {
+    query("declare base-uri 'http://x/y/'; "
+        + "base-uri(document { <a>{ (1 to 10) ! <c/> }</a> })", "http://x/y/");
+    query("declare base-uri 'http://x/y/'; "
+        + "base-uri(document { <a xml:base='sub/'>{ (1 to 10) ! <c/> }</a> }/a)",
+        "http://x/y/sub/");
+    query("declare base-uri 'http://x/y/'; "
+        + "base-uri(<a xml:base='sub/'>{ (1 to 10) ! <c/> }</a>/c[1])", "http://x/y/sub/");
+  }
+
+  /** Compacted fragments are no database nodes. */
+  @Test public void dbFunctions() {
+    error("db:node-pre(<a>{ (1 to 10) ! <c/> }</a>)", BXDB_NODB_X_X);
+    error("db:node-pre(<x>{ <a>{ (1 to 10) ! <c/> }</a> }</x>/a)", BXDB_NODB_X_X);
+  }
+
+  /** Copies of compacted fragments. */
+  @Test public void copy() {
+    query("let $a := <a>{ (1 to 10) ! <c/> }</a> return <b>{ $a }</b>/a is $a", "false");
+    query("let $a := <a>{ (1 to 10) ! <c/> }</a> return <b>{ $a }</b>/a/c[1]/../../name()", "b");
+    query("let $a := <a>{ (1 to 10) ! <c/> }</a> return <b>{ $a/c[1] }</b>/c is $a/c[1]",
+        "false");
+    query("let $a := <a>{ (1 to 10) ! <c/> }</a> return <b>{ $a/c[1] }</b>/c/../name()", "b");
+    query("let $a := <a>{ (1 to 10) ! <c/> }</a> return ($a, <b>{ $a }</b>)/..", "");
+  }
+
+  /**
+   * Compares the results of a query with and without compact fragments.
+   * Results are serialized without indentation.
+   * @param query query
+   */
+  private static void compare(final String query) {
+    final String qu = "declare option output:indent 'no'; " + query;
+    set(MainOptions.FRAGMENTSIZE, 0);
+    final String expected = query(qu);
+    set(MainOptions.FRAGMENTSIZE, 5);
+    query(qu, expected);
+  }
+}
@@ -1,5 +1,9 @@
 package org.basex.query.expr;
 
+import static org.basex.query.QueryError.*;
+import static org.junit.Assert.*;
+
+import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.query.*;
 import org.junit.*;
@@ -59,6 +63,88 @@ public final class PathTest extends AdvancedQueryTest {
     query("(//ul)[last()]/preceding::ul", "");
   }
 
+  /**
+   * Descendant and following steps with element name tests.
+   */
+  @Test public void namedElements() {
+    for(final String query : new String[] {
+      "//li", "//ul//li", "(//ul)[1]/following::li", "/descendant-or-self::html",
+      "//li[2]", "//li[last()]", "(//title)[1]/following::*:li", "//ul/descendant::ul"
+    }) {
+      final String name = query.replaceAll(".*[:/]", "").replaceAll("\\[.*", "");
+      final String wildcard = query.replaceAll("(\\*:)?" + name, "*[local-name() = '" + name + "']");
+      query("deep-equal(" + query + ", " + wildcard + ')', true);
+    }
+
+    // updated database
+    query("count(//li)", 2);
+    query("insert node <li/> into (//ul)[1]");
+    query("count(//li)", 3);
+    query("count((//ul)[1]/following::li)", 0);
+    query("delete node (//li)[1]");
+    query("//li[1]/text()", "Exercise 2");
+    query("copy $c := (//ul)[1] modify insert node <li/> into $c return count($c//li)", 3);
+  }
+
+  /**
+   * Paths that are evaluated in batches.
+   */
+  @Test public void batches() {
+    for(final String query : new String[] {
+      "(//ul, //ul/li)//li", "(//li, //ul)/..//text()", "(//body, //ul)//*/@*",
+      "(//*)/node()", "(//ul, /html)/descendant-or-self::ul/li", "(//ul, //li)/self::li"
+    }) {
+      // compare results with main-memory copy (no batched evaluation)
+      query("deep-equal(db:open('" + NAME + "') ! (" + query + "), "
+          + "document { db:open('" + NAME + "')/node() } ! (" + query + "))", true);
+    }
+    query("count((//ul, //ul/li)//li)", 2);
+    query("count((//body, //ul, //ul)//li)", 2);
+
+    // multiple documents
+    execute(new Add(NAME, FILE));
+    query("count((//ul, //li)/descendant::li)", 4);
+
+    // names and namespaces
+    execute(new CreateDB(NAME, "<a xmlns:p='u' xmlns:q='u' p:x='1' x='2'>"
+        + "<p:b/><q:b>t</q:b><b xmlns='u'/><b><!--c--></b><c xml:lang='en' lang='de'/></a>"));
+    for(final String path : new String[] {
+      "//*:b", "//p:b", "//b", "//Q{u}*", "//Q{}b", "//@*:x", "//@p:x", "//@x", "/*/@*",
+      "//@lang", "//@xml:lang", "//*/@Q{u}*", "//text()", "//node()", "//comment()",
+      "/*/node()", "//*/descendant-or-self::node()"
+    }) {
+      query("declare namespace p = 'u'; let $db := db:open('" + NAME + "') "
+          + "let $copy := document { $db/node() } "
+          + "return deep-equal(($db, $db/*)" + path + ", ($copy, $copy/*)" + path + ')', true);
+    }
+  }
+
+  /**
+   * Paths that are evaluated in parallel.
+   */
+  @Test public void parallel() {
+    for(int d = 0; d < 20; d++) {
+      execute(new Add("doc" + d + ".xml", "<a><b>" + d + "</b><c n='" + d + "'/></a>"));
+    }
+    final String[] queries = {
+      "/a/b[. > 9]", "//c/@n", "db:open('" + NAME + "')//li", "//*[text()]", "//a/b[1]",
+      "count(//b[position() = last()])", "for $i in 1 to 2 return /a/b[. = $i]",
+      "exists(//b)", "head(//b)", "(//b)[1]", "reverse(//c)",
+      "let $b := //b return ($b[last()], $b[1])"
+    };
+    final int ql = queries.length;
+    final String[] results = new String[ql];
+    for(int q = 0; q < ql; q++) results[q] = query(queries[q]);
+
+    set(MainOptions.PATHTHREADS, 4);
+    try {
+      for(int q = 0; q < ql; q++) assertEquals(queries[q], results[q], query(queries[q]));
+      error("/a/b[xs:integer('x' || .)]", FUNCAST_X_X);
+    } finally {
+      set(MainOptions.PATHTHREADS, 1);
+    }
+  }
+
   /**
    * Filter expressions with two predicates (the last being a positional one).
    */
@@ -52,4 +52,11 @@ public final class AdminModuleTest extends AdvancedQueryTest {
     // no logging data exists in the sandbox
     error(_ADMIN_DELETE_LOGS.args("2001-01-01"), WHICHRES_X);
   }
+
+  /** Test method. */
+  @Test
+  public void metrics() {
+    query("exists(" + _ADMIN_METRICS.args() + "[@name = 'basex_lock_wait_seconds'])", true);
+    query(_ADMIN_METRICS.args() + "[@name = 'basex_lock_wait_seconds']/@count > 0", true);
+  }
 }
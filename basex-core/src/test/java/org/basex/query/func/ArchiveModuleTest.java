@@ -80,6 +80,18 @@ public final class ArchiveModuleTest extends AdvancedQueryTest {
         " map { 'format': 'gzip' }"), ARCH_ONE_X);
   }
 
+  /** Test method. */
+  @Test
+  public void createLarge() {
+    // entries that are compressed in several blocks
+    final String text = "string-join((1 to 200000) ! string())";
+    query("let $a := " + _ARCHIVE_CREATE.args(" ('a', 'b', 'c')",
+        " (" + text + ", '', " + text + ')') + " return " +
+        _ARCHIVE_EXTRACT_TEXT.args(" $a", "c") + " = " + text, true);
+    query(COUNT.args(_ARCHIVE_ENTRIES.args(_ARCHIVE_CREATE.args(
+        " (1 to 70000) ! string()", " (1 to 70000) ! string()"))), 70000);
+  }
+
   /** Test method. */
   @Test
   public void createFrom() {
@@ -98,6 +110,10 @@ public final class ArchiveModuleTest extends AdvancedQueryTest {
   /** Test method. */
   @Test
   public void entries() {
+    // in-memory and file input
+    query(_ARCHIVE_ENTRIES.args(_FILE_READ_BINARY.args(ZIP)) + " ! string() = " +
+        _ARCHIVE_ENTRIES.args(" xs:base64Binary(" + _FILE_READ_BINARY.args(ZIP) + ")") +
+        " ! string()", true);
     // read entries
     query(COUNT.args(_ARCHIVE_ENTRIES.args(_FILE_READ_BINARY.args(ZIP))), 5);
     // simple zip files
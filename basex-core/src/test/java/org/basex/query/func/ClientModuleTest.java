@@ -3,6 +3,7 @@ package org.basex.query.func;
 import static org.basex.core.users.UserText.*;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
 
 import java.io.*;
 
@@ -12,6 +13,7 @@ import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.io.serial.*;
 import org.basex.query.*;
+import org.basex.util.*;
 import org.junit.*;
 import org.junit.Test;
 
@@ -51,6 +53,39 @@ public final class ClientModuleTest extends AdvancedQueryTest {
     // BXCL0001: connection errors
     error(_CLIENT_CONNECT.args(Text.S_LOCALHOST, DB_PORT, ADMIN, ""), BXCL_CONN_X);
     error(_CLIENT_CONNECT.args("xxx", DB_PORT, ADMIN, ADMIN), BXCL_CONN_X);
+
+    // pooled sessions
+    query("(1 to 3) ! (" + conn(true) + " ! (" + _CLIENT_QUERY.args(" .", "1") + ", "
+        + _CLIENT_CLOSE.args(" .") + "))", "1\n1\n1");
+    query("(1 to 3) ! " + _CLIENT_QUERY.args(conn(true), "1"), "1\n1\n1");
+    error(_CLIENT_CONNECT.args(Text.S_LOCALHOST, DB_PORT, ADMIN, "", " map { 'pool': true() }"),
+        BXCL_CONN_X);
+  }
+
+  /**
+   * Test method.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void pool() throws IOException {
+    final ClientPool pool = new ClientPool(1, 60000);
+    final ClientSession cs1 = pool.acquire(Text.S_LOCALHOST, DB_PORT, ADMIN, ADMIN);
+    final ClientSession cs2 = pool.acquire(Text.S_LOCALHOST, DB_PORT, ADMIN, ADMIN);
+    assertNotSame(cs1, cs2);
+    pool.release(cs1);
+    // only one idle session will be kept
+    pool.release(cs2);
+    assertSame(cs1, pool.acquire(Text.S_LOCALHOST, DB_PORT, ADMIN, ADMIN));
+    assertEquals("1", cs1.execute(new XQuery("1")));
+    pool.release(cs1);
+    pool.close();
+    assertNotSame(cs1, pool.acquire(Text.S_LOCALHOST, DB_PORT, ADMIN, ADMIN));
+    try {
+      pool.acquire(Text.S_LOCALHOST, DB_PORT, ADMIN, "");
+      fail("Wrong password was accepted.");
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
   }
 
   /** Test method. */
@@ -107,6 +142,41 @@ public final class ClientModuleTest extends AdvancedQueryTest {
     error(_CLIENT_QUERY.args(conn(), "x"), NOCTX_X);
   }
 
+  /** Test method. */
+  @Test
+  public void queryAll() {
+    query(_CLIENT_QUERY_ALL.args(" ()", "1"), "");
+    query(_CLIENT_QUERY_ALL.args(" (1 to 3) ! " + conn(), "1"), "1\n1\n1");
+    query(_CLIENT_QUERY_ALL.args(" (1 to 20) ! " + conn(true),
+        "\"declare variable $a external; $a * 2\"", " map { 'a': 2 }") + " => sum()", "80");
+    // identical sessions
+    query("let $c := " + conn() + " return " + _CLIENT_QUERY_ALL.args(" ($c, $c)", "'a'"),
+        "a\na");
+    // query errors
+    error(_CLIENT_QUERY_ALL.args(" (" + conn() + ", " + conn() + ")", "x"), NOCTX_X);
+    error(_CLIENT_QUERY_ALL.args(" (" + conn() + ", " + conn() + ")", "true#0"),
+        BXCL_FITEM_X);
+    error(_CLIENT_QUERY_ALL.args(" xs:anyURI('unknown')", "1"), BXCL_NOTAVL_X);
+  }
+
+  /** Test method. */
+  @Test
+  public void queryAllPooled() {
+    final String user = Util.className(ClientModuleTest.class);
+    query(_CLIENT_EXECUTE.args(conn(), "create user " + user + ' ' + user));
+    try {
+      // pooled sessions must only be released after all queries have been finished
+      final String conn = _CLIENT_CONNECT.args(Text.S_LOCALHOST, DB_PORT, user, user);
+      final Performance perf = new Performance();
+      error(_CLIENT_QUERY_ALL.args(" (" + conn + ", " + conn(true) + ")",
+          "\"if(user:current() = 'admin') then prof:sleep(500) else error()\""), FUNERR1);
+      assertTrue(perf.time() >= 500000000L);
+      query(COUNT.args(_CLIENT_QUERY_ALL.args(" (1 to 8) ! " + conn(true), "1")), "8");
+    } finally {
+      query(_CLIENT_EXECUTE.args(conn(), "drop user " + user));
+    }
+  }
+
   /** Test method for the correct return of all XDM data types. */
   @Test
   public void queryTypes() {
@@ -134,6 +204,16 @@ public final class ClientModuleTest extends AdvancedQueryTest {
    * @return connect string
    */
   private static String conn() {
-    return _CLIENT_CONNECT.args(Text.S_LOCALHOST, DB_PORT, ADMIN, ADMIN);
+    return conn(false);
+  }
+
+  /**
+   * Returns a successful connect string.
+   * @param pool pooled session
+   * @return connect string
+   */
+  private static String conn(final boolean pool) {
+    return pool ? _CLIENT_CONNECT.args(Text.S_LOCALHOST, DB_PORT, ADMIN, ADMIN,
+        " map { 'pool': true() }") : _CLIENT_CONNECT.args(Text.S_LOCALHOST, DB_PORT, ADMIN, ADMIN);
   }
 }
@@ -3,6 +3,7 @@ package org.basex.query.func;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 
+import org.basex.io.*;
 import org.basex.query.*;
 import org.junit.*;
 
@@ -35,6 +36,42 @@ public final class CsvModuleTest extends AdvancedQueryTest {
     parseError("", "'separator':'XXX'");
   }
 
+  /** Test method. */
+  @Test
+  public void records() {
+    query(_CSV_RECORDS.args(""), "");
+    query(_CSV_RECORDS.args("A,B\nC"), "<record>\n<entry>A</entry>\n<entry>B</entry>\n</record>\n"
+        + "<record>\n<entry>C</entry>\n</record>");
+    query(_CSV_RECORDS.args("X\n1\n2", " map { 'header': true() }") + "/X/string()", "1\n2");
+    query("count(" + _CSV_RECORDS.args(" '\"A\nB\",C\nD'") + ')', 2);
+    query("head(" + _CSV_RECORDS.args("A\nB\nC") + ")/entry/string()", "A");
+
+    // merged maps yield the result of the parse function
+    for(final String options : new String[] {
+      "'format': 'map'", "'format': 'map', 'header': true()"
+    }) {
+      final String input = "'X,Y\n1,2\n3,4'", opts = " map { " + options + " }";
+      query("deep-equal(map:merge(" + _CSV_RECORDS.args(input, opts) + "), " +
+          _CSV_PARSE.args(input, opts) + ')', true);
+    }
+    error(_CSV_RECORDS.args("", " map { 'x': 'y' }"), INVALIDOPT_X);
+  }
+
+  /** Errors raised by streamable input. */
+  @Test
+  public void streamErrors() {
+    final IOFile file = new IOFile(sandbox(), "invalid.csv");
+    write(file, "A,B\nC\n\u0001");
+    try {
+      final String input = _FILE_READ_TEXT.args(file.path());
+      error(_CSV_PARSE.args(" " + input), FILE_IO_ERROR_X);
+      error(_CSV_RECORDS.args(" " + input), FILE_IO_ERROR_X);
+      query("head(" + _CSV_RECORDS.args(" " + input) + ")/entry[1]/string()", "A");
+    } finally {
+      file.delete();
+    }
+  }
+
   /** Test method. */
   @Test
   public void serialize() {
@@ -678,6 +678,17 @@ public final class DbModuleTest extends AdvancedQueryTest {
     query("xs:hexBinary(" + _DB_RETRIEVE.args(NAME, "raw") + ')', "A");
     query(_DB_DELETE.args(NAME, "raw"));
     error(_DB_RETRIEVE.args(NAME, "raw"), WHICHRES_X);
+
+    // chunks
+    query(_DB_STORE.args(NAME, "raw", "xs:hexBinary('41424344')"));
+    query("string(xs:hexBinary(" + _DB_RETRIEVE.args(NAME, "raw", 1, 2) + "))", "4243");
+    query("string(xs:hexBinary(" + _DB_RETRIEVE.args(NAME, "raw", 3) + "))", "44");
+    query("string(xs:hexBinary(" + _DB_RETRIEVE.args(NAME, "raw", 4, 0) + "))", "");
+    error(_DB_RETRIEVE.args(NAME, "raw", 5), BXDB_CHUNK_X_X);
+    error(_DB_RETRIEVE.args(NAME, "raw", 2, 3), BXDB_CHUNK_X_X);
+    error(_DB_RETRIEVE.args(NAME, "raw", -1, 1), BXDB_CHUNK_X_X);
+    query(_DB_DELETE.args(NAME, "raw"));
+    error(_DB_RETRIEVE.args(NAME, "raw"), WHICHRES_X);
   }
 
   /** Test method. */
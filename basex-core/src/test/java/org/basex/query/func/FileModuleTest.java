@@ -227,6 +227,27 @@ public final class FileModuleTest extends AdvancedQueryTest {
     query(_FILE_DELETE.args(PATH1));
   }
 
+  /** Test method. */
+  @Test
+  public void readTextLines() {
+    error(_FILE_READ_TEXT_LINES.args(PATH1), FILE_NOT_FOUND_X);
+    error(_FILE_READ_TEXT_LINES.args(PATH), FILE_IS_DIR_X);
+    query(_FILE_WRITE.args(PATH1, "a\nb\r\nc\rd"));
+    query(_FILE_READ_TEXT_LINES.args(PATH1), "a\nb\nc\nd");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", false, 1), "b\nc\nd");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", false, 1, 2), "b\nc");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", false, 3, 5), "d");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", false, 5), "");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", false, 0, 0), "");
+    query("head(" + _FILE_READ_TEXT_LINES.args(PATH1) + ')', "a");
+    error(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", false, -1), FILE_OUT_OF_RANGE_X_X);
+    error(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", false, 0, -1), FILE_OUT_OF_RANGE_X_X);
+    query(_FILE_WRITE_BINARY.args(PATH1, "xs:hexBinary('610A00')"));
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", false, 0, 1), "a");
+    error(_FILE_READ_TEXT_LINES.args(PATH1), FILE_IO_ERROR_X);
+    query(_FILE_DELETE.args(PATH1));
+  }
+
   /** Test method. */
   @Test
   public void readBinary() {
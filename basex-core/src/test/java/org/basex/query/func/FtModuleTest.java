@@ -113,6 +113,26 @@ public final class FtModuleTest extends AdvancedQueryTest {
     error(_FT_SEARCH.args(NAME, "x", " 1"), MAP_X_X);
   }
 
+  /** Test method. */
+  @Test
+  public void top() {
+    query(_FT_TOP.args(NAME, "xml", 1), "XML");
+    query(_FT_TOP.args(NAME, "xml", 2), "XML\nDatabases and XML");
+    query(_FT_TOP.args(NAME, " ('exercise', '2')", 1), "Exercise 2");
+    query(_FT_TOP.args(NAME, " ('exercise', '2')", 5), "Exercise 2\nExercise 1");
+    query(_FT_TOP.args(NAME, " ('exercise', '2')", 5, " map { 'mode':'all' }"), "Exercise 2");
+    query(_FT_TOP.args(NAME, "Azzignments", 1, " map { 'fuzzy':'yes' }"), "Assignments");
+    query(_FT_TOP.args(NAME, "xml", 0), "");
+    query(_FT_TOP.args(NAME, "XXX", 10), "");
+
+    // results are ordered by their scores
+    query("let $s := " + _FT_SCORE.args(_FT_TOP.args(NAME, " ('exercise', '2', 'xml')", 10)) +
+        " return deep-equal($s, sort($s, (), function($d) { -$d }))", "true");
+    query("every $s in " + _FT_SCORE.args(_FT_TOP.args(NAME, "xml", 10)) +
+        " satisfies $s > 0 and $s <= 1", "true");
+    error(_FT_TOP.args(NAME, "x", 1, " map { 'fuzzy':'yes', 'wildcards':'yes' }"), BXFT_MATCH);
+  }
+
   /** Test method. */
   @Test
   public void count() {
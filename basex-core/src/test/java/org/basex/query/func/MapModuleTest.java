@@ -36,6 +36,20 @@ public final class MapModuleTest extends AdvancedQueryTest {
     query(_MAP_MERGE.args("(map{1:2},map {1:3})", " map{'duplicates':'combine'}") + "(1)", "2\n3");
     error(_MAP_MERGE.args("(map{1:2},map {1:3})", " map{'duplicates':'reject'}") + "(1)",
         MERGE_DUPLICATE_X);
+
+    // large number of maps
+    count(_MAP_MERGE.args(" (1 to 100000) ! map { . : . }"), 100000);
+    count(_MAP_MERGE.args(" (1 to 100000) ! map { . mod 1000 : . }"), 1000);
+    query(_MAP_MERGE.args(" (1 to 100000) ! map { . mod 1000 : . }") + "(1)", "1");
+    query(_MAP_MERGE.args(" (1 to 100000) ! map { . mod 1000 : . }",
+        " map{'duplicates':'use-last'}") + "(1)", "99001");
+    query("count(" + _MAP_MERGE.args(" (1 to 100000) ! map { . mod 1000 : . }",
+        " map{'duplicates':'combine'}") + "(1))", "100");
+    query("let $m := " + _MAP_MERGE.args(" for $i in 1 to 10000 group by $g := $i mod 10 "
+        + "return map { $g : count($i) }") + " return sum($m?*)", "10000");
+    // merge with existing map
+    count(_MAP_MERGE.args(" (" + _MAP_MERGE.args(" (1 to 1000) ! map { . : . }")
+        + ", (1 to 2000) ! map { . : . })"), 2000);
   }
 
   /** Test method. */
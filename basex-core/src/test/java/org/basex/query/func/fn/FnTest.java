@@ -4,6 +4,7 @@ import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 import static org.junit.Assert.*;
 
+import org.basex.io.*;
 import org.basex.query.*;
 import org.junit.*;
 
@@ -30,6 +31,18 @@ public final class FnTest extends AdvancedQueryTest {
   @Test
   public void unparsedTextLines() {
     query(UNPARSED_TEXT_LINES.args("()"), "");
+    query(UNPARSED_TEXT_LINES.args(TEXT) + "[2]", "<html>");
+
+    // invalid XML characters
+    final IOFile file = new IOFile(sandbox(), "invalid.txt");
+    write(file, "a\n\u0001");
+    try {
+      error(UNPARSED_TEXT_LINES.args(file.path()), INVCHARS_X);
+      error(UNPARSED_TEXT_LINES.args(file.path(), "UTF-8"), INVCHARS_X);
+      error(UNPARSED_TEXT.args(file.path()), INVCHARS_X);
+    } finally {
+      file.delete();
+    }
   }
 
   /** Test method. */
@@ -26,6 +26,7 @@ public final class IndexOptimizeTest extends QueryPlanTest {
     execute(new DropDB(NAME));
     set(MainOptions.FTINDEX, true);
     set(MainOptions.TOKENINDEX, true);
+    set(MainOptions.TRIGRAMINDEX, true);
     set(MainOptions.QUERYINFO, true);
   }
 
@@ -146,6 +147,30 @@ public final class IndexOptimizeTest extends QueryPlanTest {
     check("for $s in ('id2', 'id3') return data(//@*[contains-token(., $s)])", "id1 id2");
   }
 
+  /**
+   * Checks substring requests.
+   */
+  @Test
+  public void trigramTest() {
+    execute(new CreateDB(NAME, "<xml><a x='mills'>windmill</a><a>Mill</a><a>millennium</a>" +
+        "<a>mi</a></xml>"));
+    check("data(//a[contains(., 'mill')])", "windmill\nmillennium");
+    check("data(//a[contains(text(), 'mill')])", "windmill\nmillennium");
+    check("data(//text()[ends-with(., 'ill')])", "windmill\nMill");
+    check("data(//a[contains(@x, 'ill')])", "windmill");
+    check("data(//@*[contains(., 'mill')])", "mills");
+    check("data(//a[matches(., '^m.+ium$')])", "millennium");
+    check("data(//a[matches(., 'n{2}ium')])", "millennium");
+    check("data(//a[matches(., 'w(in)+dmill')])", "windmill");
+    check("data(//a[matches(., '.(ill)', 'q')])", "", "empty(//TrigramAccess)");
+    check("data(//a[contains(., 'xyz')])", "", "empty(//TrigramAccess)");
+
+    // no index access: short strings, alternatives, case-insensitive matching
+    query("data(//a[matches(., 'w(in)+dmill|Mill')])", "windmill\nMill");
+    query("data(//a[contains(., 'mi')])", "windmill\nmillennium\nmi");
+    query("data(//a[matches(., 'MILL', 'i')])", "windmill\nMill\nmillennium");
+  }
+
   /**
    * Checks full-text requests.
    */
@@ -279,6 +304,7 @@ public final class IndexOptimizeTest extends QueryPlanTest {
   private static void check(final String query, final String result) {
     check(query, result, "exists(/descendant-or-self::*" +
         "[self::" + Util.className(ValueAccess.class) +
-        "|self::" + Util.className(FTIndexAccess.class) + "])");
+        "|self::" + Util.className(FTIndexAccess.class) +
+        "|self::" + Util.className(TrigramAccess.class) + "])");
   }
 }
@@ -0,0 +1,97 @@
+package org.basex.query.value.map;
+
+import static org.junit.Assert.*;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.junit.*;
+
+/**
+ * Tests for {@link MapBuilder}.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class MapBuilderTest {
+  /**
+   * Compares built maps with persistent insertions.
+   * @throws QueryException query exception
+   */
+  @Test
+  public void put() throws QueryException {
+    for(int len = 0; len < 5_000; len += 97) {
+      final MapBuilder mb = new MapBuilder(null);
+      Map map = Map.EMPTY;
+      for(int i = 0; i < len; i++) {
+        mb.put(Int.get(i % 1000), Int.get(i));
+        map = map.put(Int.get(i % 1000), Int.get(i), null);
+      }
+      final Map built = mb.freeze();
+      assertEquals(map.mapSize(), built.mapSize());
+      assertTrue(built.deep(map, null, null));
+    }
+  }
+
+  /**
+   * Checks that frozen maps are not modified by subsequent insertions.
+   * @throws QueryException query exception
+   */
+  @Test
+  public void freeze() throws QueryException {
+    final MapBuilder mb = new MapBuilder(null);
+    for(int i = 0; i < 1000; i++) mb.put(Int.get(i), Int.get(i));
+    final Map map1 = mb.freeze();
+    for(int i = 0; i < 2000; i++) mb.put(Int.get(i), Str.get("x"));
+    final Map map2 = mb.freeze();
+
+    assertEquals(1000, map1.mapSize());
+    assertEquals(2000, map2.mapSize());
+    for(int i = 0; i < 1000; i++) {
+      assertEquals(i, ((Int) map1.get(Int.get(i), null)).itr());
+      assertEquals("x", ((Str) map2.get(Int.get(i), null)).toJava());
+    }
+  }
+
+  /**
+   * Merges maps with duplicate keys and colliding hash values.
+   * @throws QueryException query exception
+   */
+  @Test
+  public void merge() throws QueryException {
+    // "Aa" and "BB" have the same hash value
+    final Item[] keys = { Str.get("Aa"), Str.get("BB"), Int.get(1) };
+    for(final MergeDuplicates merge : new MergeDuplicates[] { MergeDuplicates.USE_FIRST,
+        MergeDuplicates.USE_LAST, MergeDuplicates.COMBINE }) {
+      final MapBuilder mb = new MapBuilder(null);
+      Map map = Map.EMPTY;
+      for(int i = 0; i < 100; i++) {
+        final Map m = Map.EMPTY.put(keys[i % keys.length], Int.get(i), null).
+            put(Int.get(i), Int.get(i), null);
+        mb.add(m, merge);
+        map = map.addAll(m, merge, null);
+      }
+      final Map built = mb.freeze();
+      assertEquals(merge.toString(), map.mapSize(), built.mapSize());
+      assertTrue(merge.toString(), built.deep(map, null, null));
+
+      final Value value = built.get(keys[1], null);
+      final long size = merge == MergeDuplicates.COMBINE ? 33 : 1;
+      assertEquals(merge.toString(), size, value.size());
+    }
+  }
+
+  /** Rejects duplicate keys. */
+  @Test
+  public void reject() {
+    final MapBuilder mb = new MapBuilder(null);
+    try {
+      mb.add(Str.get("Aa"), Int.get(1), MergeDuplicates.REJECT);
+      mb.add(Str.get("BB"), Int.get(2), MergeDuplicates.REJECT);
+      mb.add(Str.get("BB"), Int.get(3), MergeDuplicates.REJECT);
+      fail("Duplicate was not rejected.");
+    } catch(final QueryException ex) {
+      assertSame(QueryError.MERGE_DUPLICATE_X, ex.error());
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package org.basex.util.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+/**
+ * Tests for the {@link Histogram} implementation.
+ *
+ * @author BaseX Team 2005-17, BSD License
+ * @author Christian Gruen
+ */
+public final class HistogramTest {
+  /** Checks the mapping of values to buckets. */
+  @Test
+  public void buckets() {
+    for(long v = 0; v < 1 << 16; v++) {
+      final int i = Histogram.index(v);
+      assertTrue(v <= Histogram.upper(i));
+      if(i > 0) assertTrue(v > Histogram.upper(i - 1));
+    }
+    assertEquals(Long.MAX_VALUE, Histogram.upper(Histogram.index(Long.MAX_VALUE)));
+  }
+
+  /** Checks the accuracy of quantiles. */
+  @Test
+  public void quantiles() {
+    final Histogram hist = new Histogram("test", "Test");
+    assertEquals(0, hist.quantile(0.5));
+    for(int v = 1; v <= 100000; v++) hist.record(v * 1000L);
+    assertEquals(100000, hist.count());
+    assertEquals(100000000L, hist.max());
+    for(final double q : Histogram.QUANTILES) {
+      final double exp = q * 100000000L, found = hist.quantile(q);
+      assertTrue(q + ": " + found, found >= exp && found <= exp * 1.125);
+    }
+  }
+
+  /** Checks the text output. */
+  @Test
+  public void text() {
+    final Counter counter = Metrics.counter("test_total", "Test", "key", "value");
+    counter.add(3);
+    assertSame(counter, Metrics.counter("test_total", "Test", "key", "value"));
+    assertTrue(Metrics.text().contains("test_total{key=\"value\"} 3\n"));
+  }
+}